@@ -0,0 +1,91 @@
+package myAdapter;
+
+/**
+ * Implementazione scheletro di {@link ListStorage}, analoga a {@code java.util.AbstractList}.
+ * <p>
+ * Le sottoclassi devono fornire {@link #size()}, {@link #elementAt(int)}, {@link #setElementAt(Object, int)},
+ * {@link #insertElementAt(Object, int)} e {@link #removeElementAt(int)}; le altre operazioni sono realizzate
+ * in termini di queste e vanno ridefinite quando il backend può eseguirle in modo più efficiente.
+ */
+public abstract class AbstractListStorage implements ListStorage {
+
+    /**
+     * Costruttore per le sottoclassi.
+     */
+    protected AbstractListStorage() {
+    }
+
+    public void addElement(Object obj) {
+        insertElementAt(obj, size());
+    }
+
+    public void removeAllElements() {
+        removeRange(0, size());
+    }
+
+    public void setSize(int newSize) {
+        int size = size();
+        if (newSize < size) {
+            removeRange(newSize, size);
+        } else {
+            for (int i = size; i < newSize; i++) {
+                addElement(null);
+            }
+        }
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            removeElementAt(i);
+        }
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        for (int i = 0; i < elements.length; i++) {
+            insertElementAt(elements[i], index + i);
+        }
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            anArray[i - fromIndex] = elementAt(i);
+        }
+    }
+
+    public boolean contains(Object elem) {
+        return indexOf(elem, 0, size()) >= 0;
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            Object e = elementAt(i);
+            if (e == null ? elem == null : e.equals(elem)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            Object e = elementAt(i);
+            if (e == null ? elem == null : e.equals(elem)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        if (action != null) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                action.accept(elementAt(i));
+            }
+        } else {
+            int shift = firstIndex - fromIndex;
+            for (int i = fromIndex; i < toIndex; i++) {
+                indexed.accept(i + shift, elementAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package myAdapter;
+
+/**
+ * Lista a sola aggiunta in coda, pensata per molti thread produttori che aggiungono elementi ad alta frequenza.
+ * <p>
+ * Gli elementi sono memorizzati in un {@link AppendOnlyStorage}: {@link #add(Object)} e {@link #addAll(HCollection)}
+ * non prendono lock, e le letture ({@link #get(int)}, {@link #size()}, l'iteratore, {@link #toArray()}) possono
+ * essere eseguite in parallelo con le aggiunte. Un elemento diventa visibile quando lui e tutti quelli prima di
+ * lui sono stati scritti; una volta visibile non cambia posizione.
+ * <p>
+ * {@link #set(int, Object)} e {@link #replaceAll(HUnaryOperator)} sono supportati. Le operazioni che spostano
+ * elementi (inserimento in una posizione, rimozione, {@link #clear()}) lanciano
+ * {@link UnsupportedOperationException} senza modificare la lista.
+ */
+public class AppendOnlyList extends ListAdapter {
+
+    /** Backend della lista, lo stesso passato al costruttore di {@link ListAdapter}. */
+    private final AppendOnlyStorage storage;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota.
+     */
+    public AppendOnlyList() {
+        this(new AppendOnlyStorage());
+    }
+
+    /**
+     * Costruttore che riceve il backend già creato.
+     * @param storage backend della lista
+     */
+    private AppendOnlyList(AppendOnlyStorage storage) {
+        super(storage);
+        this.storage = storage;
+    }
+
+    /**
+     * Aggiunge tutti gli elementi in coda, in posizioni consecutive: gli elementi aggiunti da altri thread
+     * nello stesso momento finiscono prima o dopo il gruppo, mai in mezzo.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        Object[] elements = c.toArray();
+        if (elements.length == 0) {
+            return false;
+        }
+        storage.addElements(elements);
+        return true;
+    }
+
+    /**
+     * Non supportato: la lista non rimuove elementi.
+     * @param c collezione da rimuovere
+     * @return mai
+     * @throws UnsupportedOperationException sempre, senza modificare la lista
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        throw unsupported();
+    }
+
+    /**
+     * Non supportato: la lista non rimuove elementi.
+     * @param c collezione da mantenere
+     * @return mai
+     * @throws UnsupportedOperationException sempre, senza modificare la lista
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        throw unsupported();
+    }
+
+    /**
+     * Non supportato: la lista non rimuove elementi.
+     * @param filter condizione degli elementi da rimuovere
+     * @return mai
+     * @throws UnsupportedOperationException sempre, senza modificare la lista
+     */
+    @Override
+    public boolean removeIf(HPredicate filter) {
+        throw unsupported();
+    }
+
+    /**
+     * Non supportato; usato dalle sottoliste. La compattazione di {@link ListAdapter} sposterebbe gli elementi
+     * con {@code setElementAt} prima di scoprire che il backend non rimuove, lasciando la lista rovinata.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return mai
+     * @throws UnsupportedOperationException sempre, senza modificare la lista
+     */
+    @Override
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        throw unsupported();
+    }
+
+    /**
+     * Non supportato; usato dalle sottoliste, come {@link #batchRemove(int, int, HCollection, boolean)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param filter condizione degli elementi da rimuovere
+     * @return mai
+     * @throws UnsupportedOperationException sempre, senza modificare la lista
+     */
+    @Override
+    int removeIf(int fromIndex, int toIndex, HPredicate filter) {
+        throw unsupported();
+    }
+
+    /**
+     * Crea l'eccezione delle operazioni di rimozione.
+     * @return eccezione da lanciare
+     */
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("AppendOnlyList only appends");
+    }
+}
@@ -0,0 +1,207 @@
+package myAdapter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Backend di {@link AppendOnlyList} che accetta aggiunte in coda da più thread senza lock.
+ * <p>
+ * Ogni aggiunta riserva la propria posizione con un solo incremento atomico dell'indice di coda, poi scrive
+ * l'elemento nel blocco che la contiene. I blocchi hanno dimensioni crescenti (32, 64, 128, ...) e sono
+ * elencati in un indice di dimensione fissa: la capacità cresce aggiungendo blocchi, senza mai copiare gli
+ * elementi già scritti e senza spostarli, quindi un elemento pubblicato resta sempre nello stesso posto.
+ * <p>
+ * Le posizioni riservate possono essere scritte in ordine diverso da quello di riserva. Un contatore separato,
+ * il limite di pubblicazione, avanza solo sul prefisso già scritto per intero: {@link #size()} restituisce quel
+ * limite, e ogni indice minore può essere letto con {@link #elementAt(int)} in un numero fisso di passi,
+ * senza attese. Chi scrive fa avanzare il limite anche oltre la propria posizione, se le successive sono già
+ * state scritte da altri.
+ * <p>
+ * {@link #setElementAt(Object, int)} sostituisce un elemento pubblicato; inserimenti e rimozioni lanciano
+ * {@link UnsupportedOperationException}.
+ */
+public class AppendOnlyStorage extends AbstractListStorage {
+
+    /** Logaritmo in base 2 della dimensione del primo blocco. */
+    private static final int FIRST_BITS = 5;
+
+    /** Dimensione del primo blocco; il blocco {@code k} ne contiene {@code FIRST << k}. */
+    private static final int FIRST = 1 << FIRST_BITS;
+
+    /** Numero di blocchi dell'indice: la capacità totale è {@code FIRST * (2^BLOCKS - 1)}. */
+    private static final int BLOCKS = 31 - FIRST_BITS;
+
+    /** Numero massimo di elementi. */
+    private static final int CAPACITY = FIRST * ((1 << BLOCKS) - 1);
+
+    /** Segnaposto di un elemento null, per distinguerlo da una posizione non ancora scritta. */
+    private static final Object NULL = new Object();
+
+    /** Indice dei blocchi; un blocco viene creato alla prima posizione riservata al suo interno. */
+    private final AtomicReferenceArray blocks = new AtomicReferenceArray(BLOCKS);
+
+    /** Numero di posizioni riservate. */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /** Limite di pubblicazione: tutte le posizioni minori sono scritte e leggibili. */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto.
+     */
+    public AppendOnlyStorage() {
+        // i blocchi vengono creati alla prima aggiunta
+    }
+
+    /**
+     * Restituisce il numero del blocco che contiene la posizione indicata.
+     * @param index posizione
+     * @return numero del blocco
+     */
+    private static int blockOf(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index + FIRST) - FIRST_BITS;
+    }
+
+    /**
+     * Restituisce la posizione all'interno del suo blocco.
+     * @param index posizione
+     * @return posizione nel blocco
+     */
+    private static int offsetOf(int index) {
+        int pos = index + FIRST;
+        return pos ^ Integer.highestOneBit(pos);
+    }
+
+    /**
+     * Restituisce il blocco indicato, creandolo se non esiste. Se due thread lo creano insieme
+     * ne viene tenuto uno solo.
+     * @param block numero del blocco
+     * @return blocco
+     */
+    private AtomicReferenceArray block(int block) {
+        AtomicReferenceArray b = (AtomicReferenceArray) blocks.get(block);
+        if (b == null) {
+            b = new AtomicReferenceArray(FIRST << block);
+            if (!blocks.compareAndSet(block, null, b)) {
+                b = (AtomicReferenceArray) blocks.get(block);
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Riserva {@code count} posizioni consecutive in coda.
+     * @param count numero di posizioni
+     * @return prima posizione riservata
+     * @throws IllegalStateException se la capacità massima è esaurita
+     */
+    private int reserve(int count) {
+        int first = reserved.getAndAdd(count);
+        if (first < 0 || first > CAPACITY - count) {
+            throw new IllegalStateException("AppendOnlyStorage is full");
+        }
+        return first;
+    }
+
+    /**
+     * Scrive l'elemento in una posizione riservata.
+     * @param obj elemento
+     * @param index posizione
+     */
+    private void write(Object obj, int index) {
+        block(blockOf(index)).set(offsetOf(index), obj == null ? NULL : obj);
+    }
+
+    /**
+     * Verifica se la posizione è già stata scritta.
+     * @param index posizione riservata
+     * @return {@code true} se scritta
+     */
+    private boolean isWritten(int index) {
+        AtomicReferenceArray b = (AtomicReferenceArray) blocks.get(blockOf(index));
+        return b != null && b.get(offsetOf(index)) != null;
+    }
+
+    /**
+     * Fa avanzare il limite di pubblicazione finché le posizioni successive risultano scritte.
+     * Ogni scrittore lo chiama dopo la propria scrittura, quindi l'ultimo a completare un prefisso lo pubblica.
+     */
+    private void advance() {
+        int w = published.get();
+        while (w < reserved.get() && isWritten(w)) {
+            published.compareAndSet(w, w + 1);
+            w = published.get();
+        }
+    }
+
+    public int size() {
+        return published.get();
+    }
+
+    public Object elementAt(int index) {
+        Object obj = ((AtomicReferenceArray) blocks.get(blockOf(index))).get(offsetOf(index));
+        return obj == NULL ? null : obj;
+    }
+
+    public void setElementAt(Object obj, int index) {
+        write(obj, index);
+    }
+
+    public void addElement(Object obj) {
+        write(obj, reserve(1));
+        advance();
+    }
+
+    /**
+     * Aggiunge in coda tutti gli elementi, in posizioni consecutive riservate con un solo incremento.
+     * @param elements elementi da aggiungere
+     * @throws IllegalStateException se la capacità massima è esaurita
+     */
+    public void addElements(Object[] elements) {
+        if (elements.length == 0) {
+            return;
+        }
+        int first = reserve(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            write(elements[i], first + i);
+        }
+        advance();
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        int i = fromIndex;
+        while (i < toIndex) {
+            int block = blockOf(i);
+            AtomicReferenceArray b = (AtomicReferenceArray) blocks.get(block);
+            int end = Math.min(toIndex, i - offsetOf(i) + (FIRST << block));
+            for (int offset = offsetOf(i); i < end; i++, offset++) {
+                Object obj = b.get(offset);
+                anArray[i - fromIndex] = obj == NULL ? null : obj;
+            }
+        }
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+
+    public void removeElementAt(int index) {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+
+    public void removeAllElements() {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+
+    public void setSize(int newSize) {
+        throw new UnsupportedOperationException("AppendOnlyStorage only appends");
+    }
+}
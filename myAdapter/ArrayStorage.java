@@ -0,0 +1,219 @@
+package myAdapter;
+
+/**
+ * Backend di {@link ListAdapter} basato su un array {@code Object[]} ridimensionabile.
+ * <p>
+ * Non è sincronizzato: evita il costo del monitor di {@link java.util.Vector} quando la lista
+ * è usata da un solo thread.
+ */
+public class ArrayStorage implements ListStorage {
+
+    /** Capacità iniziale usata dal costruttore di default (come {@link java.util.Vector}). */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Array che contiene gli elementi nelle posizioni {@code [0, size)}. */
+    private Object[] elementData;
+
+    /** Numero di elementi memorizzati. */
+    private int size;
+
+    /**
+     * Numero di posizioni iniziali dell'array condivise con un iteratore a fotografia (vedi {@link #share()}):
+     * una scrittura che tocca queste posizioni lavora prima su una copia dell'array. Le aggiunte in coda
+     * scrivono oltre e non copiano.
+     */
+    private int shared;
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto.
+     */
+    public ArrayStorage() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza un backend con capacità iniziale specificata.
+     * @param capacity capacità iniziale
+     * @throws IllegalArgumentException se la capacità è negativa
+     */
+    public ArrayStorage(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        elementData = new Object[capacity];
+    }
+
+    /**
+     * Costruttore che adotta l'array indicato senza copiarlo: gli elementi sono tutte le sue posizioni.
+     * Usato da {@link CopyOnWriteList} per le modifiche in blocco su una copia privata.
+     * @param elements array da adottare; il chiamante non deve più usarlo
+     */
+    ArrayStorage(Object[] elements) {
+        elementData = elements;
+        size = elements.length;
+    }
+
+    /**
+     * Garantisce che l'array possa contenere almeno {@code minCapacity} elementi.
+     * La capacità viene raddoppiata, come in {@link java.util.Vector}.
+     * @param minCapacity capacità minima richiesta
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            int newCapacity = elementData.length * 2;
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+            Object[] newData = new Object[newCapacity];
+            System.arraycopy(elementData, 0, newData, 0, size);
+            elementData = newData;
+            shared = 0;
+        }
+    }
+
+    /**
+     * Restituisce l'array degli elementi senza copiarlo, per un iteratore a fotografia sulle posizioni
+     * {@code [0, size())}. Da qui in poi la prima scrittura che tocca quelle posizioni copia l'array,
+     * quindi l'array restituito non cambia più: la copia si paga solo se la lista viene davvero modificata,
+     * e una sola volta per quante fotografie siano state prese.
+     * @return array degli elementi, da non modificare
+     */
+    Object[] share() {
+        shared = size;
+        return elementData;
+    }
+
+    /**
+     * Copia l'array se la posizione indicata è condivisa con una fotografia.
+     * @param index prima posizione che verrà modificata
+     */
+    private void unshare(int index) {
+        if (index < shared) {
+            Object[] newData = new Object[elementData.length];
+            System.arraycopy(elementData, 0, newData, 0, size);
+            elementData = newData;
+            shared = 0;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object elementAt(int index) {
+        return elementData[index];
+    }
+
+    public void setElementAt(Object obj, int index) {
+        unshare(index);
+        elementData[index] = obj;
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        unshare(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = obj;
+        size++;
+    }
+
+    public void removeElementAt(int index) {
+        unshare(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elementData, index + 1, elementData, index, moved);
+        }
+        elementData[--size] = null; // rilascia il riferimento per il GC
+    }
+
+    public void addElement(Object obj) {
+        ensureCapacity(size + 1);
+        elementData[size++] = obj;
+    }
+
+    public void removeAllElements() {
+        if (shared > 0) {
+            elementData = new Object[elementData.length]; // l'array condiviso resta alla fotografia
+            shared = 0;
+            size = 0;
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            elementData[i] = null;
+        }
+        size = 0;
+    }
+
+    public void setSize(int newSize) {
+        if (newSize > size) {
+            ensureCapacity(newSize);
+        } else {
+            unshare(newSize);
+            for (int i = newSize; i < size; i++) {
+                elementData[i] = null;
+            }
+        }
+        size = newSize;
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        unshare(fromIndex);
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++) {
+            elementData[i] = null;
+        }
+        size = newSize;
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        int count = elements.length;
+        unshare(index);
+        ensureCapacity(size + count);
+        System.arraycopy(elementData, index, elementData, index + count, size - index);
+        System.arraycopy(elements, 0, elementData, index, count);
+        size += count;
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        System.arraycopy(elementData, fromIndex, anArray, 0, toIndex - fromIndex);
+    }
+
+    public boolean contains(Object elem) {
+        return indexOf(elem, 0, size) >= 0;
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            Object e = elementData[i];
+            if (e == null ? elem == null : e.equals(elem)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            Object e = elementData[i];
+            if (e == null ? elem == null : e.equals(elem)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        Object[] data = elementData;
+        if (action != null) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                action.accept(data[i]);
+            }
+        } else {
+            int shift = firstIndex - fromIndex;
+            for (int i = fromIndex; i < toIndex; i++) {
+                indexed.accept(i + shift, data[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package myAdapter;
+
+/**
+ * Backend di {@link ListAdapter} basato su un B+tree con conteggi: ogni nodo conosce il numero di
+ * elementi del proprio sottoalbero, quindi l'indice logico guida la discesa come una chiave.
+ * <p>
+ * Gli elementi stanno nelle foglie, collegate in ordine; i nodi interni contengono solo i figli.
+ * Accesso, inserimento e rimozione in qualsiasi posizione costano O(log n) e restano prevedibili anche
+ * con milioni di elementi. L'estrazione di un intervallo ({@link #copyInto(int, int, Object[])}, usata da
+ * {@link SubListAdapter#toArray()}) scende una volta sola e poi segue le foglie: O(log n + k).
+ * La costruzione da una collezione esistente ({@link #BTreeStorage(HCollection)}) riempie le foglie e
+ * costruisce i livelli superiori dal basso in O(n).
+ * Non è sincronizzato.
+ */
+public class BTreeStorage extends AbstractListStorage {
+
+    /** Numero massimo di default di elementi per foglia e di figli per nodo interno. */
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /** Numero massimo di elementi per foglia e di figli per nodo interno. */
+    private final int capacity;
+
+    /** Riempimento minimo sotto il quale un nodo viene unito o riequilibrato con un fratello. */
+    private final int minFill;
+
+    /** Radice dell'albero: una foglia finché gli elementi stanno in un solo nodo. */
+    private Node root;
+
+    /**
+     * Nodo dell'albero.
+     */
+    private abstract static class Node {
+        /** Numero di elementi nel sottoalbero. */
+        int size;
+
+        /**
+         * Restituisce il riempimento del nodo: elementi per una foglia, figli per un nodo interno.
+         * @return riempimento
+         */
+        abstract int fill();
+    }
+
+    /**
+     * Foglia: contiene gli elementi, in ordine.
+     */
+    private static final class Leaf extends Node {
+        /** Elementi della foglia nelle posizioni {@code [0, size)}. */
+        final Object[] items;
+
+        /** Foglia successiva in ordine, o null. */
+        Leaf next;
+
+        /**
+         * Crea una foglia vuota.
+         * @param capacity numero massimo di elementi
+         */
+        Leaf(int capacity) {
+            items = new Object[capacity];
+        }
+
+        int fill() {
+            return size;
+        }
+    }
+
+    /**
+     * Nodo interno: contiene i figli, in ordine.
+     */
+    private static final class Inner extends Node {
+        /** Figli del nodo nelle posizioni {@code [0, count)}. */
+        final Node[] children;
+
+        /** Numero di figli. */
+        int count;
+
+        /**
+         * Crea un nodo interno senza figli.
+         * @param capacity numero massimo di figli
+         */
+        Inner(int capacity) {
+            children = new Node[capacity];
+        }
+
+        int fill() {
+            return count;
+        }
+
+        /**
+         * Ricalcola {@link #size} sommando le dimensioni dei figli.
+         */
+        void recount() {
+            int s = 0;
+            for (int i = 0; i < count; i++) {
+                s += children[i].size;
+            }
+            size = s;
+        }
+    }
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto con nodi da {@value #DEFAULT_NODE_CAPACITY} posizioni.
+     */
+    public BTreeStorage() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza un backend vuoto con la capacità di nodo indicata.
+     * @param nodeCapacity numero massimo di elementi per foglia e di figli per nodo interno
+     * @throws IllegalArgumentException se la capacità è minore di 4
+     */
+    public BTreeStorage(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("Illegal node capacity: " + nodeCapacity);
+        }
+        capacity = nodeCapacity;
+        minFill = nodeCapacity / 2;
+        root = new Leaf(capacity);
+    }
+
+    /**
+     * Costruisce il backend con gli elementi della collezione, nell'ordine del suo iteratore, in O(n).
+     * @param c collezione di partenza
+     * @throws NullPointerException se la collezione è null
+     */
+    public BTreeStorage(HCollection c) {
+        this(DEFAULT_NODE_CAPACITY);
+        Object[] elements = c.toArray();
+        root = build(elements, elements.length);
+    }
+
+    /**
+     * Costruisce un albero bilanciato dal basso a partire dai primi {@code n} elementi dell'array:
+     * le foglie vengono riempite in modo uniforme e collegate, poi ogni livello raggruppa il precedente.
+     * @param elements elementi in ordine
+     * @param n numero di elementi da usare
+     * @return radice del nuovo albero
+     */
+    private Node build(Object[] elements, int n) {
+        if (n == 0) {
+            return new Leaf(capacity);
+        }
+        int leaves = (n + capacity - 1) / capacity;
+        Node[] level = new Node[leaves];
+        int pos = 0;
+        Leaf prev = null;
+        for (int k = 0; k < leaves; k++) {
+            int len = (n - pos) / (leaves - k);
+            Leaf leaf = new Leaf(capacity);
+            System.arraycopy(elements, pos, leaf.items, 0, len);
+            leaf.size = len;
+            pos += len;
+            if (prev != null) prev.next = leaf;
+            prev = leaf;
+            level[k] = leaf;
+        }
+        while (level.length > 1) {
+            int parents = (level.length + capacity - 1) / capacity;
+            Node[] up = new Node[parents];
+            int child = 0;
+            for (int k = 0; k < parents; k++) {
+                int len = (level.length - child) / (parents - k);
+                Inner inner = new Inner(capacity);
+                System.arraycopy(level, child, inner.children, 0, len);
+                inner.count = len;
+                inner.recount();
+                child += len;
+                up[k] = inner;
+            }
+            level = up;
+        }
+        return level[0];
+    }
+
+    /**
+     * Scende fino alla foglia che contiene l'indice indicato.
+     * @param index indice logico ({@code 0 <= index < size()}); al ritorno {@code offset[0]} contiene la posizione nella foglia
+     * @param offset array di un elemento in cui scrivere la posizione nella foglia
+     * @return foglia che contiene l'elemento
+     */
+    private Leaf leafOf(int index, int[] offset) {
+        Node n = root;
+        while (n instanceof Inner) {
+            Inner in = (Inner) n;
+            int i = 0;
+            while (index >= in.children[i].size) {
+                index -= in.children[i].size;
+                i++;
+            }
+            n = in.children[i];
+        }
+        offset[0] = index;
+        return (Leaf) n;
+    }
+
+    public int size() {
+        return root.size;
+    }
+
+    public Object elementAt(int index) {
+        Node n = root;
+        while (n instanceof Inner) {
+            Inner in = (Inner) n;
+            int i = 0;
+            while (index >= in.children[i].size) {
+                index -= in.children[i].size;
+                i++;
+            }
+            n = in.children[i];
+        }
+        return ((Leaf) n).items[index];
+    }
+
+    public void setElementAt(Object obj, int index) {
+        int[] offset = new int[1];
+        Leaf leaf = leafOf(index, offset);
+        leaf.items[offset[0]] = obj;
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        Node sibling = insert(root, index, obj);
+        if (sibling != null) {
+            Inner newRoot = new Inner(capacity);
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.count = 2;
+            newRoot.recount();
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Inserisce l'elemento nel sottoalbero; se il nodo è pieno lo divide.
+     * Un inserimento in fondo a una foglia piena sposta nella nuova foglia solo l'elemento aggiunto,
+     * così le aggiunte in coda riempiono completamente le foglie.
+     * @param node radice del sottoalbero
+     * @param index indice logico nel sottoalbero ({@code 0 <= index <= node.size})
+     * @param obj elemento da inserire
+     * @return nuovo fratello destro creato dalla divisione, o null
+     */
+    private Node insert(Node node, int index, Object obj) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            if (leaf.size < capacity) {
+                insertIntoLeaf(leaf, index, obj);
+                return null;
+            }
+            Leaf right = new Leaf(capacity);
+            right.next = leaf.next;
+            leaf.next = right;
+            if (index == capacity) {
+                right.items[0] = obj;
+                right.size = 1;
+                return right;
+            }
+            int half = capacity / 2;
+            System.arraycopy(leaf.items, half, right.items, 0, capacity - half);
+            for (int i = half; i < capacity; i++) {
+                leaf.items[i] = null;
+            }
+            leaf.size = half;
+            right.size = capacity - half;
+            if (index <= half) insertIntoLeaf(leaf, index, obj);
+            else insertIntoLeaf(right, index - half, obj);
+            return right;
+        }
+
+        Inner in = (Inner) node;
+        int i = 0;
+        while (i < in.count - 1 && index > in.children[i].size) {
+            index -= in.children[i].size;
+            i++;
+        }
+        Node sibling = insert(in.children[i], index, obj);
+        in.size++;
+        if (sibling == null) {
+            return null;
+        }
+        int pos = i + 1;
+        if (in.count < capacity) {
+            insertChild(in, pos, sibling);
+            return null;
+        }
+        // i nodi interni si dividono sempre a metà: così ogni nodo interno non radice ha almeno due figli
+        Inner right = new Inner(capacity);
+        int half = capacity / 2;
+        System.arraycopy(in.children, half, right.children, 0, capacity - half);
+        for (int k = half; k < capacity; k++) {
+            in.children[k] = null;
+        }
+        in.count = half;
+        right.count = capacity - half;
+        if (pos <= half) insertChild(in, pos, sibling);
+        else insertChild(right, pos - half, sibling);
+        in.recount();
+        right.recount();
+        return right;
+    }
+
+    /**
+     * Inserisce un elemento in una foglia che ha spazio.
+     * @param leaf foglia
+     * @param index posizione nella foglia
+     * @param obj elemento
+     */
+    private static void insertIntoLeaf(Leaf leaf, int index, Object obj) {
+        System.arraycopy(leaf.items, index, leaf.items, index + 1, leaf.size - index);
+        leaf.items[index] = obj;
+        leaf.size++;
+    }
+
+    /**
+     * Inserisce un figlio in un nodo interno che ha spazio, senza aggiornarne la dimensione.
+     * @param in nodo interno
+     * @param pos posizione del figlio
+     * @param child figlio da inserire
+     */
+    private static void insertChild(Inner in, int pos, Node child) {
+        System.arraycopy(in.children, pos, in.children, pos + 1, in.count - pos);
+        in.children[pos] = child;
+        in.count++;
+    }
+
+    public void removeElementAt(int index) {
+        remove(root, index);
+        if (root instanceof Inner && ((Inner) root).count == 1) {
+            root = ((Inner) root).children[0]; // l'albero si abbassa di un livello
+        }
+    }
+
+    /**
+     * Rimuove l'elemento dal sottoalbero, riequilibrando i figli rimasti sotto il riempimento minimo.
+     * @param node radice del sottoalbero
+     * @param index indice logico nel sottoalbero
+     */
+    private void remove(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            System.arraycopy(leaf.items, index + 1, leaf.items, index, leaf.size - index - 1);
+            leaf.items[--leaf.size] = null;
+            return;
+        }
+        Inner in = (Inner) node;
+        int i = 0;
+        while (index >= in.children[i].size) {
+            index -= in.children[i].size;
+            i++;
+        }
+        Node child = in.children[i];
+        remove(child, index);
+        in.size--;
+        if (child.fill() < minFill && in.count > 1) {
+            rebalance(in, i);
+        }
+    }
+
+    /**
+     * Riequilibra il figlio {@code i} rimasto sotto il riempimento minimo: lo unisce a un fratello
+     * se insieme stanno in un nodo, altrimenti gli sposta un elemento (o un figlio) dal fratello.
+     * @param in nodo padre
+     * @param i figlio da riequilibrare
+     */
+    private void rebalance(Inner in, int i) {
+        int l = i + 1 < in.count ? i : i - 1;
+        Node left = in.children[l];
+        Node right = in.children[l + 1];
+        if (left.fill() + right.fill() <= capacity) {
+            merge(left, right);
+            System.arraycopy(in.children, l + 2, in.children, l + 1, in.count - l - 2);
+            in.children[--in.count] = null;
+        } else if (l == i) {
+            borrowFromRight(left, right);
+        } else {
+            borrowFromLeft(left, right);
+        }
+    }
+
+    /**
+     * Sposta tutto il contenuto di {@code right} in coda a {@code left}.
+     * @param left nodo che resta
+     * @param right nodo svuotato (verrà tolto dal padre)
+     */
+    private static void merge(Node left, Node right) {
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left;
+            Leaf r = (Leaf) right;
+            System.arraycopy(r.items, 0, l.items, l.size, r.size);
+            l.size += r.size;
+            l.next = r.next;
+        } else {
+            Inner l = (Inner) left;
+            Inner r = (Inner) right;
+            System.arraycopy(r.children, 0, l.children, l.count, r.count);
+            l.count += r.count;
+            l.size += r.size;
+        }
+    }
+
+    /**
+     * Sposta il primo elemento (o figlio) di {@code right} in coda a {@code left}.
+     * @param left nodo che riceve
+     * @param right nodo che cede
+     */
+    private static void borrowFromRight(Node left, Node right) {
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left;
+            Leaf r = (Leaf) right;
+            l.items[l.size++] = r.items[0];
+            System.arraycopy(r.items, 1, r.items, 0, r.size - 1);
+            r.items[--r.size] = null;
+        } else {
+            Inner l = (Inner) left;
+            Inner r = (Inner) right;
+            Node moved = r.children[0];
+            l.children[l.count++] = moved;
+            System.arraycopy(r.children, 1, r.children, 0, r.count - 1);
+            r.children[--r.count] = null;
+            l.size += moved.size;
+            r.size -= moved.size;
+        }
+    }
+
+    /**
+     * Sposta l'ultimo elemento (o figlio) di {@code left} in testa a {@code right}.
+     * @param left nodo che cede
+     * @param right nodo che riceve
+     */
+    private static void borrowFromLeft(Node left, Node right) {
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left;
+            Leaf r = (Leaf) right;
+            insertIntoLeaf(r, 0, l.items[l.size - 1]);
+            l.items[--l.size] = null;
+        } else {
+            Inner l = (Inner) left;
+            Inner r = (Inner) right;
+            Node moved = l.children[l.count - 1];
+            l.children[--l.count] = null;
+            insertChild(r, 0, moved);
+            l.size -= moved.size;
+            r.size += moved.size;
+        }
+    }
+
+    public void removeAllElements() {
+        root = new Leaf(capacity);
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        int size = root.size;
+        if (count > size / 2) {
+            // conviene ricostruire con i soli elementi rimasti: O(n) invece di O(k log n)
+            Object[] rest = new Object[size - count];
+            copyInto(0, fromIndex, rest);
+            Object[] tail = new Object[size - toIndex];
+            copyInto(toIndex, size, tail);
+            System.arraycopy(tail, 0, rest, fromIndex, tail.length);
+            root = build(rest, rest.length);
+            return;
+        }
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            removeElementAt(i);
+        }
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        int size = root.size;
+        if (elements.length < size) {
+            super.insertElementsAt(elements, index);
+            return;
+        }
+        // blocco grande rispetto alla lista: ricostruzione in O(n + k)
+        Object[] all = new Object[size + elements.length];
+        copyInto(0, index, all);
+        System.arraycopy(elements, 0, all, index, elements.length);
+        Object[] tail = new Object[size - index];
+        copyInto(index, size, tail);
+        System.arraycopy(tail, 0, all, index + elements.length, tail.length);
+        root = build(all, all.length);
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        int remaining = toIndex - fromIndex;
+        if (remaining == 0) {
+            return;
+        }
+        int[] offset = new int[1];
+        Leaf leaf = leafOf(fromIndex, offset);
+        int pos = offset[0];
+        int dest = 0;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, leaf.size - pos);
+            System.arraycopy(leaf.items, pos, anArray, dest, chunk);
+            dest += chunk;
+            remaining -= chunk;
+            leaf = leaf.next;
+            pos = 0;
+        }
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            return -1;
+        }
+        int[] offset = new int[1];
+        Leaf leaf = leafOf(fromIndex, offset);
+        int pos = offset[0];
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (pos == leaf.size) {
+                leaf = leaf.next;
+                pos = 0;
+            }
+            Object e = leaf.items[pos++];
+            if (e == null ? elem == null : e.equals(elem)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,24 @@
+package myAdapter;
+
+/**
+ * Codifica degli elementi di un {@link MappedFileStorage} in sequenze di byte di lunghezza variabile.
+ * <p>
+ * Gli elementi null sono gestiti direttamente dal backend e non vengono mai passati al codec.
+ */
+public interface ByteCodec {
+
+    /**
+     * Converte l'elemento in byte.
+     * @param element elemento da scrivere, non null
+     * @return byte dell'elemento
+     * @throws ClassCastException se l'elemento non è del tipo gestito dal codec
+     */
+    byte[] encode(Object element);
+
+    /**
+     * Ricostruisce l'elemento dai byte prodotti da {@link #encode(Object)}.
+     * @param bytes byte dell'elemento
+     * @return nuovo elemento uguale a quello scritto
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,315 @@
+package myAdapter;
+
+/**
+ * Backend di {@link ListAdapter} a blocchi (unrolled list): gli elementi sono divisi in array di
+ * capacità fissa, elencati in ordine in una directory che conserva anche il numero di elementi
+ * di ciascun blocco.
+ * <p>
+ * Un inserimento o una rimozione in posizione arbitraria sposta solo gli elementi di un blocco più,
+ * all'occorrenza, la directory: con blocchi di circa √n elementi il costo è O(√n) invece di O(n).
+ * L'indice iniziale di ogni blocco è memorizzato e ricalcolato pigramente solo dal primo blocco
+ * modificato in poi; la ricerca del blocco è binaria e l'ultimo blocco usato viene ricordato, così
+ * l'accesso sequenziale (iteratori, {@link SubListAdapter}) costa O(1) per elemento.
+ * Non è sincronizzato.
+ */
+public class ChunkedStorage extends AbstractListStorage {
+
+    /** Capacità di default di un blocco. */
+    private static final int DEFAULT_BLOCK_CAPACITY = 512;
+
+    /** Capacità di ciascun blocco. */
+    private final int blockCapacity;
+
+    /** Blocchi di elementi, in ordine; solo i primi {@link #blockCount} sono in uso. */
+    private Object[][] blocks;
+
+    /** Numero di elementi in ciascun blocco. */
+    private int[] counts;
+
+    /** Indice logico del primo elemento di ciascun blocco, valido per i primi {@link #validBlocks}. */
+    private int[] starts;
+
+    /** Numero di blocchi in uso. */
+    private int blockCount;
+
+    /** Numero di blocchi iniziali il cui valore in {@link #starts} è aggiornato. */
+    private int validBlocks;
+
+    /** Ultimo blocco restituito da {@link #blockOf(int)}. */
+    private int lastBlock = -1;
+
+    /** Numero totale di elementi. */
+    private int size;
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto con blocchi da {@value #DEFAULT_BLOCK_CAPACITY} elementi.
+     */
+    public ChunkedStorage() {
+        this(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza un backend vuoto con la capacità di blocco indicata.
+     * @param blockCapacity numero massimo di elementi per blocco
+     * @throws IllegalArgumentException se la capacità è minore di 2
+     */
+    public ChunkedStorage(int blockCapacity) {
+        if (blockCapacity < 2) {
+            throw new IllegalArgumentException("Illegal block capacity: " + blockCapacity);
+        }
+        this.blockCapacity = blockCapacity;
+        blocks = new Object[8][];
+        counts = new int[8];
+        starts = new int[8];
+    }
+
+    /**
+     * Trova il blocco che contiene l'indice logico indicato ({@code 0 <= index < size}).
+     * @param index indice logico
+     * @return numero del blocco; {@code starts[b]} è valido al ritorno
+     */
+    private int blockOf(int index) {
+        int b = lastBlock;
+        if (b >= 0 && b < validBlocks && index >= starts[b] && index < starts[b] + counts[b]) {
+            return b;
+        }
+        // estende gli indici iniziali aggiornati fino a coprire l'indice cercato
+        while (validBlocks < blockCount
+                && (validBlocks == 0 || starts[validBlocks - 1] + counts[validBlocks - 1] <= index)) {
+            starts[validBlocks] = validBlocks == 0 ? 0 : starts[validBlocks - 1] + counts[validBlocks - 1];
+            validBlocks++;
+        }
+        int lo = 0;
+        int hi = validBlocks - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= index) lo = mid;
+            else hi = mid - 1;
+        }
+        lastBlock = lo;
+        return lo;
+    }
+
+    /**
+     * Segnala che il numero di elementi del blocco indicato è cambiato:
+     * gli indici iniziali dei blocchi successivi non sono più validi.
+     * @param b blocco modificato
+     */
+    private void countChanged(int b) {
+        if (validBlocks > b + 1) validBlocks = b + 1;
+    }
+
+    /**
+     * Inserisce un nuovo blocco vuoto nella directory alla posizione indicata.
+     * @param b posizione del nuovo blocco
+     */
+    private void insertBlock(int b) {
+        if (blockCount == blocks.length) {
+            int newLength = blocks.length * 2;
+            Object[][] newBlocks = new Object[newLength][];
+            int[] newCounts = new int[newLength];
+            int[] newStarts = new int[newLength];
+            System.arraycopy(blocks, 0, newBlocks, 0, blockCount);
+            System.arraycopy(counts, 0, newCounts, 0, blockCount);
+            System.arraycopy(starts, 0, newStarts, 0, blockCount);
+            blocks = newBlocks;
+            counts = newCounts;
+            starts = newStarts;
+        }
+        System.arraycopy(blocks, b, blocks, b + 1, blockCount - b);
+        System.arraycopy(counts, b, counts, b + 1, blockCount - b);
+        System.arraycopy(starts, b, starts, b + 1, blockCount - b);
+        blocks[b] = new Object[blockCapacity];
+        counts[b] = 0;
+        blockCount++;
+        if (validBlocks > b) validBlocks = b;
+        lastBlock = -1;
+    }
+
+    /**
+     * Rimuove dalla directory il blocco indicato.
+     * @param b blocco da rimuovere
+     */
+    private void removeBlock(int b) {
+        System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1);
+        System.arraycopy(counts, b + 1, counts, b, blockCount - b - 1);
+        System.arraycopy(starts, b + 1, starts, b, blockCount - b - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+        if (validBlocks > b) validBlocks = b;
+        lastBlock = -1;
+    }
+
+    /**
+     * Divide a metà un blocco pieno, spostando la seconda metà in un nuovo blocco successivo.
+     * @param b blocco da dividere
+     */
+    private void split(int b) {
+        insertBlock(b + 1);
+        int half = counts[b] / 2;
+        int moved = counts[b] - half;
+        System.arraycopy(blocks[b], half, blocks[b + 1], 0, moved);
+        for (int i = half; i < counts[b]; i++) {
+            blocks[b][i] = null;
+        }
+        counts[b] = half;
+        counts[b + 1] = moved;
+        countChanged(b);
+    }
+
+    /**
+     * Unisce il blocco {@code b} con il successivo se insieme occupano al più metà di un blocco,
+     * per evitare che la directory si riempia di blocchi quasi vuoti.
+     * @param b blocco appena ridotto
+     */
+    private void mergeIfSparse(int b) {
+        if (counts[b] == 0) {
+            removeBlock(b);
+            return;
+        }
+        int next = b + 1;
+        if (next < blockCount && counts[b] + counts[next] <= blockCapacity / 2) {
+            System.arraycopy(blocks[next], 0, blocks[b], counts[b], counts[next]);
+            counts[b] += counts[next];
+            countChanged(b);
+            removeBlock(next);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object elementAt(int index) {
+        int b = blockOf(index);
+        return blocks[b][index - starts[b]];
+    }
+
+    public void setElementAt(Object obj, int index) {
+        int b = blockOf(index);
+        blocks[b][index - starts[b]] = obj;
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        if (index == size) {
+            addElement(obj);
+            return;
+        }
+        int b = blockOf(index);
+        int offset = index - starts[b];
+        if (counts[b] == blockCapacity) {
+            split(b);
+            if (offset > counts[b]) {
+                offset -= counts[b];
+                b++;
+            }
+        }
+        Object[] block = blocks[b];
+        System.arraycopy(block, offset, block, offset + 1, counts[b] - offset);
+        block[offset] = obj;
+        counts[b]++;
+        countChanged(b);
+        size++;
+    }
+
+    public void removeElementAt(int index) {
+        int b = blockOf(index);
+        int offset = index - starts[b];
+        Object[] block = blocks[b];
+        System.arraycopy(block, offset + 1, block, offset, counts[b] - offset - 1);
+        block[--counts[b]] = null;
+        countChanged(b);
+        size--;
+        mergeIfSparse(b);
+    }
+
+    public void addElement(Object obj) {
+        int b = blockCount - 1;
+        if (b < 0 || counts[b] == blockCapacity) {
+            insertBlock(blockCount);
+            b++;
+        }
+        blocks[b][counts[b]++] = obj;
+        countChanged(b);
+        size++;
+    }
+
+    public void removeAllElements() {
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b] = null;
+        }
+        blockCount = 0;
+        validBlocks = 0;
+        lastBlock = -1;
+        size = 0;
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        int remaining = toIndex - fromIndex;
+        if (remaining == 0) {
+            return;
+        }
+        int b = blockOf(fromIndex);
+        int offset = fromIndex - starts[b];
+        size -= remaining;
+        while (remaining > 0) {
+            int count = counts[b];
+            int removed = Math.min(remaining, count - offset);
+            Object[] block = blocks[b];
+            System.arraycopy(block, offset + removed, block, offset, count - offset - removed);
+            for (int i = count - removed; i < count; i++) {
+                block[i] = null;
+            }
+            counts[b] = count - removed;
+            countChanged(b);
+            remaining -= removed;
+            if (counts[b] == 0) {
+                removeBlock(b);
+            } else {
+                b++;
+            }
+            offset = 0;
+        }
+        if (b > 0) mergeIfSparse(b - 1);
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        int remaining = toIndex - fromIndex;
+        if (remaining == 0) {
+            return;
+        }
+        int b = blockOf(fromIndex);
+        int offset = fromIndex - starts[b];
+        int dest = 0;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, counts[b] - offset);
+            System.arraycopy(blocks[b], offset, anArray, dest, chunk);
+            dest += chunk;
+            remaining -= chunk;
+            b++;
+            offset = 0;
+        }
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            return -1;
+        }
+        int b = blockOf(fromIndex);
+        int index = fromIndex;
+        int offset = fromIndex - starts[b];
+        while (index < toIndex) {
+            Object[] block = blocks[b];
+            int end = Math.min(counts[b], offset + (toIndex - index));
+            for (int i = offset; i < end; i++, index++) {
+                Object e = block[i];
+                if (e == null ? elem == null : e.equals(elem)) {
+                    return index;
+                }
+            }
+            b++;
+            offset = 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,835 @@
+package myAdapter;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versione thread-safe di {@link ListAdapter} basata sul flat combining.
+ * <p>
+ * Con molti thread che scrivono a raffiche, passarsi il lock a ogni operazione costa più dell'operazione
+ * stessa. Qui le operazioni su un singolo elemento ({@code add}, {@code set}, {@code remove}, {@code get},
+ * {@code size}) non prendono il lock: il thread scrive la richiesta in una cella propria e aspetta. Il primo
+ * thread che riesce a prendere il lock diventa combinatore: scorre le celle di tutti i thread, esegue in fila
+ * le richieste in attesa e scrive i risultati, poi rilascia il lock. Così un solo passaggio di lock serve
+ * un'intera raffica di operazioni, e il backend resta nella cache di un solo core mentre le esegue.
+ * <p>
+ * La cella di un thread viene collegata alla prima richiesta e scollegata dal combinatore quando resta inattiva
+ * per {@link #IDLE_PASSES} passate; il thread la ricollega alla richiesta successiva. Così ogni passata scorre
+ * solo le celle dei thread che usano la lista di recente, e non trattiene quelle dei thread terminati.
+ * <p>
+ * Le operazioni su più elementi ({@code addAll}, {@code removeAll}, {@code equals}, {@code toArray}, ...)
+ * prendono il lock direttamente e, prima di rilasciarlo, eseguono anche le richieste rimaste in attesa.
+ * <p>
+ * Ogni metodo è atomico, ma una sequenza di chiamate no: per operazioni composte si usa
+ * {@link #locked(Runnable)}. Ogni passo di un iteratore (o di una vista {@link #subList(int, int)}) è atomico da
+ * solo, ma la lista può cambiare tra un passo e l'altro.
+ * <p>
+ * Il backend deve essere usato solo attraverso la lista: di default è un {@link ArrayStorage}, dato che la
+ * sincronizzazione del {@link VectorStorage} sarebbe superflua.
+ */
+public class CombiningListAdapter extends ListAdapter {
+
+    /** Codice di {@link #add(Object)}. */
+    private static final int ADD = 0;
+    /** Codice di {@link #add(int, Object)}. */
+    private static final int ADD_AT = 1;
+    /** Codice di {@link #set(int, Object)}. */
+    private static final int SET = 2;
+    /** Codice di {@link #remove(int)}. */
+    private static final int REMOVE_AT = 3;
+    /** Codice di {@link #remove(Object)}. */
+    private static final int REMOVE = 4;
+    /** Codice di {@link #get(int)}. */
+    private static final int GET = 5;
+    /** Codice di {@link #size()}. */
+    private static final int SIZE = 6;
+
+    /** Numero massimo di passate del combinatore sulle celle prima di rilasciare il lock. */
+    private static final int COMBINE_PASSES = 3;
+
+    /** Numero di passate senza richieste dopo le quali la cella di un thread viene scollegata. */
+    private static final int IDLE_PASSES = 64;
+
+    /**
+     * Attese attive di un thread prima di iniziare a cedere il processore con {@link Thread#yield()}.
+     * Con un solo processore l'attesa attiva non serve: il combinatore non può avanzare finché il thread non cede.
+     */
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 64 : 0;
+
+    /**
+     * Cella di un thread, in cui pubblica la propria richiesta e riceve il risultato.
+     * <p>
+     * I campi della richiesta vengono scritti prima di {@code pending = true} e quelli del risultato prima di
+     * {@code pending = false}: la scrittura del campo volatile li rende visibili all'altro thread.
+     */
+    private static final class Request {
+        /** Codice dell'operazione. */
+        int op;
+        /** Indice dell'operazione, se ne ha uno. */
+        int index;
+        /** Elemento dell'operazione, se ne ha uno. */
+        Object arg;
+        /** Valore restituito dall'operazione. */
+        Object result;
+        /** Eccezione lanciata dall'operazione, o null. */
+        Throwable error;
+        /** {@code true} mentre la richiesta attende un combinatore. */
+        volatile boolean pending;
+        /** {@code true} mentre la cella è collegata; rimesso a {@code false} dal combinatore che la scollega. */
+        volatile boolean linked;
+        /** Passata del combinatore in cui la cella ha avuto l'ultima richiesta; scritto sotto lock. */
+        int lastPass;
+        /** Cella collegata prima di questa. */
+        Request next;
+    }
+
+    /** Lock del combinatore; chi lo tiene può usare il backend. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Ultima cella collegata. I thread aggiungono celle solo in testa; il combinatore scollega solo celle
+     * successive alla prima, così le due modifiche non si sovrappongono.
+     */
+    private final AtomicReference requests = new AtomicReference();
+
+    /** Cella del thread corrente, creata al primo uso e collegata da {@link #submit(int, int, Object)}. */
+    private final ThreadLocal request = new ThreadLocal() {
+        protected Object initialValue() {
+            return new Request();
+        }
+    };
+
+    /** Numero di passate eseguite dai combinatori, usato per l'invecchiamento delle celle; protetto dal lock. */
+    private int passes;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota basata su {@link ArrayStorage}.
+     */
+    public CombiningListAdapter() {
+        super(new ArrayStorage());
+    }
+
+    /**
+     * Costruttore che inizializza una lista sul backend specificato.
+     * @param storage backend di memorizzazione
+     * @throws NullPointerException se il backend è null
+     */
+    public CombiningListAdapter(ListStorage storage) {
+        super(storage);
+    }
+
+    //  Combinatore  \\
+
+    /**
+     * Esegue l'azione tenendo il lock: nessun altro thread può leggere o scrivere durante l'azione.
+     * Dall'interno dell'azione la lista può essere letta e modificata liberamente, anche con chiamate annidate.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void locked(Runnable action) {
+        boolean acquired = acquire();
+        try {
+            action.run();
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Prende il lock, a meno che il thread corrente non lo tenga già.
+     * @return {@code true} se il lock è stato preso e va rilasciato con {@link #release(boolean)}
+     */
+    private boolean acquire() {
+        if (lock.isHeldByCurrentThread()) {
+            return false;
+        }
+        lock.lock();
+        return true;
+    }
+
+    /**
+     * Esegue le richieste in attesa e rilascia il lock, se era stato preso da {@link #acquire()}.
+     * @param acquired valore restituito da {@link #acquire()}
+     */
+    private void release(boolean acquired) {
+        if (acquired) {
+            try {
+                combine();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Pubblica una richiesta e attende che un combinatore la esegua, diventando combinatore se il lock è libero.
+     * Se il thread corrente tiene già il lock l'operazione viene eseguita subito.
+     * @param op codice dell'operazione
+     * @param index indice dell'operazione
+     * @param arg elemento dell'operazione
+     * @return valore restituito dall'operazione
+     */
+    private Object submit(int op, int index, Object arg) {
+        if (lock.isHeldByCurrentThread()) {
+            return apply(op, index, arg);
+        }
+        Request r = (Request) request.get();
+        r.op = op;
+        r.index = index;
+        r.arg = arg;
+        r.pending = true;
+        for (int spins = 0; r.pending; spins++) {
+            if (!r.linked) {
+                // la cella è nuova, o un combinatore l'ha scollegata prima di vedere la richiesta
+                link(r);
+            }
+            if (lock.tryLock()) {
+                try {
+                    combine();
+                } finally {
+                    lock.unlock();
+                }
+            } else if (spins >= SPINS) {
+                Thread.yield();
+            }
+        }
+        Object result = r.result;
+        Throwable error = r.error;
+        r.arg = null;
+        r.result = null;
+        r.error = null;
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw (RuntimeException) error;
+        }
+        return result;
+    }
+
+    /**
+     * Collega in testa la cella del thread corrente.
+     * @param r cella non collegata
+     */
+    private void link(Request r) {
+        r.linked = true;
+        Request head;
+        do {
+            head = (Request) requests.get();
+            r.next = head;
+        } while (!requests.compareAndSet(head, r));
+    }
+
+    /**
+     * Esegue, tenendo il lock, le richieste in attesa di tutti i thread. Si ferma quando una passata non ne trova
+     * o dopo {@link #COMBINE_PASSES} passate, per non tenere il lock troppo a lungo. Durante la scansione
+     * scollega le celle senza richieste da più di {@link #IDLE_PASSES} passate, tranne la prima, che potrebbe
+     * essere sostituita in testa da un thread in quel momento.
+     */
+    private void combine() {
+        for (int pass = 0; pass < COMBINE_PASSES; pass++) {
+            int current = ++passes;
+            boolean found = false;
+            Request prev = null;
+            for (Request r = (Request) requests.get(); r != null; ) {
+                Request next = r.next;
+                if (r.pending) {
+                    found = true;
+                    r.lastPass = current;
+                    try {
+                        r.result = apply(r.op, r.index, r.arg);
+                    } catch (RuntimeException e) {
+                        r.error = e;
+                    } catch (Error e) {
+                        r.error = e;
+                    }
+                    r.pending = false;
+                } else if (prev != null && current - r.lastPass > IDLE_PASSES) {
+                    prev.next = next;
+                    r.linked = false; // dopo lo scollegamento: il thread può ricollegarla subito
+                    r = next;
+                    continue;
+                }
+                prev = r;
+                r = next;
+            }
+            if (!found) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Esegue un'operazione sul backend; il thread corrente tiene il lock.
+     * @param op codice dell'operazione
+     * @param index indice dell'operazione
+     * @param arg elemento dell'operazione
+     * @return valore restituito dall'operazione
+     */
+    private Object apply(int op, int index, Object arg) {
+        switch (op) {
+            case ADD:
+                return Boolean.valueOf(super.add(arg));
+            case ADD_AT:
+                super.add(index, arg);
+                return null;
+            case SET:
+                return super.set(index, arg);
+            case REMOVE_AT:
+                return super.remove(index);
+            case REMOVE:
+                return Boolean.valueOf(super.remove(arg));
+            case GET:
+                return super.get(index);
+            case SIZE:
+                return Integer.valueOf(super.size());
+            default:
+                throw new IllegalArgumentException("op: " + op);
+        }
+    }
+
+    //  Operazioni combinate  \\
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return numero di elementi
+     */
+    @Override
+    public int size() {
+        return ((Integer) submit(SIZE, 0, null)).intValue();
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se vuota
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        return submit(GET, index, null);
+    }
+
+    /**
+     * Aggiunge un elemento in coda alla lista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Object o) {
+        return ((Boolean) submit(ADD, 0, o)).booleanValue();
+    }
+
+    /**
+     * Rimuove l'oggetto specificato, il primo che incontra.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        return ((Boolean) submit(REMOVE, 0, o)).booleanValue();
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object set(int index, Object element) {
+        return submit(SET, index, element);
+    }
+
+    /**
+     * Aggiunge un elemento nella posizione specificata.
+     * @param index posizione
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    @Override
+    public void add(int index, Object element) {
+        submit(ADD_AT, index, element);
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata.
+     * @param index posizione dell'elemento
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        return submit(REMOVE_AT, index, null);
+    }
+
+    //  Operazioni sotto lock  \\
+
+    /**
+     * Verifica se la lista contiene l'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, 0, -1);
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return lastIndexOf(o, 0, -1);
+    }
+
+    /**
+     * Cerca sotto lock la prima occorrenza nell'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto lo stesso lock.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int indexOf(Object o, int fromIndex, int toIndex) {
+        boolean acquired = acquire();
+        try {
+            return super.indexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Cerca sotto lock l'ultima occorrenza nell'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto lo stesso lock.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int lastIndexOf(Object o, int fromIndex, int toIndex) {
+        boolean acquired = acquire();
+        try {
+            return super.lastIndexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della lista.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(0, -1, new Object[0]);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi in ordine.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        return toArray(0, -1, a);
+    }
+
+    /**
+     * Copia sotto lock l'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto lo stesso lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    Object[] toArray(int fromIndex, int toIndex, Object[] a) {
+        boolean acquired = acquire();
+        try {
+            return super.toArray(fromIndex, toIndex < 0 ? super.size() : toIndex, a);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Visita l'intervallo a blocchi, ciascuno copiato sotto lock, invece di leggere ogni elemento con un
+     * lock a sé.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    @Override
+    void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        visitBatched(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+
+    /**
+     * Verifica, sotto lock, se tutti gli elementi sono presenti nella lista.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.containsAll(c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Verifica, sotto lock, se tutti gli elementi della collezione sono presenti nell'intervallo.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    boolean containsAll(int fromIndex, int toIndex, HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.containsAll(fromIndex, toIndex, c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Confronta, sotto lock, questa lista con un altro oggetto.
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        boolean acquired = acquire();
+        try {
+            return super.equals(o);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Calcola, sotto lock, il valore di hash per la lista.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        boolean acquired = acquire();
+        try {
+            return super.hashCode();
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi alla fine della lista.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.addAll(c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata.
+     * @param index posizione d'inserimento
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.addAll(index, c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.removeAll(c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione.
+     * @param c collezione da mantenere
+     * @return {@code true} se la lista è stata modificata
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        boolean acquired = acquire();
+        try {
+            return super.retainAll(c);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Compatta l'intervallo sotto lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        boolean acquired = acquire();
+        try {
+            return super.batchRemove(fromIndex, toIndex, c, retain);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Rimuove sotto lock gli elementi dell'intervallo che soddisfano la condizione; anche la condizione
+     * viene verificata dentro il lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param filter condizione degli elementi da rimuovere
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int removeIf(int fromIndex, int toIndex, HPredicate filter) {
+        boolean acquired = acquire();
+        try {
+            return super.removeIf(fromIndex, toIndex, filter);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Sostituisce sotto lock gli elementi dell'intervallo con il risultato dell'operazione.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param operator operazione da applicare
+     */
+    @Override
+    void replaceAll(int fromIndex, int toIndex, HUnaryOperator operator) {
+        boolean acquired = acquire();
+        try {
+            super.replaceAll(fromIndex, toIndex, operator);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Rimuove sotto lock gli elementi nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        boolean acquired = acquire();
+        try {
+            super.removeRange(fromIndex, toIndex);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla lista.
+     */
+    @Override
+    public void clear() {
+        boolean acquired = acquire();
+        try {
+            super.clear();
+        } finally {
+            release(acquired);
+        }
+    }
+
+    //  Iteratori  \\
+
+    /**
+     * Restituisce un iteratore i cui passi sono atomici uno per uno; per una scansione coerente va usato
+     * dentro {@link #locked(Runnable)}, oppure si usa {@link #snapshotIterator()}.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator dalla posizione 0, con passi atomici uno per uno.
+     * @return HListIterator
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator da un indice specificato, con passi atomici uno per uno.
+     * @param index posizione iniziale
+     * @return HListIterator
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        boolean acquired = acquire();
+        try {
+            return new LockedIterator(super.listIterator(index));
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * Crea sotto lock un iteratore a fotografia sull'intervallo; il lock serve solo a prendere la fotografia,
+     * non durante l'iterazione.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    @Override
+    HListIterator snapshotIterator(int fromIndex, int toIndex) {
+        boolean acquired = acquire();
+        try {
+            return super.snapshotIterator(fromIndex, toIndex);
+        } finally {
+            release(acquired);
+        }
+    }
+
+    /**
+     * List iterator che esegue ogni passo dell'iteratore di {@link ListAdapter} sotto il lock.
+     */
+    private class LockedIterator implements HListIterator {
+        /** Iteratore di {@link ListAdapter} che accede direttamente al backend. */
+        private final HListIterator it;
+
+        /**
+         * Costruttore dell'iteratore.
+         * @param it iteratore da proteggere
+         */
+        LockedIterator(HListIterator it) {
+            this.it = it;
+        }
+
+        public boolean hasNext() {
+            boolean acquired = acquire();
+            try {
+                return it.hasNext();
+            } finally {
+                release(acquired);
+            }
+        }
+
+        public Object next() {
+            boolean acquired = acquire();
+            try {
+                return it.next();
+            } finally {
+                release(acquired);
+            }
+        }
+
+        public boolean hasPrevious() {
+            return it.hasPrevious();
+        }
+
+        public Object previous() {
+            boolean acquired = acquire();
+            try {
+                return it.previous();
+            } finally {
+                release(acquired);
+            }
+        }
+
+        public int nextIndex() {
+            return it.nextIndex();
+        }
+
+        public int previousIndex() {
+            return it.previousIndex();
+        }
+
+        public void remove() {
+            boolean acquired = acquire();
+            try {
+                it.remove();
+            } finally {
+                release(acquired);
+            }
+        }
+
+        public void set(Object o) {
+            boolean acquired = acquire();
+            try {
+                it.set(o);
+            } finally {
+                release(acquired);
+            }
+        }
+
+        public void add(Object o) {
+            boolean acquired = acquire();
+            try {
+                it.add(o);
+            } finally {
+                release(acquired);
+            }
+        }
+    }
+}
@@ -0,0 +1,846 @@
+package myAdapter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Versione thread-safe di {@link ListAdapter} basata su uno {@link StampedLock}.
+ * <p>
+ * Le letture brevi ({@code size}, {@code get}, {@code indexOf}, {@code contains}, {@code toArray}) vengono prima
+ * eseguite senza lock, in modalità ottimistica, e poi convalidate con il timbro del lock: se nel frattempo nessuno
+ * ha scritto il risultato è valido, altrimenti la lettura viene ripetuta sotto read lock. Più thread possono così
+ * leggere in parallelo senza scriversi a vicenda su una variabile condivisa, a differenza del monitor di
+ * {@link java.util.Vector}. Le altre letture composte ({@code equals}, {@code hashCode}, {@code containsAll})
+ * prendono il read lock, le scritture il write lock.
+ * <p>
+ * Ogni metodo è atomico, ma una sequenza di chiamate no. Per operazioni composte (una scansione con
+ * l'iteratore, un controllo seguito da una modifica) si usano {@link #readLocked(Runnable)} e
+ * {@link #writeLocked(Runnable)}: al loro interno la lista può essere usata normalmente, anche con chiamate
+ * annidate. Fuori da questi blocchi ogni passo di un iteratore (o di una vista {@link #subList(int, int)}) è
+ * atomico da solo, ma la lista può cambiare tra un passo e l'altro.
+ * <p>
+ * Il backend deve essere usato solo attraverso la lista: di default è un {@link ArrayStorage}, dato che la
+ * sincronizzazione del {@link VectorStorage} sarebbe superflua.
+ * <p>
+ * Le letture ottimistiche e quelle in parallelo richiedono un backend le cui letture non modificano il suo stato:
+ * {@link ArrayStorage}, {@link VectorStorage}, {@link GapBufferStorage}, {@link RingBufferStorage},
+ * {@link BTreeStorage} e {@link AppendOnlyStorage}. Con ogni altro backend (per esempio {@link IndexedStorage} e
+ * {@link ChunkedStorage}, che durante le letture aggiornano posizioni e cache, o {@link MappedFileStorage}, che
+ * sposta la posizione dei buffer) ogni lettura prende il lock in modo esclusivo, come una scrittura: la lista resta
+ * corretta, ma i lettori non lavorano più in parallelo.
+ */
+public class ConcurrentListAdapter extends ListAdapter {
+
+    /** Lock che protegge il backend. */
+    private final StampedLock lock = new StampedLock();
+
+    /** {@code true} se le letture del backend non ne modificano lo stato e possono essere eseguite in parallelo. */
+    private final boolean sharedReads;
+
+    /**
+     * Thread che tiene il lock per una lettura esclusiva (backend senza {@link #sharedReads}), o null.
+     * Come {@link #writer}, viene scritto solo dal thread stesso.
+     */
+    private Thread reader;
+
+    /**
+     * Thread che tiene il write lock, o null. Viene scritto solo dal thread stesso, che quindi vede sempre
+     * il proprio valore; gli altri thread non possono trovarvi sé stessi.
+     */
+    private Thread writer;
+
+    /** Numero di thread in attesa del write lock. */
+    private final AtomicInteger waitingWriters = new AtomicInteger();
+
+    /**
+     * Numero di {@link #readLocked(Runnable)} e di read lock attivi nel thread corrente, in un {@code int[1]}:
+     * finché è positivo le letture annidate non riprendono il lock.
+     */
+    private final ThreadLocal readDepth = new ThreadLocal() {
+        protected Object initialValue() {
+            return new int[1];
+        }
+    };
+
+    /**
+     * Costruttore di default, inizializza una lista vuota basata su {@link ArrayStorage}.
+     */
+    public ConcurrentListAdapter() {
+        super(new ArrayStorage());
+        sharedReads = true;
+    }
+
+    /**
+     * Costruttore che inizializza una lista sul backend specificato.
+     * @param storage backend di memorizzazione
+     * @throws NullPointerException se il backend è null
+     */
+    public ConcurrentListAdapter(ListStorage storage) {
+        super(storage);
+        sharedReads = sharedReads(storage);
+    }
+
+    /**
+     * Verifica se le letture del backend possono essere eseguite in parallelo e senza lock. Sono ammesse solo le
+     * classi del pacchetto che non scrivono niente durante le letture; le loro sottoclassi no, perché potrebbero
+     * farlo.
+     * @param storage backend della lista
+     * @return {@code true} se le letture non modificano lo stato del backend
+     */
+    private static boolean sharedReads(ListStorage storage) {
+        Class c = storage.getClass();
+        return c == ArrayStorage.class || c == VectorStorage.class || c == GapBufferStorage.class
+                || c == RingBufferStorage.class || c == BTreeStorage.class || c == AppendOnlyStorage.class;
+    }
+
+    //  Blocchi  \\
+
+    /**
+     * Esegue l'azione tenendo il read lock: nessuna scrittura può avvenire durante l'azione, le letture di altri
+     * thread sì. Le scritture sulla lista dall'interno dell'azione lanciano {@link IllegalStateException},
+     * perché il read lock non può essere promosso a write lock.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void readLocked(Runnable action) {
+        long stamp = readLock();
+        int[] depth = (int[]) readDepth.get();
+        depth[0]++;
+        try {
+            action.run();
+        } finally {
+            depth[0]--;
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Esegue l'azione tenendo il write lock: nessun altro thread può leggere o scrivere durante l'azione.
+     * Dall'interno dell'azione la lista può essere letta e modificata liberamente.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     * @throws IllegalStateException se chiamato dall'interno di {@link #readLocked(Runnable)}
+     */
+    public void writeLocked(Runnable action) {
+        long stamp = writeLock();
+        try {
+            action.run();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Prende il read lock, a meno che il thread corrente non tenga già il read o il write lock. Se il backend
+     * non ammette letture in parallelo prende invece il lock in modo esclusivo.
+     * <p>
+     * {@link StampedLock} lascia entrare un nuovo lettore finché ce n'è già uno attivo, quindi lettori che si
+     * alternano senza pause impedirebbero per sempre a uno scrittore di entrare. Se uno scrittore è in attesa,
+     * il lettore si mette in coda come scrittore e poi converte il lock in lettura: passa dopo gli scrittori
+     * già in coda, e insieme agli altri lettori. Per questo una lettura annidata, per esempio
+     * {@code containsAll} che richiama {@code containsAll(int, int, HCollection)}, non deve riprendere il lock:
+     * si metterebbe in coda dietro lo scrittore che aspetta il lock già tenuto dal thread stesso.
+     * @return timbro da passare a {@link #unlockRead(long)}, 0 se il lock non è stato preso
+     */
+    private long readLock() {
+        Thread current = Thread.currentThread();
+        int[] depth = (int[]) readDepth.get();
+        if (writer == current || reader == current || depth[0] > 0) {
+            return 0L;
+        }
+        long stamp;
+        if (!sharedReads) {
+            stamp = lock.writeLock();
+            reader = current;
+        } else if (waitingWriters.get() > 0) {
+            stamp = lock.tryConvertToReadLock(lock.writeLock());
+        } else {
+            stamp = lock.readLock();
+        }
+        depth[0]++;
+        return stamp;
+    }
+
+    /**
+     * Rilascia il read lock preso da {@link #readLock()}.
+     * @param stamp timbro restituito da {@link #readLock()}
+     */
+    private void unlockRead(long stamp) {
+        if (stamp == 0L) {
+            return;
+        }
+        ((int[]) readDepth.get())[0]--;
+        if (sharedReads) {
+            lock.unlockRead(stamp);
+        } else {
+            reader = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Prende il write lock, a meno che il thread corrente non lo tenga già.
+     * @return timbro da passare a {@link #unlockWrite(long)}, 0 se il lock non è stato preso
+     * @throws IllegalStateException se il thread corrente tiene il read lock
+     */
+    private long writeLock() {
+        Thread current = Thread.currentThread();
+        if (writer == current) {
+            return 0L;
+        }
+        if (reader == current || ((int[]) readDepth.get())[0] > 0) {
+            throw new IllegalStateException("cannot write inside readLocked");
+        }
+        waitingWriters.incrementAndGet();
+        long stamp;
+        try {
+            stamp = lock.writeLock();
+        } finally {
+            waitingWriters.decrementAndGet();
+        }
+        writer = current;
+        return stamp;
+    }
+
+    /**
+     * Rilascia il write lock preso da {@link #writeLock()}.
+     * @param stamp timbro restituito da {@link #writeLock()}
+     */
+    private void unlockWrite(long stamp) {
+        if (stamp != 0L) {
+            writer = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //  Letture ottimistiche  \\
+    // Ogni lettura viene tentata senza lock e convalidata: un'eccezione lanciata su uno stato
+    // non valido (per esempio un indice letto durante una scrittura) fa ripetere la lettura sotto lock.
+
+    /**
+     * Inizia una lettura ottimistica, se il backend la ammette.
+     * @return timbro da convalidare, o 0 se la lettura va eseguita sotto lock
+     */
+    private long tryOptimisticRead() {
+        return sharedReads ? lock.tryOptimisticRead() : 0L;
+    }
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return numero di elementi
+     */
+    @Override
+    public int size() {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            int result = super.size();
+            if (lock.validate(stamp)) return result;
+        }
+        stamp = readLock();
+        try {
+            return super.size();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se vuota
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                Object result = super.get(index);
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = readLock();
+        try {
+            return super.get(index);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Verifica se la lista contiene l'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, 0, -1);
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return lastIndexOf(o, 0, -1);
+    }
+
+    /**
+     * Cerca la prima occorrenza nell'intervallo {@code [fromIndex, toIndex)}, in modalità ottimistica.
+     * Un {@code toIndex} negativo indica la fine della lista, letta con lo stesso timbro della ricerca.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int indexOf(Object o, int fromIndex, int toIndex) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                int result = super.indexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = readLock();
+        try {
+            return super.indexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Cerca l'ultima occorrenza nell'intervallo {@code [fromIndex, toIndex)}, in modalità ottimistica.
+     * Un {@code toIndex} negativo indica la fine della lista, letta con lo stesso timbro della ricerca.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int lastIndexOf(Object o, int fromIndex, int toIndex) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                int result = super.lastIndexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = readLock();
+        try {
+            return super.lastIndexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della lista.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(0, -1, new Object[0]);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi in ordine.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        return toArray(0, -1, a);
+    }
+
+    /**
+     * Copia l'intervallo {@code [fromIndex, toIndex)} in modalità ottimistica. Se la lettura non viene convalidata
+     * l'array passato può contenere elementi scritti a metà, ma viene comunque riempito di nuovo sotto lock.
+     * Un {@code toIndex} negativo indica la fine della lista, letta con lo stesso timbro della copia.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    Object[] toArray(int fromIndex, int toIndex, Object[] a) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                Object[] result = super.toArray(fromIndex, toIndex < 0 ? super.size() : toIndex, a);
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = readLock();
+        try {
+            return super.toArray(fromIndex, toIndex < 0 ? super.size() : toIndex, a);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Visita l'intervallo a blocchi, ciascuno copiato in modalità ottimistica o sotto read lock, invece di leggere
+     * ogni elemento con un lock a sé.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    @Override
+    void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        visitBatched(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+
+    //  Letture sotto read lock  \\
+
+    /**
+     * Verifica, sotto read lock, se tutti gli elementi sono presenti nella lista.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        long stamp = readLock();
+        try {
+            return super.containsAll(c);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Verifica, sotto read lock, se tutti gli elementi della collezione sono presenti nell'intervallo.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    boolean containsAll(int fromIndex, int toIndex, HCollection c) {
+        long stamp = readLock();
+        try {
+            return super.containsAll(fromIndex, toIndex, c);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Confronta, sotto read lock, questa lista con un altro oggetto.
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        long stamp = readLock();
+        try {
+            return super.equals(o);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Calcola, sotto read lock, il valore di hash per la lista.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        long stamp = readLock();
+        try {
+            return super.hashCode();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    //  Scritture  \\
+
+    /**
+     * Aggiunge un elemento in coda alla lista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Object o) {
+        long stamp = writeLock();
+        try {
+            return super.add(o);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove l'oggetto specificato, il primo che incontra.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        long stamp = writeLock();
+        try {
+            return super.remove(o);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi alla fine della lista.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        long stamp = writeLock();
+        try {
+            return super.addAll(c);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata.
+     * @param index posizione d'inserimento
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        long stamp = writeLock();
+        try {
+            return super.addAll(index, c);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        long stamp = writeLock();
+        try {
+            return super.removeAll(c);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione.
+     * @param c collezione da mantenere
+     * @return {@code true} se la lista è stata modificata
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        long stamp = writeLock();
+        try {
+            return super.retainAll(c);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Compatta l'intervallo sotto write lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        long stamp = writeLock();
+        try {
+            return super.batchRemove(fromIndex, toIndex, c, retain);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove sotto write lock gli elementi dell'intervallo che soddisfano la condizione; anche la condizione
+     * viene verificata dentro il lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param filter condizione degli elementi da rimuovere
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int removeIf(int fromIndex, int toIndex, HPredicate filter) {
+        long stamp = writeLock();
+        try {
+            return super.removeIf(fromIndex, toIndex, filter);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sostituisce sotto write lock gli elementi dell'intervallo con il risultato dell'operazione.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param operator operazione da applicare
+     */
+    @Override
+    void replaceAll(int fromIndex, int toIndex, HUnaryOperator operator) {
+        long stamp = writeLock();
+        try {
+            super.replaceAll(fromIndex, toIndex, operator);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove sotto write lock gli elementi nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        long stamp = writeLock();
+        try {
+            super.removeRange(fromIndex, toIndex);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla lista.
+     */
+    @Override
+    public void clear() {
+        long stamp = writeLock();
+        try {
+            super.clear();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object set(int index, Object element) {
+        long stamp = writeLock();
+        try {
+            return super.set(index, element);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Aggiunge un elemento nella posizione specificata.
+     * @param index posizione
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    @Override
+    public void add(int index, Object element) {
+        long stamp = writeLock();
+        try {
+            super.add(index, element);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata.
+     * @param index posizione dell'elemento
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        long stamp = writeLock();
+        try {
+            return super.remove(index);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    //  Iteratori  \\
+
+    /**
+     * Restituisce un iteratore i cui passi sono atomici uno per uno; per una scansione coerente va usato
+     * dentro {@link #readLocked(Runnable)} o {@link #writeLocked(Runnable)}, oppure si usa
+     * {@link #snapshotIterator()}.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator dalla posizione 0, con passi atomici uno per uno.
+     * @return HListIterator
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator da un indice specificato, con passi atomici uno per uno.
+     * @param index posizione iniziale
+     * @return HListIterator
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        return new LockedIterator(super.listIterator(index));
+    }
+
+    /**
+     * Crea sotto read lock un iteratore a fotografia sull'intervallo; il lock serve solo a prendere la fotografia,
+     * non durante l'iterazione. Con un {@link ArrayStorage} più lettori possono segnarlo come condiviso insieme,
+     * perché scrivono tutti la stessa dimensione; il primo scrittore successivo lavora su una copia.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    @Override
+    HListIterator snapshotIterator(int fromIndex, int toIndex) {
+        long stamp = readLock();
+        try {
+            return super.snapshotIterator(fromIndex, toIndex);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * List iterator che esegue ogni passo dell'iteratore di {@link ListAdapter} sotto il lock adatto.
+     */
+    private class LockedIterator implements HListIterator {
+        /** Iteratore di {@link ListAdapter} che accede direttamente al backend. */
+        private final HListIterator it;
+
+        /**
+         * Costruttore dell'iteratore.
+         * @param it iteratore da proteggere
+         */
+        LockedIterator(HListIterator it) {
+            this.it = it;
+        }
+
+        public boolean hasNext() {
+            long stamp = readLock();
+            try {
+                return it.hasNext();
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        public Object next() {
+            long stamp = readLock();
+            try {
+                return it.next();
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        public boolean hasPrevious() {
+            return it.hasPrevious();
+        }
+
+        public Object previous() {
+            long stamp = readLock();
+            try {
+                return it.previous();
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        public int nextIndex() {
+            return it.nextIndex();
+        }
+
+        public int previousIndex() {
+            return it.previousIndex();
+        }
+
+        public void remove() {
+            long stamp = writeLock();
+            try {
+                it.remove();
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        public void set(Object o) {
+            long stamp = writeLock();
+            try {
+                it.set(o);
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        public void add(Object o) {
+            long stamp = writeLock();
+            try {
+                it.add(o);
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package myAdapter;
+
+/**
+ * Lista thread-safe per accessi in prevalenza in lettura, che implementa {@link HList} e {@link HCollection}.
+ * <p>
+ * Gli elementi sono in un array che non viene mai modificato dopo essere stato pubblicato: ogni scrittura ne
+ * prepara una copia modificata e la sostituisce con un'unica assegnazione a un campo {@code volatile}.
+ * Le letture non prendono lock: leggono il riferimento all'array corrente e lavorano su quello.
+ * {@link #iterator()} e {@link #listIterator()} scorrono l'array presente al momento della loro creazione
+ * (una fotografia), non vedono le scritture successive e non lanciano mai
+ * {@link java.util.ConcurrentModificationException}; per questo non supportano {@code remove}, {@code set}
+ * e {@code add}.
+ * <p>
+ * Le scritture sono serializzate da un lock e costano O(n) ciascuna. Le operazioni di massa
+ * ({@link #addAll(HCollection)}, {@link #removeAll(HCollection)}, ...) copiano l'array una sola volta;
+ * per più modifiche diverse da rendere visibili insieme si usa {@link #update(ListUpdate)}.
+ */
+public class CopyOnWriteList implements HList, HCollection {
+
+    /** Array vuoto condiviso. */
+    private static final Object[] EMPTY = new Object[0];
+
+    /** Lock che serializza le scritture; le letture non lo usano. */
+    final Object lock = new Object();
+
+    /** Array corrente, lungo esattamente quanto la lista; non viene mai modificato dopo la pubblicazione. */
+    private volatile Object[] array;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota.
+     */
+    public CopyOnWriteList() {
+        array = EMPTY;
+    }
+
+    /**
+     * Costruttore che inizializza una lista con gli elementi della collezione, nell'ordine del suo iteratore.
+     * @param c collezione di partenza
+     * @throws NullPointerException se la collezione è null
+     */
+    public CopyOnWriteList(HCollection c) {
+        array = c.toArray();
+    }
+
+    /**
+     * Restituisce l'array corrente. Usato anche da {@link CopyOnWriteSubList}.
+     * @return array corrente, da non modificare
+     */
+    Object[] getArray() {
+        return array;
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza dell'oggetto nell'intervallo {@code [fromIndex, toIndex)} dell'array.
+     * @param o oggetto da cercare
+     * @param a array
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nell'array o -1 se non presente
+     */
+    static int indexOf(Object o, Object[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (o == null ? a[i] == null : o.equals(a[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza dell'oggetto nell'intervallo {@code [fromIndex, toIndex)} dell'array.
+     * @param o oggetto da cercare
+     * @param a array
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nell'array o -1 se non presente
+     */
+    static int lastIndexOf(Object o, Object[] a, int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            if (o == null ? a[i] == null : o.equals(a[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copia l'intervallo {@code [fromIndex, toIndex)} dell'array con le regole di {@link #toArray(Object[])}.
+     * @param a array di origine
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param dest array di partenza
+     * @return array riempito
+     */
+    static Object[] toArray(Object[] a, int fromIndex, int toIndex, Object[] dest) {
+        int size = toIndex - fromIndex;
+        if (dest.length < size) {
+            dest = ListAdapter.newArray(dest, size);
+        }
+        System.arraycopy(a, fromIndex, dest, 0, size);
+        if (dest.length > size) {
+            dest[size] = null;
+        }
+        return dest;
+    }
+
+    /**
+     * Confronta l'intervallo {@code [fromIndex, toIndex)} dell'array con un altro oggetto, come {@link HList#equals(Object)}.
+     * @param a array
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param o oggetto da confrontare
+     * @return {@code true} se {@code o} è una lista con gli stessi elementi
+     */
+    static boolean rangeEquals(Object[] a, int fromIndex, int toIndex, Object o) {
+        if (!(o instanceof HList)) return false;
+        HList other = (HList) o;
+        if (other.size() != toIndex - fromIndex) return false;
+        HIterator it = other.iterator();
+        for (int i = fromIndex; i < toIndex; i++) {
+            Object e = it.next();
+            if (a[i] == null ? e != null : !a[i].equals(e)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Calcola il codice hash dell'intervallo {@code [fromIndex, toIndex)} dell'array, con la formula di {@link HList#hashCode()}.
+     * @param a array
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return codice hash
+     */
+    static int rangeHashCode(Object[] a, int fromIndex, int toIndex) {
+        int hash = 1;
+        for (int i = fromIndex; i < toIndex; i++) {
+            hash = 31 * hash + (a[i] == null ? 0 : a[i].hashCode());
+        }
+        return hash;
+    }
+
+    //  Scritture  \\
+
+    /**
+     * Applica un gruppo di modifiche con una sola pubblicazione: {@code update} riceve una copia privata e
+     * modificabile della lista, e al suo ritorno il contenuto della copia sostituisce quello della lista.
+     * I lettori vedono tutte le modifiche insieme o nessuna; se {@code update} lancia un'eccezione la lista
+     * resta invariata. Le altre scritture attendono la fine della chiamata.
+     * @param update modifiche da applicare
+     * @throws NullPointerException se {@code update} è null
+     */
+    public void update(ListUpdate update) {
+        synchronized (lock) {
+            ListAdapter working = new ListAdapter(new ArrayStorage(array.clone()));
+            update.apply(working);
+            array = working.toArray();
+        }
+    }
+
+    /**
+     * Aggiunge un elemento in coda alla lista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Object o) {
+        synchronized (lock) {
+            Object[] a = array;
+            Object[] copy = new Object[a.length + 1];
+            System.arraycopy(a, 0, copy, 0, a.length);
+            copy[a.length] = o;
+            array = copy;
+            return true;
+        }
+    }
+
+    /**
+     * Aggiunge un elemento nella posizione specificata.
+     * @param index posizione
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    @Override
+    public void add(int index, Object element) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (index < 0 || index > a.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + a.length);
+            }
+            Object[] copy = new Object[a.length + 1];
+            System.arraycopy(a, 0, copy, 0, index);
+            System.arraycopy(a, index, copy, index + 1, a.length - index);
+            copy[index] = element;
+            array = copy;
+        }
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object set(int index, Object element) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (index < 0 || index >= a.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + a.length);
+            }
+            Object old = a[index];
+            if (old != element) {
+                Object[] copy = a.clone();
+                copy[index] = element;
+                array = copy;
+            }
+            return old;
+        }
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata.
+     * @param index posizione dell'elemento
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (index < 0 || index >= a.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + a.length);
+            }
+            Object old = a[index];
+            removeRange(index, index + 1);
+            return old;
+        }
+    }
+
+    /**
+     * Rimuove l'oggetto specificato, il primo che incontra.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        synchronized (lock) {
+            int index = indexOf(o, array, 0, array.length);
+            if (index < 0) {
+                return false;
+            }
+            removeRange(index, index + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Rimuove gli elementi nell'intervallo {@code [fromIndex, toIndex)} con una sola copia.
+     * Usato anche da {@link CopyOnWriteSubList}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    void removeRange(int fromIndex, int toIndex) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (fromIndex < 0 || toIndex > a.length || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + a.length);
+            }
+            if (fromIndex == toIndex) {
+                return;
+            }
+            Object[] copy = new Object[a.length - (toIndex - fromIndex)];
+            System.arraycopy(a, 0, copy, 0, fromIndex);
+            System.arraycopy(a, toIndex, copy, fromIndex, a.length - toIndex);
+            array = copy;
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi alla fine della lista, con una sola copia.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        synchronized (lock) {
+            return addAll(array.length, c);
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata, con una sola copia.
+     * @param index posizione d'inserimento
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (index < 0 || index > a.length) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            Object[] elements = c.toArray(); // copia: funziona anche se c è questa lista
+            if (elements.length == 0) {
+                return false;
+            }
+            Object[] copy = new Object[a.length + elements.length];
+            System.arraycopy(a, 0, copy, 0, index);
+            System.arraycopy(elements, 0, copy, index, elements.length);
+            System.arraycopy(a, index, copy, index + elements.length, a.length - index);
+            array = copy;
+            return true;
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione, con una sola copia.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        synchronized (lock) {
+            return batchRemove(0, array.length, c, false) > 0;
+        }
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione, con una sola copia.
+     * @param c collezione da mantenere
+     * @return {@code true} se la lista è stata modificata
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        synchronized (lock) {
+            return batchRemove(0, array.length, c, true) > 0;
+        }
+    }
+
+    /**
+     * Filtra l'intervallo {@code [fromIndex, toIndex)} in un nuovo array, pubblicato solo se qualcosa è
+     * stato rimosso. Usato anche da {@link CopyOnWriteSubList}.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di elementi rimossi
+     * @throws NullPointerException se la collezione è null
+     */
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        synchronized (lock) {
+            Object[] a = array;
+            HCollection probe = ListAdapter.fastProbe(c);
+            Object[] copy = new Object[a.length];
+            System.arraycopy(a, 0, copy, 0, fromIndex);
+            int w = fromIndex;
+            for (int r = fromIndex; r < toIndex; r++) {
+                if (probe.contains(a[r]) == retain) {
+                    copy[w++] = a[r];
+                }
+            }
+            int removed = toIndex - w;
+            if (removed == 0) {
+                return 0;
+            }
+            System.arraycopy(a, toIndex, copy, w, a.length - toIndex);
+            Object[] trimmed = new Object[a.length - removed];
+            System.arraycopy(copy, 0, trimmed, 0, trimmed.length);
+            array = trimmed;
+            return removed;
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla lista.
+     */
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            array = EMPTY;
+        }
+    }
+
+    //  Letture  \\
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return dimensione della lista
+     */
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se vuota
+     */
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    /**
+     * Verifica se la lista contiene l'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        Object[] a = array;
+        return indexOf(o, a, 0, a.length) >= 0;
+    }
+
+    /**
+     * Verifica se tutti gli elementi sono presenti nella lista, sulla stessa fotografia.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        Object[] a = array;
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (indexOf(it.next(), a, 0, a.length) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della lista.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi in ordine.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        Object[] snapshot = array;
+        return toArray(snapshot, 0, snapshot.length, a);
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        Object[] a = array;
+        if (index < 0 || index >= a.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + a.length);
+        }
+        return a[index];
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        Object[] a = array;
+        return indexOf(o, a, 0, a.length);
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        Object[] a = array;
+        return lastIndexOf(o, a, 0, a.length);
+    }
+
+    /**
+     * Confronta questa lista con un altro oggetto per uguaglianza di contenuto e ordine.
+     *
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        Object[] a = array;
+        return rangeEquals(a, 0, a.length, o);
+    }
+
+    /**
+     * Calcola il valore di hash per la lista.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        Object[] a = array;
+        return rangeHashCode(a, 0, a.length);
+    }
+
+    /**
+     * Restituisce un iteratore sulla fotografia corrente della lista.
+     * @return HIterator che non supporta {@code remove}
+     */
+    @Override
+    public HIterator iterator() {
+        return new SnapshotIterator(array, 0, 0, array.length);
+    }
+
+    /**
+     * Restituisce un list iterator sulla fotografia corrente della lista, dalla posizione 0.
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator sulla fotografia corrente della lista, da un indice specificato.
+     * @param index posizione iniziale
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        Object[] a = array;
+        if (index < 0 || index > a.length) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return new SnapshotIterator(a, 0, index, a.length);
+    }
+
+    /**
+     * Restituisce una vista della porzione della lista compresa tra {@code fromIndex} (incluso) e
+     * {@code toIndex} (escluso). La vista è valida finché la lista viene modificata solo attraverso di essa:
+     * dopo una scrittura fatta altrove ogni suo metodo lancia {@link java.util.ConcurrentModificationException}.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return sottolista contenente gli elementi nell'intervallo specificato
+     * @throws IndexOutOfBoundsException se {@code fromIndex} o {@code toIndex} sono fuori dai limiti
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        return new CopyOnWriteSubList(this, fromIndex, toIndex);
+    }
+}
@@ -0,0 +1,443 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Implementazione di {@code HList} che fornisce una vista su una porzione di {@link CopyOnWriteList}.
+ * Le modifiche alla sublist si riflettono sulla lista principale.
+ * <p>
+ * La vista ricorda l'array della lista che ha visto per ultimo. Se la lista viene modificata senza passare
+ * dalla vista (per esempio da un altro thread) gli indici della vista non sono più affidabili, e ogni suo metodo
+ * lancia {@link ConcurrentModificationException}. Letture e scritture passano dal lock della lista, così
+ * controllo e operazione avvengono sullo stesso array.
+ */
+public class CopyOnWriteSubList implements HList {
+
+    /** Lista padre a cui questa sublista si appoggia. */
+    private final CopyOnWriteList parent;
+
+    /** Indice iniziale (incluso) nella lista padre. */
+    private final int offset;
+
+    /** Numero di elementi della vista. */
+    private int size;
+
+    /** Array della lista padre atteso dalla vista. */
+    private Object[] expected;
+
+    /**
+     * Costruisce una sublist che rappresenta una vista tra due indici di una lista esistente.
+     *
+     * @param parent la lista da cui deriva la sublist (non deve essere null)
+     * @param fromIndex l'indice iniziale (inclusivo)
+     * @param toIndex l'indice finale (esclusivo)
+     * @throws NullPointerException se la lista padre è null
+     * @throws IndexOutOfBoundsException se gli indici non sono validi rispetto alla lista padre
+     */
+    public CopyOnWriteSubList(CopyOnWriteList parent, int fromIndex, int toIndex) {
+        if (parent == null)
+            throw new NullPointerException("parent list cannot be null");
+        synchronized (parent.lock) {
+            Object[] a = parent.getArray();
+            if (fromIndex < 0 || toIndex > a.length || fromIndex > toIndex)
+                throw new IndexOutOfBoundsException("Invalid sublist range");
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expected = a;
+        }
+    }
+
+    /**
+     * Restituisce l'array della lista padre, dopo aver verificato che sia quello atteso.
+     * Va chiamato tenendo il lock della lista padre.
+     *
+     * @return array corrente della lista padre
+     * @throws ConcurrentModificationException se la lista è stata modificata senza passare dalla vista
+     */
+    private Object[] checkForComodification() {
+        Object[] a = parent.getArray();
+        if (a != expected) {
+            throw new ConcurrentModificationException();
+        }
+        return a;
+    }
+
+    /**
+     * Registra una scrittura fatta dalla vista: aggiorna l'array atteso e la dimensione.
+     * Va chiamato tenendo il lock della lista padre.
+     *
+     * @param delta variazione del numero di elementi
+     */
+    private void updated(int delta) {
+        expected = parent.getArray();
+        size += delta;
+    }
+
+    /**
+     * Verifica che l'indice sia all'interno dei limiti della sottolista.
+     *
+     * @param index indice da controllare
+     * @throws IndexOutOfBoundsException se fuori dai limiti
+     */
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Restituisce la dimensione della sottolista.
+     * @return numero di elementi nella sottolista
+     */
+    @Override
+    public int size() {
+        synchronized (parent.lock) {
+            checkForComodification();
+            return size;
+        }
+    }
+
+    /**
+     * Verifica se la sottolista è vuota.
+     * @return {@code true} se non contiene elementi
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione specificata nella sottolista.
+     * @param index indice relativo alla sottolista
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            rangeCheck(index);
+            return a[offset + index];
+        }
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione specificata nella sottolista.
+     * @param index indice relativo alla sottolista
+     * @param element nuovo elemento
+     * @return elemento precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object set(int index, Object element) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            rangeCheck(index);
+            Object old = parent.set(offset + index, element);
+            updated(0);
+            return old;
+        }
+    }
+
+    /**
+     * Inserisce un elemento nella posizione specificata della sottolista.
+     * @param index posizione relativa alla sottolista
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    @Override
+    public void add(int index, Object element) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            parent.add(offset + index, element);
+            updated(1);
+        }
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata della sottolista.
+     * @param index posizione relativa alla sottolista
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            rangeCheck(index);
+            Object old = parent.remove(offset + index);
+            updated(-1);
+            return old;
+        }
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza dell'oggetto nella sottolista.
+     * @param o oggetto da cercare
+     * @return indice relativo o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            int index = CopyOnWriteList.indexOf(o, a, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza dell'oggetto nella sottolista.
+     * @param o oggetto da cercare
+     * @return indice relativo o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            int index = CopyOnWriteList.lastIndexOf(o, a, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+    }
+
+    /**
+     * Aggiunge un elemento alla fine della sottolista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Object o) {
+        synchronized (parent.lock) {
+            add(size, o);
+            return true;
+        }
+    }
+
+    /**
+     * Rimuove la prima occorrenza dell'oggetto dalla sottolista.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        synchronized (parent.lock) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+    }
+
+    /**
+     * Verifica se la sottolista contiene l'oggetto.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Verifica se la sottolista contiene tutti gli elementi della collezione.
+     * @param c collezione da verificare
+     * @return {@code true} se tutti presenti
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            HIterator it = c.iterator();
+            while (it.hasNext()) {
+                if (CopyOnWriteList.indexOf(it.next(), a, offset, offset + size) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi in coda alla sottolista, con una sola copia.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        synchronized (parent.lock) {
+            return addAll(size, c);
+        }
+    }
+
+    /**
+     * Inserisce tutti gli elementi alla posizione specificata della sottolista, con una sola copia.
+     * @param index posizione relativa alla sottolista
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            int before = parent.size();
+            boolean modified = parent.addAll(offset + index, c);
+            updated(parent.size() - before);
+            return modified;
+        }
+    }
+
+    /**
+     * Rimuove dalla sottolista tutti gli elementi presenti nella collezione, con una sola copia.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            int removed = parent.batchRemove(offset, offset + size, c, false);
+            updated(-removed);
+            return removed > 0;
+        }
+    }
+
+    /**
+     * Mantiene nella sottolista solo gli elementi presenti nella collezione, con una sola copia.
+     * @param c collezione da mantenere
+     * @return {@code true} se la sottolista è stata modificata
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            int removed = parent.batchRemove(offset, offset + size, c, true);
+            updated(-removed);
+            return removed > 0;
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi della sottolista dalla lista padre, con una sola copia.
+     */
+    @Override
+    public void clear() {
+        synchronized (parent.lock) {
+            checkForComodification();
+            parent.removeRange(offset, offset + size);
+            updated(-size);
+        }
+    }
+
+    /**
+     * Restituisce un array contenente gli elementi della sottolista.
+     * @return array di elementi
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Restituisce un array contenente gli elementi della sottolista.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        synchronized (parent.lock) {
+            Object[] snapshot = checkForComodification();
+            return CopyOnWriteList.toArray(snapshot, offset, offset + size, a);
+        }
+    }
+
+    /**
+     * Confronta questa sottolista con un altro oggetto per uguaglianza di contenuto e ordine.
+     * @param o oggetto da confrontare
+     * @return {@code true} se uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            return CopyOnWriteList.rangeEquals(a, offset, offset + size, o);
+        }
+    }
+
+    /**
+     * Calcola il valore di hash della sottolista.
+     * @return valore hash
+     */
+    @Override
+    public int hashCode() {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            return CopyOnWriteList.rangeHashCode(a, offset, offset + size);
+        }
+    }
+
+    /**
+     * Restituisce una vista della porzione di questa sottolista compresa tra {@code fromIndex} (incluso)
+     * e {@code toIndex} (escluso).
+     * @param fromIndex indice iniziale relativo alla sottolista
+     * @param toIndex indice finale relativo alla sottolista
+     * @return sottolista della sottolista
+     * @throws IndexOutOfBoundsException se gli indici non sono validi
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        synchronized (parent.lock) {
+            checkForComodification();
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Invalid sublist range");
+            }
+            return new CopyOnWriteSubList(parent, offset + fromIndex, offset + toIndex);
+        }
+    }
+
+    /**
+     * Restituisce un iteratore sulla fotografia corrente della sottolista.
+     * @return HIterator che non supporta {@code remove}
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator sulla fotografia corrente della sottolista, dalla posizione 0.
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator sulla fotografia corrente della sottolista, da un indice specificato.
+     * @param index posizione iniziale relativa alla sottolista
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        synchronized (parent.lock) {
+            Object[] a = checkForComodification();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            return new SnapshotIterator(a, offset, index, size);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package myAdapter;
+
+/**
+ * Iteratore bidirezionale di {@link DoubleList} e {@link DoubleSubList} con accesso diretto ai valori {@code double}.
+ * <p>
+ * I metodi di {@link HListIterator} restano disponibili e lavorano su {@link Double}; quelli di questa
+ * interfaccia evitano la conversione in oggetto.
+ */
+public interface DoubleListIterator extends HListIterator {
+
+    /**
+     * Restituisce il valore successivo e avanza il cursore.
+     * @return valore successivo
+     * @throws java.util.NoSuchElementException se non ci sono altri elementi
+     */
+    double nextDouble();
+
+    /**
+     * Restituisce il valore precedente e arretra il cursore.
+     * @return valore precedente
+     * @throws java.util.NoSuchElementException se non esiste
+     */
+    double previousDouble();
+
+    /**
+     * Sostituisce l'ultimo valore restituito da {@code next} o {@code previous}.
+     * @param value nuovo valore
+     * @throws IllegalStateException se {@code next} o {@code previous} non sono stati chiamati, o se dopo l'ultima
+     * chiamata sono stati chiamati {@code remove} o {@code add}
+     */
+    void setDouble(double value);
+
+    /**
+     * Inserisce un valore nella posizione corrente.
+     * @param value valore da inserire
+     */
+    void addDouble(double value);
+}
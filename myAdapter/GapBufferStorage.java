@@ -0,0 +1,177 @@
+package myAdapter;
+
+/**
+ * Backend di {@link ListAdapter} basato su un gap buffer: un array con un buco di posizioni libere
+ * che segue l'ultima modifica.
+ * <p>
+ * Gli elementi occupano {@code [0, gapStart)} e {@code [gapEnd, capacità)}. Inserimenti e rimozioni
+ * spostano prima il buco nella posizione indicata, copiando solo gli elementi tra la vecchia e la nuova
+ * posizione: modifiche ripetute vicino allo stesso cursore (come con {@link HListIterator#add(Object)}
+ * e {@link HListIterator#remove()}) costano O(1) ammortizzato invece di uno shift dell'intera coda.
+ * Non è sincronizzato.
+ */
+public class GapBufferStorage extends AbstractListStorage {
+
+    /** Capacità iniziale usata dal costruttore di default. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Array che contiene gli elementi e il buco. */
+    private Object[] buffer;
+
+    /** Prima posizione del buco (inclusa). */
+    private int gapStart;
+
+    /** Ultima posizione del buco (esclusa). */
+    private int gapEnd;
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto.
+     */
+    public GapBufferStorage() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza un backend con capacità iniziale specificata.
+     * @param capacity capacità iniziale
+     * @throws IllegalArgumentException se la capacità è negativa
+     */
+    public GapBufferStorage(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        buffer = new Object[capacity];
+        gapStart = 0;
+        gapEnd = capacity;
+    }
+
+    /**
+     * Converte un indice logico nella posizione dell'array.
+     * @param index indice logico
+     * @return posizione nell'array
+     */
+    private int physical(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Sposta il buco in modo che inizi all'indice logico indicato.
+     * @param index nuova posizione del buco
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+            clear(gapStart, Math.min(gapStart + count, gapEnd));
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+            clear(Math.max(gapEnd - count, gapStart), gapEnd);
+        }
+    }
+
+    /**
+     * Azzera le posizioni {@code [from, to)} dell'array per rilasciare i riferimenti.
+     * @param from posizione iniziale (inclusa)
+     * @param to posizione finale (esclusa)
+     */
+    private void clear(int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer[i] = null;
+        }
+    }
+
+    /**
+     * Garantisce che il buco contenga almeno {@code needed} posizioni, raddoppiando la capacità se serve.
+     * @param needed posizioni libere richieste
+     */
+    private void ensureGap(int needed) {
+        int gap = gapEnd - gapStart;
+        if (gap >= needed) {
+            return;
+        }
+        int size = buffer.length - gap;
+        int newCapacity = buffer.length * 2;
+        if (newCapacity < size + needed) {
+            newCapacity = size + needed;
+        }
+        Object[] newBuffer = new Object[newCapacity];
+        int tail = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newCapacity - tail, tail);
+        buffer = newBuffer;
+        gapEnd = newCapacity - tail;
+    }
+
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    public Object elementAt(int index) {
+        return buffer[physical(index)];
+    }
+
+    public void setElementAt(Object obj, int index) {
+        buffer[physical(index)] = obj;
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        moveGap(index);
+        ensureGap(1);
+        buffer[gapStart++] = obj;
+    }
+
+    public void removeElementAt(int index) {
+        moveGap(index);
+        buffer[gapEnd++] = null;
+    }
+
+    public void addElement(Object obj) {
+        insertElementAt(obj, size());
+    }
+
+    public void removeAllElements() {
+        clear(0, buffer.length);
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    public void setSize(int newSize) {
+        int size = size();
+        if (newSize < size) {
+            removeRange(newSize, size);
+        } else {
+            moveGap(size);
+            ensureGap(newSize - size);
+            gapStart = newSize; // le posizioni del buco sono già null
+        }
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        moveGap(fromIndex);
+        clear(gapEnd, gapEnd + (toIndex - fromIndex));
+        gapEnd += toIndex - fromIndex;
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        moveGap(index);
+        ensureGap(elements.length);
+        System.arraycopy(elements, 0, buffer, gapStart, elements.length);
+        gapStart += elements.length;
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        int before = Math.max(0, Math.min(toIndex, gapStart) - fromIndex);
+        if (before > 0) {
+            System.arraycopy(buffer, fromIndex, anArray, 0, before);
+        }
+        int after = toIndex - fromIndex - before;
+        if (after > 0) {
+            System.arraycopy(buffer, physical(fromIndex + before), anArray, before, after);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package myAdapter;
+
+/**
+ * Operazione che combina due valori in uno.
+ * <p>
+ * Simula {@link java.util.function.BinaryOperator}, senza generics.
+ */
+public interface HBinaryOperator {
+
+    /**
+     * Combina i due valori.
+     * @param a primo valore
+     * @param b secondo valore
+     * @return risultato
+     */
+    Object apply(Object a, Object b);
+}
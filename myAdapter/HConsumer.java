@@ -0,0 +1,15 @@
+package myAdapter;
+
+/**
+ * Operazione che riceve un elemento e non restituisce niente.
+ * <p>
+ * Simula {@link java.util.function.Consumer}, senza generics.
+ */
+public interface HConsumer {
+
+    /**
+     * Esegue l'operazione sull'elemento.
+     * @param o elemento
+     */
+    void accept(Object o);
+}
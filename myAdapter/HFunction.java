@@ -0,0 +1,16 @@
+package myAdapter;
+
+/**
+ * Funzione che trasforma un elemento in un altro valore.
+ * <p>
+ * Simula {@link java.util.function.Function}, senza generics.
+ */
+public interface HFunction {
+
+    /**
+     * Applica la funzione all'elemento.
+     * @param o elemento
+     * @return valore calcolato
+     */
+    Object apply(Object o);
+}
@@ -0,0 +1,16 @@
+package myAdapter;
+
+/**
+ * Operazione che riceve un elemento con la sua posizione e non restituisce niente.
+ * <p>
+ * Simula {@link java.util.function.ObjIntConsumer}, senza generics e con l'indice come primo parametro.
+ */
+public interface HIndexedConsumer {
+
+    /**
+     * Esegue l'operazione sull'elemento.
+     * @param index posizione dell'elemento
+     * @param o elemento
+     */
+    void accept(int index, Object o);
+}
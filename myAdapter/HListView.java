@@ -0,0 +1,105 @@
+package myAdapter;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * Vista di una {@link HList} come {@link java.util.List}, per passarla alle API del JDK
+ * ({@link java.util.Collections#sort(java.util.List)}, {@link java.util.stream.Stream}, ...).
+ * <p>
+ * La vista non copia gli elementi: ogni lettura e modifica passa alla lista di partenza, e le modifiche fatte
+ * sulla lista sono subito visibili dalla vista. Implementa {@link RandomAccess} perché l'accesso per indice
+ * delle {@link HList} del pacchetto non scorre la lista, quindi gli algoritmi del JDK lavorano per indice
+ * invece che con un iteratore. Se la lista è un {@link ListAdapter} o un {@link SubListAdapter},
+ * {@link #spliterator()} usa la sua visita divisibile, e {@code stream()} e {@code parallelStream()} della vista
+ * leggono gli elementi a blocchi senza copiarli.
+ */
+public class HListView extends AbstractList implements RandomAccess {
+
+    /** Lista di partenza. */
+    private final HList list;
+
+    /**
+     * Costruttore della vista.
+     * @param list lista da vedere come {@link java.util.List}
+     * @throws NullPointerException se la lista è null
+     */
+    public HListView(HList list) {
+        if (list == null) {
+            throw new NullPointerException("list cannot be null");
+        }
+        this.list = list;
+    }
+
+    /**
+     * Restituisce la lista di partenza.
+     * @return lista vista da questo oggetto
+     */
+    public HList list() {
+        return list;
+    }
+
+    public Object get(int index) {
+        return list.get(index);
+    }
+
+    public Object set(int index, Object element) {
+        return list.set(index, element);
+    }
+
+    public void add(int index, Object element) {
+        list.add(index, element);
+        modCount++;
+    }
+
+    public Object remove(int index) {
+        Object removed = list.remove(index);
+        modCount++;
+        return removed;
+    }
+
+    public int size() {
+        return list.size();
+    }
+
+    public int indexOf(Object o) {
+        return list.indexOf(o);
+    }
+
+    public int lastIndexOf(Object o) {
+        return list.lastIndexOf(o);
+    }
+
+    public boolean contains(Object o) {
+        return list.contains(o);
+    }
+
+    public Object[] toArray() {
+        return list.toArray();
+    }
+
+    public Object[] toArray(Object[] a) {
+        return list.toArray(a);
+    }
+
+    public void clear() {
+        list.clear();
+        modCount++;
+    }
+
+    /**
+     * Restituisce la visita divisibile della lista di partenza se è un {@link ListAdapter} o un
+     * {@link SubListAdapter}, altrimenti quella per indice di {@link AbstractList}.
+     * @return Spliterator sugli elementi
+     */
+    public Spliterator spliterator() {
+        if (list instanceof ListAdapter) {
+            return new JavaSpliterator(((ListAdapter) list).spliterator());
+        }
+        if (list instanceof SubListAdapter) {
+            return new JavaSpliterator(((SubListAdapter) list).spliterator());
+        }
+        return super.spliterator();
+    }
+}
@@ -0,0 +1,16 @@
+package myAdapter;
+
+/**
+ * Condizione su un elemento.
+ * <p>
+ * Simula {@link java.util.function.Predicate}, senza generics.
+ */
+public interface HPredicate {
+
+    /**
+     * Verifica la condizione sull'elemento.
+     * @param o elemento
+     * @return {@code true} se l'elemento soddisfa la condizione
+     */
+    boolean test(Object o);
+}
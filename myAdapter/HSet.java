@@ -0,0 +1,32 @@
+package myAdapter;
+
+/**
+ * Interfaccia che estende {@link HCollection} e rappresenta una collezione senza elementi duplicati.
+ * <p>
+ * Simula l'interfaccia {@code java.util.Set} secondo la specifica J2SE 1.4.2: al più un elemento
+ * {@code null}, nessun ordine garantito durante l'iterazione.
+ */
+
+public interface HSet extends HCollection {
+
+    /**
+     * Aggiunge l'elemento se non è già presente.
+     * @param o elemento da aggiungere
+     * @return {@code true} se l'insieme è cambiato
+     */
+    boolean add(Object o);
+
+    /**
+     * Verifica se questo insieme è uguale a un oggetto.
+     * Due insiemi sono uguali se hanno la stessa dimensione e ognuno contiene tutti gli elementi dell'altro.
+     * @param o oggetto da confrontare
+     * @return {@code true} se uguali
+     */
+    boolean equals(Object o);
+
+    /**
+     * Restituisce l'hash dell'insieme, pari alla somma degli hash degli elementi ({@code null} vale 0).
+     * @return hash dell'insieme
+     */
+    int hashCode();
+}
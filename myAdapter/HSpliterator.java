@@ -0,0 +1,52 @@
+package myAdapter;
+
+/**
+ * Interfaccia per la visita di una sequenza di elementi che può essere divisa in parti da visitare in parallelo.
+ * <p>
+ * Simula il comportamento di {@link java.util.Spliterator}, adattato al progetto {@code myAdapter}. Le costanti
+ * delle caratteristiche hanno gli stessi valori di quelle di {@link java.util.Spliterator}.
+ */
+public interface HSpliterator {
+
+    /** Gli elementi hanno un ordine, rispettato dalla visita e dalla divisione. */
+    int ORDERED = 0x00000010;
+
+    /** {@link #estimateSize()} restituisce il numero esatto di elementi rimasti. */
+    int SIZED = 0x00000040;
+
+    /** Anche le parti ottenute con {@link #trySplit()} hanno dimensione esatta. */
+    int SUBSIZED = 0x00004000;
+
+    /**
+     * Esegue l'azione sul prossimo elemento, se ce n'è uno.
+     * @param action azione da eseguire
+     * @return {@code false} se non ci sono altri elementi
+     * @throws NullPointerException se l'azione è null
+     */
+    boolean tryAdvance(HConsumer action);
+
+    /**
+     * Esegue l'azione su tutti gli elementi rimasti, in ordine.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    void forEachRemaining(HConsumer action);
+
+    /**
+     * Divide gli elementi rimasti: restituisce una visita dei primi, e questa visita prosegue con gli altri.
+     * @return visita della prima parte, o null se gli elementi rimasti non possono essere divisi
+     */
+    HSpliterator trySplit();
+
+    /**
+     * Restituisce il numero di elementi rimasti, esatto se la visita è {@link #SIZED}.
+     * @return numero di elementi rimasti
+     */
+    long estimateSize();
+
+    /**
+     * Restituisce le caratteristiche della visita, come combinazione delle costanti di questa interfaccia.
+     * @return caratteristiche
+     */
+    int characteristics();
+}
@@ -0,0 +1,16 @@
+package myAdapter;
+
+/**
+ * Operazione che sostituisce un elemento con un altro valore.
+ * <p>
+ * Simula {@link java.util.function.UnaryOperator}, senza generics.
+ */
+public interface HUnaryOperator {
+
+    /**
+     * Applica l'operazione all'elemento.
+     * @param o elemento
+     * @return valore che sostituisce l'elemento
+     */
+    Object apply(Object o);
+}
@@ -0,0 +1,397 @@
+package myAdapter;
+
+/**
+ * Implementazione di {@link HSet} basata su una tabella hash a indirizzamento aperto con scansione lineare.
+ * <p>
+ * Gli elementi sono memorizzati direttamente nell'array della tabella, senza oggetti di appoggio:
+ * {@code null} è ammesso e rappresentato da una chiave sentinella, le rimozioni lasciano una lapide
+ * che viene eliminata al successivo ridimensionamento.
+ * Usata da {@link ListAdapter} e {@link SubListAdapter} per rendere O(n + m) le operazioni di massa
+ * con collezioni grandi.
+ */
+public class HashSetAdapter implements HSet {
+
+    /** Capacità minima della tabella (potenza di 2). */
+    private static final int MIN_CAPACITY = 16;
+
+    /** Chiave che rappresenta l'elemento {@code null}. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Lapide lasciata da una rimozione: la scansione continua oltre. */
+    private static final Object DELETED = new Object();
+
+    /** Tabella hash; la lunghezza è sempre una potenza di 2. */
+    private Object[] table;
+
+    /** Numero di elementi presenti. */
+    private int size;
+
+    /** Numero di lapidi presenti nella tabella. */
+    private int deleted;
+
+    /**
+     * Costruttore di default, inizializza un insieme vuoto.
+     */
+    public HashSetAdapter() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Costruttore che dimensiona la tabella per contenere il numero di elementi indicato senza ridimensionamenti.
+     * @param expectedSize numero di elementi previsto
+     * @throws IllegalArgumentException se il numero è negativo
+     */
+    public HashSetAdapter(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + expectedSize);
+        }
+        table = new Object[capacityFor(expectedSize)];
+    }
+
+    /**
+     * Costruttore che inizializza l'insieme con gli elementi della collezione (i duplicati vengono scartati).
+     * @param c collezione di partenza
+     * @throws NullPointerException se la collezione è null
+     */
+    public HashSetAdapter(HCollection c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    /**
+     * Calcola la capacità (potenza di 2) che mantiene il fattore di carico sotto 1/2.
+     * @param expectedSize numero di elementi previsto
+     * @return capacità della tabella
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Converte un elemento nella chiave memorizzata in tabella.
+     * @param o elemento
+     * @return chiave non null
+     */
+    private static Object key(Object o) {
+        return o == null ? NULL_KEY : o;
+    }
+
+    /**
+     * Calcola la posizione iniziale di una chiave, mescolando i bit alti dell'hash in quelli bassi.
+     * @param key chiave non null
+     * @param length lunghezza della tabella
+     * @return posizione iniziale della scansione
+     */
+    private static int slot(Object key, int length) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (length - 1);
+    }
+
+    /**
+     * Cerca la posizione della chiave nella tabella.
+     * @param key chiave non null
+     * @return posizione o -1 se assente
+     */
+    private int find(Object key) {
+        int mask = table.length - 1;
+        for (int i = slot(key, table.length); ; i = (i + 1) & mask) {
+            Object k = table[i];
+            if (k == null) return -1;
+            if (k != DELETED && (k == key || k.equals(key))) return i;
+        }
+    }
+
+    /**
+     * Ricostruisce la tabella con la capacità indicata, eliminando le lapidi.
+     * @param capacity nuova capacità (potenza di 2)
+     */
+    private void rehash(int capacity) {
+        Object[] old = table;
+        table = new Object[capacity];
+        deleted = 0;
+        for (int i = 0; i < old.length; i++) {
+            Object k = old[i];
+            if (k != null && k != DELETED) {
+                int j = slot(k, capacity);
+                while (table[j] != null) {
+                    j = (j + 1) & (capacity - 1);
+                }
+                table[j] = k;
+            }
+        }
+    }
+
+    /**
+     * Aggiunge l'elemento se non è già presente.
+     * @param o elemento da aggiungere
+     * @return {@code true} se l'insieme è cambiato
+     */
+    @Override
+    public boolean add(Object o) {
+        Object key = key(o);
+        int mask = table.length - 1;
+        int free = -1;
+        int i = slot(key, table.length);
+        for (; ; i = (i + 1) & mask) {
+            Object k = table[i];
+            if (k == null) break;
+            if (k == DELETED) {
+                if (free < 0) free = i;
+            } else if (k == key || k.equals(key)) {
+                return false;
+            }
+        }
+        if (free >= 0) {
+            table[free] = key; // riusa la prima lapide incontrata
+            deleted--;
+        } else {
+            table[i] = key;
+        }
+        size++;
+        if ((size + deleted) * 2 > table.length) {
+            rehash(capacityFor(size));
+        }
+        return true;
+    }
+
+    /**
+     * Aggiunge tutti gli elementi della collezione.
+     * @param c collezione da aggiungere
+     * @return {@code true} se l'insieme è cambiato
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        boolean modified = false;
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (add(it.next())) modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * Rimuove tutti gli elementi dall'insieme.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        size = 0;
+        deleted = 0;
+    }
+
+    /**
+     * Verifica se l'elemento è presente, in tempo medio costante.
+     * @param o elemento da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return find(key(o)) >= 0;
+    }
+
+    /**
+     * Verifica se tutti gli elementi della collezione sono presenti.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono presenti
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (!contains(it.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Confronta questo insieme con un altro oggetto secondo il contratto di {@link HSet#equals(Object)}.
+     * @param o oggetto da confrontare
+     * @return {@code true} se gli insiemi sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof HSet)) return false;
+        HSet other = (HSet) o;
+        return other.size() == size && containsAll(other);
+    }
+
+    /**
+     * Calcola l'hash come somma degli hash degli elementi.
+     * @return valore hash
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < table.length; i++) {
+            Object k = table[i];
+            if (k != null && k != DELETED && k != NULL_KEY) {
+                hash += k.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Verifica se l'insieme è vuoto.
+     * @return {@code true} se non contiene elementi
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Restituisce un iteratore sugli elementi, in ordine di tabella.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return new SetIterator();
+    }
+
+    /**
+     * Implementazione di {@code HIterator} che scorre le posizioni occupate della tabella.
+     */
+    private class SetIterator implements HIterator {
+        /** Prossima posizione della tabella da esaminare. */
+        int cursor = 0;
+
+        /** Posizione dell'ultimo elemento restituito; -1 se nessuno. */
+        int lastRet = -1;
+
+        /**
+         * Costruttore dell'iteratore per {@code HashSetAdapter}.
+         */
+        SetIterator() {
+            advance();
+        }
+
+        /**
+         * Porta il cursore sulla prossima posizione occupata (o alla fine della tabella).
+         */
+        private void advance() {
+            while (cursor < table.length && (table[cursor] == null || table[cursor] == DELETED)) {
+                cursor++;
+            }
+        }
+
+        public boolean hasNext() {
+            return cursor < table.length;
+        }
+
+        public Object next() {
+            if (!hasNext()) throw new java.util.NoSuchElementException();
+            lastRet = cursor++;
+            advance();
+            Object k = table[lastRet];
+            return k == NULL_KEY ? null : k;
+        }
+
+        public void remove() {
+            if (lastRet < 0) throw new IllegalStateException();
+            table[lastRet] = DELETED; // la lapide non sposta gli altri elementi
+            size--;
+            deleted++;
+            lastRet = -1;
+        }
+    }
+
+    /**
+     * Rimuove l'elemento se presente.
+     * @param o elemento da rimuovere
+     * @return {@code true} se l'elemento era presente
+     */
+    @Override
+    public boolean remove(Object o) {
+        int i = find(key(o));
+        if (i < 0) return false;
+        table[i] = DELETED;
+        size--;
+        deleted++;
+        return true;
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione.
+     * @param c collezione da rimuovere
+     * @return {@code true} se l'insieme è cambiato
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        boolean modified = false;
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (remove(it.next())) modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione.
+     * @param c collezione da mantenere
+     * @return {@code true} se l'insieme è cambiato
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        HCollection probe = c == this ? c : ListAdapter.fastProbe(c);
+        boolean modified = false;
+        HIterator it = iterator();
+        while (it.hasNext()) {
+            if (!probe.contains(it.next())) {
+                it.remove();
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     * @return numero di elementi
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi, in ordine di tabella.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(new Object[size]);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo dello stesso tipo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        if (a.length < size) {
+            a = ListAdapter.newArray(a, size);
+        }
+        int j = 0;
+        for (int i = 0; i < table.length; i++) {
+            Object k = table[i];
+            if (k != null && k != DELETED) {
+                a[j++] = k == NULL_KEY ? null : k;
+            }
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,328 @@
+package myAdapter;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+/**
+ * Backend di {@link ListAdapter} che affianca a un altro {@link ListStorage} un indice hash
+ * elemento → occorrenze, per ottenere {@code contains}, {@code indexOf} e {@code lastIndexOf}
+ * in tempo quasi costante.
+ * <p>
+ * Per ogni elemento distinto l'indice conserva il numero di occorrenze, sempre esatto, e la
+ * posizione della prima e dell'ultima. Le operazioni che spostano gli elementi (inserimenti e
+ * rimozioni non in coda) non toccano le voci: vengono annotate in un registro degli spostamenti,
+ * e ogni voce applica quelli che le mancano solo quando viene letta o modificata, in tempo
+ * proporzionale al numero di spostamenti da allora. Una voce va cercata di nuovo nel backend, da
+ * sola, solo se è stata rimossa proprio la sua prima o ultima occorrenza. Quando il registro
+ * arriva a √n spostamenti (n numero di elementi) viene svuotato con una passata su tutto il
+ * backend: una ricerca applica quindi al più √n spostamenti, e la passata costa O(√n)
+ * ammortizzato per spostamento, meno dello spostamento stesso in un backend ad array. Le aggiunte
+ * in coda e le sostituzioni aggiornano le voci direttamente.
+ * Duplicati e {@code null} sono gestiti come in {@link HList}.
+ * <p>
+ * Gli elementi non devono cambiare {@code hashCode} né {@code equals} finché sono nella lista:
+ * un elemento modificato resterebbe nell'indice sotto la chiave vecchia, e ricerche e rimozioni
+ * successive darebbero risultati errati senza segnalarlo.
+ * <p>
+ * Anche le ricerche aggiornano le voci: le letture concorrenti vanno quindi serializzate
+ * ({@link ConcurrentListAdapter} lo fa da sé).
+ * <p>
+ * Uso: {@code new ListAdapter(new IndexedStorage(new ArrayStorage()))}.
+ */
+public class IndexedStorage implements ListStorage {
+
+    /** Chiave usata al posto di {@code null}, non ammesso da {@link Hashtable}. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Numero minimo di spostamenti conservati nel registro prima di svuotarlo; oltre questo il limite è √n. */
+    private static final int MIN_LOG = 64;
+
+    /** Backend che contiene effettivamente gli elementi. */
+    private ListStorage delegate;
+
+    /** Indice elemento → {@link Entry}. */
+    private Hashtable index;
+
+    /**
+     * Numero di spostamenti nel registro, che è anche la versione corrente delle posizioni: lo spostamento
+     * {@code v} porta le posizioni dalla versione v alla v + 1.
+     */
+    private int version;
+
+    /** Per ogni spostamento nel registro, prima posizione spostata. */
+    private int[] shiftFrom = new int[MIN_LOG];
+
+    /** Per ogni spostamento nel registro, di quanto si spostano le posizioni da {@link #shiftFrom} in poi. */
+    private int[] shiftBy = new int[MIN_LOG];
+
+    /**
+     * Occorrenze di un elemento distinto.
+     */
+    private static class Entry {
+        /** Numero di occorrenze, sempre aggiornato. */
+        int count;
+        /** Posizione della prima occorrenza alla versione {@link #stamp}, o -1 se va cercata nel backend. */
+        int first;
+        /** Posizione dell'ultima occorrenza alla versione {@link #stamp}, se {@link #first} non è -1. */
+        int last;
+        /** Versione degli spostamenti a cui si riferiscono {@link #first} e {@link #last}. */
+        int stamp;
+
+        /**
+         * Crea la voce di un elemento presente una sola volta.
+         * @param position posizione dell'unica occorrenza
+         * @param stamp versione corrente degli spostamenti
+         */
+        Entry(int position, int stamp) {
+            count = 1;
+            first = position;
+            last = position;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * Costruisce l'indice sugli elementi già presenti nel backend.
+     * @param delegate backend da indicizzare
+     * @throws NullPointerException se il backend è null
+     */
+    public IndexedStorage(ListStorage delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("storage cannot be null");
+        }
+        this.delegate = delegate;
+        this.index = new Hashtable();
+        int size = delegate.size();
+        for (int i = 0; i < size; i++) {
+            added(delegate.elementAt(i), i);
+        }
+    }
+
+    /**
+     * Converte un elemento nella chiave usata dall'indice.
+     * @param elem elemento
+     * @return chiave non null
+     */
+    private static Object key(Object elem) {
+        return elem == null ? NULL_KEY : elem;
+    }
+
+    /**
+     * Annota uno spostamento già eseguito sul backend: le posizioni da {@code from} in poi si spostano di
+     * {@code by}. Se il registro ha raggiunto il limite e va svuotato, le posizioni ricalcolate tengono già conto
+     * dello spostamento, che quindi non viene annotato.
+     * @param from prima posizione spostata
+     * @param by spostamento, positivo per un inserimento e negativo per una rimozione
+     */
+    private void shifted(int from, int by) {
+        if (version >= MIN_LOG && (long) version * version >= delegate.size()) {
+            rebuild();
+            return;
+        }
+        if (version == shiftFrom.length) {
+            int[] grown = new int[version * 2];
+            System.arraycopy(shiftFrom, 0, grown, 0, version);
+            shiftFrom = grown;
+            grown = new int[version * 2];
+            System.arraycopy(shiftBy, 0, grown, 0, version);
+            shiftBy = grown;
+        }
+        shiftFrom[version] = from;
+        shiftBy[version] = by;
+        version++;
+    }
+
+    /**
+     * Svuota il registro: ricalcola prima e ultima posizione di ogni elemento con una passata sul backend
+     * e riporta tutte le voci alla versione 0. Gli elementi appena inseriti e non ancora registrati non
+     * hanno una voce e vengono saltati.
+     */
+    private void rebuild() {
+        Enumeration en = index.elements();
+        while (en.hasMoreElements()) {
+            Entry e = (Entry) en.nextElement();
+            e.first = -1;
+            e.stamp = 0;
+        }
+        int size = delegate.size();
+        for (int i = 0; i < size; i++) {
+            Entry e = (Entry) index.get(key(delegate.elementAt(i)));
+            if (e == null) continue;
+            if (e.first < 0) e.first = i;
+            e.last = i;
+        }
+        version = 0;
+        if (shiftFrom.length > MIN_LOG && (long) shiftFrom.length * shiftFrom.length > 4L * size) {
+            shiftFrom = new int[MIN_LOG];
+            shiftBy = new int[MIN_LOG];
+        }
+    }
+
+    /**
+     * Porta la voce alla versione corrente applicando gli spostamenti che le mancano.
+     * @param e voce da aggiornare
+     */
+    private void sync(Entry e) {
+        if (e.first >= 0) {
+            for (int v = e.stamp; v < version; v++) {
+                if (e.first >= shiftFrom[v]) e.first += shiftBy[v];
+                if (e.last >= shiftFrom[v]) e.last += shiftBy[v];
+            }
+        }
+        e.stamp = version;
+    }
+
+    /**
+     * Restituisce la voce dell'elemento con prima e ultima posizione esatte, cercandole nel backend se serve.
+     * @param elem elemento cercato
+     * @return voce dell'elemento, o null se non è presente
+     */
+    private Entry locate(Object elem) {
+        Entry e = (Entry) index.get(key(elem));
+        if (e == null) {
+            return null;
+        }
+        sync(e);
+        if (e.first < 0) {
+            int size = delegate.size();
+            e.first = delegate.indexOf(elem, 0, size);
+            e.last = delegate.lastIndexOf(elem, e.first, size);
+        }
+        return e;
+    }
+
+    /**
+     * Registra una nuova occorrenza, a spostamenti già annotati.
+     * @param elem elemento aggiunto
+     * @param position posizione dell'occorrenza
+     */
+    private void added(Object elem, int position) {
+        Entry e = (Entry) index.get(key(elem));
+        if (e == null) {
+            index.put(key(elem), new Entry(position, version));
+            return;
+        }
+        sync(e);
+        e.count++;
+        if (e.first >= 0) {
+            if (position < e.first) e.first = position;
+            if (position > e.last) e.last = position;
+        }
+    }
+
+    /**
+     * Registra la scomparsa di un'occorrenza, prima di annotare lo spostamento che ne segue.
+     * @param elem elemento rimosso
+     * @param position posizione dell'occorrenza rimossa
+     */
+    private void removed(Object elem, int position) {
+        Entry e = (Entry) index.get(key(elem));
+        if (--e.count == 0) {
+            index.remove(key(elem));
+            return;
+        }
+        sync(e);
+        if (position == e.first || position == e.last) {
+            e.first = -1; // la nuova prima (o ultima) occorrenza va cercata
+        }
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    public Object elementAt(int index) {
+        return delegate.elementAt(index);
+    }
+
+    public void setElementAt(Object obj, int index) {
+        removed(delegate.elementAt(index), index);
+        delegate.setElementAt(obj, index);
+        added(obj, index);
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        boolean shifts = index < delegate.size();
+        delegate.insertElementAt(obj, index);
+        if (shifts) shifted(index, 1);
+        added(obj, index);
+    }
+
+    public void removeElementAt(int index) {
+        Object old = delegate.elementAt(index);
+        removed(old, index);
+        boolean shifts = index < delegate.size() - 1;
+        delegate.removeElementAt(index);
+        if (shifts) shifted(index + 1, -1);
+    }
+
+    public void addElement(Object obj) {
+        delegate.addElement(obj);
+        added(obj, delegate.size() - 1);
+    }
+
+    public void removeAllElements() {
+        delegate.removeAllElements();
+        index.clear();
+        version = 0;
+    }
+
+    public void setSize(int newSize) {
+        int size = delegate.size();
+        if (newSize < size) {
+            removeRange(newSize, size);
+        } else {
+            delegate.setSize(newSize);
+            for (int i = size; i < newSize; i++) {
+                added(null, i);
+            }
+        }
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            removed(delegate.elementAt(i), i);
+        }
+        boolean shifts = toIndex < delegate.size();
+        delegate.removeRange(fromIndex, toIndex);
+        if (shifts) shifted(toIndex, fromIndex - toIndex);
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        boolean shifts = index < delegate.size() && elements.length > 0;
+        delegate.insertElementsAt(elements, index);
+        if (shifts) shifted(index, elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            added(elements[i], index + i);
+        }
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        delegate.copyInto(fromIndex, toIndex, anArray);
+    }
+
+    public boolean contains(Object elem) {
+        return index.containsKey(key(elem));
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        Entry e = locate(elem);
+        if (e == null) return -1;
+        if (e.first >= fromIndex && e.first < toIndex) return e.first;
+        if (e.first >= toIndex || e.last < fromIndex) return -1;
+        // l'intervallo cade tra la prima e l'ultima occorrenza: serve una scansione
+        return delegate.indexOf(elem, fromIndex, toIndex);
+    }
+
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex) {
+        Entry e = locate(elem);
+        if (e == null) return -1;
+        if (e.last >= fromIndex && e.last < toIndex) return e.last;
+        if (e.first >= toIndex || e.last < fromIndex) return -1;
+        return delegate.lastIndexOf(elem, fromIndex, toIndex);
+    }
+
+    public void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        delegate.visit(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+}
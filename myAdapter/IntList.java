@@ -0,0 +1,802 @@
+package myAdapter;
+
+/**
+ * Lista di valori {@code int} memorizzati in un array primitivo, che implementa {@link HList} e {@link HCollection}.
+ * <p>
+ * Ogni elemento occupa 4 byte nell'array invece di un riferimento a un {@link Integer}: niente oggetti
+ * wrapper e nessun salto di puntatore a ogni lettura. I metodi con suffisso {@code Int} ({@link #getInt(int)},
+ * {@link #addInt(int)}, {@link #indexOfInt(int)}, ...) lavorano direttamente sui valori primitivi; i metodi di
+ * {@link HList} convertono da e verso {@link Integer} solo al confine.
+ * <p>
+ * Gli elementi passati come oggetto devono essere {@link Integer} non null: un elemento null provoca
+ * {@link NullPointerException}, uno di altro tipo {@link ClassCastException}.
+ * Non è sincronizzata.
+ */
+public class IntList implements HList, HCollection {
+
+    /** Capacità iniziale usata dal costruttore di default. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Array che contiene i valori nelle posizioni {@code [0, size)}. */
+    private int[] elementData;
+
+    /** Numero di valori memorizzati. */
+    private int size;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota.
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza una lista vuota con capacità iniziale specificata.
+     * @param capacity capacità iniziale
+     * @throws IllegalArgumentException se la capacità è negativa
+     */
+    public IntList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        elementData = new int[capacity];
+    }
+
+    /**
+     * Costruttore che inizializza una lista con una copia dei valori dell'array.
+     * @param values valori iniziali, in ordine
+     * @throws NullPointerException se l'array è null
+     */
+    public IntList(int[] values) {
+        this(values.length);
+        System.arraycopy(values, 0, elementData, 0, values.length);
+        size = values.length;
+    }
+
+    /**
+     * Garantisce che l'array possa contenere almeno {@code minCapacity} valori, raddoppiandone la capacità.
+     * @param minCapacity capacità minima richiesta
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            int newCapacity = elementData.length * 2;
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+            int[] newData = new int[newCapacity];
+            System.arraycopy(elementData, 0, newData, 0, size);
+            elementData = newData;
+        }
+    }
+
+    /**
+     * Verifica che l'indice identifichi un elemento esistente.
+     * @param index indice da controllare
+     * @throws IndexOutOfBoundsException se fuori dai limiti
+     */
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Verifica che l'indice sia una posizione di inserimento valida.
+     * @param index indice da controllare
+     * @throws IndexOutOfBoundsException se fuori dai limiti
+     */
+    private void rangeCheckForAdd(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Converte un elemento in valore primitivo.
+     * @param o elemento
+     * @return valore contenuto
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    static int unbox(Object o) {
+        return ((Integer) o).intValue();
+    }
+
+    /**
+     * Confronta due valori con lo stesso criterio di {@link Integer#equals(Object)}.
+     * @param a primo valore
+     * @param b secondo valore
+     * @return {@code true} se i valori sono uguali
+     */
+    static boolean same(int a, int b) {
+        return a == b;
+    }
+
+    /**
+     * Calcola il codice hash di un valore come {@link Integer#hashCode()}.
+     * @param value valore
+     * @return codice hash
+     */
+    static int hash(int value) {
+        return value;
+    }
+
+    //  Accesso primitivo  \\
+
+    /**
+     * Restituisce il valore alla posizione indicata.
+     * @param index indice
+     * @return valore
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getInt(int index) {
+        rangeCheck(index);
+        return elementData[index];
+    }
+
+    /**
+     * Sostituisce il valore alla posizione indicata.
+     * @param index posizione
+     * @param value nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int setInt(int index, int value) {
+        rangeCheck(index);
+        int old = elementData[index];
+        elementData[index] = value;
+        return old;
+    }
+
+    /**
+     * Aggiunge un valore in coda alla lista.
+     * @param value valore da aggiungere
+     */
+    public void addInt(int value) {
+        ensureCapacity(size + 1);
+        elementData[size++] = value;
+    }
+
+    /**
+     * Inserisce un valore nella posizione specificata, spostando in avanti i successivi.
+     * @param index posizione
+     * @param value valore da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    public void addInt(int index, int value) {
+        rangeCheckForAdd(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = value;
+        size++;
+    }
+
+    /**
+     * Rimuove il valore nella posizione specificata.
+     * @param index posizione
+     * @return valore rimosso
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int removeIntAt(int index) {
+        rangeCheck(index);
+        int old = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza del valore.
+     * @param value valore da cercare
+     * @return indice o -1 se non presente
+     */
+    public int indexOfInt(int value) {
+        return indexOfInt(value, 0, size);
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza del valore.
+     * @param value valore da cercare
+     * @return indice o -1 se non presente
+     */
+    public int lastIndexOfInt(int value) {
+        return lastIndexOfInt(value, 0, size);
+    }
+
+    /**
+     * Verifica se il valore è presente nella lista.
+     * @param value valore da cercare
+     * @return {@code true} se presente
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value, 0, size) >= 0;
+    }
+
+    /**
+     * Restituisce una copia dei valori in un array primitivo.
+     * @return array dei valori, in ordine
+     */
+    public int[] toIntArray() {
+        return toIntArray(0, size);
+    }
+
+    /**
+     * Restituisce un iteratore primitivo dalla posizione 0.
+     * @return iteratore sui valori
+     */
+    public IntListIterator intListIterator() {
+        return new IntListItr(0);
+    }
+
+    /**
+     * Restituisce un iteratore primitivo dalla posizione indicata.
+     * @param index posizione iniziale
+     * @return iteratore sui valori
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public IntListIterator intListIterator(int index) {
+        rangeCheckForAdd(index);
+        return new IntListItr(index);
+    }
+
+    //  Operazioni su intervalli, usate anche da IntSubList  \\
+
+    /**
+     * Restituisce l'indice della prima occorrenza del valore nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param value valore da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nella lista o -1 se non presente
+     */
+    int indexOfInt(int value, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (same(elementData[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza del valore nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param value valore da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nella lista o -1 se non presente
+     */
+    int lastIndexOfInt(int value, int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            if (same(elementData[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copia in un nuovo array primitivo i valori nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return array dei valori
+     */
+    int[] toIntArray(int fromIndex, int toIndex) {
+        int[] values = new int[toIndex - fromIndex];
+        System.arraycopy(elementData, fromIndex, values, 0, values.length);
+        return values;
+    }
+
+    /**
+     * Copia i valori nell'intervallo {@code [fromIndex, toIndex)} in un array di oggetti,
+     * con le stesse regole di {@link #toArray(Object[])}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param a array di partenza
+     * @return array riempito
+     * @throws NullPointerException se l'array è null
+     * @throws ArrayStoreException se il tipo dell'array non può contenere {@link Integer}
+     */
+    Object[] toArray(int fromIndex, int toIndex, Object[] a) {
+        int count = toIndex - fromIndex;
+        if (a.length < count) {
+            a = ListAdapter.newArray(a, count);
+        }
+        for (int i = 0; i < count; i++) {
+            a[i] = Integer.valueOf(elementData[fromIndex + i]);
+        }
+        if (a.length > count) {
+            a[count] = null;
+        }
+        return a;
+    }
+
+    /**
+     * Inserisce i valori a partire dalla posizione indicata, spostando la coda una sola volta.
+     * @param index posizione d'inserimento (già validata)
+     * @param values valori da inserire
+     */
+    void insertIntsAt(int index, int[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(elementData, index, elementData, index + values.length, size - index);
+        System.arraycopy(values, 0, elementData, index, values.length);
+        size += values.length;
+    }
+
+    /**
+     * Converte gli elementi della collezione in un array primitivo, prima di modificare la lista:
+     * se un elemento non è valido la lista resta invariata.
+     * @param c collezione di {@link Integer}
+     * @return valori della collezione, in ordine
+     * @throws NullPointerException se la collezione o un suo elemento sono null
+     * @throws ClassCastException se un elemento non è un {@link Integer}
+     */
+    static int[] valuesOf(HCollection c) {
+        if (c instanceof IntList) {
+            return ((IntList) c).toIntArray();
+        }
+        Object[] elements = c.toArray();
+        int[] values = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            values[i] = unbox(elements[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Compatta l'intervallo {@code [fromIndex, toIndex)} in un'unica passata con due cursori e chiude il buco
+     * rimasto con un solo spostamento della coda, come {@link ListAdapter}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere i valori contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di valori rimossi
+     * @throws NullPointerException se la collezione è null
+     */
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        HCollection probe = c == this ? new HashSetAdapter(c) : ListAdapter.fastProbe(c);
+        int w = fromIndex;
+        for (int r = fromIndex; r < toIndex; r++) {
+            int value = elementData[r];
+            if (probe.contains(Integer.valueOf(value)) == retain) {
+                elementData[w++] = value;
+            }
+        }
+        removeRange(w, toIndex);
+        return toIndex - w;
+    }
+
+    /**
+     * Rimuove i valori nell'intervallo {@code [fromIndex, toIndex)} con un'unica copia a blocchi.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+        }
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * Confronta i valori dell'intervallo {@code [fromIndex, toIndex)} con una lista, con le regole di {@link #equals(Object)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param o oggetto da confrontare
+     * @return {@code true} se {@code o} è una lista con gli stessi elementi nello stesso ordine
+     */
+    boolean rangeEquals(int fromIndex, int toIndex, Object o) {
+        if (!(o instanceof HList)) return false;
+        HList other = (HList) o;
+        int count = toIndex - fromIndex;
+        if (other.size() != count) return false;
+        if (other instanceof IntList) {
+            int[] data = ((IntList) other).elementData;
+            for (int i = 0; i < count; i++) {
+                if (!same(elementData[fromIndex + i], data[i])) return false;
+            }
+            return true;
+        }
+        HIterator it = other.iterator();
+        for (int i = fromIndex; i < toIndex; i++) {
+            Object e = it.next();
+            if (!(e instanceof Integer) || !same(elementData[i], ((Integer) e).intValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Calcola il codice hash dei valori nell'intervallo {@code [fromIndex, toIndex)}, con la formula di {@link HList#hashCode()}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return codice hash
+     */
+    int rangeHashCode(int fromIndex, int toIndex) {
+        int hash = 1;
+        for (int i = fromIndex; i < toIndex; i++) {
+            hash = 31 * hash + hash(elementData[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Implementazione di {@link IntListIterator} per {@link IntList}.
+     */
+    private class IntListItr implements IntListIterator {
+        /** Posizione corrente del cursore. */
+        int cursor;
+        /** Ultima posizione restituita da next o previous. */
+        int lastRet = -1;
+
+        /** Costruttore
+         *
+         * @param index indice iteratore
+         */
+        public IntListItr(int index) {
+            this.cursor = index;
+        }
+
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        public int nextInt() {
+            if (!hasNext()) throw new java.util.NoSuchElementException();
+            lastRet = cursor;
+            return elementData[cursor++];
+        }
+
+        public Object next() {
+            return Integer.valueOf(nextInt());
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public int previousInt() {
+            if (!hasPrevious()) throw new java.util.NoSuchElementException();
+            lastRet = --cursor;
+            return elementData[cursor];
+        }
+
+        public Object previous() {
+            return Integer.valueOf(previousInt());
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            if (lastRet < 0) throw new IllegalStateException();
+            removeIntAt(lastRet);
+            if (lastRet < cursor) cursor--;
+            lastRet = -1;
+        }
+
+        public void setInt(int value) {
+            if (lastRet < 0) throw new IllegalStateException();
+            elementData[lastRet] = value;
+        }
+
+        public void set(Object o) {
+            setInt(unbox(o));
+        }
+
+        public void addInt(int value) {
+            IntList.this.addInt(cursor++, value);
+            lastRet = -1;
+        }
+
+        public void add(Object o) {
+            addInt(unbox(o));
+        }
+    }
+
+    //  HCollection  \\
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return numero di elementi
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se la lista è vuota, {@code false} altrimenti
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Verifica se un elemento è presente nella lista.
+     * @param o oggetto da cercare
+     * @return {@code true} se {@code o} è un {@link Integer} presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && containsInt(((Integer) o).intValue());
+    }
+
+    /**
+     * Restituisce un iteratore per la lista.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return new IntListItr(0);
+    }
+
+    /**
+     * Restituisce un array con tutti gli elementi della lista, convertiti in {@link Integer}.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(0, size, new Object[size]);
+    }
+
+    /**
+     * Restituisce un array con tutti gli elementi in ordine, convertiti in {@link Integer}.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     * @throws NullPointerException se l'array è null
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        return toArray(0, size, a);
+    }
+
+    /**
+     * Aggiunge un elemento in coda alla lista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public boolean add(Object o) {
+        addInt(unbox(o));
+        return true;
+    }
+
+    /**
+     * Rimuove la prima occorrenza dell'elemento.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Integer)) {
+            return false;
+        }
+        int index = indexOfInt(((Integer) o).intValue());
+        if (index < 0) {
+            return false;
+        }
+        removeIntAt(index);
+        return true;
+    }
+
+    /**
+     * Verifica se tutti gli elementi della collezione sono presenti nella lista.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (!contains(it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aggiunge tutti gli elementi in coda alla lista.
+     * @param c collezione di {@link Integer} da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws NullPointerException se la collezione o un suo elemento sono null
+     * @throws ClassCastException se un elemento non è un {@link Integer}
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        return addAll(size, c);
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        if (c == null) throw new NullPointerException();
+        return batchRemove(0, size, c, false) > 0;
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione.
+     * @param c collezione da mantenere
+     * @return {@code true} se la lista è stata modificata
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        if (c == null) throw new NullPointerException();
+        return batchRemove(0, size, c, true) > 0;
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla lista.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Confronta questa lista con un altro oggetto per uguaglianza di contenuto e ordine.
+     * Il confronto con un'altra {@link IntList} avviene direttamente sui valori primitivi.
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        return rangeEquals(0, size, o);
+    }
+
+    /**
+     * Calcola il valore di hash per la lista, uguale a quello di una lista degli stessi {@link Integer}.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        return rangeHashCode(0, size);
+    }
+
+    //  HList  \\
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento, come {@link Integer}
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public Object set(int index, Object element) {
+        rangeCheck(index);
+        return Integer.valueOf(setInt(index, unbox(element)));
+    }
+
+    /**
+     * Aggiunge un elemento nella posizione specificata.
+     * @param index posizione
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public void add(int index, Object element) {
+        rangeCheckForAdd(index);
+        addInt(index, unbox(element));
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata.
+     * @param index posizione dell'elemento
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        return Integer.valueOf(removeIntAt(index));
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt(((Integer) o).intValue()) : -1;
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return o instanceof Integer ? lastIndexOfInt(((Integer) o).intValue()) : -1;
+    }
+
+    /**
+     * Restituisce un list iterator dalla posizione 0.
+     * @return HListIterator, anche {@link IntListIterator}
+     */
+    @Override
+    public HListIterator listIterator() {
+        return new IntListItr(0);
+    }
+
+    /**
+     * Restituisce un list iterator da un indice specificato.
+     * @param index posizione iniziale
+     * @return HListIterator, anche {@link IntListIterator}
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        return intListIterator(index);
+    }
+
+    /**
+     * Restituisce una vista dinamica (live) della porzione di lista tra {@code fromIndex} (incluso)
+     * e {@code toIndex} (escluso), con lo stesso accesso primitivo della lista.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return sottolista contenente gli elementi nell'intervallo specificato
+     * @throws IndexOutOfBoundsException se {@code fromIndex} o {@code toIndex} sono fuori dai limiti
+     */
+    @Override
+    public IntSubList subList(int fromIndex, int toIndex) {
+        return new IntSubList(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata.
+     * <p>
+     * Gli elementi vengono convertiti tutti prima di modificare la lista; la coda viene spostata una sola volta.
+     * @param index posizione d'inserimento
+     * @param c collezione di {@link Integer} da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     * @throws NullPointerException se la collezione o un suo elemento sono null
+     * @throws ClassCastException se un elemento non è un {@link Integer}
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        rangeCheckForAdd(index);
+        int[] values = valuesOf(c); // copia: funziona anche se c è questa lista
+        if (values.length == 0) {
+            return false;
+        }
+        insertIntsAt(index, values);
+        return true;
+    }
+}
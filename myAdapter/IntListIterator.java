@@ -0,0 +1,38 @@
+package myAdapter;
+
+/**
+ * Iteratore bidirezionale di {@link IntList} e {@link IntSubList} con accesso diretto ai valori {@code int}.
+ * <p>
+ * I metodi di {@link HListIterator} restano disponibili e lavorano su {@link Integer}; quelli di questa
+ * interfaccia evitano la conversione in oggetto.
+ */
+public interface IntListIterator extends HListIterator {
+
+    /**
+     * Restituisce il valore successivo e avanza il cursore.
+     * @return valore successivo
+     * @throws java.util.NoSuchElementException se non ci sono altri elementi
+     */
+    int nextInt();
+
+    /**
+     * Restituisce il valore precedente e arretra il cursore.
+     * @return valore precedente
+     * @throws java.util.NoSuchElementException se non esiste
+     */
+    int previousInt();
+
+    /**
+     * Sostituisce l'ultimo valore restituito da {@code next} o {@code previous}.
+     * @param value nuovo valore
+     * @throws IllegalStateException se {@code next} o {@code previous} non sono stati chiamati, o se dopo l'ultima
+     * chiamata sono stati chiamati {@code remove} o {@code add}
+     */
+    void setInt(int value);
+
+    /**
+     * Inserisce un valore nella posizione corrente.
+     * @param value valore da inserire
+     */
+    void addInt(int value);
+}
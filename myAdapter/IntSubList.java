@@ -0,0 +1,596 @@
+package myAdapter;
+
+/**
+ * Vista su una porzione di {@link IntList}, con lo stesso accesso primitivo ai valori {@code int}.
+ * Le modifiche alla sublist si riflettono sulla lista principale, come in {@link SubListAdapter}.
+ */
+public class IntSubList implements HList {
+    /** Lista padre a cui questa sublista si appoggia. */
+    private IntList parent;
+
+    /** Indice iniziale (incluso) nella lista padre. */
+    private int offset;
+
+    /** Indice finale (escluso) nella lista padre. */
+    private int toIndex;
+
+    /**
+     * Costruisce una sublist che rappresenta una vista tra due indici di una lista esistente.
+     *
+     * @param parent la lista da cui deriva la sublist (non deve essere null)
+     * @param fromIndex l'indice iniziale (inclusivo)
+     * @param toIndex l'indice finale (esclusivo)
+     * @throws NullPointerException se la lista padre è null
+     * @throws IndexOutOfBoundsException se gli indici non sono validi rispetto alla lista padre
+     */
+    public IntSubList(IntList parent, int fromIndex, int toIndex) {
+        if (parent == null)
+            throw new NullPointerException("parent list cannot be null");
+        if (fromIndex < 0 || toIndex > parent.size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Invalid sublist range");
+
+        this.parent = parent;
+        this.offset = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    /**
+     * Verifica che l'indice sia all'interno dei limiti della sottolista.
+     *
+     * @param index indice da controllare
+     * @throws IndexOutOfBoundsException se fuori dai limiti
+     */
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Verifica che l'indice sia una posizione di inserimento valida nella sottolista.
+     *
+     * @param index indice da controllare
+     * @throws IndexOutOfBoundsException se fuori dai limiti
+     */
+    private void rangeCheckForAdd(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    //  Accesso primitivo  \\
+
+    /**
+     * Restituisce il valore all'indice specificato della sottolista.
+     * @param index indice del valore
+     * @return valore nella posizione indicata
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getInt(int index) {
+        rangeCheck(index);
+        return parent.getInt(offset + index);
+    }
+
+    /**
+     * Sostituisce il valore all'indice specificato della sottolista.
+     * @param index posizione del valore
+     * @param value nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int setInt(int index, int value) {
+        rangeCheck(index);
+        return parent.setInt(offset + index, value);
+    }
+
+    /**
+     * Aggiunge un valore in fondo alla sottolista.
+     * @param value valore da aggiungere
+     */
+    public void addInt(int value) {
+        addInt(size(), value);
+    }
+
+    /**
+     * Inserisce un valore nella posizione specificata della sottolista.
+     * @param index indice in cui inserire il valore
+     * @param value valore da aggiungere
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public void addInt(int index, int value) {
+        rangeCheckForAdd(index);
+        parent.addInt(offset + index, value);
+        toIndex++; // aumentiamo il limite superiore della vista
+    }
+
+    /**
+     * Rimuove il valore nella posizione specificata della sottolista.
+     * @param index indice del valore da rimuovere
+     * @return valore rimosso
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int removeIntAt(int index) {
+        rangeCheck(index);
+        int removed = parent.removeIntAt(offset + index);
+        toIndex--; // vista si restringe
+        return removed;
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza del valore nella sottolista.
+     * @param value valore da cercare
+     * @return indice o -1 se non presente
+     */
+    public int indexOfInt(int value) {
+        int index = parent.indexOfInt(value, offset, toIndex);
+        return index < 0 ? -1 : index - offset;
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza del valore nella sottolista.
+     * @param value valore da cercare
+     * @return indice o -1 se non presente
+     */
+    public int lastIndexOfInt(int value) {
+        int index = parent.lastIndexOfInt(value, offset, toIndex);
+        return index < 0 ? -1 : index - offset;
+    }
+
+    /**
+     * Verifica se il valore è presente nella sottolista.
+     * @param value valore da cercare
+     * @return {@code true} se presente
+     */
+    public boolean containsInt(int value) {
+        return parent.indexOfInt(value, offset, toIndex) >= 0;
+    }
+
+    /**
+     * Restituisce una copia dei valori della sottolista in un array primitivo.
+     * @return array dei valori, in ordine
+     */
+    public int[] toIntArray() {
+        return parent.toIntArray(offset, toIndex);
+    }
+
+    /**
+     * Restituisce un iteratore primitivo dalla posizione 0 della sottolista.
+     * @return iteratore sui valori
+     */
+    public IntListIterator intListIterator() {
+        return intListIterator(0);
+    }
+
+    /**
+     * Restituisce un iteratore primitivo dalla posizione indicata della sottolista.
+     * @param index posizione iniziale
+     * @return iteratore sui valori
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    public IntListIterator intListIterator(int index) {
+        rangeCheckForAdd(index);
+        return new SubListIterator(index);
+    }
+
+    //  HList  \\
+
+    /**
+     * Restituisce la dimensione della sottolista.
+     * @return numero di elementi nella sottolista
+     */
+    @Override
+    public int size() {
+        return toIndex - offset;
+    }
+
+    /**
+     * Verifica se la sottolista è vuota.
+     * @return {@code true} se non contiene elementi
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Restituisce l'elemento all'indice specificato della sottolista.
+     * @param index indice dell'elemento
+     * @return elemento nella posizione indicata, come {@link Integer}
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public Object get(int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    /**
+     * Sostituisce l'elemento all'indice specificato con il nuovo valore fornito.
+     * @param index posizione dell'elemento da modificare
+     * @param element nuovo elemento da inserire
+     * @return valore precedente nella posizione
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public Object set(int index, Object element) {
+        rangeCheck(index);
+        return Integer.valueOf(setInt(index, IntList.unbox(element)));
+    }
+
+    /**
+     * Inserisce un nuovo elemento nella posizione specificata della sottolista.
+     * @param index indice in cui inserire l'elemento
+     * @param element elemento da aggiungere
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public void add(int index, Object element) {
+        rangeCheckForAdd(index);
+        addInt(index, IntList.unbox(element));
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata dalla sottolista.
+     * @param index indice dell'elemento da rimuovere
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public Object remove(int index) {
+        return Integer.valueOf(removeIntAt(index));
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza dell'oggetto specificato nella sottolista.
+     * @param o oggetto da cercare
+     * @return indice dell'oggetto o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt(((Integer) o).intValue()) : -1;
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza dell'oggetto specificato nella sottolista.
+     * @param o oggetto da cercare
+     * @return ultimo indice dell'oggetto o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return o instanceof Integer ? lastIndexOfInt(((Integer) o).intValue()) : -1;
+    }
+
+    /**
+     * Aggiunge un elemento in fondo alla sottolista.
+     * L'inserimento si riflette anche sulla lista padre.
+     *
+     * @param o elemento da aggiungere
+     * @return {@code true} se la sottolista è modificata (sempre true)
+     * @throws NullPointerException se l'elemento è null
+     * @throws ClassCastException se l'elemento non è un {@link Integer}
+     */
+    @Override
+    public boolean add(Object o) {
+        addInt(IntList.unbox(o));
+        return true;
+    }
+
+    /**
+     * Rimuove la prima occorrenza dell'elemento specificato dalla sottolista.
+     * La rimozione si riflette sulla lista padre.
+     *
+     * @param o elemento da rimuovere
+     * @return {@code true} se un elemento è stato rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        removeIntAt(index);
+        return true;
+    }
+
+    /**
+     * Verifica se la sottolista contiene l'elemento specificato.
+     *
+     * @param o elemento da cercare
+     * @return {@code true} se l'elemento è presente, {@code false} altrimenti
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    /**
+     * Verifica se la sottolista contiene tutti gli elementi presenti nella collezione specificata.
+     *
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono presenti, {@code false} altrimenti
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        if (c == null)
+            throw new NullPointerException();
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (!contains(it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aggiunge tutti gli elementi della collezione specificata in fondo alla sottolista.
+     * L'operazione si riflette anche sulla lista padre.
+     *
+     * @param c collezione di {@link Integer} da aggiungere
+     * @return {@code true} se la sottolista è stata modificata
+     * @throws NullPointerException se la collezione o un suo elemento sono null
+     * @throws ClassCastException se un elemento non è un {@link Integer}
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        return addAll(size(), c);
+    }
+
+    /**
+     * Aggiunge tutti gli elementi della collezione specificata a partire dall'indice specificato della sottolista.
+     * L'operazione si riflette anche sulla lista padre.
+     *
+     * @param index posizione di inserimento
+     * @param c collezione di {@link Integer} da aggiungere
+     * @return {@code true} se la sottolista è stata modificata
+     * @throws NullPointerException se la collezione o un suo elemento sono null
+     * @throws ClassCastException se un elemento non è un {@link Integer}
+     * @throws IndexOutOfBoundsException se l'indice è fuori dai limiti della sottolista
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        if (c == null)
+            throw new NullPointerException();
+        rangeCheckForAdd(index);
+
+        int[] values = IntList.valuesOf(c);
+        if (values.length == 0) {
+            return false;
+        }
+        parent.insertIntsAt(offset + index, values);
+        toIndex += values.length; // la vista si allarga degli elementi inseriti
+        return true;
+    }
+
+    /**
+     * Rimuove dalla sottolista tutti gli elementi presenti nella collezione specificata.
+     * L'operazione si riflette sulla lista padre, compattata in un'unica passata.
+     *
+     * @param c collezione contenente gli elementi da rimuovere
+     * @return {@code true} se la sottolista è stata modificata
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        if (c == null)
+            throw new NullPointerException();
+        int removed = parent.batchRemove(offset, toIndex, c, false);
+        toIndex -= removed; // vista si restringe
+        return removed > 0;
+    }
+
+    /**
+     * Mantiene nella sottolista solo gli elementi presenti anche nella collezione specificata.
+     * L'operazione si riflette sulla lista padre, compattata in un'unica passata.
+     *
+     * @param c collezione contenente gli elementi da conservare
+     * @return {@code true} se la sottolista è stata modificata
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        if (c == null)
+            throw new NullPointerException();
+        int removed = parent.batchRemove(offset, toIndex, c, true);
+        toIndex -= removed; // vista si restringe
+        return removed > 0;
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla sottolista.
+     * L'operazione si riflette sulla lista padre con un'unica rimozione di intervallo.
+     */
+    @Override
+    public void clear() {
+        parent.removeRange(offset, toIndex);
+        toIndex = offset;
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della sottolista, convertiti in {@link Integer}.
+     *
+     * @return array degli elementi della sottolista, in ordine
+     */
+    @Override
+    public Object[] toArray() {
+        return parent.toArray(offset, toIndex, new Object[size()]);
+    }
+
+    /**
+     * Copia gli elementi della sottolista nell'array specificato, convertiti in {@link Integer}.
+     * Se l'array è troppo piccolo, ne viene creato uno nuovo della stessa classe.
+     * Se è più grande, la posizione successiva all'ultimo elemento viene impostata a null.
+     *
+     * @param a array di destinazione
+     * @return array contenente gli elementi della sottolista
+     * @throws NullPointerException se l'array è null
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        if (a == null)
+            throw new NullPointerException();
+        return parent.toArray(offset, toIndex, a);
+    }
+
+    /**
+     * Confronta questa sottolista con un'altra lista per uguaglianza.
+     * Due liste sono uguali se contengono gli stessi elementi nello stesso ordine.
+     *
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        return parent.rangeEquals(offset, toIndex, o);
+    }
+
+    /**
+     * Restituisce il codice hash della sottolista.
+     * Calcolato secondo le specifiche del Java Collections Framework.
+     *
+     * @return hash code della sottolista
+     */
+    @Override
+    public int hashCode() {
+        return parent.rangeHashCode(offset, toIndex);
+    }
+
+    /**
+     * Restituisce una sottolista della sottolista corrente, compresa tra gli indici specificati.
+     *
+     * @param fromIndex indice iniziale (inclusivo)
+     * @param toIndex indice finale (esclusivo)
+     * @return nuova sottolista
+     * @throws IndexOutOfBoundsException se gli indici sono invalidi
+     */
+    @Override
+    public IntSubList subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Invalid range");
+        return new IntSubList(parent, offset + fromIndex, offset + toIndex);
+    }
+
+    /**
+     * Restituisce un iteratore sulla sottolista
+     *
+     * @return un {@code HIterator} sugli elementi della sottolista
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator a partire dalla posizione iniziale della sottolista.
+     *
+     * @return un {@code HListIterator} sugli elementi della sottolista, anche {@link IntListIterator}
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator a partire dalla posizione specificata della sottolista.
+     *
+     * @param index posizione iniziale
+     * @return {@code HListIterator} sugli elementi, anche {@link IntListIterator}
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        return intListIterator(index);
+    }
+
+    /**
+     * Implementazione interna di {@link IntListIterator} per la sottolista.
+     */
+    private class SubListIterator implements IntListIterator {
+
+        /**
+         * Iteratore della lista padre su cui si appoggia.
+         */
+        private final IntListIterator it;
+
+        /**
+         * Posizione relativa del cursore all’interno della sottolista.
+         */
+        private int cursor;
+
+        /**
+         * Costruttore dell’iteratore per sottolista a partire da indice iniziale.
+         *
+         * @param index posizione iniziale del cursore nella sottolista
+         */
+        public SubListIterator(int index) {
+            this.it = parent.intListIterator(offset + index);
+            this.cursor = index;
+        }
+
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        public int nextInt() {
+            if (!hasNext()) throw new java.util.NoSuchElementException();
+            cursor++;
+            return it.nextInt();
+        }
+
+        public Object next() {
+            return Integer.valueOf(nextInt());
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public int previousInt() {
+            if (!hasPrevious()) throw new java.util.NoSuchElementException();
+            cursor--;
+            return it.previousInt();
+        }
+
+        public Object previous() {
+            return Integer.valueOf(previousInt());
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            it.remove();
+            toIndex--;
+            cursor = it.nextIndex() - offset; // dopo previous() il cursore non si sposta
+        }
+
+        public void setInt(int value) {
+            it.setInt(value);
+        }
+
+        public void set(Object o) {
+            it.set(o);
+        }
+
+        public void addInt(int value) {
+            it.addInt(value);
+            toIndex++;
+            cursor++;
+        }
+
+        public void add(Object o) {
+            addInt(IntList.unbox(o));
+        }
+    }
+}
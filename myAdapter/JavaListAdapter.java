@@ -0,0 +1,297 @@
+package myAdapter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+
+/**
+ * Adapter di una {@link java.util.List} che implementa le interfacce {@link HList} e {@link HCollection}, per
+ * usare con il pacchetto le liste restituite dalle API del JDK.
+ * <p>
+ * L'adapter non copia gli elementi: ogni lettura e modifica passa alla lista di partenza, e le modifiche fatte
+ * sulla lista sono subito visibili dall'adapter. Le operazioni hanno il costo di quelle della lista di partenza;
+ * {@link #removeAll(HCollection)} e {@link #retainAll(HCollection)} la compattano con un solo
+ * {@link List#removeIf(Predicate)}. Le operazioni non supportate dalla lista di partenza lanciano la sua
+ * {@code UnsupportedOperationException}.
+ */
+public class JavaListAdapter implements HList, HCollection {
+
+    /** Lista di partenza. */
+    private final List list;
+
+    /**
+     * Costruttore dell'adapter.
+     * @param list lista da vedere come {@link HList}
+     * @throws NullPointerException se la lista è null
+     */
+    public JavaListAdapter(List list) {
+        if (list == null) {
+            throw new NullPointerException("list cannot be null");
+        }
+        this.list = list;
+    }
+
+    /**
+     * Restituisce la lista di partenza.
+     * @return lista vista da questo adapter
+     */
+    public List list() {
+        return list;
+    }
+
+    //  HCollection  \\
+
+    @Override
+    public boolean add(Object o) {
+        return list.add(o);
+    }
+
+    /**
+     * Aggiunge tutti gli elementi in coda, letti con un solo {@code toArray()}.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        return list.addAll(Arrays.asList(c.toArray()));
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list.contains(o);
+    }
+
+    @Override
+    public boolean containsAll(HCollection c) {
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (!list.contains(it.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Confronta la lista con un'altra {@link HList}, elemento per elemento, come {@link ListAdapter#equals(Object)}.
+     * @param o oggetto da confrontare
+     * @return {@code true} se {@code o} è una {@link HList} con gli stessi elementi nello stesso ordine
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof HList)) return false;
+        HList other = (HList) o;
+        if (size() != other.size()) return false;
+
+        for (int i = 0; i < size(); i++) {
+            Object e1 = list.get(i);
+            Object e2 = other.get(i);
+            if (e1 == null ? e2 != null : !e1.equals(e2)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Calcola il valore di hash per la lista, come {@link ListAdapter#hashCode()}.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        return list.hashCode(); // stessa formula di List.hashCode()
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public HIterator iterator() {
+        return new IteratorAdapter(list.listIterator());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return list.remove(o);
+    }
+
+    /**
+     * Rimuove gli elementi contenuti nella collezione con un solo {@link List#removeIf(Predicate)}.
+     * @param c collezione degli elementi da rimuovere
+     * @return {@code true} se la lista è cambiata
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        return batchRemove(c, false);
+    }
+
+    /**
+     * Mantiene solo gli elementi contenuti nella collezione con un solo {@link List#removeIf(Predicate)}.
+     * @param c collezione degli elementi da mantenere
+     * @return {@code true} se la lista è cambiata
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        return batchRemove(c, true);
+    }
+
+    /**
+     * Rimuove gli elementi contenuti (o non contenuti) nella collezione, interrogando una copia hash
+     * della collezione se è grande.
+     * @param c collezione di confronto
+     * @param retain {@code true} per mantenere gli elementi di {@code c}, {@code false} per rimuoverli
+     * @return {@code true} se la lista è cambiata
+     */
+    private boolean batchRemove(HCollection c, final boolean retain) {
+        final HCollection probe = ListAdapter.fastProbe(c);
+        return list.removeIf(new Predicate() {
+            public boolean test(Object o) {
+                return probe.contains(o) != retain;
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return list.toArray();
+    }
+
+    @Override
+    public Object[] toArray(Object[] a) {
+        return list.toArray(a);
+    }
+
+    //  HList  \\
+
+    @Override
+    public void add(int index, Object o) {
+        list.add(index, o);
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata, letti con un solo {@code toArray()}.
+     * @param index posizione d'inserimento
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        return list.addAll(index, Arrays.asList(c.toArray()));
+    }
+
+    @Override
+    public Object get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return list.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return list.lastIndexOf(o);
+    }
+
+    @Override
+    public HListIterator listIterator() {
+        return new IteratorAdapter(list.listIterator());
+    }
+
+    @Override
+    public HListIterator listIterator(int index) {
+        return new IteratorAdapter(list.listIterator(index));
+    }
+
+    @Override
+    public Object remove(int index) {
+        return list.remove(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return list.set(index, element);
+    }
+
+    /**
+     * Restituisce la sottolista {@code [fromIndex, toIndex)} come adapter della sottolista di partenza,
+     * anch'essa senza copie.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return sottolista
+     * @throws IndexOutOfBoundsException se gli indici non sono validi
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        return new JavaListAdapter(list.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * {@link HListIterator} su un {@link ListIterator} della lista di partenza.
+     */
+    private static final class IteratorAdapter implements HListIterator {
+
+        /** Iteratore della lista di partenza. */
+        private final ListIterator it;
+
+        /**
+         * Costruttore dell'iteratore.
+         * @param it iteratore da adattare
+         */
+        IteratorAdapter(ListIterator it) {
+            this.it = it;
+        }
+
+        public void add(Object o) {
+            it.add(o);
+        }
+
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        public boolean hasPrevious() {
+            return it.hasPrevious();
+        }
+
+        public Object next() {
+            return it.next();
+        }
+
+        public int nextIndex() {
+            return it.nextIndex();
+        }
+
+        public Object previous() {
+            return it.previous();
+        }
+
+        public int previousIndex() {
+            return it.previousIndex();
+        }
+
+        public void remove() {
+            it.remove();
+        }
+
+        public void set(Object o) {
+            it.set(o);
+        }
+    }
+}
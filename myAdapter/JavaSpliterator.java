@@ -0,0 +1,61 @@
+package myAdapter;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} che visita gli elementi di un {@link HSpliterator}, senza copiarli.
+ * Usato da {@link ListAdapter#stream()}, {@link SubListAdapter#stream()} e {@link HListView}: le divisioni
+ * dello stream sono quelle dell'{@link HSpliterator}.
+ */
+final class JavaSpliterator implements Spliterator {
+
+    /** Visita da adattare. */
+    private final HSpliterator spliterator;
+
+    /**
+     * Costruttore dell'adattatore.
+     * @param spliterator visita da adattare
+     */
+    JavaSpliterator(HSpliterator spliterator) {
+        this.spliterator = spliterator;
+    }
+
+    /**
+     * Adatta un {@link Consumer} a {@link HConsumer}.
+     * @param action azione da adattare
+     * @return azione equivalente
+     * @throws NullPointerException se l'azione è null
+     */
+    private static HConsumer consumer(final Consumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        return new HConsumer() {
+            public void accept(Object o) {
+                action.accept(o);
+            }
+        };
+    }
+
+    public boolean tryAdvance(Consumer action) {
+        return spliterator.tryAdvance(consumer(action));
+    }
+
+    public void forEachRemaining(Consumer action) {
+        spliterator.forEachRemaining(consumer(action));
+    }
+
+    public Spliterator trySplit() {
+        HSpliterator prefix = spliterator.trySplit();
+        return prefix == null ? null : new JavaSpliterator(prefix);
+    }
+
+    public long estimateSize() {
+        return spliterator.estimateSize();
+    }
+
+    public int characteristics() {
+        return spliterator.characteristics(); // stessi valori delle costanti di Spliterator
+    }
+}
@@ -1,22 +1,22 @@
 package myAdapter;
 
-import java.util.Vector;
-
 /**
- * Adapter della classe {@link Vector} che implementa le interfacce {@link HList} e {@link HCollection}.
+ * Adapter della classe {@link java.util.Vector} che implementa le interfacce {@link HList} e {@link HCollection}.
  * <p>
  * Fornisce una lista compatibile con le specifiche Java 1.4.2 e CLDC 1.1.
+ * Gli elementi sono memorizzati in un {@link ListStorage}: di default un {@link VectorStorage},
+ * oppure il backend passato al costruttore (es. {@link ArrayStorage}, non sincronizzato).
  */
 public class ListAdapter implements HList, HCollection {
 
-    /** Lista sottostante che contiene gli elementi. */
-    private Vector delegate;
+    /** Backend sottostante che contiene gli elementi. */
+    private ListStorage delegate;
 
     /**
-     * Costruttore di default, inizializza una lista vuota.
+     * Costruttore di default, inizializza una lista vuota basata su {@link VectorStorage}.
      */
     public ListAdapter() {
-        delegate = new Vector();
+        delegate = new VectorStorage();
     }
 
     /**
@@ -24,7 +24,21 @@ public class ListAdapter implements HList, HCollection {
      * @param capacity capacità iniziale
      */
     public ListAdapter(int capacity) {
-        delegate = new Vector(capacity);
+        delegate = new VectorStorage(capacity);
+    }
+
+    /**
+     * Costruttore che inizializza una lista sul backend specificato.
+     * <p>
+     * Il backend diventa di proprietà della lista e non deve essere modificato direttamente.
+     * @param storage backend di memorizzazione
+     * @throws NullPointerException se il backend è null
+     */
+    public ListAdapter(ListStorage storage) {
+        if (storage == null) {
+            throw new NullPointerException("storage cannot be null");
+        }
+        delegate = storage;
     }
 
     /**
@@ -181,11 +195,8 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public Object[] toArray() {
-        Object[] arr = new Object[delegate.size()];
-        for (int i = 0; i < delegate.size(); i++) {
-            arr[i] = delegate.elementAt(i);
-        }
-        return arr;
+        int size = delegate.size();
+        return toArray(0, size, new Object[size]);
     }
 
     /**
@@ -196,21 +207,47 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public Object[] toArray(Object[] a) {
-        int size = delegate.size();
+        return toArray(0, delegate.size(), a);
+    }
+
+    /**
+     * Copia a blocchi gli elementi nell'intervallo {@code [fromIndex, toIndex)} in un array,
+     * con le stesse regole di {@link #toArray(Object[])}. Usato anche da {@link SubListAdapter}.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param a array di partenza
+     * @return array riempito
+     * @throws NullPointerException se l'array è null
+     */
+    Object[] toArray(int fromIndex, int toIndex, Object[] a) {
+        int size = toIndex - fromIndex;
         if (a.length < size) {
-            a = (Object[]) java.lang.reflect.Array.newInstance(
-                a.getClass().getComponentType(), size
-            );
-        }
-        for (int i = 0; i < size; i++) {
-            a[i] = delegate.elementAt(i);
+            a = newArray(a, size);
         }
+        delegate.copyInto(fromIndex, toIndex, a);
         if (a.length > size) {
             a[size] = null;
         }
         return a;
     }
 
+    /**
+     * Crea un array dello stesso tipo di {@code a} con la lunghezza indicata.
+     * Il caso più frequente, {@code Object[]}, viene allocato direttamente senza passare dalla riflessione.
+     *
+     * @param a array di cui replicare il tipo
+     * @param length lunghezza del nuovo array
+     * @return nuovo array vuoto
+     */
+    static Object[] newArray(Object[] a, int length) {
+        Class type = a.getClass();
+        if (type == Object[].class) {
+            return new Object[length];
+        }
+        return (Object[]) java.lang.reflect.Array.newInstance(type.getComponentType(), length);
+    }
+
     /**
      * Aggiunge un elemento in coda alla lista.
      * @param o elemento da aggiungere
@@ -229,7 +266,12 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public boolean remove(Object o) {
-        return delegate.removeElement(o);
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        delegate.removeElementAt(index);
+        return true;
     }
 
     /**
@@ -239,9 +281,41 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public boolean containsAll(HCollection c) {
+        return containsAll(0, delegate.size(), c);
+    }
+
+    /**
+     * Verifica se tutti gli elementi della collezione sono presenti nell'intervallo {@code [fromIndex, toIndex)}.
+     * <p>
+     * Se la collezione è grande, gli elementi dell'intervallo vengono caricati una volta in un {@link HashSetAdapter}
+     * e ogni elemento di {@code c} costa O(1): O(n + m) invece di O(n·m). Il passaggio viene saltato se il backend
+     * è già indicizzato ({@link IndexedStorage}).
+     * Usato anche da {@link SubListAdapter}.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     * @throws NullPointerException se la collezione è null
+     */
+    boolean containsAll(int fromIndex, int toIndex, HCollection c) {
+        boolean whole = fromIndex == 0 && toIndex == delegate.size();
         HIterator it = c.iterator();
+        if (c.size() > HASH_PROBE_THRESHOLD && !(whole && delegate instanceof IndexedStorage)) {
+            HSet window = new HashSetAdapter(toIndex - fromIndex);
+            for (int i = fromIndex; i < toIndex; i++) {
+                window.add(delegate.elementAt(i));
+            }
+            while (it.hasNext()) {
+                if (!window.contains(it.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
         while (it.hasNext()) {
-            if (!delegate.contains(it.next())) {
+            Object elem = it.next();
+            if (whole ? !delegate.contains(elem) : delegate.indexOf(elem, fromIndex, toIndex) < 0) {
                 return false;
             }
         }
@@ -255,13 +329,7 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public boolean addAll(HCollection c) {
-        boolean modified = false;
-        HIterator it = c.iterator();
-        while (it.hasNext()) {
-            delegate.addElement(it.next());
-            modified = true;
-        }
-        return modified;
+        return addAll(delegate.size(), c);
     }
 
     /**
@@ -271,16 +339,7 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public boolean removeAll(HCollection c) {
-        boolean modified = false;
-        HIterator it = c.iterator();
-        while (it.hasNext()) {
-            Object elem = it.next();
-            while (delegate.contains(elem)) {
-                delegate.removeElement(elem);
-                modified = true;
-            }
-        }
-        return modified;
+        return batchRemove(0, delegate.size(), c, false) > 0;
     }
 
     /**
@@ -290,16 +349,173 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public boolean retainAll(HCollection c) {
-        boolean modified = false;
-        int i = 0;
-        while (i < delegate.size()) {
-            Object elem = delegate.elementAt(i);
-            if (!c.contains(elem)) {
-                delegate.removeElementAt(i);
-                modified = true;
-            } else i++;
+        return batchRemove(0, delegate.size(), c, true) > 0;
+    }
+
+    /**
+     * Soglia oltre la quale l'appartenenza alla collezione viene verificata tramite hash
+     * invece che con {@code contains} lineare.
+     */
+    private static final int HASH_PROBE_THRESHOLD = 16;
+
+    /** Numero massimo di elementi copiati in un blocco da {@link #visitBatched}. */
+    private static final int VISIT_BATCH = 1024;
+
+    /**
+     * Restituisce una collezione equivalente a {@code c} su cui {@code contains} costa O(1):
+     * {@code c} stessa se è già un {@link HSet} o è piccola, altrimenti un {@link HashSetAdapter} con i suoi elementi.
+     *
+     * @param c collezione di confronto
+     * @return collezione da interrogare al posto di {@code c}
+     * @throws NullPointerException se la collezione è null
+     */
+    static HCollection fastProbe(HCollection c) {
+        if (c instanceof HSet || c.size() <= HASH_PROBE_THRESHOLD) {
+            return c;
+        }
+        return new HashSetAdapter(c);
+    }
+
+    /**
+     * Rimuove dall'intervallo {@code [fromIndex, toIndex)} gli elementi contenuti (o non contenuti) nella
+     * collezione, compattandolo in un'unica passata come {@link #removeIf(int, int, HPredicate)}.
+     * Usato anche da {@link SubListAdapter} per le proprie operazioni di massa.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di elementi rimossi
+     * @throws NullPointerException se la collezione è null
+     */
+    int batchRemove(int fromIndex, int toIndex, HCollection c, final boolean retain) {
+        // compact verifica la condizione su tutti gli elementi prima di spostarli,
+        // quindi c può essere anche questa lista
+        final HCollection probe = fastProbe(c);
+        return compact(fromIndex, toIndex, new HPredicate() {
+            public boolean test(Object o) {
+                return probe.contains(o) != retain;
+            }
+        });
+    }
+
+    /**
+     * Rimuove gli elementi che soddisfano la condizione.
+     * <p>
+     * La condizione viene verificata su tutti gli elementi prima di modificare la lista, quindi se lancia
+     * un'eccezione la lista resta invariata. Poi la lista viene compattata in un'unica passata, invece di uno
+     * shift della coda per ogni rimozione come con {@link HIterator#remove()}.
+     * @param filter condizione degli elementi da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     * @throws NullPointerException se la condizione è null
+     */
+    public boolean removeIf(HPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        return removeIf(0, -1, filter) > 0;
+    }
+
+    /**
+     * Sostituisce ogni elemento con il risultato dell'operazione, scrivendo direttamente nel backend senza
+     * iteratori. Se l'operazione lancia un'eccezione, gli elementi già sostituiti restano sostituiti.
+     * @param operator operazione da applicare
+     * @throws NullPointerException se l'operazione è null
+     */
+    public void replaceAll(HUnaryOperator operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        replaceAll(0, -1, operator);
+    }
+
+    /**
+     * Rimuove dall'intervallo {@code [fromIndex, toIndex)} gli elementi che soddisfano la condizione, come
+     * {@link #removeIf(HPredicate)}. Usato anche da {@link SubListAdapter}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param filter condizione degli elementi da rimuovere
+     * @return numero di elementi rimossi
+     */
+    int removeIf(int fromIndex, int toIndex, HPredicate filter) {
+        return compact(fromIndex, toIndex < 0 ? delegate.size() : toIndex, filter);
+    }
+
+    /**
+     * Sostituisce gli elementi dell'intervallo {@code [fromIndex, toIndex)} con il risultato dell'operazione, come
+     * {@link #replaceAll(HUnaryOperator)}. Usato anche da {@link SubListAdapter}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param operator operazione da applicare
+     */
+    void replaceAll(int fromIndex, int toIndex, HUnaryOperator operator) {
+        if (toIndex < 0) {
+            toIndex = delegate.size();
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            delegate.setElementAt(operator.apply(delegate.elementAt(i)), i);
+        }
+    }
+
+    /**
+     * Compatta l'intervallo {@code [fromIndex, toIndex)} togliendo gli elementi che soddisfano la condizione.
+     * <p>
+     * La prima passata legge gli elementi a blocchi e segna in una mappa di bit quelli da rimuovere, senza
+     * modificare la lista. La seconda, dal primo elemento segnato, copia quelli da tenere sul cursore di
+     * scrittura; il buco lasciato in fondo all'intervallo viene chiuso con un solo {@code removeRange}.
+     * Il costo è O(n) spostamenti in totale, invece di uno shift della coda per ogni rimozione.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param filter condizione degli elementi da rimuovere
+     * @return numero di elementi rimossi
+     */
+    private int compact(int fromIndex, int toIndex, HPredicate filter) {
+        long[] hits = null;
+        int first = -1;
+        Object[] batch = new Object[Math.min(VISIT_BATCH, toIndex - fromIndex)];
+        for (int index = fromIndex; index < toIndex; ) {
+            int end = Math.min(toIndex, index + batch.length);
+            delegate.copyInto(index, end, batch);
+            for (int i = 0, k = index - fromIndex; i < end - index; i++, k++) {
+                if (filter.test(batch[i])) {
+                    if (hits == null) {
+                        hits = new long[(toIndex - fromIndex + 63) >>> 6];
+                        first = k;
+                    }
+                    hits[k >>> 6] |= 1L << k;
+                }
+            }
+            index = end;
+        }
+        if (hits == null) {
+            return 0;
+        }
+        int w = fromIndex + first;
+        for (int r = w + 1, k = first + 1; r < toIndex; r++, k++) {
+            if ((hits[k >>> 6] & (1L << k)) == 0) {
+                delegate.setElementAt(delegate.elementAt(r), w++);
+            }
+        }
+        delegate.removeRange(w, toIndex);
+        return toIndex - w;
+    }
+
+    /**
+     * Rimuove dalla lista gli elementi nell'intervallo {@code [fromIndex, toIndex)},
+     * spostando indietro i successivi con un'unica copia a blocchi.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > delegate.size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + delegate.size());
+        }
+        if (fromIndex < toIndex) {
+            delegate.removeRange(fromIndex, toIndex);
         }
-        return modified;
     }
 
     /**
@@ -417,14 +633,7 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public int indexOf(Object o) {
-        for (int i = 0; i < delegate.size(); i++) {
-            Object e = delegate.elementAt(i);
-            if (e == null ? o == null : e.equals(o)) {
-                return i;
-            }
-        }
-        
-        return -1;
+        return delegate.indexOf(o, 0, delegate.size());
     }
 
     /**
@@ -434,13 +643,33 @@ public class ListAdapter implements HList, HCollection {
      */
     @Override
     public int lastIndexOf(Object o) {
-        for (int i = delegate.size() - 1; i>= 0; i--) {
-            Object e = delegate.elementAt(i);
-            if (e == null ? o == null : e.equals(o)) {
-                return i;
-            }
-        }
-        return -1;
+        return delegate.lastIndexOf(o, 0, delegate.size());
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza dell'oggetto nell'intervallo {@code [fromIndex, toIndex)}.
+     * Usato da {@link SubListAdapter} per cercare direttamente nel backend.
+     *
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nella lista o -1 se non presente
+     */
+    int indexOf(Object o, int fromIndex, int toIndex) {
+        return delegate.indexOf(o, fromIndex, toIndex);
+    }
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza dell'oggetto nell'intervallo {@code [fromIndex, toIndex)}.
+     * Usato da {@link SubListAdapter} per cercare direttamente nel backend.
+     *
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return indice nella lista o -1 se non presente
+     */
+    int lastIndexOf(Object o, int fromIndex, int toIndex) {
+        return delegate.lastIndexOf(o, fromIndex, toIndex);
     }
 
     /**
@@ -466,6 +695,187 @@ public class ListAdapter implements HList, HCollection {
         return new ListIteratorAdapter(index);
     }
 
+    /**
+     * Restituisce un iteratore a fotografia: scorre gli elementi presenti al momento della chiamata, anche se
+     * la lista viene modificata durante l'iterazione, senza saltarne né ripeterne.
+     * <p>
+     * Con un {@link ArrayStorage} o un {@link VectorStorage} (il backend di default) la fotografia non copia
+     * niente: l'iteratore condivide l'array del backend, e la prima modifica successiva che lo toccherebbe lavora
+     * su una copia (le aggiunte in coda non copiano). Con gli altri backend gli elementi vengono copiati una volta
+     * alla creazione dell'iteratore.
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    public HListIterator snapshotIterator() {
+        return snapshotIterator(0, -1);
+    }
+
+    /**
+     * Restituisce una visita divisibile degli elementi, {@link HSpliterator#SIZED} e {@link HSpliterator#SUBSIZED},
+     * usata da {@link ParallelOps} per lavorare sulla lista in parallelo.
+     * La lista non deve cambiare dimensione durante la visita.
+     * @return HSpliterator sugli elementi
+     */
+    public HSpliterator spliterator() {
+        return new ListSpliterator(this, 0, size());
+    }
+
+    /**
+     * Esegue l'azione su ogni elemento, in ordine.
+     * <p>
+     * La visita non crea iteratori né copie: gli elementi vengono letti direttamente dal backend. Le liste
+     * thread-safe li copiano invece a blocchi, con un solo lock per blocco, e chiamano l'azione sulla copia.
+     * La lista non deve cambiare dimensione durante la visita; le modifiche fatte dall'azione a elementi non
+     * ancora visitati sono visibili.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEach(HConsumer action) {
+        forEach(0, size(), action);
+    }
+
+    /**
+     * Esegue l'azione sugli elementi nell'intervallo {@code [fromIndex, toIndex)}, come {@link #forEach(HConsumer)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param action azione da eseguire
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEach(int fromIndex, int toIndex, HConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        checkRange(fromIndex, toIndex);
+        visit(fromIndex, toIndex, fromIndex, action, null);
+    }
+
+    /**
+     * Esegue l'azione su ogni elemento con la sua posizione, in ordine, come {@link #forEach(HConsumer)}.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEachIndexed(HIndexedConsumer action) {
+        forEachIndexed(0, size(), action);
+    }
+
+    /**
+     * Esegue l'azione sugli elementi nell'intervallo {@code [fromIndex, toIndex)} con la loro posizione nella
+     * lista, come {@link #forEach(HConsumer)}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param action azione da eseguire
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEachIndexed(int fromIndex, int toIndex, HIndexedConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        checkRange(fromIndex, toIndex);
+        visit(fromIndex, toIndex, fromIndex, null, action);
+    }
+
+    /**
+     * Verifica che {@code [fromIndex, toIndex)} sia un intervallo della lista.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    private void checkRange(int fromIndex, int toIndex) {
+        int size = size();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Visita l'intervallo {@code [fromIndex, toIndex)}, passando ogni elemento a {@code action} o, con la sua
+     * posizione, a {@code indexed}. Gli elementi vengono letti dal backend con
+     * {@link ListStorage#visit}, senza allocazioni né una chiamata per elemento; le liste thread-safe la
+     * ridefiniscono con {@link #visitBatched}. Usato anche da {@link SubListAdapter}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        delegate.visit(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+
+    /**
+     * Visita a blocchi l'intervallo {@code [fromIndex, toIndex)}, come {@link #visit}. Ogni blocco viene letto
+     * con {@link #toArray(int, int, Object[])}, che le liste thread-safe eseguono sotto il proprio lock, così
+     * l'azione riceve elementi coerenti all'interno del blocco e viene chiamata fuori dal lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    final void visitBatched(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        Object[] batch = new Object[Math.min(VISIT_BATCH, toIndex - fromIndex)];
+        int shift = firstIndex - fromIndex;
+        int index = fromIndex;
+        while (index < toIndex) {
+            int end = Math.min(toIndex, index + batch.length);
+            toArray(index, end, batch);
+            int n = end - index;
+            if (action != null) {
+                for (int i = 0; i < n; i++) {
+                    action.accept(batch[i]);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    indexed.accept(index + i + shift, batch[i]);
+                }
+            }
+            index = end;
+        }
+    }
+
+    /**
+     * Restituisce uno {@link java.util.stream.Stream} sequenziale sugli elementi, basato su {@link #spliterator()}:
+     * gli elementi vengono letti direttamente dalla lista, senza copiarla.
+     * La lista non deve cambiare dimensione durante la visita.
+     * @return stream sugli elementi
+     */
+    public java.util.stream.Stream stream() {
+        return java.util.stream.StreamSupport.stream(new JavaSpliterator(spliterator()), false);
+    }
+
+    /**
+     * Restituisce uno {@link java.util.stream.Stream} parallelo sugli elementi, come {@link #stream()}: lo stream
+     * si divide con {@link HSpliterator#trySplit()}, quindi ogni parte legge il proprio intervallo della lista.
+     * @return stream parallelo sugli elementi
+     */
+    public java.util.stream.Stream parallelStream() {
+        return java.util.stream.StreamSupport.stream(new JavaSpliterator(spliterator()), true);
+    }
+
+    /**
+     * Crea un iteratore a fotografia sull'intervallo {@code [fromIndex, toIndex)}. Usato anche da
+     * {@link SubListAdapter}.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    HListIterator snapshotIterator(int fromIndex, int toIndex) {
+        if (toIndex < 0) {
+            toIndex = delegate.size();
+        }
+        int size = toIndex - fromIndex;
+        if (delegate instanceof ArrayStorage) {
+            return new SnapshotIterator(((ArrayStorage) delegate).share(), fromIndex, 0, size);
+        }
+        if (delegate instanceof VectorStorage) {
+            return new SnapshotIterator(((VectorStorage) delegate).share(), fromIndex, 0, size);
+        }
+        Object[] snapshot = new Object[size];
+        delegate.copyInto(fromIndex, toIndex, snapshot);
+        return new SnapshotIterator(snapshot, 0, 0, size);
+    }
+
     /**
      * Restituisce una vista dinamica (live) di una porzione della lista compresa tra {@code fromIndex} (incluso)
      * e {@code toIndex} (escluso).
@@ -482,6 +892,9 @@ public class ListAdapter implements HList, HCollection {
 
     /**
      * Aggiunge tutti gli elementi nella posizione specificata.
+     * <p>
+     * Gli elementi vengono letti con un solo {@code toArray()}, che fissa anche la dimensione del buco:
+     * la coda viene spostata una sola volta e il buco riempito a blocchi.
      * @param index posizione d'inserimento
      * @param c collezione da inserire
      * @return {@code true} se almeno un elemento è stato aggiunto
@@ -493,14 +906,12 @@ public class ListAdapter implements HList, HCollection {
             throw new IndexOutOfBoundsException("Index: " + index);
         }
 
-        HIterator it = c.iterator();
-        int i = 0;
-        while (it.hasNext()) {
-            this.add(index + i, it.next()); //
-            i++;
+        Object[] elements = c.toArray(); // copia: funziona anche se c è questa lista
+        if (elements.length == 0) {
+            return false;
         }
-
-        return i > 0;
+        delegate.insertElementsAt(elements, index);
+        return true;
     }
 
 
@@ -0,0 +1,81 @@
+package myAdapter;
+
+/**
+ * Implementazione di {@link HSpliterator} sull'intervallo {@code [index, fence)} di un {@link ListAdapter}.
+ * Usata da {@link ListAdapter#spliterator()} e {@link SubListAdapter#spliterator()}.
+ * <p>
+ * {@link #trySplit()} divide l'intervallo a metà, quindi ogni parte conosce la propria dimensione esatta.
+ * {@link #forEachRemaining(HConsumer)} legge gli elementi a blocchi con una sola copia per blocco, invece di un
+ * accesso per elemento. La lista non deve cambiare dimensione durante la visita.
+ */
+final class ListSpliterator implements HSpliterator {
+
+    /** Numero massimo di elementi copiati in un blocco da {@link #forEachRemaining(HConsumer)}. */
+    private static final int BATCH = 1024;
+
+    /** Lista visitata. */
+    private final ListAdapter list;
+
+    /** Prossimo indice da visitare. */
+    private int index;
+
+    /** Indice dopo l'ultimo da visitare. */
+    private final int fence;
+
+    /**
+     * Costruttore della visita.
+     * @param list lista da visitare
+     * @param index primo indice (incluso)
+     * @param fence ultimo indice (escluso)
+     */
+    ListSpliterator(ListAdapter list, int index, int fence) {
+        this.list = list;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    public boolean tryAdvance(HConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(list.get(index++));
+        return true;
+    }
+
+    public void forEachRemaining(HConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        Object[] batch = new Object[Math.min(BATCH, fence - index)];
+        while (index < fence) {
+            int end = Math.min(fence, index + batch.length);
+            list.toArray(index, end, batch);
+            int n = end - index;
+            index = end;
+            for (int i = 0; i < n; i++) {
+                action.accept(batch[i]);
+            }
+        }
+    }
+
+    public HSpliterator trySplit() {
+        int lo = index;
+        int mid = (lo + fence) >>> 1;
+        if (lo >= mid) {
+            return null;
+        }
+        index = mid;
+        return new ListSpliterator(list, lo, mid);
+    }
+
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
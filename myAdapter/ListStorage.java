@@ -0,0 +1,122 @@
+package myAdapter;
+
+/**
+ * Interfaccia che rappresenta il backend di memorizzazione su cui si appoggia {@link ListAdapter}.
+ * <p>
+ * I metodi riprendono i nomi di {@link java.util.Vector} (CLDC 1.1), così che il backend storico
+ * e quelli alternativi siano intercambiabili. Gli indici sono già validati da {@link ListAdapter}:
+ * le implementazioni possono quindi evitare controlli ridondanti.
+ */
+public interface ListStorage {
+
+    /**
+     * Restituisce il numero di elementi memorizzati.
+     * @return numero di elementi
+     */
+    int size();
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index posizione ({@code 0 <= index < size()})
+     * @return elemento memorizzato
+     */
+    Object elementAt(int index);
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param obj nuovo elemento
+     * @param index posizione ({@code 0 <= index < size()})
+     */
+    void setElementAt(Object obj, int index);
+
+    /**
+     * Inserisce un elemento alla posizione indicata, spostando in avanti i successivi.
+     * @param obj elemento da inserire
+     * @param index posizione ({@code 0 <= index <= size()})
+     */
+    void insertElementAt(Object obj, int index);
+
+    /**
+     * Rimuove l'elemento alla posizione indicata, spostando indietro i successivi.
+     * @param index posizione ({@code 0 <= index < size()})
+     */
+    void removeElementAt(int index);
+
+    /**
+     * Aggiunge un elemento in coda.
+     * @param obj elemento da aggiungere
+     */
+    void addElement(Object obj);
+
+    /**
+     * Rimuove tutti gli elementi.
+     */
+    void removeAllElements();
+
+    /**
+     * Imposta la dimensione: se minore di quella attuale gli elementi in eccesso vengono scartati,
+     * altrimenti vengono aggiunti elementi {@code null}.
+     * @param newSize nuova dimensione ({@code newSize >= 0})
+     */
+    void setSize(int newSize);
+
+    /**
+     * Rimuove gli elementi nell'intervallo {@code [fromIndex, toIndex)}, spostando indietro i successivi
+     * con un'unica copia a blocchi.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), {@code fromIndex <= toIndex <= size()}
+     */
+    void removeRange(int fromIndex, int toIndex);
+
+    /**
+     * Inserisce in blocco gli elementi dell'array alla posizione indicata: la coda viene spostata una sola volta.
+     * @param elements elementi da inserire, in ordine
+     * @param index posizione ({@code 0 <= index <= size()})
+     */
+    void insertElementsAt(Object[] elements, int index);
+
+    /**
+     * Copia a blocchi gli elementi nell'intervallo {@code [fromIndex, toIndex)} nell'array indicato,
+     * a partire dalla sua posizione 0.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), {@code fromIndex <= toIndex <= size()}
+     * @param anArray array di destinazione, lungo almeno {@code toIndex - fromIndex}
+     */
+    void copyInto(int fromIndex, int toIndex, Object[] anArray);
+
+    /**
+     * Verifica se un elemento è presente (confronto con {@code equals}, {@code null} ammesso).
+     * @param elem elemento da cercare
+     * @return {@code true} se presente
+     */
+    boolean contains(Object elem);
+
+    /**
+     * Restituisce l'indice della prima occorrenza dell'elemento nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param elem elemento da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), {@code fromIndex <= toIndex <= size()}
+     * @return indice nel backend o -1 se non presente
+     */
+    int indexOf(Object elem, int fromIndex, int toIndex);
+
+    /**
+     * Restituisce l'indice dell'ultima occorrenza dell'elemento nell'intervallo {@code [fromIndex, toIndex)}.
+     * @param elem elemento da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), {@code fromIndex <= toIndex <= size()}
+     * @return indice nel backend o -1 se non presente
+     */
+    int lastIndexOf(Object elem, int fromIndex, int toIndex);
+
+    /**
+     * Passa in ordine gli elementi dell'intervallo {@code [fromIndex, toIndex)} a {@code action} o, con la loro
+     * posizione, a {@code indexed}, leggendoli direttamente dalla struttura del backend.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), {@code fromIndex <= toIndex <= size()}
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed);
+}
@@ -0,0 +1,14 @@
+package myAdapter;
+
+/**
+ * Gruppo di modifiche da applicare in un colpo solo a una {@link CopyOnWriteList} con
+ * {@link CopyOnWriteList#update(ListUpdate)}.
+ */
+public interface ListUpdate {
+
+    /**
+     * Applica le modifiche alla copia di lavoro della lista.
+     * @param list copia privata e modificabile della lista; non deve essere conservata dopo la chiamata
+     */
+    void apply(HList list);
+}
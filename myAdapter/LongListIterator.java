@@ -0,0 +1,38 @@
+package myAdapter;
+
+/**
+ * Iteratore bidirezionale di {@link LongList} e {@link LongSubList} con accesso diretto ai valori {@code long}.
+ * <p>
+ * I metodi di {@link HListIterator} restano disponibili e lavorano su {@link Long}; quelli di questa
+ * interfaccia evitano la conversione in oggetto.
+ */
+public interface LongListIterator extends HListIterator {
+
+    /**
+     * Restituisce il valore successivo e avanza il cursore.
+     * @return valore successivo
+     * @throws java.util.NoSuchElementException se non ci sono altri elementi
+     */
+    long nextLong();
+
+    /**
+     * Restituisce il valore precedente e arretra il cursore.
+     * @return valore precedente
+     * @throws java.util.NoSuchElementException se non esiste
+     */
+    long previousLong();
+
+    /**
+     * Sostituisce l'ultimo valore restituito da {@code next} o {@code previous}.
+     * @param value nuovo valore
+     * @throws IllegalStateException se {@code next} o {@code previous} non sono stati chiamati, o se dopo l'ultima
+     * chiamata sono stati chiamati {@code remove} o {@code add}
+     */
+    void setLong(long value);
+
+    /**
+     * Inserisce un valore nella posizione corrente.
+     * @param value valore da inserire
+     */
+    void addLong(long value);
+}
@@ -0,0 +1,593 @@
+package myAdapter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Backend di {@link ListAdapter} persistente, memorizzato in tre file mappati in memoria con
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ * <p>
+ * Il file {@code <nome>.idx} contiene un'intestazione e una tabella degli offset: per ogni elemento, in ordine,
+ * la posizione e la lunghezza dei suoi byte. Il file {@code <nome>.tab} contiene una seconda tabella con la
+ * stessa disposizione, e l'intestazione indica quale delle due è valida. Il file {@code <nome>.dat} è la regione
+ * dei dati, in cui i byte prodotti dal {@link ByteCodec} vengono solo aggiunti in fondo. Riaprendo gli stessi
+ * file la lista è subito disponibile: i file vengono mappati a blocchi solo quando servono e il sistema
+ * operativo carica le pagine alla prima lettura.
+ * <p>
+ * Inserimenti e rimozioni spostano solo le voci della tabella; {@code set}, le rimozioni e {@code clear}
+ * lasciano nella regione dei dati i byte non più raggiungibili, che restano occupati finché la lista non viene
+ * ricostruita in un nuovo file. Solo un {@link #flush()} con la lista vuota riporta la fine dei dati all'inizio.
+ * <p>
+ * Le modifiche diventano persistenti con {@link #flush()} (chiamato anche da {@link #close()}): vengono forzati
+ * su disco prima i dati, poi la tabella e infine l'intestazione con numero di elementi, fine dei dati e tabella
+ * valida. Alla riapertura la lista riflette l'ultimo {@link #flush()}, anche se il sistema operativo ha già
+ * scritto su disco pagine modificate dopo: tra due {@link #flush()} i dati vengono scritti solo oltre la fine
+ * registrata, e la prima modifica che riscriverebbe una voce già registrata ({@code set}, inserimenti e
+ * rimozioni in mezzo, aggiunte dopo una rimozione) copia prima la tabella nell'altra, che diventa quella di
+ * lavoro e viene resa valida dal {@link #flush()} successivo. La copia costa O(n) una volta per ciascun
+ * intervallo tra due {@link #flush()}; le aggiunte in coda e {@code clear} non la richiedono. Un'interruzione
+ * durante il {@link #flush()} stesso è sicura solo se l'intestazione, che sta in un'unica pagina, viene
+ * scritta per intero.
+ * Non è sincronizzato.
+ */
+public class MappedFileStorage extends AbstractListStorage {
+
+    /** Identificativo del formato, all'inizio del file della tabella ("HLST"). */
+    private static final int MAGIC = 0x484C5354;
+
+    /** Versione del formato. */
+    private static final int VERSION = 1;
+
+    /** Dimensione dell'intestazione: magic, versione, numero di elementi, fine dei dati, tabella valida. */
+    private static final int HEADER_SIZE = 32;
+
+    /** Posizione del numero di elementi nell'intestazione. */
+    private static final int SIZE_POSITION = 8;
+
+    /** Posizione della fine dei dati nell'intestazione. */
+    private static final int DATA_END_POSITION = 16;
+
+    /** Posizione nell'intestazione del numero della tabella valida (0 per {@code .idx}, 1 per {@code .tab}). */
+    private static final int TABLE_POSITION = 24;
+
+    /** Dimensione di una voce della tabella: posizione dei dati (long) e lunghezza (int, -1 per null). */
+    private static final int ENTRY_SIZE = 16;
+
+    /** Dimensione di default di un blocco mappato (16 MiB). */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 24;
+
+    /** Codec degli elementi. */
+    private final ByteCodec codec;
+
+    /** Dimensione di ciascun blocco mappato, potenza di 2. */
+    private final int chunkSize;
+
+    /** File delle due tabelle degli offset; il primo contiene anche l'intestazione. */
+    private final RandomAccessFile[] tableFiles = new RandomAccessFile[2];
+
+    /** File della regione dei dati. */
+    private RandomAccessFile dataFile;
+
+    /** Blocchi mappati dei file delle tabelle, null finché non servono. */
+    private MappedByteBuffer[][] tableChunks = { new MappedByteBuffer[1], new MappedByteBuffer[1] };
+
+    /** Blocchi mappati del file dei dati, null finché non servono. */
+    private MappedByteBuffer[] dataChunks = new MappedByteBuffer[1];
+
+    /** Numero di elementi. */
+    private int size;
+
+    /** Fine della regione dei dati: posizione in cui verranno scritti i prossimi byte. */
+    private long dataEnd;
+
+    /** Tabella registrata nell'intestazione dall'ultimo {@link #flush()}. */
+    private int validTable;
+
+    /** Tabella su cui avvengono letture e scritture; diversa da {@link #validTable} dopo una riscrittura. */
+    private int table;
+
+    /** Numero di elementi registrato nell'intestazione dall'ultimo {@link #flush()}. */
+    private int flushedSize;
+
+    /** Buffer di appoggio per gli spostamenti delle voci, allocato alla prima occorrenza. */
+    private byte[] scratch;
+
+    /** Indica se {@link #close()} è già stato chiamato. */
+    private boolean closed;
+
+    /**
+     * Apre (o crea, se non esistono) i file {@code <file>.idx}, {@code <file>.tab} e {@code <file>.dat} con
+     * blocchi da 16 MiB.
+     * @param file percorso comune dei tre file, senza estensione
+     * @param codec codec degli elementi
+     * @throws IOException se i file non possono essere aperti o non contengono una lista
+     * @throws NullPointerException se un argomento è null
+     */
+    public MappedFileStorage(File file, ByteCodec codec) throws IOException {
+        this(file, codec, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Apre (o crea, se non esistono) i file {@code <file>.idx}, {@code <file>.tab} e {@code <file>.dat},
+     * mappandoli a blocchi della dimensione indicata.
+     * @param file percorso comune dei tre file, senza estensione
+     * @param codec codec degli elementi
+     * @param chunkSize dimensione di un blocco mappato, potenza di 2 non minore di 64
+     * @throws IOException se i file non possono essere aperti o non contengono una lista
+     * @throws NullPointerException se un argomento è null
+     * @throws IllegalArgumentException se la dimensione del blocco non è valida
+     */
+    public MappedFileStorage(File file, ByteCodec codec, int chunkSize) throws IOException {
+        if (codec == null) {
+            throw new NullPointerException("codec cannot be null");
+        }
+        if (chunkSize < 64 || (chunkSize & (chunkSize - 1)) != 0) {
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        }
+        this.codec = codec;
+        this.chunkSize = chunkSize;
+        RandomAccessFile indexFile = new RandomAccessFile(file.getPath() + ".idx", "rw");
+        tableFiles[0] = indexFile;
+        try {
+            long length = indexFile.length();
+            if (length != 0 && (length < HEADER_SIZE || indexFile.readInt() != MAGIC || indexFile.readInt() != VERSION)) {
+                // controllato prima di mappare, che allungherebbe un file non nostro
+                throw new IOException("Not a list file: " + file.getPath() + ".idx");
+            }
+            tableFiles[1] = new RandomAccessFile(file.getPath() + ".tab", "rw");
+            dataFile = new RandomAccessFile(file.getPath() + ".dat", "rw");
+            MappedByteBuffer header = tableChunk(0, 0);
+            if (length == 0) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(SIZE_POSITION, 0);
+                header.putLong(DATA_END_POSITION, 0L);
+                header.putInt(TABLE_POSITION, 0);
+                header.force();
+            }
+            size = header.getInt(SIZE_POSITION);
+            dataEnd = header.getLong(DATA_END_POSITION);
+            validTable = header.getInt(TABLE_POSITION);
+            if (size < 0 || dataEnd < 0 || (validTable != 0 && validTable != 1)) {
+                throw new IOException("Corrupted list file: " + file.getPath() + ".idx");
+            }
+            table = validTable;
+            flushedSize = size;
+        } catch (IOException e) {
+            unmap(tableChunks[0]);
+            unmap(tableChunks[1]);
+            closeFiles();
+            throw e;
+        }
+    }
+
+    /**
+     * Rende persistenti tutte le modifiche: forza su disco i dati, poi la tabella di lavoro,
+     * poi l'intestazione con numero di elementi, fine dei dati e tabella valida.
+     * @throws IllegalStateException se il backend è stato chiuso
+     */
+    public void flush() {
+        ensureOpen();
+        if (size == 0) {
+            dataEnd = 0; // nessuna voce registrata punta più ai dati
+        }
+        for (int i = 0; i < dataChunks.length; i++) {
+            if (dataChunks[i] != null) dataChunks[i].force();
+        }
+        MappedByteBuffer[] chunks = tableChunks[table];
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) chunks[i].force();
+        }
+        MappedByteBuffer header = tableChunk(0, 0);
+        header.putInt(SIZE_POSITION, size);
+        header.putLong(DATA_END_POSITION, dataEnd);
+        header.putInt(TABLE_POSITION, table);
+        header.force();
+        validTable = table;
+        flushedSize = size;
+    }
+
+    /**
+     * Esegue {@link #flush()}, rilascia le mappature e chiude i file. Dopo la chiamata il backend (e la lista
+     * che lo usa) non è più utilizzabile; chiamate successive non hanno effetto.
+     * @throws IOException se la chiusura dei file non riesce
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        unmap(tableChunks[0]);
+        unmap(tableChunks[1]);
+        unmap(dataChunks);
+        closeFiles();
+    }
+
+    /**
+     * Indica se {@link #close()} è già stato chiamato.
+     * @return {@code true} se il backend è chiuso
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Rilascia le mappature dei blocchi indicati.
+     * @param chunks blocchi mappati
+     */
+    private static void unmap(MappedByteBuffer[] chunks) {
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) {
+                OffHeapStorage.free(chunks[i]);
+                chunks[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Chiude i file aperti, ignorando quelli già chiusi o mai aperti.
+     * @throws IOException se la chiusura non riesce
+     */
+    private void closeFiles() throws IOException {
+        try {
+            if (dataFile != null) dataFile.close();
+        } finally {
+            try {
+                if (tableFiles[1] != null) tableFiles[1].close();
+            } finally {
+                tableFiles[0].close();
+            }
+        }
+    }
+
+    /**
+     * Verifica che i file siano ancora aperti: le mappature rilasciate non devono essere lette.
+     * @throws IllegalStateException se {@link #close()} è già stato chiamato
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("storage closed");
+        }
+    }
+
+    /**
+     * Restituisce il blocco indicato del file di una tabella, mappandolo alla prima richiesta.
+     * @param t numero della tabella
+     * @param chunk numero del blocco
+     * @return blocco mappato
+     */
+    private MappedByteBuffer tableChunk(int t, int chunk) {
+        if (chunk >= tableChunks[t].length) {
+            tableChunks[t] = grow(tableChunks[t], chunk);
+        }
+        if (tableChunks[t][chunk] == null) {
+            tableChunks[t][chunk] = map(tableFiles[t], chunk);
+        }
+        return tableChunks[t][chunk];
+    }
+
+    /**
+     * Restituisce il blocco indicato del file dei dati, mappandolo alla prima richiesta.
+     * @param chunk numero del blocco
+     * @return blocco mappato
+     */
+    private MappedByteBuffer dataChunk(int chunk) {
+        if (chunk >= dataChunks.length) {
+            dataChunks = grow(dataChunks, chunk);
+        }
+        if (dataChunks[chunk] == null) {
+            dataChunks[chunk] = map(dataFile, chunk);
+        }
+        return dataChunks[chunk];
+    }
+
+    /**
+     * Allunga l'array dei blocchi in modo che contenga la posizione indicata.
+     * @param chunks array corrente
+     * @param chunk posizione richiesta
+     * @return nuovo array
+     */
+    private static MappedByteBuffer[] grow(MappedByteBuffer[] chunks, int chunk) {
+        MappedByteBuffer[] newChunks = new MappedByteBuffer[Math.max(chunk + 1, chunks.length * 2)];
+        System.arraycopy(chunks, 0, newChunks, 0, chunks.length);
+        return newChunks;
+    }
+
+    /**
+     * Mappa in lettura e scrittura un blocco del file; il file viene allungato se serve.
+     * @param file file da mappare
+     * @param chunk numero del blocco
+     * @return blocco mappato
+     * @throws UncheckedIOException se la mappatura non riesce
+     */
+    private MappedByteBuffer map(RandomAccessFile file, int chunk) {
+        try {
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, (long) chunk * chunkSize, chunkSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restituisce la posizione nel file della tabella della voce indicata.
+     * @param index indice dell'elemento
+     * @return posizione della voce
+     */
+    private static long entryPosition(int index) {
+        return HEADER_SIZE + (long) index * ENTRY_SIZE;
+    }
+
+    /**
+     * Restituisce il blocco che contiene la voce indicata nella tabella di lavoro; le voci non attraversano
+     * mai il bordo di un blocco.
+     * @param index indice dell'elemento
+     * @return blocco della tabella
+     */
+    private MappedByteBuffer entryChunk(int index) {
+        return entryChunk(table, index);
+    }
+
+    /**
+     * Restituisce il blocco che contiene la voce indicata nella tabella indicata.
+     * @param t numero della tabella
+     * @param index indice dell'elemento
+     * @return blocco della tabella
+     */
+    private MappedByteBuffer entryChunk(int t, int index) {
+        return tableChunk(t, (int) (entryPosition(index) / chunkSize));
+    }
+
+    /**
+     * Restituisce la posizione della voce indicata all'interno del suo blocco.
+     * @param index indice dell'elemento
+     * @return posizione nel blocco
+     */
+    private int entryOffset(int index) {
+        return (int) (entryPosition(index) & (chunkSize - 1));
+    }
+
+    /**
+     * Scrive la voce della tabella per l'elemento indicato.
+     * @param index indice dell'elemento
+     * @param position posizione dei byte nella regione dei dati
+     * @param length numero di byte, -1 per null
+     */
+    private void writeEntry(int index, long position, int length) {
+        MappedByteBuffer chunk = entryChunk(index);
+        int offset = entryOffset(index);
+        chunk.putLong(offset, position);
+        chunk.putInt(offset + 8, length);
+    }
+
+    /**
+     * Aggiunge i byte in fondo alla regione dei dati.
+     * @param bytes byte da scrivere, o null per un elemento null
+     * @return posizione dei byte scritti
+     */
+    private long appendData(byte[] bytes) {
+        long position = dataEnd;
+        if (bytes == null) {
+            return position;
+        }
+        int done = 0;
+        while (done < bytes.length) {
+            long pos = position + done;
+            MappedByteBuffer chunk = dataChunk((int) (pos / chunkSize));
+            int offset = (int) (pos & (chunkSize - 1));
+            int n = Math.min(bytes.length - done, chunkSize - offset);
+            chunk.position(offset);
+            chunk.put(bytes, done, n);
+            done += n;
+        }
+        dataEnd += bytes.length;
+        return position;
+    }
+
+    /**
+     * Converte l'elemento in byte prima di modificare i file, così un elemento rifiutato dal codec
+     * lascia la lista invariata.
+     * @param obj elemento
+     * @return byte dell'elemento, o null per un elemento null
+     */
+    private byte[] encode(Object obj) {
+        return obj == null ? null : codec.encode(obj);
+    }
+
+    /**
+     * Scrive l'elemento in fondo alla regione dei dati e ne registra la voce.
+     * @param bytes byte dell'elemento, o null
+     * @param index indice dell'elemento
+     */
+    private void store(byte[] bytes, int index) {
+        long position = appendData(bytes);
+        writeEntry(index, position, bytes == null ? -1 : bytes.length);
+    }
+
+    /**
+     * Va chiamato prima di scrivere voci a partire dall'indice indicato. Se la scrittura toccherebbe una voce
+     * registrata dall'ultimo {@link #flush()} nella tabella valida, copia le voci correnti nell'altra tabella
+     * e la rende quella di lavoro, così la tabella valida resta intatta fino al {@link #flush()} successivo.
+     * @param index indice della prima voce che verrà scritta
+     */
+    private void beforeWrite(int index) {
+        if (table != validTable || index >= flushedSize) {
+            return;
+        }
+        int other = 1 - table;
+        int maxChunk = scratch().length / ENTRY_SIZE;
+        for (int i = 0; i < size; ) {
+            int n = Math.min(Math.min(size - i, maxChunk), entriesFrom(i));
+            copyEntries(table, i, other, i, n);
+            i += n;
+        }
+        table = other;
+    }
+
+    /**
+     * Restituisce il buffer di appoggio per le copie delle voci, allocandolo alla prima richiesta.
+     * @return buffer di appoggio
+     */
+    private byte[] scratch() {
+        if (scratch == null) {
+            scratch = new byte[Math.min(chunkSize, 1 << 16)];
+        }
+        return scratch;
+    }
+
+    /**
+     * Copia {@code count} voci della tabella dall'indice {@code src} all'indice {@code dst}, a blocchi che
+     * non attraversano il bordo di un blocco mappato. Gestisce la sovrapposizione copiando nel verso opportuno.
+     * @param src indice della prima voce da copiare
+     * @param dst indice di destinazione
+     * @param count numero di voci
+     */
+    private void moveEntries(int src, int dst, int count) {
+        if (count == 0 || src == dst) {
+            return;
+        }
+        int maxChunk = scratch().length / ENTRY_SIZE;
+        if (dst < src) {
+            while (count > 0) {
+                int n = Math.min(Math.min(count, maxChunk), Math.min(entriesFrom(src), entriesFrom(dst)));
+                copyEntries(table, src, table, dst, n);
+                src += n;
+                dst += n;
+                count -= n;
+            }
+        } else {
+            while (count > 0) {
+                int srcEnd = src + count;
+                int dstEnd = dst + count;
+                int n = Math.min(Math.min(count, maxChunk), Math.min(entriesUpTo(srcEnd), entriesUpTo(dstEnd)));
+                copyEntries(table, srcEnd - n, table, dstEnd - n, n);
+                count -= n;
+            }
+        }
+    }
+
+    /**
+     * Numero di voci dall'indice indicato (incluso) fino alla fine del suo blocco.
+     * @param index indice della voce
+     * @return numero di voci
+     */
+    private int entriesFrom(int index) {
+        return (chunkSize - entryOffset(index)) / ENTRY_SIZE;
+    }
+
+    /**
+     * Numero di voci dall'inizio del blocco fino all'indice indicato (escluso), nel blocco della voce {@code end - 1}.
+     * @param end indice finale (escluso)
+     * @return numero di voci
+     */
+    private int entriesUpTo(int end) {
+        return entryOffset(end - 1) / ENTRY_SIZE + 1;
+    }
+
+    /**
+     * Copia voci contigue, tutte nello stesso blocco sia all'origine sia alla destinazione,
+     * passando dal buffer di appoggio.
+     * @param srcTable tabella di origine
+     * @param src indice della prima voce da copiare
+     * @param dstTable tabella di destinazione
+     * @param dst indice di destinazione
+     * @param count numero di voci
+     */
+    private void copyEntries(int srcTable, int src, int dstTable, int dst, int count) {
+        int bytes = count * ENTRY_SIZE;
+        MappedByteBuffer from = entryChunk(srcTable, src);
+        from.position(entryOffset(src));
+        from.get(scratch, 0, bytes);
+        MappedByteBuffer to = entryChunk(dstTable, dst);
+        to.position(entryOffset(dst));
+        to.put(scratch, 0, bytes);
+    }
+
+    public int size() {
+        ensureOpen();
+        return size;
+    }
+
+    public Object elementAt(int index) {
+        ensureOpen();
+        MappedByteBuffer entries = entryChunk(index);
+        int offset = entryOffset(index);
+        long position = entries.getLong(offset);
+        int length = entries.getInt(offset + 8);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        int done = 0;
+        while (done < length) {
+            long pos = position + done;
+            MappedByteBuffer chunk = dataChunk((int) (pos / chunkSize));
+            int chunkOffset = (int) (pos & (chunkSize - 1));
+            int n = Math.min(length - done, chunkSize - chunkOffset);
+            chunk.position(chunkOffset);
+            chunk.get(bytes, done, n);
+            done += n;
+        }
+        return codec.decode(bytes);
+    }
+
+    public void setElementAt(Object obj, int index) {
+        ensureOpen();
+        byte[] bytes = encode(obj);
+        beforeWrite(index);
+        store(bytes, index);
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        ensureOpen();
+        byte[] bytes = encode(obj);
+        beforeWrite(index);
+        moveEntries(index, index + 1, size - index);
+        store(bytes, index);
+        size++;
+    }
+
+    public void removeElementAt(int index) {
+        removeRange(index, index + 1);
+    }
+
+    public void addElement(Object obj) {
+        ensureOpen();
+        byte[] bytes = encode(obj);
+        beforeWrite(size);
+        store(bytes, size);
+        size++;
+    }
+
+    public void removeAllElements() {
+        ensureOpen();
+        size = 0; // i dati restano finché un flush non registra la lista vuota
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        ensureOpen();
+        if (toIndex < size) {
+            beforeWrite(fromIndex);
+        }
+        moveEntries(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        ensureOpen();
+        byte[][] encoded = new byte[elements.length][];
+        for (int i = 0; i < elements.length; i++) {
+            encoded[i] = encode(elements[i]);
+        }
+        beforeWrite(index);
+        moveEntries(index, index + elements.length, size - index);
+        for (int i = 0; i < encoded.length; i++) {
+            store(encoded[i], index + i);
+        }
+        size += elements.length;
+    }
+}
@@ -0,0 +1,350 @@
+package myAdapter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Backend di {@link ListAdapter} che memorizza gli elementi fuori dallo heap, come record a lunghezza fissa
+ * in segmenti {@link ByteBuffer} diretti.
+ * <p>
+ * Ogni elemento viene scritto dal {@link RecordCodec} fornito al costruttore e ricostruito a ogni lettura:
+ * la lista non conserva riferimenti agli elementi, quindi il garbage collector vede solo un segmento ogni
+ * {@code recordsPerSegment} elementi invece di un oggetto per elemento. Inserimenti e rimozioni spostano i
+ * record successivi con copie a blocchi.
+ * <p>
+ * La memoria nativa viene restituita esplicitamente con {@link #release()}, e in parte già da
+ * {@link #removeAllElements()} e dalle rimozioni che lasciano segmenti vuoti; dopo {@link #release()}
+ * ogni operazione lancia {@link IllegalStateException}.
+ * Non è sincronizzato.
+ */
+public class OffHeapStorage extends AbstractListStorage {
+
+    /** Dimensione indicativa di un segmento usata dal costruttore di default (1 MiB). */
+    private static final int DEFAULT_SEGMENT_BYTES = 1 << 20;
+
+    /** Dimensione massima del buffer di appoggio per gli spostamenti di record. */
+    private static final int SCRATCH_BYTES = 1 << 16;
+
+    /** Istanza di {@code sun.misc.Unsafe}, se disponibile, per liberare subito i segmenti. */
+    private static final Object UNSAFE;
+
+    /** Metodo {@code Unsafe.invokeCleaner(ByteBuffer)}, se disponibile. */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", new Class[] { ByteBuffer.class });
+            unsafe = field.get(null);
+        } catch (Exception e) {
+            // JVM senza invokeCleaner: la memoria viene liberata quando il segmento viene raccolto
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /** Codec che scrive e legge i record. */
+    private final RecordCodec codec;
+
+    /** Dimensione di un record in byte. */
+    private final int recordSize;
+
+    /** Numero di record in ciascun segmento. */
+    private final int recordsPerSegment;
+
+    /** Segmenti allocati, in ordine; solo i primi {@link #segmentCount} sono in uso. Null dopo {@link #release()}. */
+    private ByteBuffer[] segments;
+
+    /** Numero di segmenti allocati. */
+    private int segmentCount;
+
+    /** Numero di elementi memorizzati. */
+    private int size;
+
+    /** Buffer di appoggio per gli spostamenti, allocato alla prima occorrenza. */
+    private byte[] scratch;
+
+    /**
+     * Costruttore che inizializza un backend vuoto con segmenti di circa 1 MiB.
+     * @param codec codec dei record
+     * @throws NullPointerException se il codec è null
+     * @throws IllegalArgumentException se la dimensione del record non è positiva
+     */
+    public OffHeapStorage(RecordCodec codec) {
+        this(codec, Math.max(1, DEFAULT_SEGMENT_BYTES / codec.recordSize()));
+    }
+
+    /**
+     * Costruttore che inizializza un backend vuoto con il numero di record per segmento indicato.
+     * @param codec codec dei record
+     * @param recordsPerSegment numero di record per segmento
+     * @throws NullPointerException se il codec è null
+     * @throws IllegalArgumentException se la dimensione del record non è positiva, se {@code recordsPerSegment}
+     * non è positivo o se un segmento supererebbe {@code Integer.MAX_VALUE} byte
+     */
+    public OffHeapStorage(RecordCodec codec, int recordsPerSegment) {
+        int recordSize = codec.recordSize();
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        }
+        if (recordsPerSegment <= 0 || recordsPerSegment > Integer.MAX_VALUE / recordSize) {
+            throw new IllegalArgumentException("Illegal records per segment: " + recordsPerSegment);
+        }
+        this.codec = codec;
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+        segments = new ByteBuffer[4];
+    }
+
+    /**
+     * Libera tutta la memoria nativa dei segmenti. Dopo la chiamata il backend (e la lista che lo usa)
+     * non è più utilizzabile; chiamate successive non hanno effetto.
+     * <p>
+     * Se la JVM non permette di liberare subito un {@link ByteBuffer} diretto, i segmenti vengono solo
+     * abbandonati e la memoria torna disponibile quando il garbage collector li raccoglie.
+     */
+    public void release() {
+        if (segments == null) {
+            return;
+        }
+        freeSegmentsFrom(0);
+        segments = null;
+        size = 0;
+        scratch = null;
+    }
+
+    /**
+     * Indica se {@link #release()} è già stato chiamato.
+     * @return {@code true} se la memoria è stata liberata
+     */
+    public boolean isReleased() {
+        return segments == null;
+    }
+
+    /**
+     * Verifica che la memoria non sia stata liberata: accedere a un segmento liberato
+     * leggerebbe memoria non più valida.
+     * @throws IllegalStateException se {@link #release()} è già stato chiamato
+     */
+    private void ensureOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("storage released");
+        }
+    }
+
+    /**
+     * Garantisce che i segmenti possano contenere almeno {@code minCapacity} record, allocandone di nuovi.
+     * @param minCapacity numero minimo di record
+     */
+    private void ensureCapacity(int minCapacity) {
+        while ((long) segmentCount * recordsPerSegment < minCapacity) {
+            if (segmentCount == segments.length) {
+                ByteBuffer[] newSegments = new ByteBuffer[segments.length * 2];
+                System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+                segments = newSegments;
+            }
+            segments[segmentCount++] = ByteBuffer.allocateDirect(recordsPerSegment * recordSize)
+                    .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Libera i segmenti non più necessari, tenendone uno di scorta oltre quelli occupati.
+     */
+    private void trim() {
+        int needed = (size + recordsPerSegment - 1) / recordsPerSegment + 1;
+        if (segmentCount > needed) {
+            freeSegmentsFrom(needed);
+        }
+    }
+
+    /**
+     * Libera i segmenti a partire da quello indicato.
+     * @param first primo segmento da liberare
+     */
+    private void freeSegmentsFrom(int first) {
+        for (int s = first; s < segmentCount; s++) {
+            free(segments[s]);
+            segments[s] = null;
+        }
+        segmentCount = first;
+    }
+
+    /**
+     * Restituisce subito la memoria nativa del buffer (o la mappatura, per un {@link java.nio.MappedByteBuffer}),
+     * se la JVM lo consente. Usato anche da {@link MappedFileStorage}.
+     * @param buffer buffer diretto da liberare; non deve essere più usato
+     */
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, new Object[] { buffer });
+        } catch (Exception e) {
+            // se non riesce, la memoria viene liberata dal garbage collector
+        }
+    }
+
+    /**
+     * Restituisce il segmento che contiene il record indicato.
+     * @param index indice del record
+     * @return segmento
+     */
+    private ByteBuffer segmentOf(int index) {
+        return segments[index / recordsPerSegment];
+    }
+
+    /**
+     * Restituisce la posizione in byte del record all'interno del suo segmento.
+     * @param index indice del record
+     * @return posizione nel segmento
+     */
+    private int offsetOf(int index) {
+        return (index % recordsPerSegment) * recordSize;
+    }
+
+    /**
+     * Copia {@code count} record dall'indice {@code src} all'indice {@code dst}, a blocchi che non
+     * attraversano il bordo di un segmento. Gestisce la sovrapposizione copiando nel verso opportuno.
+     * @param src indice del primo record da copiare
+     * @param dst indice di destinazione
+     * @param count numero di record
+     */
+    private void move(int src, int dst, int count) {
+        if (count == 0 || src == dst) {
+            return;
+        }
+        if (scratch == null) {
+            scratch = new byte[Math.max(recordSize, Math.min(SCRATCH_BYTES, recordsPerSegment * recordSize))];
+        }
+        int maxChunk = scratch.length / recordSize;
+        if (dst < src) {
+            while (count > 0) {
+                int chunk = Math.min(Math.min(count, maxChunk),
+                        Math.min(recordsPerSegment - src % recordsPerSegment, recordsPerSegment - dst % recordsPerSegment));
+                copyRecords(src, dst, chunk);
+                src += chunk;
+                dst += chunk;
+                count -= chunk;
+            }
+        } else {
+            while (count > 0) {
+                int srcEnd = src + count;
+                int dstEnd = dst + count;
+                int chunk = Math.min(Math.min(count, maxChunk),
+                        Math.min((srcEnd - 1) % recordsPerSegment + 1, (dstEnd - 1) % recordsPerSegment + 1));
+                copyRecords(srcEnd - chunk, dstEnd - chunk, chunk);
+                count -= chunk;
+            }
+        }
+    }
+
+    /**
+     * Copia record contigui, tutti nello stesso segmento sia all'origine sia alla destinazione,
+     * passando dal buffer di appoggio.
+     * @param src indice del primo record da copiare
+     * @param dst indice di destinazione
+     * @param count numero di record
+     */
+    private void copyRecords(int src, int dst, int count) {
+        int bytes = count * recordSize;
+        ByteBuffer from = segmentOf(src);
+        from.position(offsetOf(src));
+        from.get(scratch, 0, bytes);
+        ByteBuffer to = segmentOf(dst);
+        to.position(offsetOf(dst));
+        to.put(scratch, 0, bytes);
+    }
+
+    /**
+     * Scrive l'elemento nel record indicato.
+     * @param obj elemento
+     * @param index indice del record
+     */
+    private void encode(Object obj, int index) {
+        codec.encode(obj, segmentOf(index), offsetOf(index));
+    }
+
+    public int size() {
+        ensureOpen();
+        return size;
+    }
+
+    public Object elementAt(int index) {
+        ensureOpen();
+        return codec.decode(segmentOf(index), offsetOf(index));
+    }
+
+    public void setElementAt(Object obj, int index) {
+        ensureOpen();
+        encode(obj, index);
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        ensureOpen();
+        ensureCapacity(size + 1);
+        move(index, index + 1, size - index);
+        try {
+            encode(obj, index);
+        } catch (RuntimeException e) {
+            move(index + 1, index, size - index); // elemento rifiutato dal codec: richiude il buco
+            throw e;
+        }
+        size++;
+    }
+
+    public void removeElementAt(int index) {
+        removeRange(index, index + 1);
+    }
+
+    public void addElement(Object obj) {
+        ensureOpen();
+        ensureCapacity(size + 1);
+        encode(obj, size);
+        size++;
+    }
+
+    public void removeAllElements() {
+        ensureOpen();
+        freeSegmentsFrom(0);
+        size = 0;
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        ensureOpen();
+        move(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        trim();
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        ensureOpen();
+        int count = elements.length;
+        ensureCapacity(size + count);
+        move(index, index + count, size - index);
+        try {
+            for (int i = 0; i < count; i++) {
+                encode(elements[i], index + i);
+            }
+        } catch (RuntimeException e) {
+            move(index + count, index, size - index); // elemento rifiutato dal codec: la lista resta invariata
+            throw e;
+        }
+        size += count;
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        ensureOpen();
+        for (int i = fromIndex; i < toIndex; i++) {
+            anArray[i - fromIndex] = codec.decode(segmentOf(i), offsetOf(i));
+        }
+    }
+}
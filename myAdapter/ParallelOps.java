@@ -0,0 +1,384 @@
+package myAdapter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Operazioni in blocco su una {@link HList} eseguite in parallelo nel {@link ForkJoinPool#commonPool()}.
+ * <p>
+ * La lista viene visitata con il suo {@link HSpliterator}, diviso a metà finché le parti non sono abbastanza
+ * piccole; ogni parte viene elaborata da un task del pool. Le visite di {@link ListAdapter} e
+ * {@link SubListAdapter} sono {@link HSpliterator#SUBSIZED}: ogni parte conosce la propria posizione nella lista,
+ * quindi {@link #map(HList, HFunction)} e {@link #filter(HList, HPredicate)} restituiscono gli elementi nell'ordine
+ * originale senza ordinamenti o copie intermedie.
+ * <p>
+ * Le altre {@link HList} ({@link IntList}, {@link CopyOnWriteList}, {@link JavaListAdapter}, ...) non hanno una
+ * visita divisibile: vengono prima copiate per intero con {@code toArray()} dal thread chiamante, che costa O(n)
+ * tempo e memoria prima dell'inizio del lavoro parallelo. Il risultato è lo stesso, ma la copia fissa gli
+ * elementi al momento della chiamata.
+ * <p>
+ * Le operazioni passate possono essere eseguite da più thread insieme e non devono dipendere dall'ordine di
+ * esecuzione. La lista non deve essere modificata durante l'operazione; le liste thread-safe ({@link
+ * ConcurrentListAdapter}, ...) leggono ogni blocco sotto il proprio lock, ma non fissano la lista per tutta
+ * l'operazione. Un'eccezione lanciata da un'operazione viene rilanciata al chiamante.
+ */
+public final class ParallelOps {
+
+    /** Numero minimo di elementi di una parte: sotto questa soglia le parti non vengono più divise. */
+    private static final int MIN_LEAF = 512;
+
+    /** Numero di parti per thread del pool, per bilanciare il carico tra thread più e meno veloci. */
+    private static final int LEAVES_PER_THREAD = 4;
+
+    /** Classe di soli metodi statici. */
+    private ParallelOps() {
+    }
+
+    /**
+     * Restituisce la visita della lista: quella della lista stessa se è un {@link ListAdapter} o un
+     * {@link SubListAdapter}, altrimenti quella di una copia.
+     * @param list lista da visitare
+     * @return visita divisibile degli elementi
+     * @throws NullPointerException se la lista è null
+     */
+    private static HSpliterator spliterator(HList list) {
+        if (list instanceof ListAdapter) {
+            return ((ListAdapter) list).spliterator();
+        }
+        if (list instanceof SubListAdapter) {
+            return ((SubListAdapter) list).spliterator();
+        }
+        Object[] copy = list.toArray();
+        return new ListSpliterator(new ListAdapter(new ArrayStorage(copy)), 0, copy.length);
+    }
+
+    /**
+     * Restituisce la dimensione sotto la quale una parte non viene più divisa.
+     * @param size numero totale di elementi
+     * @return soglia di divisione
+     */
+    private static long threshold(long size) {
+        long parts = (long) ForkJoinPool.getCommonPoolParallelism() * LEAVES_PER_THREAD;
+        return Math.max(MIN_LEAF, size / parts);
+    }
+
+    /**
+     * Esegue l'azione su ogni elemento della lista, in parallelo e senza un ordine garantito.
+     * @param list lista da visitare; se non è un {@link ListAdapter} o un {@link SubListAdapter} viene copiata
+     * @param action azione da eseguire
+     * @throws NullPointerException se la lista o l'azione sono null
+     */
+    public static void forEach(HList list, HConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        HSpliterator s = spliterator(list);
+        new ForEachTask(s, threshold(s.estimateSize()), 0, action).invoke();
+    }
+
+    /**
+     * Restituisce una nuova lista con il risultato della funzione per ogni elemento, nello stesso ordine.
+     * La funzione viene applicata in parallelo.
+     * @param list lista di partenza; se non è un {@link ListAdapter} o un {@link SubListAdapter} viene copiata
+     * @param function funzione da applicare
+     * @return nuova lista basata su {@link ArrayStorage}
+     * @throws NullPointerException se la lista o la funzione sono null
+     */
+    public static ListAdapter map(HList list, HFunction function) {
+        if (function == null) {
+            throw new NullPointerException();
+        }
+        HSpliterator s = spliterator(list);
+        Object[] result = new Object[(int) s.estimateSize()];
+        new MapTask(s, threshold(result.length), 0, function, result).invoke();
+        return new ListAdapter(new ArrayStorage(result));
+    }
+
+    /**
+     * Restituisce una nuova lista con gli elementi che soddisfano la condizione, nello stesso ordine.
+     * La condizione viene verificata in parallelo.
+     * @param list lista di partenza; se non è un {@link ListAdapter} o un {@link SubListAdapter} viene copiata
+     * @param predicate condizione da verificare
+     * @return nuova lista basata su {@link ArrayStorage}
+     * @throws NullPointerException se la lista o la condizione sono null
+     */
+    public static ListAdapter filter(HList list, HPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException();
+        }
+        HSpliterator s = spliterator(list);
+        FilterTask root = new FilterTask(s, threshold(s.estimateSize()), 0, predicate);
+        root.invoke();
+        Object[] result = new Object[root.count];
+        root.copyTo(result, 0);
+        return new ListAdapter(new ArrayStorage(result));
+    }
+
+    /**
+     * Combina tutti gli elementi della lista con l'operatore, in parallelo. Ogni parte parte da {@code identity}
+     * e i risultati delle parti vengono combinati nell'ordine della lista, quindi l'operatore deve essere
+     * associativo e {@code identity} deve esserne l'elemento neutro.
+     * @param list lista di partenza; se non è un {@link ListAdapter} o un {@link SubListAdapter} viene copiata
+     * @param identity elemento neutro dell'operatore
+     * @param operator operatore associativo
+     * @return risultato, o {@code identity} se la lista è vuota
+     * @throws NullPointerException se la lista o l'operatore sono null
+     */
+    public static Object reduce(HList list, Object identity, HBinaryOperator operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        HSpliterator s = spliterator(list);
+        ReduceTask root = new ReduceTask(s, threshold(s.estimateSize()), 0, identity, operator);
+        root.invoke();
+        return root.result;
+    }
+
+    /**
+     * Task che divide la visita in due metà finché è più grande della soglia, poi elabora la propria parte.
+     */
+    private abstract static class Task extends RecursiveAction {
+        /** Versione per la serializzazione, ereditata da {@link java.util.concurrent.ForkJoinTask}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Visita della parte di questo task. */
+        final HSpliterator spliterator;
+        /** Dimensione sotto la quale la visita non viene più divisa. */
+        final long threshold;
+        /** Posizione nella lista del primo elemento della parte. */
+        final int offset;
+        /** Task della prima metà, o null se la parte non è stata divisa. */
+        Task left;
+        /** Task della seconda metà, o null se la parte non è stata divisa. */
+        Task right;
+
+        /**
+         * Costruttore del task.
+         * @param spliterator visita della parte
+         * @param threshold soglia di divisione
+         * @param offset posizione del primo elemento
+         */
+        Task(HSpliterator spliterator, long threshold, int offset) {
+            this.spliterator = spliterator;
+            this.threshold = threshold;
+            this.offset = offset;
+        }
+
+        protected final void compute() {
+            HSpliterator prefix;
+            if (spliterator.estimateSize() > threshold && (prefix = spliterator.trySplit()) != null) {
+                left = child(prefix, offset);
+                right = child(spliterator, offset + (int) prefix.estimateSize());
+                invokeAll(left, right);
+                combine();
+            } else {
+                leaf();
+            }
+        }
+
+        /**
+         * Crea il task di una metà.
+         * @param part visita della metà
+         * @param partOffset posizione del primo elemento della metà
+         * @return nuovo task
+         */
+        abstract Task child(HSpliterator part, int partOffset);
+
+        /**
+         * Elabora la parte senza dividerla.
+         */
+        abstract void leaf();
+
+        /**
+         * Combina i risultati delle due metà, già elaborate.
+         */
+        void combine() {
+            // niente da combinare
+        }
+    }
+
+    /**
+     * Task di {@link ParallelOps#forEach(HList, HConsumer)}.
+     */
+    private static final class ForEachTask extends Task {
+        /** Versione per la serializzazione, ereditata da {@link java.util.concurrent.ForkJoinTask}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Azione da eseguire. */
+        private final HConsumer action;
+
+        /**
+         * Costruttore del task.
+         * @param spliterator visita della parte
+         * @param threshold soglia di divisione
+         * @param offset posizione del primo elemento
+         * @param action azione da eseguire
+         */
+        ForEachTask(HSpliterator spliterator, long threshold, int offset, HConsumer action) {
+            super(spliterator, threshold, offset);
+            this.action = action;
+        }
+
+        Task child(HSpliterator part, int partOffset) {
+            return new ForEachTask(part, threshold, partOffset, action);
+        }
+
+        void leaf() {
+            spliterator.forEachRemaining(action);
+        }
+    }
+
+    /**
+     * Task di {@link ParallelOps#map(HList, HFunction)}: scrive ogni risultato nella posizione dell'elemento.
+     */
+    private static final class MapTask extends Task {
+        /** Versione per la serializzazione, ereditata da {@link java.util.concurrent.ForkJoinTask}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Funzione da applicare. */
+        private final HFunction function;
+        /** Array dei risultati, condiviso da tutti i task. */
+        private final Object[] result;
+
+        /**
+         * Costruttore del task.
+         * @param spliterator visita della parte
+         * @param threshold soglia di divisione
+         * @param offset posizione del primo elemento
+         * @param function funzione da applicare
+         * @param result array dei risultati
+         */
+        MapTask(HSpliterator spliterator, long threshold, int offset, HFunction function, Object[] result) {
+            super(spliterator, threshold, offset);
+            this.function = function;
+            this.result = result;
+        }
+
+        Task child(HSpliterator part, int partOffset) {
+            return new MapTask(part, threshold, partOffset, function, result);
+        }
+
+        void leaf() {
+            spliterator.forEachRemaining(new HConsumer() {
+                private int next = offset;
+
+                public void accept(Object o) {
+                    result[next++] = function.apply(o);
+                }
+            });
+        }
+    }
+
+    /**
+     * Task di {@link ParallelOps#filter(HList, HPredicate)}: ogni parte conserva i propri elementi, che vengono
+     * copiati nel risultato in ordine dopo il conteggio.
+     */
+    private static final class FilterTask extends Task {
+        /** Versione per la serializzazione, ereditata da {@link java.util.concurrent.ForkJoinTask}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Condizione da verificare. */
+        private final HPredicate predicate;
+        /** Elementi conservati dalla parte, se non è stata divisa. */
+        private Object[] kept;
+        /** Numero di elementi conservati dalla parte, comprese le sue metà. */
+        int count;
+
+        /**
+         * Costruttore del task.
+         * @param spliterator visita della parte
+         * @param threshold soglia di divisione
+         * @param offset posizione del primo elemento
+         * @param predicate condizione da verificare
+         */
+        FilterTask(HSpliterator spliterator, long threshold, int offset, HPredicate predicate) {
+            super(spliterator, threshold, offset);
+            this.predicate = predicate;
+        }
+
+        Task child(HSpliterator part, int partOffset) {
+            return new FilterTask(part, threshold, partOffset, predicate);
+        }
+
+        void leaf() {
+            kept = new Object[(int) Math.min(spliterator.estimateSize(), 16)];
+            spliterator.forEachRemaining(new HConsumer() {
+                public void accept(Object o) {
+                    if (predicate.test(o)) {
+                        if (count == kept.length) {
+                            Object[] grown = new Object[Math.max(16, count * 2)];
+                            System.arraycopy(kept, 0, grown, 0, count);
+                            kept = grown;
+                        }
+                        kept[count++] = o;
+                    }
+                }
+            });
+        }
+
+        void combine() {
+            count = ((FilterTask) left).count + ((FilterTask) right).count;
+        }
+
+        /**
+         * Copia gli elementi conservati nell'array, in ordine.
+         * @param dest array di destinazione
+         * @param pos posizione del primo elemento in {@code dest}
+         */
+        void copyTo(Object[] dest, int pos) {
+            if (left == null) {
+                System.arraycopy(kept, 0, dest, pos, count);
+            } else {
+                FilterTask first = (FilterTask) left;
+                first.copyTo(dest, pos);
+                ((FilterTask) right).copyTo(dest, pos + first.count);
+            }
+        }
+    }
+
+    /**
+     * Task di {@link ParallelOps#reduce(HList, Object, HBinaryOperator)}.
+     */
+    private static final class ReduceTask extends Task {
+        /** Versione per la serializzazione, ereditata da {@link java.util.concurrent.ForkJoinTask}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Elemento neutro dell'operatore. */
+        private final Object identity;
+        /** Operatore associativo. */
+        private final HBinaryOperator operator;
+        /** Risultato della parte. */
+        Object result;
+
+        /**
+         * Costruttore del task.
+         * @param spliterator visita della parte
+         * @param threshold soglia di divisione
+         * @param offset posizione del primo elemento
+         * @param identity elemento neutro dell'operatore
+         * @param operator operatore associativo
+         */
+        ReduceTask(HSpliterator spliterator, long threshold, int offset, Object identity, HBinaryOperator operator) {
+            super(spliterator, threshold, offset);
+            this.identity = identity;
+            this.operator = operator;
+        }
+
+        Task child(HSpliterator part, int partOffset) {
+            return new ReduceTask(part, threshold, partOffset, identity, operator);
+        }
+
+        void leaf() {
+            result = identity;
+            spliterator.forEachRemaining(new HConsumer() {
+                public void accept(Object o) {
+                    result = operator.apply(result, o);
+                }
+            });
+        }
+
+        void combine() {
+            result = operator.apply(((ReduceTask) left).result, ((ReduceTask) right).result);
+        }
+    }
+}
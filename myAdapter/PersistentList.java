@@ -0,0 +1,868 @@
+package myAdapter;
+
+/**
+ * Lista immutabile e persistente che implementa {@link HList} e {@link HCollection}.
+ * <p>
+ * Gli elementi sono memorizzati in un trie con 32 figli per nodo più una coda di al massimo 32 elementi
+ * fuori dall'albero. Una modifica non tocca la lista su cui viene chiamata ma ne restituisce una nuova versione
+ * ({@link #withSet(int, Object)}, {@link #withAdded(Object)}, {@link #withRemoved(int)}, ...) che copia solo il
+ * cammino dalla radice alla foglia modificata e condivide tutto il resto con la versione precedente.
+ * Passare la lista a chi ne deve leggere una fotografia stabile non costa quindi nulla: non serve copiarla.
+ * <p>
+ * Costi, con n elementi: {@code get} e {@link #withSet(int, Object)} O(log<sub>32</sub> n); aggiunta e rimozione
+ * in coda O(1) ammortizzato; inserimento e rimozione alla posizione {@code i} O(log<sub>32</sub> n + n - i),
+ * perché gli elementi successivi vengono riaccodati a una versione troncata. Per caricare molti elementi
+ * conviene un {@link PersistentListBuilder}, che modifica i propri nodi sul posto e produce la lista con
+ * {@link PersistentListBuilder#build()}.
+ * <p>
+ * I metodi di {@link HList} e {@link HCollection} che modificherebbero la lista lanciano
+ * {@link UnsupportedOperationException}. Essendo immutabile, la lista può essere condivisa tra thread senza
+ * sincronizzazione.
+ */
+public final class PersistentList implements HList, HCollection {
+
+    /** Numero di bit dell'indice consumati da ogni livello del trie. */
+    static final int BITS = 5;
+
+    /** Numero di figli di un nodo, e di elementi di una foglia. */
+    static final int WIDTH = 1 << BITS;
+
+    /** Maschera per estrarre la posizione in un nodo. */
+    static final int MASK = WIDTH - 1;
+
+    /**
+     * Nodo del trie: una foglia contiene gli elementi, un nodo interno i figli.
+     * Il nodo può essere modificato sul posto solo dal {@link PersistentListBuilder} che lo possiede.
+     */
+    static final class Node {
+        /** Proprietario che può modificare il nodo sul posto, null se il nodo è condiviso. */
+        final Object owner;
+        /** Elementi (foglia) o figli (nodo interno). */
+        final Object[] array;
+
+        /**
+         * Crea un nodo con un array vuoto.
+         * @param owner proprietario, o null
+         */
+        Node(Object owner) {
+            this(owner, new Object[WIDTH]);
+        }
+
+        /**
+         * Crea un nodo sull'array indicato, senza copiarlo.
+         * @param owner proprietario, o null
+         * @param array elementi o figli
+         */
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    /** Radice vuota, condivisa da tutte le liste con meno di 33 elementi. */
+    static final Node EMPTY_NODE = new Node(null);
+
+    /** Lista vuota. */
+    private static final PersistentList EMPTY = new PersistentList(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /** Numero di elementi. */
+    final int count;
+
+    /** Numero di bit dell'indice sotto la radice: {@code BITS} per un albero di una foglia sotto la radice. */
+    final int shift;
+
+    /** Radice del trie, che contiene i primi {@link #tailOffset()} elementi. */
+    final Node root;
+
+    /** Ultimi elementi, fuori dal trie; lunga esattamente {@code count - tailOffset()}. */
+    final Object[] tail;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota.
+     */
+    public PersistentList() {
+        this(0, BITS, EMPTY_NODE, EMPTY.tail);
+    }
+
+    /**
+     * Costruttore che inizializza una lista con gli elementi della collezione, nell'ordine del suo iteratore.
+     * @param c collezione di partenza
+     * @throws NullPointerException se la collezione è null
+     */
+    public PersistentList(HCollection c) {
+        this(new PersistentListBuilder().addAll(c).build());
+    }
+
+    /**
+     * Costruttore di copia: la nuova lista condivide tutta la struttura con {@code other}.
+     * @param other lista di partenza
+     */
+    private PersistentList(PersistentList other) {
+        this(other.count, other.shift, other.root, other.tail);
+    }
+
+    /**
+     * Costruttore interno sulle parti già costruite.
+     * @param count numero di elementi
+     * @param shift bit dell'indice sotto la radice
+     * @param root radice
+     * @param tail coda
+     */
+    PersistentList(int count, int shift, Node root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Restituisce la lista vuota.
+     * @return lista vuota condivisa
+     */
+    static PersistentList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Restituisce un builder che parte dagli elementi di questa lista. La lista non viene modificata:
+     * il builder copia i nodi condivisi la prima volta che li cambia.
+     * @return nuovo builder
+     */
+    public PersistentListBuilder toBuilder() {
+        return new PersistentListBuilder(this);
+    }
+
+    /**
+     * Restituisce il numero di elementi contenuti nel trie, cioè l'indice del primo elemento della coda.
+     * @param count numero di elementi
+     * @return indice del primo elemento della coda
+     */
+    static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Restituisce l'indice del primo elemento della coda.
+     * @return indice del primo elemento della coda
+     */
+    int tailOffset() {
+        return tailOffset(count);
+    }
+
+    /**
+     * Restituisce la foglia (o la coda) che contiene l'elemento indicato.
+     * @param index indice valido
+     * @return array che contiene l'elemento in posizione {@code index & MASK}
+     */
+    Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Verifica che l'indice identifichi un elemento.
+     * @param index indice
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+
+    //  Versioni  \\
+
+    /**
+     * Restituisce una nuova versione con l'elemento alla posizione indicata sostituito.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return nuova lista; questa resta invariata
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    public PersistentList withSet(int index, Object element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentList(count, shift, root, newTail);
+        }
+        return new PersistentList(count, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Copia il cammino verso l'elemento indicato sostituendolo.
+     * @param level bit dell'indice sotto il nodo
+     * @param node nodo corrente
+     * @param index indice dell'elemento
+     * @param element nuovo valore
+     * @return copia del nodo
+     */
+    private static Node assoc(int level, Node node, int index, Object element) {
+        Node copy = new Node(null, node.array.clone());
+        if (level == 0) {
+            copy.array[index & MASK] = element;
+        } else {
+            int sub = (index >>> level) & MASK;
+            copy.array[sub] = assoc(level - BITS, (Node) node.array[sub], index, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Restituisce una nuova versione con l'elemento aggiunto in coda.
+     * @param element elemento da aggiungere
+     * @return nuova lista; questa resta invariata
+     */
+    public PersistentList withAdded(Object element) {
+        int tailSize = count - tailOffset();
+        if (tailSize < WIDTH) {
+            Object[] newTail = new Object[tailSize + 1];
+            System.arraycopy(tail, 0, newTail, 0, tailSize);
+            newTail[tailSize] = element;
+            return new PersistentList(count + 1, shift, root, newTail);
+        }
+        // coda piena: diventa una foglia del trie
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(count, shift, root, tailNode);
+        }
+        return new PersistentList(count + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    /**
+     * Copia il cammino più a destra del trie aggiungendo la foglia indicata.
+     * @param count numero di elementi prima dell'aggiunta
+     * @param level bit dell'indice sotto il nodo
+     * @param parent nodo corrente
+     * @param tailNode foglia da aggiungere
+     * @return copia del nodo
+     */
+    private static Node pushTail(int count, int level, Node parent, Node tailNode) {
+        int sub = ((count - 1) >>> level) & MASK;
+        Node copy = new Node(null, parent.array.clone());
+        Node child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            Node old = (Node) parent.array[sub];
+            child = old != null ? pushTail(count, level - BITS, old, tailNode) : newPath(null, level - BITS, tailNode);
+        }
+        copy.array[sub] = child;
+        return copy;
+    }
+
+    /**
+     * Crea la catena di nodi interni che porta dalla profondità indicata fino alla foglia.
+     * @param owner proprietario dei nuovi nodi, o null
+     * @param level bit dell'indice sotto il primo nodo
+     * @param leaf foglia
+     * @return primo nodo della catena
+     */
+    static Node newPath(Object owner, int level, Node leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Node node = new Node(owner);
+        node.array[0] = newPath(owner, level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Restituisce una nuova versione con l'elemento inserito alla posizione indicata.
+     * Gli elementi da {@code index} in poi vengono riaccodati: O(log n + n - index).
+     * @param index posizione
+     * @param element elemento da inserire
+     * @return nuova lista; questa resta invariata
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    public PersistentList withAdded(int index, Object element) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        if (index == count) {
+            return withAdded(element);
+        }
+        PersistentListBuilder builder = take(index).toBuilder();
+        builder.add(element);
+        appendRange(builder, index, count);
+        return builder.build();
+    }
+
+    /**
+     * Restituisce una nuova versione con gli elementi della collezione aggiunti in coda.
+     * @param c collezione da aggiungere
+     * @return nuova lista; questa resta invariata
+     * @throws NullPointerException se la collezione è null
+     */
+    public PersistentList withAddedAll(HCollection c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        return toBuilder().addAll(c).build();
+    }
+
+    /**
+     * Restituisce una nuova versione senza l'elemento alla posizione indicata.
+     * Gli elementi successivi vengono riaccodati: O(1) ammortizzato per l'ultimo, O(log n + n - index) in generale.
+     * @param index posizione dell'elemento
+     * @return nuova lista; questa resta invariata
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    public PersistentList withRemoved(int index) {
+        checkIndex(index);
+        if (index == count - 1) {
+            return withoutLast();
+        }
+        PersistentListBuilder builder = take(index).toBuilder();
+        appendRange(builder, index + 1, count);
+        return builder.build();
+    }
+
+    /**
+     * Restituisce una nuova versione senza l'ultimo elemento.
+     * @return nuova lista
+     */
+    private PersistentList withoutLast() {
+        if (count == 1) {
+            return EMPTY;
+        }
+        int tailSize = count - tailOffset();
+        if (tailSize > 1) {
+            Object[] newTail = new Object[tailSize - 1];
+            System.arraycopy(tail, 0, newTail, 0, tailSize - 1);
+            return new PersistentList(count - 1, shift, root, newTail);
+        }
+        // la coda si svuota: l'ultima foglia del trie diventa la nuova coda
+        Object[] newTail = leafFor(count - 2);
+        Node newRoot = popTail(count, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentList(count - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Copia il cammino più a destra del trie togliendo l'ultima foglia.
+     * @param count numero di elementi prima della rimozione
+     * @param level bit dell'indice sotto il nodo
+     * @param node nodo corrente
+     * @return copia del nodo, o null se resta vuoto
+     */
+    private static Node popTail(int count, int level, Node node) {
+        int sub = ((count - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(count, level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Node copy = new Node(null, node.array.clone());
+            copy.array[sub] = child;
+            return copy;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Node copy = new Node(null, node.array.clone());
+        copy.array[sub] = null;
+        return copy;
+    }
+
+    /**
+     * Restituisce una versione con i soli primi {@code n} elementi, in O(log n): viene copiato solo il cammino
+     * verso l'ultimo elemento tenuto.
+     * @param n numero di elementi da tenere, {@code 0 <= n <= size()}
+     * @return nuova lista
+     */
+    PersistentList take(int n) {
+        if (n == count) {
+            return this;
+        }
+        if (n == 0) {
+            return EMPTY;
+        }
+        if (n > tailOffset()) {
+            Object[] newTail = new Object[n - tailOffset()];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new PersistentList(n, shift, root, newTail);
+        }
+        int newTailOffset = tailOffset(n);
+        Object[] leaf = leafFor(n - 1);
+        Object[] newTail = new Object[n - newTailOffset];
+        System.arraycopy(leaf, 0, newTail, 0, newTail.length);
+        if (newTailOffset == 0) {
+            return new PersistentList(n, BITS, EMPTY_NODE, newTail);
+        }
+        Node newRoot = truncate(shift, root, newTailOffset);
+        int newShift = shift;
+        while (newShift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentList(n, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Copia il nodo tenendo solo i figli che contengono i primi {@code n} elementi del trie.
+     * @param level bit dell'indice sotto il nodo
+     * @param node nodo corrente
+     * @param n numero di elementi da tenere, multiplo di {@link #WIDTH} e maggiore di 0
+     * @return copia del nodo
+     */
+    private static Node truncate(int level, Node node, int n) {
+        int last = ((n - 1) >>> level) & MASK;
+        Node copy = new Node(null);
+        System.arraycopy(node.array, 0, copy.array, 0, last + 1);
+        if (level > BITS) {
+            copy.array[last] = truncate(level - BITS, (Node) node.array[last], n);
+        }
+        return copy;
+    }
+
+    /**
+     * Accoda al builder gli elementi nell'intervallo {@code [fromIndex, toIndex)}, una foglia alla volta.
+     * @param builder builder di destinazione
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     */
+    void appendRange(PersistentListBuilder builder, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        while (i < toIndex) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(toIndex, (i | MASK) + 1);
+            for (int j = i & MASK; i < end; i++, j++) {
+                builder.add(leaf[j]);
+            }
+        }
+    }
+
+    //  HCollection  \\
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return dimensione della lista
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se vuota
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Verifica se la lista contiene l'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Restituisce un iteratore di sola lettura per la lista.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return new Itr(0);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della lista.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(new Object[count]);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi in ordine, copiati una foglia alla volta.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     * @throws NullPointerException se l'array è null
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        if (a.length < count) {
+            a = ListAdapter.newArray(a, count);
+        }
+        for (int i = 0; i < count; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, a, i, Math.min(WIDTH, count - i));
+        }
+        if (a.length > count) {
+            a[count] = null;
+        }
+        return a;
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withAdded(Object)}.
+     * @param o elemento
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean add(Object o) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withRemoved(int)}.
+     * @param o elemento
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Verifica se tutti gli elementi sono presenti nella lista.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     * @throws NullPointerException se la collezione è null
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            if (!contains(it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withAddedAll(HCollection)}.
+     * @param c collezione
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata.
+     * @param c collezione
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata.
+     * @param c collezione
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata: la lista vuota si ottiene con {@link #PersistentList()}.
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Confronta questa lista con un altro oggetto per uguaglianza di contenuto e ordine.
+     * Due versioni che condividono la stessa radice e la stessa coda sono uguali senza confrontare gli elementi.
+     *
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof HList)) return false;
+        HList other = (HList) o;
+        if (count != other.size()) return false;
+        if (other instanceof PersistentList && ((PersistentList) other).root == root
+                && ((PersistentList) other).tail == tail) return true;
+
+        HIterator it = other.iterator();
+        for (int i = 0; i < count; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, count - i);
+            for (int j = 0; j < end; j++) {
+                Object e1 = leaf[j];
+                Object e2 = it.next();
+                if (e1 == null ? e2 != null : !e1.equals(e2)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcola il valore di hash per la lista.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < count; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, count - i);
+            for (int j = 0; j < end; j++) {
+                hash = 31 * hash + (leaf[j] == null ? 0 : leaf[j].hashCode());
+            }
+        }
+        return hash;
+    }
+
+    //  HList  \\
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withSet(int, Object)}.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public Object set(int index, Object element) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withAdded(int, Object)}.
+     * @param index posizione
+     * @param element elemento
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public void add(int index, Object element) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Operazione non supportata: usare {@link #withRemoved(int)}.
+     * @param index posizione
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public Object remove(int index) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato, scorrendo una foglia alla volta.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < count; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, count - i);
+            for (int j = 0; j < end; j++) {
+                if (o == null ? leaf[j] == null : o.equals(leaf[j])) return i + j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato, scorrendo una foglia alla volta.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = (count - 1) & ~MASK; i >= 0; i -= WIDTH) {
+            Object[] leaf = leafFor(i);
+            for (int j = Math.min(WIDTH, count - i) - 1; j >= 0; j--) {
+                if (o == null ? leaf[j] == null : o.equals(leaf[j])) return i + j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Restituisce un list iterator di sola lettura dalla posizione 0.
+     * @return HListIterator
+     */
+    @Override
+    public HListIterator listIterator() {
+        return new Itr(0);
+    }
+
+    /**
+     * Restituisce un list iterator di sola lettura da un indice specificato.
+     * @param index posizione iniziale
+     * @return HListIterator
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return new Itr(index);
+    }
+
+    /**
+     * Restituisce una nuova lista persistente con gli elementi compresi tra {@code fromIndex} (incluso)
+     * e {@code toIndex} (escluso). Dato che nessuna delle due può cambiare, equivale a una vista.
+     * Un prefisso ({@code fromIndex == 0}) costa O(log n) e condivide la struttura; negli altri casi
+     * gli elementi vengono riaccodati in O(toIndex - fromIndex).
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @return sottolista contenente gli elementi nell'intervallo specificato
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + count);
+        }
+        if (fromIndex == 0) {
+            return take(toIndex);
+        }
+        PersistentListBuilder builder = new PersistentListBuilder();
+        appendRange(builder, fromIndex, toIndex);
+        return builder.build();
+    }
+
+    /**
+     * Operazione non supportata.
+     * @param index posizione
+     * @param c collezione
+     * @return mai
+     * @throws UnsupportedOperationException sempre
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        throw new UnsupportedOperationException("PersistentList is immutable");
+    }
+
+    /**
+     * Iteratore di sola lettura che tiene in memoria la foglia corrente, così da scendere nel trie
+     * solo una volta ogni {@link #WIDTH} elementi.
+     */
+    private class Itr implements HListIterator {
+        /** Posizione corrente del cursore. */
+        int cursor;
+        /** Foglia che contiene gli elementi con indice da {@code base} a {@code base + WIDTH - 1}. */
+        Object[] leaf;
+        /** Indice del primo elemento di {@link #leaf}, -1 se non ancora caricata. */
+        int base = -1;
+
+        /**
+         * Costruttore dell'iteratore.
+         * @param index posizione iniziale
+         */
+        Itr(int index) {
+            cursor = index;
+        }
+
+        /**
+         * Restituisce l'elemento indicato, caricando la sua foglia se è diversa da quella corrente.
+         * @param index indice valido
+         * @return elemento
+         */
+        private Object at(int index) {
+            int leafBase = index & ~MASK;
+            if (leafBase != base) {
+                leaf = leafFor(index);
+                base = leafBase;
+            }
+            return leaf[index & MASK];
+        }
+
+        public boolean hasNext() {
+            return cursor < count;
+        }
+
+        public Object next() {
+            if (cursor >= count) {
+                throw new java.util.NoSuchElementException();
+            }
+            return at(cursor++);
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public Object previous() {
+            if (cursor <= 0) {
+                throw new java.util.NoSuchElementException();
+            }
+            return at(--cursor);
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("PersistentList is immutable");
+        }
+
+        public void set(Object o) {
+            throw new UnsupportedOperationException("PersistentList is immutable");
+        }
+
+        public void add(Object o) {
+            throw new UnsupportedOperationException("PersistentList is immutable");
+        }
+    }
+}
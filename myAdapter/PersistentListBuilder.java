@@ -0,0 +1,242 @@
+package myAdapter;
+
+/**
+ * Versione modificabile ("transitoria") di una {@link PersistentList}, per caricare molti elementi senza creare
+ * una nuova versione a ogni passo.
+ * <p>
+ * Il builder modifica sul posto i nodi che ha creato e copia una sola volta quelli ereditati dalla lista di
+ * partenza, che resta quindi invariata. {@link #build()} restituisce la lista persistente in O(1) e chiude il
+ * builder: da quel momento i suoi nodi sono condivisi e ogni altra chiamata lancia {@link IllegalStateException}.
+ * <p>
+ * Non è sincronizzato.
+ */
+public class PersistentListBuilder {
+
+    /** Proprietario dei nodi modificabili sul posto; null dopo {@link #build()}. */
+    private Object owner;
+
+    /** Numero di elementi. */
+    private int count;
+
+    /** Bit dell'indice sotto la radice. */
+    private int shift;
+
+    /** Radice del trie. */
+    private PersistentList.Node root;
+
+    /** Coda, sempre lunga {@link PersistentList#WIDTH}: solo i primi {@code count - tailOffset} elementi sono validi. */
+    private Object[] tail;
+
+    /**
+     * Costruttore di default, inizializza un builder vuoto.
+     */
+    public PersistentListBuilder() {
+        this(PersistentList.empty());
+    }
+
+    /**
+     * Costruttore che parte dagli elementi della lista indicata, senza modificarla.
+     * @param list lista di partenza
+     */
+    PersistentListBuilder(PersistentList list) {
+        owner = new Object();
+        count = list.count;
+        shift = list.shift;
+        root = new PersistentList.Node(owner, list.root.array.clone());
+        tail = new Object[PersistentList.WIDTH];
+        System.arraycopy(list.tail, 0, tail, 0, list.tail.length);
+    }
+
+    /**
+     * Verifica che {@link #build()} non sia già stato chiamato.
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    private void ensureOpen() {
+        if (owner == null) {
+            throw new IllegalStateException("builder already built");
+        }
+    }
+
+    /**
+     * Restituisce il nodo stesso se appartiene a questo builder, altrimenti una sua copia modificabile.
+     * @param node nodo
+     * @return nodo modificabile sul posto
+     */
+    private PersistentList.Node editable(PersistentList.Node node) {
+        if (node.owner == owner) {
+            return node;
+        }
+        return new PersistentList.Node(owner, node.array.clone());
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     * @return numero di elementi
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    public int size() {
+        ensureOpen();
+        return count;
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione indicata.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    public Object get(int index) {
+        ensureOpen();
+        checkIndex(index);
+        if (index >= PersistentList.tailOffset(count)) {
+            return tail[index & PersistentList.MASK];
+        }
+        PersistentList.Node node = root;
+        for (int level = shift; level > 0; level -= PersistentList.BITS) {
+            node = (PersistentList.Node) node.array[(index >>> level) & PersistentList.MASK];
+        }
+        return node.array[index & PersistentList.MASK];
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return questo builder
+     * @throws IndexOutOfBoundsException se indice non valido
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    public PersistentListBuilder set(int index, Object element) {
+        ensureOpen();
+        checkIndex(index);
+        if (index >= PersistentList.tailOffset(count)) {
+            tail[index & PersistentList.MASK] = element;
+        } else {
+            root = assoc(shift, root, index, element);
+        }
+        return this;
+    }
+
+    /**
+     * Sostituisce l'elemento nel cammino indicato, copiando solo i nodi non ancora propri.
+     * @param level bit dell'indice sotto il nodo
+     * @param node nodo corrente
+     * @param index indice dell'elemento
+     * @param element nuovo valore
+     * @return nodo modificato
+     */
+    private PersistentList.Node assoc(int level, PersistentList.Node node, int index, Object element) {
+        PersistentList.Node edit = editable(node);
+        if (level == 0) {
+            edit.array[index & PersistentList.MASK] = element;
+        } else {
+            int sub = (index >>> level) & PersistentList.MASK;
+            edit.array[sub] = assoc(level - PersistentList.BITS, (PersistentList.Node) node.array[sub], index, element);
+        }
+        return edit;
+    }
+
+    /**
+     * Aggiunge un elemento in coda, in O(1) ammortizzato.
+     * @param element elemento da aggiungere
+     * @return questo builder
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    public PersistentListBuilder add(Object element) {
+        ensureOpen();
+        int tailSize = count - PersistentList.tailOffset(count);
+        if (tailSize < PersistentList.WIDTH) {
+            tail[tailSize] = element;
+            count++;
+            return this;
+        }
+        // coda piena: diventa una foglia del trie
+        PersistentList.Node tailNode = new PersistentList.Node(owner, tail);
+        tail = new Object[PersistentList.WIDTH];
+        tail[0] = element;
+        if ((count >>> PersistentList.BITS) > (1 << shift)) {
+            PersistentList.Node newRoot = new PersistentList.Node(owner);
+            newRoot.array[0] = root;
+            newRoot.array[1] = PersistentList.newPath(owner, shift, tailNode);
+            root = newRoot;
+            shift += PersistentList.BITS;
+        } else {
+            root = pushTail(shift, root, tailNode);
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * Aggiunge la foglia indicata in fondo al trie.
+     * @param level bit dell'indice sotto il nodo
+     * @param parent nodo corrente
+     * @param tailNode foglia da aggiungere
+     * @return nodo modificato
+     */
+    private PersistentList.Node pushTail(int level, PersistentList.Node parent, PersistentList.Node tailNode) {
+        PersistentList.Node edit = editable(parent);
+        int sub = ((count - 1) >>> level) & PersistentList.MASK;
+        PersistentList.Node child;
+        if (level == PersistentList.BITS) {
+            child = tailNode;
+        } else {
+            PersistentList.Node old = (PersistentList.Node) edit.array[sub];
+            child = old != null ? pushTail(level - PersistentList.BITS, old, tailNode)
+                    : PersistentList.newPath(owner, level - PersistentList.BITS, tailNode);
+        }
+        edit.array[sub] = child;
+        return edit;
+    }
+
+    /**
+     * Aggiunge in coda gli elementi della collezione, nell'ordine del suo iteratore.
+     * Una {@link PersistentList} viene letta una foglia alla volta.
+     * @param c collezione da aggiungere
+     * @return questo builder
+     * @throws NullPointerException se la collezione è null
+     * @throws IllegalStateException se il builder è chiuso
+     */
+    public PersistentListBuilder addAll(HCollection c) {
+        ensureOpen();
+        if (c instanceof PersistentList) {
+            PersistentList list = (PersistentList) c;
+            list.appendRange(this, 0, list.count);
+            return this;
+        }
+        HIterator it = c.iterator();
+        while (it.hasNext()) {
+            add(it.next());
+        }
+        return this;
+    }
+
+    /**
+     * Restituisce la lista persistente con gli elementi aggiunti finora e chiude il builder.
+     * @return nuova lista
+     * @throws IllegalStateException se il builder è già chiuso
+     */
+    public PersistentList build() {
+        ensureOpen();
+        owner = null;
+        int tailSize = count - PersistentList.tailOffset(count);
+        Object[] trimmed = new Object[tailSize];
+        System.arraycopy(tail, 0, trimmed, 0, tailSize);
+        PersistentList list = new PersistentList(count, shift, root, trimmed);
+        root = null;
+        tail = null;
+        return list;
+    }
+
+    /**
+     * Verifica che l'indice identifichi un elemento.
+     * @param index indice
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package myAdapter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codifica degli elementi di un {@link OffHeapStorage} in record binari a lunghezza fissa.
+ * <p>
+ * Ogni elemento occupa esattamente {@link #recordSize()} byte a partire dalla posizione indicata:
+ * le implementazioni devono usare i metodi con indice assoluto del buffer (per esempio
+ * {@link ByteBuffer#putInt(int, int)}) senza modificarne posizione e limite, e non devono scrivere
+ * fuori dal proprio record.
+ */
+public interface RecordCodec {
+
+    /**
+     * Restituisce la dimensione di un record in byte.
+     * @return numero di byte per elemento, maggiore di 0
+     */
+    int recordSize();
+
+    /**
+     * Scrive l'elemento nel record che inizia alla posizione indicata.
+     * @param element elemento da scrivere
+     * @param buffer buffer di destinazione
+     * @param offset posizione del primo byte del record
+     * @throws NullPointerException se l'elemento è null e il codec non lo ammette
+     * @throws ClassCastException se l'elemento non è del tipo gestito dal codec
+     */
+    void encode(Object element, ByteBuffer buffer, int offset);
+
+    /**
+     * Ricostruisce l'elemento dal record che inizia alla posizione indicata.
+     * @param buffer buffer di origine
+     * @param offset posizione del primo byte del record
+     * @return nuovo elemento uguale a quello scritto
+     */
+    Object decode(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,215 @@
+package myAdapter;
+
+/**
+ * Backend di {@link ListAdapter} basato su un array circolare con indice di testa.
+ * <p>
+ * Gli indici logici restano quelli di {@link HList}: l'elemento {@code i} si trova in
+ * {@code elements[(head + i) & (capacità - 1)]}. Inserimenti e rimozioni spostano il lato più corto
+ * della lista, quindi le operazioni alle due estremità ({@code add(0, x)}, {@code remove(0)},
+ * {@code add(x)}, {@code remove(size() - 1)}) costano O(1) ammortizzato: adatto a usare la lista come coda.
+ * Non è sincronizzato.
+ */
+public class RingBufferStorage extends AbstractListStorage {
+
+    /** Capacità minima dell'array (potenza di 2). */
+    private static final int MIN_CAPACITY = 16;
+
+    /** Array circolare; la lunghezza è sempre una potenza di 2. */
+    private Object[] elements;
+
+    /** Posizione nell'array dell'elemento di indice logico 0. */
+    private int head;
+
+    /** Numero di elementi memorizzati. */
+    private int size;
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto.
+     */
+    public RingBufferStorage() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Costruttore che inizializza un backend con capacità iniziale almeno pari a quella specificata.
+     * @param capacity capacità iniziale
+     * @throws IllegalArgumentException se la capacità è negativa
+     */
+    public RingBufferStorage(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        elements = new Object[capacityFor(capacity)];
+    }
+
+    /**
+     * Calcola la più piccola potenza di 2 non inferiore alla capacità richiesta.
+     * @param capacity capacità richiesta
+     * @return capacità effettiva
+     */
+    private static int capacityFor(int capacity) {
+        int n = MIN_CAPACITY;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    /**
+     * Converte un indice logico nella posizione dell'array.
+     * @param index indice logico
+     * @return posizione nell'array
+     */
+    private int physical(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    /**
+     * Garantisce che l'array possa contenere almeno {@code minCapacity} elementi,
+     * ricopiandoli in ordine a partire dalla posizione 0.
+     * @param minCapacity capacità minima richiesta
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        Object[] newElements = new Object[capacityFor(minCapacity)];
+        copyInto(0, size, newElements);
+        elements = newElements;
+        head = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object elementAt(int index) {
+        return elements[physical(index)];
+    }
+
+    public void setElementAt(Object obj, int index) {
+        elements[physical(index)] = obj;
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        insertGap(index, 1);
+        elements[physical(index)] = obj;
+    }
+
+    public void removeElementAt(int index) {
+        removeRange(index, index + 1);
+    }
+
+    public void addElement(Object obj) {
+        ensureCapacity(size + 1);
+        elements[physical(size)] = obj;
+        size++;
+    }
+
+    public void removeAllElements() {
+        for (int i = 0; i < size; i++) {
+            elements[physical(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public void setSize(int newSize) {
+        if (newSize < size) {
+            removeRange(newSize, size);
+        } else {
+            ensureCapacity(newSize);
+            size = newSize; // le posizioni libere sono già null
+        }
+    }
+
+    /**
+     * Apre un buco di {@code count} posizioni all'indice logico indicato, spostando il lato più corto.
+     * @param index posizione del buco
+     * @param count ampiezza del buco
+     */
+    private void insertGap(int index, int count) {
+        ensureCapacity(size + count);
+        if (index < size / 2) {
+            // sposta la parte iniziale verso sinistra
+            head = (head - count) & (elements.length - 1);
+            move(count, 0, index);
+        } else {
+            // sposta la parte finale verso destra
+            move(index, index + count, size - index);
+        }
+        size += count;
+    }
+
+    /**
+     * Copia {@code count} elementi dall'indice logico {@code src} all'indice logico {@code dst},
+     * con copie a blocchi che spezzano l'intervallo sul bordo dell'array. Gestisce la sovrapposizione.
+     * @param src indice logico di partenza
+     * @param dst indice logico di destinazione
+     * @param count numero di elementi
+     */
+    private void move(int src, int dst, int count) {
+        int length = elements.length;
+        if (dst < src) {
+            while (count > 0) {
+                int ps = physical(src);
+                int pd = physical(dst);
+                int chunk = Math.min(count, Math.min(length - ps, length - pd));
+                System.arraycopy(elements, ps, elements, pd, chunk);
+                src += chunk;
+                dst += chunk;
+                count -= chunk;
+            }
+        } else {
+            while (count > 0) {
+                int ps = physical(src + count - 1);
+                int pd = physical(dst + count - 1);
+                int chunk = Math.min(count, Math.min(ps + 1, pd + 1));
+                System.arraycopy(elements, ps - chunk + 1, elements, pd - chunk + 1, chunk);
+                count -= chunk;
+            }
+        }
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if (count == 0) {
+            return;
+        }
+        if (fromIndex < size - toIndex) {
+            // chiude il buco spostando la parte iniziale verso destra
+            move(0, count, fromIndex);
+            for (int i = 0; i < count; i++) {
+                elements[physical(i)] = null;
+            }
+            head = physical(count);
+        } else {
+            // chiude il buco spostando la parte finale verso sinistra
+            move(toIndex, fromIndex, size - toIndex);
+            for (int i = size - count; i < size; i++) {
+                elements[physical(i)] = null;
+            }
+        }
+        size -= count;
+    }
+
+    public void insertElementsAt(Object[] elems, int index) {
+        insertGap(index, elems.length);
+        for (int i = 0; i < elems.length; i++) {
+            elements[physical(index + i)] = elems[i];
+        }
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        int count = toIndex - fromIndex;
+        if (count == 0) {
+            return;
+        }
+        int start = physical(fromIndex);
+        int first = Math.min(count, elements.length - start);
+        System.arraycopy(elements, start, anArray, 0, first);
+        if (first < count) {
+            System.arraycopy(elements, 0, anArray, first, count - first);
+        }
+    }
+}
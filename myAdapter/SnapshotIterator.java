@@ -0,0 +1,77 @@
+package myAdapter;
+
+/**
+ * List iterator di sola lettura sull'intervallo {@code [offset, end)} di un array che non cambia.
+ * Usato dagli iteratori di {@link CopyOnWriteList} e {@link CopyOnWriteSubList} e da
+ * {@link ListAdapter#snapshotIterator()}.
+ */
+final class SnapshotIterator implements HListIterator {
+
+    /** Fotografia su cui scorre l'iteratore. */
+    private final Object[] snapshot;
+
+    /** Indice nell'array del primo elemento visibile. */
+    private final int offset;
+
+    /** Indice nell'array dopo l'ultimo elemento visibile. */
+    private final int end;
+
+    /** Posizione corrente del cursore nell'array. */
+    private int cursor;
+
+    /**
+     * Costruttore dell'iteratore.
+     * @param snapshot array da scorrere
+     * @param offset indice nell'array del primo elemento visibile
+     * @param index posizione iniziale, relativa a {@code offset}
+     * @param size numero di elementi visibili
+     */
+    SnapshotIterator(Object[] snapshot, int offset, int index, int size) {
+        this.snapshot = snapshot;
+        this.offset = offset;
+        this.end = offset + size;
+        this.cursor = offset + index;
+    }
+
+    public boolean hasNext() {
+        return cursor < end;
+    }
+
+    public Object next() {
+        if (cursor >= end) {
+            throw new java.util.NoSuchElementException();
+        }
+        return snapshot[cursor++];
+    }
+
+    public boolean hasPrevious() {
+        return cursor > offset;
+    }
+
+    public Object previous() {
+        if (cursor <= offset) {
+            throw new java.util.NoSuchElementException();
+        }
+        return snapshot[--cursor];
+    }
+
+    public int nextIndex() {
+        return cursor - offset;
+    }
+
+    public int previousIndex() {
+        return cursor - offset - 1;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("snapshot iterator");
+    }
+
+    public void set(Object o) {
+        throw new UnsupportedOperationException("snapshot iterator");
+    }
+
+    public void add(Object o) {
+        throw new UnsupportedOperationException("snapshot iterator");
+    }
+}
@@ -0,0 +1,704 @@
+package myAdapter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versione thread-safe di {@link ListAdapter} con lock separati per segmenti di indici.
+ * <p>
+ * Gli indici sono divisi in segmenti consecutivi di {@code segmentSize} posizioni, e ogni segmento è protetto da
+ * uno di {@code stripes} lock (il segmento {@code s} dal lock {@code s % stripes}). {@link #get(int)} e
+ * {@link #set(int, Object)} prendono solo il lock del segmento dell'indice: thread che lavorano su zone diverse
+ * della lista non si contendono lo stesso lock, a differenza del monitor unico di {@link java.util.Vector}.
+ * <p>
+ * Le modifiche strutturali ({@code add}, {@code remove}, {@code clear}, ...) spostano gli indici e possono
+ * riallocare l'array, quindi prendono tutti i lock, sempre nello stesso ordine. Lo stesso vale per le letture
+ * su più elementi ({@code indexOf}, {@code toArray}, {@code equals}, ...), che vedono così uno stato coerente.
+ * {@link #size()} prende un solo lock, che basta a escludere le modifiche strutturali. Il costo di una modifica
+ * strutturale cresce con il numero di lock: la lista conviene quando queste sono rare rispetto a get e set.
+ * <p>
+ * Ogni metodo è atomico, ma una sequenza di chiamate no: per operazioni composte si usa
+ * {@link #locked(Runnable)}. Ogni passo di un iteratore (o di una vista {@link #subList(int, int)}) è atomico da
+ * solo, ma la lista può cambiare tra un passo e l'altro.
+ * <p>
+ * Gli elementi sono memorizzati in un {@link ArrayStorage}, che accetta scritture concorrenti su posizioni diverse.
+ */
+public class StripedListAdapter extends ListAdapter {
+
+    /** Numero di posizioni per segmento usato dal costruttore di default. */
+    private static final int DEFAULT_SEGMENT_SIZE = 1024;
+
+    /** Numero di lock usato dal costruttore di default: il doppio dei processori, almeno 16. */
+    private static final int DEFAULT_STRIPES = Math.max(16, 2 * Runtime.getRuntime().availableProcessors());
+
+    /** Lock dei segmenti. */
+    private final ReentrantLock[] stripes;
+
+    /** Logaritmo in base 2 del numero di posizioni per segmento. */
+    private final int segmentShift;
+
+    /**
+     * Costruttore di default, inizializza una lista vuota con segmenti di 1024 posizioni e un numero di lock pari al
+     * doppio dei processori, almeno 16.
+     */
+    public StripedListAdapter() {
+        this(DEFAULT_SEGMENT_SIZE, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Costruttore che inizializza una lista vuota con la divisione in segmenti indicata.
+     * @param segmentSize numero di posizioni per segmento, potenza di 2
+     * @param stripes numero di lock, almeno 1
+     * @throws IllegalArgumentException se {@code segmentSize} non è una potenza di 2 o {@code stripes < 1}
+     */
+    public StripedListAdapter(int segmentSize, int stripes) {
+        super(new ArrayStorage());
+        if (segmentSize <= 0 || (segmentSize & (segmentSize - 1)) != 0) {
+            throw new IllegalArgumentException("Illegal segment size: " + segmentSize);
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Illegal stripes: " + stripes);
+        }
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    //  Lock  \\
+
+    /**
+     * Esegue l'azione tenendo tutti i lock: nessun altro thread può leggere o scrivere durante l'azione.
+     * Dall'interno dell'azione la lista può essere letta e modificata liberamente, anche con chiamate annidate.
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void locked(Runnable action) {
+        lockAll();
+        try {
+            action.run();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Restituisce il lock del segmento che contiene l'indice. Un indice non valido restituisce comunque un lock:
+     * l'errore viene segnalato dall'operazione, sotto quel lock.
+     * @param index indice
+     * @return lock del segmento
+     */
+    private ReentrantLock stripe(int index) {
+        return stripes[(index >>> segmentShift) % stripes.length];
+    }
+
+    /**
+     * Prende tutti i lock, in ordine crescente.
+     */
+    private void lockAll() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i].lock();
+        }
+    }
+
+    /**
+     * Rilascia tutti i lock, in ordine inverso.
+     */
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    //  Accesso per segmento  \\
+
+    /**
+     * Restituisce il numero di elementi nella lista.
+     * @return numero di elementi
+     */
+    @Override
+    public int size() {
+        ReentrantLock lock = stripes[0];
+        lock.lock();
+        try {
+            return super.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se la lista è vuota.
+     * @return {@code true} se vuota
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Restituisce l'elemento alla posizione indicata, tenendo solo il lock del suo segmento.
+     * @param index indice
+     * @return elemento
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object get(int index) {
+        ReentrantLock lock = stripe(index);
+        lock.lock();
+        try {
+            return super.get(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sostituisce l'elemento alla posizione indicata, tenendo solo il lock del suo segmento.
+     * @param index posizione
+     * @param element nuovo valore
+     * @return valore precedente
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object set(int index, Object element) {
+        ReentrantLock lock = stripe(index);
+        lock.lock();
+        try {
+            return super.set(index, element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //  Operazioni sotto tutti i lock  \\
+
+    /**
+     * Verifica se la lista contiene l'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return {@code true} se presente
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Restituisce l'indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, 0, -1);
+    }
+
+    /**
+     * Restituisce l'ultimo indice dell'oggetto specificato.
+     * @param o oggetto da cercare
+     * @return indice o -1 se non presente
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return lastIndexOf(o, 0, -1);
+    }
+
+    /**
+     * Cerca la prima occorrenza nell'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto gli stessi lock.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int indexOf(Object o, int fromIndex, int toIndex) {
+        lockAll();
+        try {
+            return super.indexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Cerca l'ultima occorrenza nell'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto gli stessi lock.
+     * @param o oggetto da cercare
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return indice nella lista o -1 se non presente
+     */
+    @Override
+    int lastIndexOf(Object o, int fromIndex, int toIndex) {
+        lockAll();
+        try {
+            return super.lastIndexOf(o, fromIndex, toIndex < 0 ? super.size() : toIndex);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi della lista.
+     * @return array di oggetti
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(0, -1, new Object[0]);
+    }
+
+    /**
+     * Restituisce un array contenente tutti gli elementi in ordine.
+     * Usa l'array passato se abbastanza grande, altrimenti ne crea uno nuovo.
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        return toArray(0, -1, a);
+    }
+
+    /**
+     * Copia l'intervallo {@code [fromIndex, toIndex)}.
+     * Un {@code toIndex} negativo indica la fine della lista, letta sotto gli stessi lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param a array di partenza
+     * @return array riempito
+     */
+    @Override
+    Object[] toArray(int fromIndex, int toIndex, Object[] a) {
+        lockAll();
+        try {
+            return super.toArray(fromIndex, toIndex < 0 ? super.size() : toIndex, a);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Visita l'intervallo a blocchi, ciascuno copiato sotto tutti i lock, invece di leggere ogni elemento con un
+     * lock a sé.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    @Override
+    void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        visitBatched(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+
+    /**
+     * Verifica se tutti gli elementi sono presenti nella lista.
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    public boolean containsAll(HCollection c) {
+        lockAll();
+        try {
+            return super.containsAll(c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Verifica se tutti gli elementi della collezione sono presenti nell'intervallo.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione da confrontare
+     * @return {@code true} se tutti gli elementi sono contenuti
+     */
+    @Override
+    boolean containsAll(int fromIndex, int toIndex, HCollection c) {
+        lockAll();
+        try {
+            return super.containsAll(fromIndex, toIndex, c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Confronta questa lista con un altro oggetto.
+     * @param o oggetto da confrontare
+     * @return {@code true} se le liste sono uguali
+     */
+    @Override
+    public boolean equals(Object o) {
+        lockAll();
+        try {
+            return super.equals(o);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Calcola il valore di hash per la lista.
+     * @return valore hash calcolato sugli elementi
+     */
+    @Override
+    public int hashCode() {
+        lockAll();
+        try {
+            return super.hashCode();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Aggiunge un elemento in coda alla lista.
+     * @param o elemento da aggiungere
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Object o) {
+        lockAll();
+        try {
+            return super.add(o);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove l'oggetto specificato, il primo che incontra.
+     * @param o oggetto da rimuovere
+     * @return {@code true} se rimosso
+     */
+    @Override
+    public boolean remove(Object o) {
+        lockAll();
+        try {
+            return super.remove(o);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi alla fine della lista.
+     * @param c collezione da aggiungere
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     */
+    @Override
+    public boolean addAll(HCollection c) {
+        lockAll();
+        try {
+            return super.addAll(c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Aggiunge tutti gli elementi nella posizione specificata.
+     * @param index posizione d'inserimento
+     * @param c collezione da inserire
+     * @return {@code true} se almeno un elemento è stato aggiunto
+     * @throws IndexOutOfBoundsException se l'indice non è valido
+     */
+    @Override
+    public boolean addAll(int index, HCollection c) {
+        lockAll();
+        try {
+            return super.addAll(index, c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi presenti nella collezione.
+     * @param c collezione da rimuovere
+     * @return {@code true} se almeno un elemento è stato rimosso
+     */
+    @Override
+    public boolean removeAll(HCollection c) {
+        lockAll();
+        try {
+            return super.removeAll(c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Mantiene solo gli elementi presenti nella collezione.
+     * @param c collezione da mantenere
+     * @return {@code true} se la lista è stata modificata
+     */
+    @Override
+    public boolean retainAll(HCollection c) {
+        lockAll();
+        try {
+            return super.retainAll(c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Compatta l'intervallo tenendo tutti i lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param c collezione di confronto
+     * @param retain {@code true} per tenere gli elementi contenuti in {@code c}, {@code false} per rimuoverli
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int batchRemove(int fromIndex, int toIndex, HCollection c, boolean retain) {
+        lockAll();
+        try {
+            return super.batchRemove(fromIndex, toIndex, c, retain);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove tenendo tutti i lock gli elementi dell'intervallo che soddisfano la condizione; anche la condizione
+     * viene verificata dentro il lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param filter condizione degli elementi da rimuovere
+     * @return numero di elementi rimossi
+     */
+    @Override
+    int removeIf(int fromIndex, int toIndex, HPredicate filter) {
+        lockAll();
+        try {
+            return super.removeIf(fromIndex, toIndex, filter);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Sostituisce tenendo tutti i lock gli elementi dell'intervallo con il risultato dell'operazione.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @param operator operazione da applicare
+     */
+    @Override
+    void replaceAll(int fromIndex, int toIndex, HUnaryOperator operator) {
+        lockAll();
+        try {
+            super.replaceAll(fromIndex, toIndex, operator);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove gli elementi nell'intervallo {@code [fromIndex, toIndex)} tenendo tutti i lock.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @throws IndexOutOfBoundsException se gli indici sono fuori dai limiti o {@code fromIndex > toIndex}
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        lockAll();
+        try {
+            super.removeRange(fromIndex, toIndex);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove tutti gli elementi dalla lista.
+     */
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            super.clear();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Aggiunge un elemento nella posizione specificata.
+     * @param index posizione
+     * @param element elemento da inserire
+     * @throws IndexOutOfBoundsException se l'indice è fuori dal range
+     */
+    @Override
+    public void add(int index, Object element) {
+        lockAll();
+        try {
+            super.add(index, element);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Rimuove l'elemento nella posizione specificata.
+     * @param index posizione dell'elemento
+     * @return elemento rimosso
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public Object remove(int index) {
+        lockAll();
+        try {
+            return super.remove(index);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    //  Iteratori  \\
+
+    /**
+     * Restituisce un iteratore i cui passi sono atomici uno per uno; per una scansione coerente va usato
+     * dentro {@link #locked(Runnable)}, oppure si usa {@link #snapshotIterator()}.
+     * @return HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator dalla posizione 0, con passi atomici uno per uno.
+     * @return HListIterator
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Restituisce un list iterator da un indice specificato, con passi atomici uno per uno.
+     * @param index posizione iniziale
+     * @return HListIterator
+     * @throws IndexOutOfBoundsException se indice non valido
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        lockAll();
+        try {
+            return new LockedIterator(super.listIterator(index));
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Crea tenendo tutti i lock un iteratore a fotografia sull'intervallo, copiando gli elementi. Qui l'array non
+     * può essere condiviso: la copia alla prima scrittura riallocherebbe l'array sotto il lock di un solo segmento,
+     * mentre altri thread scrivono nei propri.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso), o -1 per la fine della lista
+     * @return HListIterator che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    @Override
+    HListIterator snapshotIterator(int fromIndex, int toIndex) {
+        lockAll();
+        try {
+            if (toIndex < 0) {
+                toIndex = super.size();
+            }
+            int size = toIndex - fromIndex;
+            return new SnapshotIterator(super.toArray(fromIndex, toIndex, new Object[size]), 0, 0, size);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * List iterator che esegue ogni passo dell'iteratore di {@link ListAdapter} sotto il lock adatto: le letture
+     * sotto il lock del segmento dell'elemento letto, le modifiche sotto tutti i lock.
+     */
+    private class LockedIterator implements HListIterator {
+        /** Iteratore di {@link ListAdapter} che accede direttamente al backend. */
+        private final HListIterator it;
+
+        /**
+         * Costruttore dell'iteratore.
+         * @param it iteratore da proteggere
+         */
+        LockedIterator(HListIterator it) {
+            this.it = it;
+        }
+
+        public boolean hasNext() {
+            ReentrantLock lock = stripes[0];
+            lock.lock();
+            try {
+                return it.hasNext();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public Object next() {
+            ReentrantLock lock = stripe(it.nextIndex());
+            lock.lock();
+            try {
+                return it.next();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean hasPrevious() {
+            return it.hasPrevious();
+        }
+
+        public Object previous() {
+            ReentrantLock lock = stripe(it.previousIndex());
+            lock.lock();
+            try {
+                return it.previous();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int nextIndex() {
+            return it.nextIndex();
+        }
+
+        public int previousIndex() {
+            return it.previousIndex();
+        }
+
+        public void remove() {
+            lockAll();
+            try {
+                it.remove();
+            } finally {
+                unlockAll();
+            }
+        }
+
+        public void set(Object o) {
+            lockAll();
+            try {
+                it.set(o);
+            } finally {
+                unlockAll();
+            }
+        }
+
+        public void add(Object o) {
+            lockAll();
+            try {
+                it.add(o);
+            } finally {
+                unlockAll();
+            }
+        }
+    }
+}
@@ -126,13 +126,8 @@ public class SubListAdapter implements HList {
      */
     @Override
     public int indexOf(Object o) {
-        for (int i = 0; i < size(); i++) {
-            Object e = get(i);
-            if (e == null ? o == null : e.equals(o)) {
-                return i;
-            }
-        }
-        return -1;
+        int index = parent.indexOf(o, offset, toIndex);
+        return index < 0 ? -1 : index - offset;
     }
 
     /**
@@ -142,13 +137,8 @@ public class SubListAdapter implements HList {
      */
     @Override
     public int lastIndexOf(Object o) {
-        for (int i = size() - 1; i >= 0; i--) {
-            Object e = get(i);
-            if (e == null ? o == null : e.equals(o)) {
-                return i;
-            }
-        }
-        return -1;
+        int index = parent.lastIndexOf(o, offset, toIndex);
+        return index < 0 ? -1 : index - offset;
     }
 
     /**
@@ -173,14 +163,12 @@ public class SubListAdapter implements HList {
      */
     @Override
     public boolean remove(Object o) {
-        for (int i = 0; i < size(); i++) {
-            Object current = get(i);
-            if ((current == null && o == null) || (current != null && current.equals(o))) {
-                remove(i);
-                return true;
-            }
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
         }
-        return false;
+        remove(index);
+        return true;
     }
 
     /**
@@ -205,12 +193,7 @@ public class SubListAdapter implements HList {
     public boolean containsAll(HCollection c) {
         if (c == null)
             throw new NullPointerException();
-        HIterator it = c.iterator();
-        while (it.hasNext()) {
-            if (!contains(it.next()))
-                return false;
-        }
-        return true;
+        return parent.containsAll(offset, toIndex, c);
     }
 
     /**
@@ -243,18 +226,15 @@ public class SubListAdapter implements HList {
         if (index < 0 || index > size())
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
 
-        boolean modified = false;
-        HIterator it = c.iterator();
-        while (it.hasNext()) {
-            add(index++, it.next());
-            modified = true;
-        }
-        return modified;
+        int oldSize = parent.size();
+        parent.addAll(offset + index, c); // inserimento a blocchi nella lista padre
+        toIndex += parent.size() - oldSize; // la vista si allarga degli elementi inseriti
+        return parent.size() != oldSize;
     }
     
     /**
      * Rimuove dalla sotolista tutti gli elementi presenti nella collezione specificata.
-     * L'operazione si riflette sulla lista padre.
+     * L'operazione si riflette sulla lista padre, compattata in un'unica passata.
      *
      * @param c collezione contenente gli elementi da rimuovere
      * @return {@code true} se la sottolista è stata modificata
@@ -265,21 +245,14 @@ public class SubListAdapter implements HList {
     public boolean removeAll(HCollection c) {
         if (c == null)
             throw new NullPointerException();
-        boolean modified = false;
-        for (int i = 0; i < size(); ) {
-            if (c.contains(get(i))) {
-                remove(i);
-                modified = true;
-            } else {
-                i++;
-            }
-        }
-        return modified;
+        int removed = parent.batchRemove(offset, toIndex, c, false);
+        toIndex -= removed; // vista si restringe
+        return removed > 0;
     }
     
     /**
      * Mantiene nella sottolista solo gli elementi presenti anche nella collezione specificata.
-     * L'operazione si riflette sulla lista padre.
+     * L'operazione si riflette sulla lista padre, compattata in un'unica passata.
      *
      * @param c collezione contenente gli elementi da conservare
      * @return {@code true} se la sottolista è stata modificata
@@ -289,41 +262,59 @@ public class SubListAdapter implements HList {
     public boolean retainAll(HCollection c) {
         if (c == null)
             throw new NullPointerException();
-        boolean modified = false;
-        for (int i = 0; i < size(); ) {
-            if (!c.contains(get(i))) {
-                remove(i);
-                modified = true;
-            } else {
-                i++;
-            }
-        }
-        return modified;
+        int removed = parent.batchRemove(offset, toIndex, c, true);
+        toIndex -= removed; // vista si restringe
+        return removed > 0;
+    }
+
+    /**
+     * Rimuove dalla sottolista gli elementi che soddisfano la condizione, come
+     * {@link ListAdapter#removeIf(HPredicate)}. La lista padre viene compattata in un'unica passata.
+     *
+     * @param filter condizione degli elementi da rimuovere
+     * @return {@code true} se la sottolista è stata modificata
+     * @throws NullPointerException se la condizione è null
+     */
+    public boolean removeIf(HPredicate filter) {
+        if (filter == null)
+            throw new NullPointerException();
+        int removed = parent.removeIf(offset, toIndex, filter);
+        toIndex -= removed; // vista si restringe
+        return removed > 0;
+    }
+
+    /**
+     * Sostituisce ogni elemento della sottolista con il risultato dell'operazione, come
+     * {@link ListAdapter#replaceAll(HUnaryOperator)}.
+     *
+     * @param operator operazione da applicare
+     * @throws NullPointerException se l'operazione è null
+     */
+    public void replaceAll(HUnaryOperator operator) {
+        if (operator == null)
+            throw new NullPointerException();
+        parent.replaceAll(offset, toIndex, operator);
     }
 
     /**
      * Rimuove tutti gli elementi dalla sottolista.
-     * L'operazione si riflette sulla lista padre.
+     * L'operazione si riflette sulla lista padre con un'unica rimozione di intervallo.
      */
     @Override
     public void clear() {
-        for (int i = size() - 1; i >= 0; i--) {
-            remove(i);
-        }
+        parent.removeRange(offset, toIndex);
+        toIndex = offset;
     }
 
     /**
      * Restituisce un array contenente tutti gli elementi della sottolista.
+     * Gli elementi vengono copiati a blocchi dalla lista padre.
      *
      * @return array degli elementi della sottolista, in ordine
      */
     @Override
     public Object[] toArray() {
-        Object[] array = new Object[size()];
-        for (int i = 0; i < size(); i++) {
-            array[i] = get(i);
-        }
-        return array;
+        return parent.toArray(offset, toIndex, new Object[size()]);
     }
 
     /**
@@ -339,17 +330,7 @@ public class SubListAdapter implements HList {
     public Object[] toArray(Object[] a) {
         if (a == null)
             throw new NullPointerException();
-        int size = size();
-        if (a.length < size) {
-            a = new Object[size];
-        }
-        for (int i = 0; i < size; i++) {
-            a[i] = get(i);
-        }
-        if (a.length > size) {
-            a[size] = null;
-        }
-        return a;
+        return parent.toArray(offset, toIndex, a);
     }
 
     /**
@@ -443,6 +424,100 @@ public class SubListAdapter implements HList {
         return new SubListIterator(index);
     }
 
+    /**
+     * Restituisce una visita divisibile degli elementi della sottolista, come {@link ListAdapter#spliterator()}.
+     *
+     * @return {@code HSpliterator} sugli elementi
+     */
+    public HSpliterator spliterator() {
+        return new ListSpliterator(parent, offset, toIndex);
+    }
+
+    /**
+     * Esegue l'azione su ogni elemento della sottolista, in ordine, come {@link ListAdapter#forEach(HConsumer)}.
+     *
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEach(HConsumer action) {
+        forEach(0, size(), action);
+    }
+
+    /**
+     * Esegue l'azione sugli elementi nell'intervallo {@code [fromIndex, toIndex)} della sottolista.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param action azione da eseguire
+     * @throws IndexOutOfBoundsException se gli indici non sono validi
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEach(int fromIndex, int toIndex, HConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Invalid range");
+        parent.visit(offset + fromIndex, offset + toIndex, fromIndex, action, null);
+    }
+
+    /**
+     * Esegue l'azione su ogni elemento della sottolista con la sua posizione nella sottolista, come
+     * {@link ListAdapter#forEachIndexed(HIndexedConsumer)}.
+     *
+     * @param action azione da eseguire
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEachIndexed(HIndexedConsumer action) {
+        forEachIndexed(0, size(), action);
+    }
+
+    /**
+     * Esegue l'azione sugli elementi nell'intervallo {@code [fromIndex, toIndex)} della sottolista, con la loro
+     * posizione nella sottolista.
+     *
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param action azione da eseguire
+     * @throws IndexOutOfBoundsException se gli indici non sono validi
+     * @throws NullPointerException se l'azione è null
+     */
+    public void forEachIndexed(int fromIndex, int toIndex, HIndexedConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Invalid range");
+        parent.visit(offset + fromIndex, offset + toIndex, fromIndex, null, action);
+    }
+
+    /**
+     * Restituisce uno {@code Stream} sequenziale sugli elementi della sottolista, come {@link ListAdapter#stream()}.
+     *
+     * @return stream sugli elementi
+     */
+    public java.util.stream.Stream stream() {
+        return java.util.stream.StreamSupport.stream(new JavaSpliterator(spliterator()), false);
+    }
+
+    /**
+     * Restituisce uno {@code Stream} parallelo sugli elementi della sottolista, come
+     * {@link ListAdapter#parallelStream()}.
+     *
+     * @return stream parallelo sugli elementi
+     */
+    public java.util.stream.Stream parallelStream() {
+        return java.util.stream.StreamSupport.stream(new JavaSpliterator(spliterator()), true);
+    }
+
+    /**
+     * Restituisce un iteratore a fotografia sugli elementi della sottolista, come
+     * {@link ListAdapter#snapshotIterator()}.
+     *
+     * @return {@code HListIterator} che non supporta {@code remove}, {@code set} e {@code add}
+     */
+    public HListIterator snapshotIterator() {
+        return parent.snapshotIterator(offset, toIndex);
+    }
+
     /**
      * Implementazione interna di {@code HListIterator} per la sottolista.
      */
@@ -0,0 +1,288 @@
+package myAdapter;
+
+import java.util.Vector;
+
+/**
+ * Backend di {@link ListAdapter} basato su {@link Vector} (CLDC 1.1).
+ * <p>
+ * È il backend di default: ogni operazione acquisisce il monitor del {@code Vector}, quindi è adatto
+ * quando la lista è condivisa tra più thread. Come {@link ArrayStorage}, condivide il proprio array con gli
+ * iteratori a fotografia e lo copia solo alla prima scrittura che lo toccherebbe.
+ */
+public class VectorStorage implements ListStorage {
+
+    /** Vector sottostante che contiene gli elementi. */
+    private BackingVector delegate;
+
+    /**
+     * Costruttore di default, inizializza un backend vuoto.
+     */
+    public VectorStorage() {
+        delegate = new BackingVector();
+    }
+
+    /**
+     * Costruttore che inizializza un backend con capacità iniziale specificata.
+     * @param capacity capacità iniziale
+     * @throws IllegalArgumentException se la capacità è negativa
+     */
+    public VectorStorage(int capacity) {
+        delegate = new BackingVector(capacity);
+    }
+
+    /**
+     * Estensione di {@link Vector} che espone le operazioni a blocchi sui campi protetti
+     * {@code elementData} ed {@code elementCount}, presenti anche in CLDC 1.1.
+     * Ogni operazione è sincronizzata sul monitor del {@code Vector}, come i metodi ereditati.
+     */
+    private static class BackingVector extends Vector {
+
+        /** Versione per la serializzazione, ereditata da {@link Vector}. */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Numero di posizioni iniziali di {@code elementData} condivise con un iteratore a fotografia
+         * (vedi {@link #share()}), come in {@link ArrayStorage}.
+         */
+        private transient int shared;
+
+        /**
+         * Crea un vector vuoto.
+         */
+        BackingVector() {
+            super();
+        }
+
+        /**
+         * Crea un vector vuoto con capacità iniziale specificata.
+         * @param capacity capacità iniziale
+         */
+        BackingVector(int capacity) {
+            super(capacity);
+        }
+
+        /**
+         * Restituisce l'array degli elementi senza copiarlo, come {@link ArrayStorage#share()}: la prima
+         * scrittura successiva che tocca le posizioni {@code [0, size())} lavora su una copia.
+         * @return array degli elementi, da non modificare
+         */
+        synchronized Object[] share() {
+            shared = elementCount;
+            return elementData;
+        }
+
+        /**
+         * Copia l'array se la posizione indicata è condivisa con una fotografia; il chiamante tiene il monitor.
+         * @param index prima posizione che verrà modificata
+         */
+        private void unshare(int index) {
+            if (index < shared) {
+                Object[] newData = new Object[elementData.length];
+                System.arraycopy(elementData, 0, newData, 0, elementCount);
+                elementData = newData;
+                shared = 0;
+            }
+        }
+
+        public synchronized void setElementAt(Object obj, int index) {
+            unshare(index);
+            super.setElementAt(obj, index);
+        }
+
+        public synchronized void insertElementAt(Object obj, int index) {
+            unshare(index);
+            super.insertElementAt(obj, index);
+        }
+
+        public synchronized void removeElementAt(int index) {
+            unshare(index);
+            super.removeElementAt(index);
+        }
+
+        public synchronized void removeAllElements() {
+            if (shared > 0) {
+                elementData = new Object[elementData.length]; // l'array condiviso resta alla fotografia
+                shared = 0;
+                elementCount = 0;
+                modCount++;
+                return;
+            }
+            super.removeAllElements();
+        }
+
+        public synchronized void setSize(int newSize) {
+            unshare(newSize);
+            super.setSize(newSize);
+        }
+
+        /**
+         * Rimuove l'intervallo {@code [fromIndex, toIndex)} con un'unica copia a blocchi.
+         * @param fromIndex indice iniziale (incluso)
+         * @param toIndex indice finale (escluso)
+         */
+        synchronized void removeBlock(int fromIndex, int toIndex) {
+            unshare(fromIndex);
+            System.arraycopy(elementData, toIndex, elementData, fromIndex, elementCount - toIndex);
+            setSize(elementCount - (toIndex - fromIndex));
+        }
+
+        /**
+         * Inserisce un blocco di elementi alla posizione indicata spostando la coda una sola volta.
+         * @param elements elementi da inserire
+         * @param index posizione di inserimento
+         */
+        synchronized void insertBlock(Object[] elements, int index) {
+            int count = elements.length;
+            int oldCount = elementCount;
+            unshare(index);
+            setSize(oldCount + count);
+            System.arraycopy(elementData, index, elementData, index + count, oldCount - index);
+            System.arraycopy(elements, 0, elementData, index, count);
+        }
+
+        /**
+         * Copia l'intervallo {@code [fromIndex, toIndex)} nell'array indicato con un'unica copia a blocchi.
+         * @param fromIndex indice iniziale (incluso)
+         * @param toIndex indice finale (escluso)
+         * @param anArray array di destinazione
+         */
+        synchronized void copyBlock(int fromIndex, int toIndex, Object[] anArray) {
+            System.arraycopy(elementData, fromIndex, anArray, 0, toIndex - fromIndex);
+        }
+
+        /**
+         * Cerca la prima occorrenza dell'elemento nell'intervallo {@code [fromIndex, toIndex)}.
+         * @param elem elemento da cercare
+         * @param fromIndex indice iniziale (incluso)
+         * @param toIndex indice finale (escluso)
+         * @return indice o -1 se non presente
+         */
+        synchronized int indexOfRange(Object elem, int fromIndex, int toIndex) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                Object e = elementData[i];
+                if (e == null ? elem == null : e.equals(elem)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Cerca l'ultima occorrenza dell'elemento nell'intervallo {@code [fromIndex, toIndex)}.
+         * @param elem elemento da cercare
+         * @param fromIndex indice iniziale (incluso)
+         * @param toIndex indice finale (escluso)
+         * @return indice o -1 se non presente
+         */
+        synchronized int lastIndexOfRange(Object elem, int fromIndex, int toIndex) {
+            for (int i = toIndex - 1; i >= fromIndex; i--) {
+                Object e = elementData[i];
+                if (e == null ? elem == null : e.equals(elem)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Visita l'intervallo {@code [fromIndex, toIndex)} direttamente su {@code elementData}, tenendo il monitor
+         * una sola volta per tutta la visita.
+         * @param fromIndex indice iniziale (incluso)
+         * @param toIndex indice finale (escluso)
+         * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+         * @param action azione senza posizione, o null
+         * @param indexed azione con posizione, usata se {@code action} è null
+         */
+        synchronized void visitBlock(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+            Object[] data = elementData;
+            if (action != null) {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    action.accept(data[i]);
+                }
+            } else {
+                int shift = firstIndex - fromIndex;
+                for (int i = fromIndex; i < toIndex; i++) {
+                    indexed.accept(i + shift, data[i]);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    public Object elementAt(int index) {
+        return delegate.elementAt(index);
+    }
+
+    public void setElementAt(Object obj, int index) {
+        delegate.setElementAt(obj, index);
+    }
+
+    public void insertElementAt(Object obj, int index) {
+        delegate.insertElementAt(obj, index);
+    }
+
+    public void removeElementAt(int index) {
+        delegate.removeElementAt(index);
+    }
+
+    public void addElement(Object obj) {
+        delegate.addElement(obj);
+    }
+
+    public void removeAllElements() {
+        delegate.removeAllElements();
+    }
+
+    public void setSize(int newSize) {
+        delegate.setSize(newSize);
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        delegate.removeBlock(fromIndex, toIndex);
+    }
+
+    public void insertElementsAt(Object[] elements, int index) {
+        delegate.insertBlock(elements, index);
+    }
+
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray) {
+        delegate.copyBlock(fromIndex, toIndex, anArray);
+    }
+
+    /**
+     * Restituisce l'array degli elementi senza copiarlo, per un iteratore a fotografia sulle posizioni
+     * {@code [0, size())}, come {@link ArrayStorage#share()}.
+     * @return array degli elementi, da non modificare
+     */
+    Object[] share() {
+        return delegate.share();
+    }
+
+    public boolean contains(Object elem) {
+        return delegate.contains(elem);
+    }
+
+    public int indexOf(Object elem, int fromIndex, int toIndex) {
+        return delegate.indexOfRange(elem, fromIndex, toIndex);
+    }
+
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex) {
+        return delegate.lastIndexOfRange(elem, fromIndex, toIndex);
+    }
+
+    /**
+     * Visita l'intervallo sotto un'unica acquisizione del monitor del {@code Vector}: l'azione viene eseguita
+     * tenendo il monitor.
+     * @param fromIndex indice iniziale (incluso)
+     * @param toIndex indice finale (escluso)
+     * @param firstIndex posizione passata a {@code indexed} per l'elemento in {@code fromIndex}
+     * @param action azione senza posizione, o null
+     * @param indexed azione con posizione, usata se {@code action} è null
+     */
+    public void visit(int fromIndex, int toIndex, int firstIndex, HConsumer action, HIndexedConsumer indexed) {
+        delegate.visitBlock(fromIndex, toIndex, firstIndex, action, indexed);
+    }
+}
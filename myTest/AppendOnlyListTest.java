@@ -0,0 +1,342 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.AppendOnlyList;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HPredicate;
+import myAdapter.HUnaryOperator;
+import myAdapter.ListAdapter;
+
+/**
+ * Classe di test per {@code AppendOnlyList} e {@code AppendOnlyStorage}.
+ * <p>
+ * <strong>Summary:</strong> Verifica le aggiunte concorrenti di più produttori, le letture in parallelo con le
+ * aggiunte, la contiguità dei gruppi aggiunti con {@code addAll} e il rifiuto delle operazioni che spostano
+ * elementi.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista vuota.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link AppendOnlyList}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class AppendOnlyListTest {
+
+    /**
+     * Numero di thread produttori nei test concorrenti.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * Numero di elementi aggiunti da ogni produttore.
+     */
+    private static final int PER_THREAD = 20000;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private AppendOnlyList list;
+
+    /**
+     * Segnala ai lettori che i produttori hanno finito.
+     */
+    private volatile boolean done;
+
+    /**
+     * Segnala un'incoerenza osservata da un lettore.
+     */
+    private volatile String failure;
+
+    /** Costruttore di default */
+    public AppendOnlyListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new AppendOnlyList();
+        done = false;
+        failure = null;
+    }
+
+    /**
+     * Avvia i produttori: il produttore {@code t} aggiunge in ordine i valori da {@code t * PER_THREAD} a
+     * {@code (t + 1) * PER_THREAD - 1}.
+     * @return thread avviati
+     */
+    private Thread[] startProducers() {
+        Thread[] producers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * PER_THREAD;
+            producers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < PER_THREAD; i++) list.add(Integer.valueOf(base + i));
+                }
+            };
+            producers[t].start();
+        }
+        return producers;
+    }
+
+    /**
+     * Test di più produttori concorrenti.
+     *
+     * @summary.test Verifica che nessuna aggiunta concorrente vada persa o venga duplicata e che gli elementi di
+     * ogni produttore compaiano nell'ordine in cui li ha aggiunti.
+     *
+     * @design.test Quattro produttori aggiungono 20000 valori distinti ciascuno; al termine conta le occorrenze
+     * e controlla l'ordine per produttore.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 80000 elementi.
+     *
+     * @result.test Ogni valore è presente una sola volta, in ordine crescente per produttore.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        Thread[] producers = startProducers();
+        for (int t = 0; t < THREADS; t++) producers[t].join();
+        assertEquals(THREADS * PER_THREAD, list.size());
+        boolean[] seen = new boolean[THREADS * PER_THREAD];
+        int[] last = new int[THREADS];
+        for (int t = 0; t < THREADS; t++) last[t] = -1;
+        HIterator it = list.iterator();
+        while (it.hasNext()) {
+            int value = ((Integer) it.next()).intValue();
+            assertFalse("duplicato " + value, seen[value]);
+            seen[value] = true;
+            int t = value / PER_THREAD;
+            assertTrue(value > last[t]);
+            last[t] = value;
+        }
+    }
+
+    /**
+     * Test di letture in parallelo con le aggiunte.
+     *
+     * @summary.test Verifica che ogni indice minore di {@code size()} sia leggibile subito e che il suo valore
+     * non cambi più.
+     *
+     * @design.test Quattro produttori come in {@link #testConcurrentProducers()}; due lettori leggono con
+     * {@code get} gli indici visibili e ricontrollano con {@code toArray} quelli già letti.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 80000 elementi.
+     *
+     * @result.test Nessun lettore ottiene un elemento null, un'eccezione o un valore cambiato.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testReadersDuringAppends() throws InterruptedException {
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread() {
+                public void run() {
+                    Object[] read = new Object[THREADS * PER_THREAD];
+                    int known = 0;
+                    try {
+                        while (!done || known < list.size()) {
+                            int size = list.size();
+                            for (; known < size; known++) {
+                                read[known] = list.get(known);
+                                if (read[known] == null) failure = "get null in " + known;
+                            }
+                            Object[] snapshot = list.toArray();
+                            for (int i = 0; i < known; i++) {
+                                if (snapshot[i] != read[i]) failure = "valore cambiato in " + i;
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        failure = e.toString();
+                    }
+                }
+            };
+            readers[r].start();
+        }
+        Thread[] producers = startProducers();
+        for (int t = 0; t < THREADS; t++) producers[t].join();
+        done = true;
+        for (int r = 0; r < readers.length; r++) readers[r].join();
+        assertNull(failure, failure);
+        assertEquals(THREADS * PER_THREAD, list.size());
+    }
+
+    /**
+     * Test di {@code addAll} concorrenti.
+     *
+     * @summary.test Verifica che i gruppi aggiunti con {@code addAll} da thread diversi restino contigui.
+     *
+     * @design.test Quattro thread aggiungono 500 gruppi di 7 elementi uguali (il numero del gruppo), alternati
+     * a singoli {@code add} di un valore negativo.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 16000 elementi.
+     *
+     * @result.test Ogni valore non negativo compare in una sola sequenza di 7 posizioni consecutive.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testAddAllContiguous() throws InterruptedException {
+        Thread[] producers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * 500;
+            producers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        ListAdapter group = new ListAdapter();
+                        for (int j = 0; j < 7; j++) group.add(Integer.valueOf(base + i));
+                        list.addAll(group);
+                        list.add(Integer.valueOf(-1));
+                    }
+                }
+            };
+            producers[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) producers[t].join();
+        assertEquals(THREADS * 500 * 8, list.size());
+        int i = 0;
+        while (i < list.size()) {
+            Object value = list.get(i);
+            if (((Integer) value).intValue() < 0) {
+                i++;
+                continue;
+            }
+            assertEquals(i, list.indexOf(value));
+            for (int j = 0; j < 7; j++) assertEquals(value, list.get(i + j));
+            assertEquals(i + 6, list.lastIndexOf(value));
+            i += 7;
+        }
+        assertFalse(list.addAll(new ListAdapter()));
+    }
+
+    /**
+     * Test delle operazioni in un solo thread.
+     *
+     * @summary.test Verifica gli elementi null, {@code set}, le letture tramite {@code subList} e il rifiuto delle
+     * operazioni che spostano elementi.
+     *
+     * @design.test Aggiunge 100 elementi (uno null, oltre il primo blocco), sostituisce un elemento, legge una
+     * vista; poi prova inserimento, rimozione e {@code clear}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 100 elementi invariata dopo le operazioni rifiutate.
+     *
+     * @result.test Le operazioni che spostano elementi lanciano {@code UnsupportedOperationException}.
+     */
+    @Test
+    public void testSingleThread() {
+        for (int i = 0; i < 100; i++) list.add(i == 40 ? null : Integer.valueOf(i));
+        assertNull(list.get(40));
+        assertTrue(list.contains(null));
+        assertEquals(40, list.indexOf(null));
+        assertEquals(Integer.valueOf(99), list.set(99, null));
+        assertEquals(99, list.lastIndexOf(null));
+        HList sub = list.subList(30, 70);
+        assertEquals(40, sub.size());
+        assertEquals(10, sub.indexOf(null));
+        assertEquals(Integer.valueOf(69), sub.get(39));
+        try {
+            list.add(0, "x");
+            fail("add(int, Object) deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.remove(5);
+            fail("remove(int) deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.clear();
+            fail("clear deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.get(100);
+            fail("get oltre la dimensione deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertEquals(100, list.size());
+        assertEquals(Integer.valueOf(5), list.get(5));
+    }
+
+    /**
+     * Test delle rimozioni in blocco.
+     *
+     * @summary.test Verifica che {@code removeAll}, {@code retainAll} e {@code removeIf}, anche su una
+     * sottolista, vengano rifiutate prima di modificare la lista.
+     *
+     * @design.test Su [0, 1, 2, 3, 4] prova a rimuovere {1} con {@code removeAll}, a mantenere {1} con
+     * {@code retainAll}, a rimuovere i pari con {@code removeIf} e a rimuovere {3} da una sottolista; poi
+     * sostituisce gli elementi con {@code replaceAll}.
+     *
+     * @precondition.test Lista = [0, 1, 2, 3, 4].
+     *
+     * @postcondition.test Lista = [0, 10, 20, 30, 40].
+     *
+     * @result.test Ogni rimozione lancia {@code UnsupportedOperationException} e la lista resta [0, 1, 2, 3, 4]
+     * fino a {@code replaceAll}.
+     */
+    @Test
+    public void testBulkRemovalsRejected() {
+        for (int i = 0; i < 5; i++) list.add(Integer.valueOf(i));
+        ListAdapter one = new ListAdapter();
+        one.add(Integer.valueOf(1));
+        ListAdapter three = new ListAdapter();
+        three.add(Integer.valueOf(3));
+        try {
+            list.removeAll(one);
+            fail("removeAll deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.retainAll(one);
+            fail("retainAll deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.removeIf(new HPredicate() {
+                public boolean test(Object o) {
+                    return ((Integer) o).intValue() % 2 == 0;
+                }
+            });
+            fail("removeIf deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.subList(1, 5).removeAll(three);
+            fail("removeAll di una sottolista deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        assertEquals(5, list.size());
+        for (int i = 0; i < 5; i++) assertEquals(Integer.valueOf(i), list.get(i));
+
+        list.replaceAll(new HUnaryOperator() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 10);
+            }
+        });
+        for (int i = 0; i < 5; i++) assertEquals(Integer.valueOf(10 * i), list.get(i));
+    }
+}
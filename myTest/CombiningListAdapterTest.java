@@ -0,0 +1,425 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.CombiningListAdapter;
+import myAdapter.HIterator;
+import myAdapter.HList;
+
+/**
+ * Classe di test per {@code CombiningListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica il blocco {@code locked}, la restituzione di risultati ed eccezioni delle
+ * operazioni eseguite da un combinatore, la coerenza di scritture concorrenti da più thread e l'uso della lista
+ * da parte di thread rimasti inattivi, anche con la lista vuota, con elementi {@code null} e attraverso una
+ * sottolista. Il comportamento da lista è coperto da {@link ListAdapterTest} e
+ * {@link SubListAdapterTest} con il backend {@code "combining"}.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista vuota.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link CombiningListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class CombiningListAdapterTest {
+
+    /**
+     * Numero di thread nei test concorrenti.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private CombiningListAdapter list;
+
+    /**
+     * Segnala un'incoerenza osservata da un thread.
+     */
+    private volatile String failure;
+
+    /** Costruttore di default */
+    public CombiningListAdapterTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new CombiningListAdapter();
+        failure = null;
+    }
+
+    /**
+     * Test delle chiamate annidate in {@code locked}.
+     *
+     * @summary.test Verifica che dentro {@code locked} la lista si possa leggere e modificare, anche con blocchi
+     * annidati e con l'iteratore, e che le eccezioni delle operazioni arrivino al chiamante.
+     *
+     * @design.test Aggiunge, rimuove e itera in un {@code locked} con un {@code locked} annidato; poi legge un
+     * indice non valido fuori dal blocco.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [a, c].
+     *
+     * @result.test Le chiamate annidate non si bloccano; {@code get} oltre la fine lancia
+     * {@code IndexOutOfBoundsException} e la lista resta utilizzabile.
+     */
+    @Test
+    public void testLocked() {
+        list.locked(new Runnable() {
+            public void run() {
+                list.add("a");
+                list.add("b");
+                list.locked(new Runnable() {
+                    public void run() {
+                        list.add(2, "c");
+                        assertEquals("b", list.remove(1));
+                    }
+                });
+                HIterator it = list.iterator();
+                assertEquals("a", it.next());
+                assertEquals("c", it.next());
+                assertFalse(it.hasNext());
+            }
+        });
+        try {
+            list.get(2);
+            fail("get oltre la fine deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertTrue(list.remove("a"));
+        assertFalse(list.remove("a"));
+        list.add(0, "a");
+        assertEquals(2, list.size());
+        assertEquals("c", list.set(1, "c"));
+        assertEquals(1, list.indexOf("c"));
+    }
+
+    /**
+     * Test di scritture concorrenti.
+     *
+     * @summary.test Verifica che nessuna operazione venga persa o eseguita due volte quando molti thread
+     * aggiungono e rimuovono insieme.
+     *
+     * @design.test Otto thread eseguono 5000 volte: un {@code add} del proprio valore, un {@code set} in
+     * posizione 0 e, ogni due giri, un {@code remove(Object)} del valore aggiunto.
+     *
+     * @precondition.test Lista = [-1].
+     *
+     * @postcondition.test Lista di 1 + 8 * 2500 elementi.
+     *
+     * @result.test La dimensione finale e il conteggio per thread corrispondono alle operazioni eseguite.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentWriters() throws InterruptedException {
+        list.add(Integer.valueOf(-1));
+        Thread[] writers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final Integer value = Integer.valueOf(t);
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        if (!list.add(value)) failure = "add false";
+                        list.set(0, Integer.valueOf(-1));
+                        if (i % 2 == 1 && !list.remove(value)) failure = "remove false";
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) writers[t].join();
+        assertNull(failure, failure);
+        assertEquals(1 + THREADS * 2500, list.size());
+        int[] counts = new int[THREADS];
+        Object[] all = list.toArray();
+        for (int i = 1; i < all.length; i++) counts[((Integer) all[i]).intValue()]++;
+        for (int t = 0; t < THREADS; t++) assertEquals(2500, counts[t]);
+    }
+
+    /**
+     * Test di operazioni concorrenti che falliscono.
+     *
+     * @summary.test Verifica che l'eccezione lanciata dall'operazione di un thread, eseguita da un altro thread
+     * combinatore, venga restituita al thread giusto e non interrompa le altre richieste.
+     *
+     * @design.test Otto thread alternano {@code get} validi su una lista di 10 elementi e {@code remove} oltre la
+     * fine, che devono lanciare {@code IndexOutOfBoundsException}.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Ogni {@code get} restituisce il valore atteso e ogni {@code remove} non valido lancia
+     * l'eccezione.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentFailures() throws InterruptedException {
+        for (int i = 0; i < 10; i++) list.add(Integer.valueOf(i));
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        if (!Integer.valueOf(i % 10).equals(list.get(i % 10))) failure = "get errato";
+                        try {
+                            list.remove(10 + i % 3);
+                            failure = "remove oltre la fine accettato";
+                        } catch (IndexOutOfBoundsException expected) {
+                            // atteso
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) threads[t].join();
+        assertNull(failure, failure);
+        assertEquals(10, list.size());
+        assertEquals(Integer.valueOf(9), list.get(9));
+    }
+
+    /**
+     * Test delle celle dei thread inattivi.
+     *
+     * @summary.test Verifica che un thread rimasto inattivo abbastanza a lungo da vedere la propria cella
+     * scollegata possa ancora usare la lista, e che le celle di molti thread terminati non impediscano ai nuovi
+     * thread di completare le proprie operazioni.
+     *
+     * @design.test Un thread aggiunge un elemento e attende mentre il thread principale esegue 1000 letture;
+     * poi aggiunge un secondo elemento. In seguito otto gruppi di otto thread brevi aggiungono un elemento
+     * ciascuno, alternati a letture del thread principale.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 2 + 64 elementi.
+     *
+     * @result.test Ogni thread termina entro il tempo limite e nessuna aggiunta va persa.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testIdleThreads() throws InterruptedException {
+        final int[] phase = new int[1];
+        Thread idle = new Thread() {
+            public void run() {
+                list.add("first");
+                synchronized (phase) {
+                    phase[0] = 1;
+                    phase.notifyAll();
+                    while (phase[0] == 1) {
+                        try {
+                            phase.wait();
+                        } catch (InterruptedException e) {
+                            failure = "interrotto";
+                            return;
+                        }
+                    }
+                }
+                list.add("second");
+            }
+        };
+        idle.start();
+        synchronized (phase) {
+            while (phase[0] == 0) phase.wait();
+        }
+        for (int i = 0; i < 1000; i++) assertEquals("first", list.get(0));
+        synchronized (phase) {
+            phase[0] = 2;
+            phase.notifyAll();
+        }
+        idle.join(10000);
+        assertFalse("il thread inattivo non deve restare in attesa", idle.isAlive());
+        assertNull(failure, failure);
+        assertEquals(2, list.size());
+        assertEquals("second", list.get(1));
+        for (int round = 0; round < 8; round++) {
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                threads[t] = new Thread() {
+                    public void run() {
+                        list.add("short");
+                    }
+                };
+                threads[t].start();
+            }
+            for (int i = 0; i < 100; i++) list.size();
+            for (int t = 0; t < THREADS; t++) {
+                threads[t].join(10000);
+                assertFalse("un thread breve non deve restare in attesa", threads[t].isAlive());
+            }
+        }
+        assertEquals(2 + 8 * THREADS, list.size());
+    }
+
+    /**
+     * Test di operazioni concorrenti sulla lista vuota.
+     *
+     * @summary.test Verifica che, con la lista vuota, le operazioni per indice di più thread lancino
+     * {@code IndexOutOfBoundsException} ognuna al proprio chiamante e che le ricerche non trovino nulla.
+     *
+     * @design.test Otto thread eseguono 1000 volte {@code get}, {@code set} e {@code remove} in posizione 0 e
+     * -1, {@code remove(Object)} e {@code indexOf(null)}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [a].
+     *
+     * @result.test Ogni operazione per indice lancia l'eccezione, le ricerche restituiscono -1 e {@code false}, la
+     * lista resta vuota e accetta poi un'aggiunta.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentEmptyList() throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        int index = -(i % 2);
+                        try {
+                            list.get(index);
+                            failure = "get su lista vuota accettato";
+                        } catch (IndexOutOfBoundsException expected) {
+                            // atteso
+                        }
+                        try {
+                            list.set(index, "x");
+                            failure = "set su lista vuota accettato";
+                        } catch (IndexOutOfBoundsException expected) {
+                            // atteso
+                        }
+                        try {
+                            list.remove(index);
+                            failure = "remove su lista vuota accettato";
+                        } catch (IndexOutOfBoundsException expected) {
+                            // atteso
+                        }
+                        if (list.remove("x")) failure = "remove(Object) su lista vuota";
+                        if (list.indexOf(null) != -1) failure = "null trovato nella lista vuota";
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) threads[t].join();
+        assertNull(failure, failure);
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+        list.add("a");
+        assertEquals("a", list.get(0));
+    }
+
+    /**
+     * Test di elementi {@code null} aggiunti e rimossi da più thread.
+     *
+     * @summary.test Verifica che le operazioni combinate trattino {@code null} come un elemento qualsiasi:
+     * {@code add}, {@code remove(Object)}, {@code contains} e {@code set} di {@code null}.
+     *
+     * @design.test Otto thread eseguono 2000 volte: {@code add(null)}, {@code contains(null)}, {@code add} del
+     * proprio valore, {@code remove(null)} e {@code remove} del proprio valore. Alla fine il thread principale
+     * sostituisce il primo elemento con {@code null}.
+     *
+     * @precondition.test Lista = [head].
+     *
+     * @postcondition.test Lista = [null].
+     *
+     * @result.test Ogni aggiunta e rimozione riesce, {@code contains(null)} è vero finché il thread non ha
+     * rimosso il proprio {@code null} e la lista torna a un solo elemento.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentNullElements() throws InterruptedException {
+        list.add("head");
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final Integer value = Integer.valueOf(t);
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        if (!list.add(null)) failure = "add(null) false";
+                        if (!list.contains(null)) failure = "null aggiunto non trovato";
+                        list.add(value);
+                        if (!list.remove(null)) failure = "remove(null) false";
+                        if (!list.remove(value)) failure = "remove false";
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) threads[t].join();
+        assertNull(failure, failure);
+        assertEquals(1, list.size());
+        assertEquals(-1, list.indexOf(null));
+        assertEquals("head", list.set(0, null));
+        assertNull(list.get(0));
+        assertEquals(0, list.lastIndexOf(null));
+        assertTrue(list.remove(null));
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Test di una sottolista usata mentre altri thread scrivono.
+     *
+     * @summary.test Verifica che letture, sostituzioni e modifiche strutturali fatte attraverso una sottolista
+     * passino dal combinatore e restino coerenti con le scritture concorrenti di altri thread in coda.
+     *
+     * @design.test Il thread principale usa una sottolista delle prime 50 posizioni: per 200 giri sostituisce ogni
+     * elemento, lo rilegge, lo cerca, poi inserisce e rimuove un elemento in fondo alla vista. Otto thread
+     * aggiungono e rimuovono il proprio valore in coda.
+     *
+     * @precondition.test Lista = [0..49].
+     *
+     * @postcondition.test Lista = [199 + 0 .. 199 + 49].
+     *
+     * @result.test Ogni lettura dalla vista restituisce l'ultimo valore scritto, {@code indexOf} lo trova nella
+     * posizione attesa e la vista mantiene 50 elementi.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testSubListWithWriters() throws InterruptedException {
+        final int size = 50;
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        Thread[] writers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final String value = "w" + t;
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        list.add(value);
+                        if (!list.remove(value)) failure = "remove false";
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        HList view = list.subList(0, size);
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < size; i++) {
+                Integer expected = Integer.valueOf(round + i);
+                view.set(i, expected);
+                assertEquals(expected, view.get(i));
+                assertEquals(i, view.indexOf(expected));
+            }
+            view.add(size, "extra");
+            assertEquals("extra", view.remove(size));
+            assertEquals(size, view.size());
+        }
+        for (int t = 0; t < THREADS; t++) writers[t].join();
+        assertNull(failure, failure);
+        assertEquals(size, list.size());
+        for (int i = 0; i < size; i++) assertEquals(Integer.valueOf(199 + i), list.get(i));
+    }
+}
@@ -0,0 +1,148 @@
+package myTest;
+
+import myAdapter.CombiningListAdapter;
+import myAdapter.ConcurrentListAdapter;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.StripedListAdapter;
+
+/**
+ * Micro-benchmark delle liste thread-safe sotto scritture concorrenti.
+ * <p>
+ * Non fa parte della suite JUnit: si esegue a mano per confrontare il {@link ListAdapter} di default (basato su
+ * {@link java.util.Vector}), il {@link ConcurrentListAdapter}, il {@link CombiningListAdapter} e lo
+ * {@link StripedListAdapter} al crescere del numero di thread.
+ */
+public class ConcurrentBenchmark {
+
+    /** Costruttore di default */
+    public ConcurrentBenchmark(){}
+
+    /** Numero di ripetizioni di riscaldamento prima della misura. */
+    private static final int WARMUP = 3;
+
+    /**
+     * Crea una lista vuota a partire dal nome.
+     *
+     * @param name nome della lista
+     * @return nuova lista
+     */
+    private static HList list(String name) {
+        if (name.equals("vector")) return new ListAdapter();
+        if (name.equals("concurrent")) return new ConcurrentListAdapter();
+        if (name.equals("combining")) return new CombiningListAdapter();
+        if (name.equals("striped")) return new StripedListAdapter();
+        throw new IllegalArgumentException("Lista sconosciuta: " + name);
+    }
+
+    /**
+     * Scenario "raffiche di scritture": {@code threads} thread eseguono in tutto {@code operations} operazioni,
+     * ognuna un {@code add} in coda, un {@code set} e un {@code remove} subito dopo i primi {@code size}
+     * elementi, così che la lista non cresca oltre {@code size + threads} elementi.
+     *
+     * @param name nome della lista
+     * @param threads numero di thread
+     * @param size dimensione iniziale della lista
+     * @param operations numero totale di operazioni
+     * @return tempo impiegato in millisecondi
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    private static long writeBursts(String name, int threads, int size, int operations) throws InterruptedException {
+        final HList list = list(name);
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        final int perThread = operations / threads;
+        final int bound = size;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final Integer value = Integer.valueOf(t);
+            workers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        list.add(value);
+                        list.set(i % bound, value);
+                        list.remove(bound);
+                    }
+                }
+            };
+        }
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < threads; t++) workers[t].start();
+        for (int t = 0; t < threads; t++) workers[t].join();
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Scenario "zone separate": una lista di {@code size} elementi è divisa in {@code threads} zone consecutive,
+     * e ogni thread esegue la sua parte di {@code operations} coppie {@code get}/{@code set} solo nella propria zona.
+     *
+     * @param name nome della lista
+     * @param threads numero di thread
+     * @param size dimensione della lista
+     * @param operations numero totale di coppie get/set
+     * @return tempo impiegato in millisecondi
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    private static long regionSets(String name, int threads, int size, int operations) throws InterruptedException {
+        final HList list = list(name);
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        final int perThread = operations / threads;
+        final int region = size / threads;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * region;
+            workers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        int index = base + i % region;
+                        list.set(index, list.get(index));
+                    }
+                }
+            };
+        }
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < threads; t++) workers[t].start();
+        for (int t = 0; t < threads; t++) workers[t].join();
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Esegue gli scenari su ogni lista con 1, 2, 4, ..., 64 thread e stampa i tempi misurati.
+     *
+     * @summary.test Confronta il passaggio di lock a ogni operazione con il flat combining sotto scritture
+     * concorrenti, e il lock unico con i lock per segmento quando ogni thread lavora sulla propria zona.
+     *
+     * @design.test Ogni misura viene preceduta da {@link #WARMUP} ripetizioni ridotte per stabilizzare il JIT;
+     * il numero totale di operazioni è lo stesso per ogni numero di thread.
+     *
+     * @result.test Tabella dei tempi in millisecondi su standard output.
+     *
+     * @param args argomenti da linea di comando (non utilizzati)
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] lists = { "vector", "concurrent", "combining", "striped" };
+        int size = 1000;
+        int operations = 1000000;
+
+        System.out.println("=== Raffiche di scritture (" + size + " elementi, " + operations + " add/set/remove) ===");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            StringBuffer row = new StringBuffer("thread " + threads);
+            for (int l = 0; l < lists.length; l++) {
+                for (int w = 0; w < WARMUP; w++) writeBursts(lists[l], threads, size, operations / 10);
+                row.append(" | ").append(lists[l]).append(" : ").append(writeBursts(lists[l], threads, size, operations)).append(" ms");
+            }
+            System.out.println(row);
+        }
+
+        int bigSize = 1 << 20;
+        System.out.println("=== Zone separate (" + bigSize + " elementi, " + operations + " get/set) ===");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            StringBuffer row = new StringBuffer("thread " + threads);
+            for (int l = 0; l < lists.length; l++) {
+                for (int w = 0; w < WARMUP; w++) regionSets(lists[l], threads, bigSize, operations / 10);
+                row.append(" | ").append(lists[l]).append(" : ").append(regionSets(lists[l], threads, bigSize, operations)).append(" ms");
+            }
+            System.out.println(row);
+        }
+    }
+}
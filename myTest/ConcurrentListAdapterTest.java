@@ -0,0 +1,441 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.ArrayStorage;
+import myAdapter.ChunkedStorage;
+import myAdapter.ConcurrentListAdapter;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.IndexedStorage;
+import myAdapter.ListAdapter;
+import myAdapter.ListStorage;
+
+/**
+ * Classe di test per {@code ConcurrentListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica i blocchi {@code readLocked}/{@code writeLocked}, le chiamate annidate e la
+ * coerenza di letture ottimistiche, letture di massa e scritture eseguite da più thread. Il comportamento da lista è coperto da
+ * {@link ListAdapterTest} e {@link SubListAdapterTest} con il backend {@code "concurrent"}.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista vuota.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link ConcurrentListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class ConcurrentListAdapterTest {
+
+    /**
+     * Numero di thread scrittori e lettori nei test concorrenti.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private ConcurrentListAdapter list;
+
+    /**
+     * Segnala ai lettori che gli scrittori hanno finito.
+     */
+    private volatile boolean done;
+
+    /**
+     * Segnala un'incoerenza osservata da un lettore.
+     */
+    private volatile String failure;
+
+    /** Costruttore di default */
+    public ConcurrentListAdapterTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new ConcurrentListAdapter();
+        done = false;
+        failure = null;
+    }
+
+    /**
+     * Test delle chiamate annidate nei blocchi.
+     *
+     * @summary.test Verifica che dentro {@code writeLocked} la lista si possa leggere e modificare, anche con blocchi
+     * annidati, e che una scrittura dentro {@code readLocked} venga rifiutata.
+     *
+     * @design.test Aggiunge e legge in un {@code writeLocked} con un {@code readLocked} e un {@code writeLocked}
+     * annidati; poi prova un {@code add} dentro {@code readLocked}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [a, b, c].
+     *
+     * @result.test Le chiamate annidate non si bloccano; la scrittura nel blocco di lettura lancia
+     * {@code IllegalStateException} e il lock viene rilasciato.
+     */
+    @Test
+    public void testNestedScopes() {
+        list.writeLocked(new Runnable() {
+            public void run() {
+                list.add("a");
+                list.readLocked(new Runnable() {
+                    public void run() {
+                        assertEquals("a", list.get(0));
+                        assertEquals(0, list.indexOf("a"));
+                    }
+                });
+                list.writeLocked(new Runnable() {
+                    public void run() {
+                        list.add("b");
+                    }
+                });
+                HIterator it = list.iterator();
+                it.next();
+                it.next();
+                assertFalse(it.hasNext());
+                list.add("c");
+            }
+        });
+        try {
+            list.readLocked(new Runnable() {
+                public void run() {
+                    assertEquals(3, list.size());
+                    list.add("d");
+                }
+            });
+            fail("una scrittura dentro readLocked deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        list.add(1, "x");
+        assertEquals("x", list.remove(1));
+        assertEquals(3, list.size());
+        assertEquals("c", list.get(2));
+    }
+
+    /**
+     * Test di scritture composte concorrenti.
+     *
+     * @summary.test Verifica che le coppie di inserimenti fatte in un {@code writeLocked} siano viste dai lettori
+     * sempre per intero.
+     *
+     * @design.test Quattro scrittori aggiungono 500 coppie (valore positivo e opposto) ciascuno; quattro lettori
+     * controllano in {@code readLocked} che la dimensione sia pari e che la somma degli elementi sia zero.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 4000 elementi con somma zero.
+     *
+     * @result.test Nessun lettore osserva una coppia a metà.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testCompoundWrites() throws InterruptedException {
+        Thread[] readers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            readers[t] = new Thread() {
+                public void run() {
+                    while (!done) {
+                        list.readLocked(new Runnable() {
+                            public void run() {
+                                if (list.size() % 2 != 0) failure = "dimensione dispari";
+                                long sum = 0;
+                                HIterator it = list.iterator();
+                                while (it.hasNext()) sum += ((Integer) it.next()).intValue();
+                                if (sum != 0) failure = "somma " + sum;
+                            }
+                        });
+                    }
+                }
+            };
+            readers[t].start();
+        }
+        Thread[] writers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * 1000;
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int i = 1; i <= 500; i++) {
+                        final int value = base + i;
+                        list.writeLocked(new Runnable() {
+                            public void run() {
+                                list.add(Integer.valueOf(value));
+                                list.add(0, Integer.valueOf(-value));
+                            }
+                        });
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) writers[t].join();
+        done = true;
+        for (int t = 0; t < THREADS; t++) readers[t].join();
+        assertNull(failure, failure);
+        assertEquals(THREADS * 1000, list.size());
+    }
+
+    /**
+     * Test delle letture ottimistiche con scrittori concorrenti.
+     *
+     * @summary.test Verifica che {@code get}, {@code indexOf} e {@code toArray} senza blocchi restituiscano sempre
+     * valori coerenti mentre altri thread sostituiscono gli elementi.
+     *
+     * @design.test Lista di 64 elementi tutti uguali; due scrittori li rendono uguali a un nuovo valore con
+     * {@code writeLocked}; i lettori controllano che {@code toArray} contenga un solo valore e che {@code get}
+     * restituisca sempre un elemento.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 64 elementi uguali.
+     *
+     * @result.test Nessuna lettura restituisce un array con valori misti o un elemento null.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testOptimisticReads() throws InterruptedException {
+        for (int i = 0; i < 64; i++) list.add(Integer.valueOf(0));
+        Thread[] readers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            readers[t] = new Thread() {
+                public void run() {
+                    int i = 0;
+                    while (!done) {
+                        Object[] snapshot = list.toArray();
+                        for (int j = 1; j < snapshot.length; j++) {
+                            if (!snapshot[0].equals(snapshot[j])) failure = "toArray con valori misti";
+                        }
+                        if (list.get(i++ & 63) == null) failure = "get null";
+                        if (list.indexOf(snapshot[0]) > 0) failure = "indexOf oltre il primo";
+                    }
+                }
+            };
+            readers[t].start();
+        }
+        Thread[] writers = new Thread[2];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int round = 1; round <= 1000; round++) {
+                        final Integer value = Integer.valueOf(round);
+                        list.writeLocked(new Runnable() {
+                            public void run() {
+                                HList sub = list.subList(0, list.size());
+                                sub.clear();
+                                for (int i = 0; i < 64; i++) list.add(value);
+                            }
+                        });
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        for (int t = 0; t < writers.length; t++) writers[t].join();
+        done = true;
+        for (int t = 0; t < THREADS; t++) readers[t].join();
+        assertNull(failure, failure);
+        assertEquals(64, list.size());
+    }
+
+    /**
+     * Test di letture di massa con uno scrittore in attesa.
+     *
+     * @summary.test Verifica che {@code containsAll}, {@code equals} e {@code hashCode}, che sotto il read lock
+     * richiamano altre letture della lista, non si blocchino quando uno scrittore è in attesa del lock.
+     *
+     * @design.test Lista di 100 elementi; uno scrittore sostituisce di continuo il primo elemento, mentre i
+     * lettori confrontano la lista e una sua sottolista con una collezione di 50 elementi.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 100 elementi.
+     *
+     * @result.test Tutti i thread terminano entro il tempo limite e ogni confronto dà il risultato atteso.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testContendedBulkReads() throws InterruptedException {
+        for (int i = 0; i < 100; i++) list.add(Integer.valueOf(i));
+        final ListAdapter probe = new ListAdapter();
+        for (int i = 50; i < 100; i++) probe.add(Integer.valueOf(i));
+        Thread[] threads = new Thread[THREADS + 1];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        if (!list.containsAll(probe)) failure = "containsAll false";
+                        if (!list.subList(50, 100).containsAll(probe)) failure = "containsAll della sottolista false";
+                        if (list.equals(probe)) failure = "equals vero su liste diverse";
+                        list.hashCode();
+                    }
+                }
+            };
+        }
+        threads[THREADS] = new Thread() {
+            public void run() {
+                for (int i = 0; i < 20000; i++) list.set(0, Integer.valueOf(i));
+            }
+        };
+        for (int t = 0; t <= THREADS; t++) {
+            threads[t].setDaemon(true); // un thread bloccato non deve impedire la chiusura della JVM
+            threads[t].start();
+        }
+        for (int t = 0; t <= THREADS; t++) {
+            threads[t].join(30000);
+            assertFalse("un thread è rimasto bloccato", threads[t].isAlive());
+        }
+        assertNull(failure, failure);
+        assertEquals(100, list.size());
+    }
+
+    /**
+     * Test degli iteratori a fotografia con scrittori concorrenti.
+     *
+     * @summary.test Verifica che un iteratore a fotografia, usato senza lock, veda sempre uno stato pubblicato per
+     * intero mentre altri thread modificano la lista.
+     *
+     * @design.test Come {@link #testCompoundWrites()}, ma i lettori scorrono la lista con
+     * {@code snapshotIterator} fuori da {@code readLocked}, controllando che la somma degli elementi sia zero.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista di 4000 elementi con somma zero.
+     *
+     * @result.test Nessun lettore osserva una coppia a metà.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testSnapshotReaders() throws InterruptedException {
+        Thread[] readers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            readers[t] = new Thread() {
+                public void run() {
+                    while (!done) {
+                        long sum = 0;
+                        HIterator it = list.snapshotIterator();
+                        while (it.hasNext()) sum += ((Integer) it.next()).intValue();
+                        if (sum != 0) failure = "somma " + sum;
+                    }
+                }
+            };
+            readers[t].start();
+        }
+        Thread[] writers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * 1000;
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int i = 1; i <= 500; i++) {
+                        final int value = base + i;
+                        list.writeLocked(new Runnable() {
+                            public void run() {
+                                list.add(Integer.valueOf(value));
+                                list.add(0, Integer.valueOf(-value));
+                            }
+                        });
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) writers[t].join();
+        done = true;
+        for (int t = 0; t < THREADS; t++) readers[t].join();
+        assertNull(failure, failure);
+        assertEquals(THREADS * 1000, list.size());
+    }
+
+    /**
+     * Test dei lettori concorrenti su backend le cui letture modificano il loro stato.
+     *
+     * @summary.test Verifica che con {@code IndexedStorage} e {@code ChunkedStorage}, che durante le letture
+     * aggiornano posizioni e cache, le letture concorrenti restituiscano sempre valori esatti e che le scritture
+     * dentro {@code readLocked} vengano comunque rifiutate.
+     *
+     * @design.test Per ciascun backend, lista [0..3999]; a ogni giro uno scrittore sposta gli elementi con una
+     * rimozione e un reinserimento in testa, poi più lettori cercano elementi a caso con {@code indexOf},
+     * {@code lastIndexOf} e {@code get}. Infine, dentro {@code readLocked}, prova una scrittura e avvia un
+     * altro thread che legge.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista [0..3999] su ciascun backend.
+     *
+     * @result.test Ogni lettura restituisce la posizione dell'elemento; una scrittura dentro {@code readLocked}
+     * lancia {@code IllegalStateException}; la lettura di un altro thread attende la fine di {@code readLocked},
+     * perché su questi backend le letture sono esclusive.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testReadsWithStatefulBackends() throws InterruptedException {
+        ListStorage[] backends = { new IndexedStorage(new ArrayStorage()), new ChunkedStorage(8) };
+        for (int b = 0; b < backends.length; b++) {
+            final ConcurrentListAdapter shared = new ConcurrentListAdapter(backends[b]);
+            final int n = 4000;
+            for (int i = 0; i < n; i++) shared.add(Integer.valueOf(i));
+            for (int round = 0; round < 20; round++) {
+                shared.add(0, shared.remove(0));
+                Thread[] readers = new Thread[THREADS];
+                for (int t = 0; t < THREADS; t++) {
+                    final java.util.Random random = new java.util.Random(round * THREADS + t);
+                    readers[t] = new Thread() {
+                        public void run() {
+                            for (int k = 0; k < 500; k++) {
+                                int i = random.nextInt(n);
+                                Integer v = Integer.valueOf(i);
+                                if (shared.indexOf(v) != i) failure = "indexOf " + i + " = " + shared.indexOf(v);
+                                if (shared.lastIndexOf(v) != i) failure = "lastIndexOf " + i;
+                                if (!v.equals(shared.get(i))) failure = "get " + i;
+                            }
+                        }
+                    };
+                    readers[t].start();
+                }
+                for (int t = 0; t < THREADS; t++) readers[t].join();
+                assertNull(failure, failure);
+            }
+            final boolean[] otherRead = new boolean[1];
+            final Thread other = new Thread() {
+                public void run() {
+                    shared.get(1);
+                    synchronized (otherRead) {
+                        otherRead[0] = true;
+                    }
+                }
+            };
+            shared.readLocked(new Runnable() {
+                public void run() {
+                    assertEquals(0, shared.indexOf(Integer.valueOf(0)));
+                    try {
+                        shared.add("x");
+                        fail("una scrittura dentro readLocked deve lanciare IllegalStateException");
+                    } catch (IllegalStateException expected) {
+                        // atteso
+                    }
+                    other.start();
+                    try {
+                        other.join(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    synchronized (otherRead) {
+                        assertFalse("la lettura di un altro thread deve attendere", otherRead[0]);
+                    }
+                }
+            });
+            other.join();
+            assertTrue(otherRead[0]);
+            assertEquals(n, shared.size());
+        }
+    }
+}
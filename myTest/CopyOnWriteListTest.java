@@ -0,0 +1,234 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.CopyOnWriteList;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+import myAdapter.ListUpdate;
+
+/**
+ * Classe di test per {@code CopyOnWriteList} e {@code CopyOnWriteSubList}.
+ * <p>
+ * <strong>Summary:</strong> Verifica che gli iteratori lavorino su una fotografia stabile, che le modifiche di
+ * gruppo vengano pubblicate insieme, le viste sottolista e la coerenza delle letture con scrittori concorrenti.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista con
+ * {@code 0..9}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link CopyOnWriteList}, {@link ListUpdate}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class CopyOnWriteListTest {
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private CopyOnWriteList list;
+
+    /**
+     * Segnala ai lettori di {@link #testConcurrentReaders()} che lo scrittore ha finito.
+     */
+    private volatile boolean done;
+
+    /** Costruttore di default */
+    public CopyOnWriteListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista con {@code 0..9}.
+     */
+    @Before
+    public void setUp() {
+        list = new CopyOnWriteList();
+        for (int i = 0; i < 10; i++) list.add(Integer.valueOf(i));
+    }
+
+    /**
+     * Test degli iteratori a fotografia.
+     *
+     * @summary.test Verifica che un iteratore continui a vedere gli elementi presenti alla sua creazione anche se
+     * la lista viene modificata, e che non permetta modifiche.
+     *
+     * @design.test Crea un iteratore, svuota la lista e aggiunge altri elementi, poi completa l'iterazione.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista = [x].
+     *
+     * @result.test L'iteratore restituisce [0..9]; {@code remove} e {@code set} lanciano
+     * {@code UnsupportedOperationException}.
+     */
+    @Test
+    public void testSnapshotIterator() {
+        HListIterator it = list.listIterator();
+        assertEquals(Integer.valueOf(0), it.next());
+        list.clear();
+        list.add("x");
+        for (int i = 1; i < 10; i++) assertEquals(Integer.valueOf(i), it.next());
+        assertFalse(it.hasNext());
+        assertEquals(Integer.valueOf(9), it.previous());
+        try {
+            it.remove();
+            fail("remove deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            it.set("y");
+            fail("set deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        assertEquals(1, list.size());
+        assertEquals("x", list.get(0));
+    }
+
+    /**
+     * Test di {@link CopyOnWriteList#update(ListUpdate)}.
+     *
+     * @summary.test Verifica che un gruppo di modifiche venga applicato tutto insieme e che un gruppo interrotto
+     * da un'eccezione lasci la lista invariata.
+     *
+     * @design.test Applica un gruppo che rimuove la testa, inserisce e sostituisce; poi un gruppo che aggiunge un
+     * elemento e lancia un'eccezione.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista = [1, a, 2..8, b].
+     *
+     * @result.test Il primo gruppo è visibile per intero, il secondo per niente.
+     */
+    @Test
+    public void testUpdate() {
+        final HIterator before = list.iterator();
+        list.update(new ListUpdate() {
+            public void apply(HList l) {
+                l.remove(0);
+                l.add(1, "a");
+                l.set(l.size() - 1, "b");
+            }
+        });
+        assertEquals(10, list.size());
+        assertEquals(Integer.valueOf(1), list.get(0));
+        assertEquals("a", list.get(1));
+        assertEquals("b", list.get(9));
+        try {
+            list.update(new ListUpdate() {
+                public void apply(HList l) {
+                    l.add("c");
+                    throw new IllegalStateException("stop");
+                }
+            });
+            fail("l'eccezione deve propagarsi");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+        assertFalse(list.contains("c"));
+        assertEquals(Integer.valueOf(0), before.next());
+    }
+
+    /**
+     * Test di una vista {@code CopyOnWriteSubList}.
+     *
+     * @summary.test Verifica letture e scritture attraverso la vista e il rifiuto della vista dopo una modifica
+     * fatta direttamente sulla lista.
+     *
+     * @design.test Lista = [0..9]; vista [2, 8); rimuove dalla vista 3, 5 e 7, poi modifica direttamente la lista.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista = [0, 1, 2, 4, 6, 8, 9, end].
+     *
+     * @result.test La vista modifica la lista padre; dopo la modifica esterna lancia
+     * {@code ConcurrentModificationException}.
+     */
+    @Test
+    public void testSubList() {
+        HList sub = list.subList(2, 8);
+        assertEquals(6, sub.size());
+        assertEquals(Integer.valueOf(5), sub.get(3));
+        ListAdapter odd = new ListAdapter();
+        odd.add(Integer.valueOf(3));
+        odd.add(Integer.valueOf(5));
+        odd.add(Integer.valueOf(7));
+        assertTrue(sub.removeAll(odd));
+        assertEquals(3, sub.size());
+        assertEquals(Integer.valueOf(6), sub.get(2));
+        assertEquals(1, sub.indexOf(Integer.valueOf(4)));
+        assertEquals(7, list.size());
+        list.add("end");
+        try {
+            sub.size();
+            fail("la vista deve rilevare la modifica esterna");
+        } catch (ConcurrentModificationException expected) {
+            // atteso
+        }
+        assertEquals(8, list.size());
+        assertEquals("end", list.get(7));
+    }
+
+    /**
+     * Test di letture concorrenti con uno scrittore.
+     *
+     * @summary.test Verifica che i lettori vedano sempre uno stato pubblicato per intero, anche mentre uno
+     * scrittore sostituisce continuamente gli elementi in gruppo.
+     *
+     * @design.test Uno scrittore esegue 2000 {@code update} che rendono tutti gli elementi uguali a un nuovo
+     * valore; quattro lettori iterano e controllano che ogni fotografia contenga un solo valore.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista di 10 elementi uguali.
+     *
+     * @result.test Nessun lettore osserva una fotografia con valori misti.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        final boolean[] failed = new boolean[1];
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread() {
+                public void run() {
+                    while (!done) {
+                        HIterator it = list.iterator();
+                        Object first = it.next();
+                        while (it.hasNext()) {
+                            if (!first.equals(it.next())) failed[0] = true;
+                        }
+                    }
+                }
+            };
+        }
+        list.update(new ListUpdate() {
+            public void apply(HList l) {
+                for (int i = 0; i < l.size(); i++) l.set(i, Integer.valueOf(-1));
+            }
+        });
+        for (int t = 0; t < readers.length; t++) readers[t].start();
+        for (int round = 0; round < 2000; round++) {
+            final Integer value = Integer.valueOf(round);
+            list.update(new ListUpdate() {
+                public void apply(HList l) {
+                    for (int i = 0; i < l.size(); i++) l.set(i, value);
+                }
+            });
+        }
+        done = true;
+        for (int t = 0; t < readers.length; t++) readers[t].join();
+        assertFalse(failed[0]);
+        assertEquals(10, list.size());
+        assertEquals(0, list.indexOf(Integer.valueOf(1999)));
+        assertEquals(9, list.lastIndexOf(Integer.valueOf(1999)));
+    }
+}
@@ -0,0 +1,552 @@
+package myTest;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.DoubleList;
+import myAdapter.DoubleListIterator;
+import myAdapter.DoubleSubList;
+import myAdapter.HCollection;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+
+/**
+ * Classe di test per {@code DoubleList} e {@code DoubleSubList}.
+ * Contiene test unitari per verificarne il comportamento rispetto all'interfaccia {@code HList}
+ * e all'accesso primitivo ai valori {@code double}.
+ * <p>
+ * <strong>Summary:</strong> Verifica accesso, ricerca e modifica primitivi, confronto dei valori ({@code NaN} e zeri con
+ * segno) con le regole di {@link Double#equals(Object)}, conversione al confine con {@code HList}, codice hash,
+ * operazioni di massa, iteratori primitivi e sottoliste.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link DoubleList} tramite {@link #setUp()}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link DoubleList}, {@link DoubleSubList}, {@link DoubleListIterator}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class DoubleListTest {
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private DoubleList list;
+
+    /** Costruttore di default */
+    public DoubleListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new DoubleList();
+    }
+
+    /**
+     * Riempie la lista con i valori {@code 0.0..n-1}.
+     *
+     * @param n numero di valori
+     */
+    private void fill(int n) {
+        for (int i = 0; i < n; i++) list.addDouble(i);
+    }
+
+    /**
+     * Verifica che due valori siano uguali con le regole di {@link Double#equals(Object)}, che al contrario di
+     * {@code assertEquals(double, double, 0.0)} distinguono {@code 0.0} da {@code -0.0}.
+     *
+     * @param expected valore atteso
+     * @param actual valore ottenuto
+     */
+    private static void assertSameValue(double expected, double actual) {
+        assertEquals(Double.valueOf(expected), Double.valueOf(actual));
+    }
+
+    /**
+     * Test della ricerca primitiva con {@code NaN} e zeri con segno.
+     *
+     * @summary.test Verifica che {@code NaN} venga trovato e che {@code 0.0} e {@code -0.0} siano distinti,
+     * come con {@link Double#equals(Object)}.
+     *
+     * @design.test Lista = [1.5, NaN, -0.0, 0.0].
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test {@code indexOfDouble(NaN) == 1}, {@code indexOfDouble(0.0) == 3}, {@code indexOfDouble(-0.0) == 2}.
+     */
+    @Test
+    public void testSearchSpecialValues() {
+        list.addDouble(1.5);
+        list.addDouble(Double.NaN);
+        list.addDouble(-0.0);
+        list.addDouble(0.0);
+        assertEquals(1, list.indexOfDouble(Double.NaN));
+        assertEquals(3, list.indexOfDouble(0.0));
+        assertEquals(2, list.indexOfDouble(-0.0));
+        assertTrue(list.contains(Double.valueOf(Double.NaN)));
+        assertEquals(-1, list.indexOf(Float.valueOf(1.5f)));
+        assertEquals(1.5, list.getDouble(0), 0.0);
+    }
+
+    /**
+     * Test dei metodi {@link DoubleList#equals(Object)} e {@link DoubleList#hashCode()}.
+     *
+     * @summary.test Verifica uguaglianza e codice hash rispetto a una {@link ListAdapter} degli stessi {@link Double}.
+     *
+     * @design.test Confronta [0.1, NaN, -2.0] con una {@link ListAdapter} equivalente e con una lista che ha {@code 0.0}
+     * al posto di {@code -0.0}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Liste invariate.
+     *
+     * @result.test Le liste equivalenti sono uguali e hanno lo stesso codice hash; lo zero con segno diverso le distingue.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        double[] values = { 0.1, Double.NaN, -2.0 };
+        ListAdapter boxed = new ListAdapter();
+        for (int i = 0; i < values.length; i++) {
+            list.addDouble(values[i]);
+            boxed.add(Double.valueOf(values[i]));
+        }
+        assertEquals(boxed, list);
+        assertEquals(list, boxed);
+        assertEquals(boxed.hashCode(), list.hashCode());
+        assertFalse(new DoubleList(new double[] { 0.0 }).equals(new DoubleList(new double[] { -0.0 })));
+    }
+
+    /**
+     * Test delle operazioni di massa su {@link DoubleSubList}.
+     *
+     * @summary.test Verifica {@code removeAll}, {@code addAll} e {@code toDoubleArray} sulla vista.
+     *
+     * @design.test Lista = [0.0, 0.5, ..., 4.5]; vista [2, 8); rimuove i valori interi e aggiunge [9.5, 9.75].
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0.0, 0.5, 1.5, 2.5, 3.5, 9.5, 9.75, 4.0, 4.5].
+     *
+     * @result.test La vista contiene i valori attesi e si adegua alle modifiche.
+     */
+    @Test
+    public void testSubListBulk() {
+        for (int i = 0; i < 10; i++) list.addDouble(i * 0.5);
+        DoubleSubList sub = list.subList(2, 8);
+        ListAdapter integers = new ListAdapter();
+        for (int i = 0; i < 5; i++) integers.add(Double.valueOf(i));
+        assertTrue(sub.removeAll(integers));
+        assertEquals(3, sub.size());
+        assertTrue(sub.addAll(new DoubleList(new double[] { 9.5, 9.75 })));
+        double[] values = sub.toDoubleArray();
+        assertEquals(5, values.length);
+        assertEquals(9.75, values[4], 0.0);
+        assertEquals(new DoubleList(new double[] { 0.0, 0.5, 1.5, 2.5, 3.5, 9.5, 9.75, 4.0, 4.5 }), list);
+        DoubleListIterator it = sub.doubleListIterator(5);
+        assertEquals(9.75, it.previousDouble(), 0.0);
+    }
+
+    /**
+     * Test dei metodi primitivi {@link DoubleList#addDouble(double)}, {@link DoubleList#addDouble(int, double)},
+     * {@link DoubleList#getDouble(int)}, {@link DoubleList#setDouble(int, double)} e {@link DoubleList#removeDoubleAt(int)}.
+     *
+     * @summary.test Verifica inserimento, lettura, sostituzione e rimozione di {@code NaN}, {@code -0.0} e
+     * {@code Double.MIN_VALUE} senza perdere il segno o la classe del valore, oltre la capacità iniziale.
+     *
+     * @design.test Aggiunge 0..99, inserisce {@code NaN} in testa e {@code -0.0} in posizione 51, sostituisce il valore
+     * 49 con {@code Double.MIN_VALUE} e rimuove.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [NaN, 0..48, Double.MIN_VALUE, 50..99].
+     *
+     * @result.test I valori restituiti sono quelli attesi; gli indici non validi lanciano {@code IndexOutOfBoundsException}.
+     */
+    @Test
+    public void testPrimitiveAccess() {
+        fill(100);
+        list.addDouble(0, Double.NaN);
+        list.addDouble(51, -0.0);
+        assertEquals(102, list.size());
+        assertTrue(Double.isNaN(list.getDouble(0)));
+        assertSameValue(49.0, list.getDouble(50));
+        assertSameValue(-0.0, list.getDouble(51));
+        assertSameValue(-0.0, list.removeDoubleAt(51));
+        assertSameValue(49.0, list.setDouble(50, Double.MIN_VALUE));
+        assertSameValue(Double.MIN_VALUE, list.getDouble(50));
+        assertSameValue(0.0, list.getDouble(1));
+        assertSameValue(99.0, list.getDouble(100));
+        assertEquals(101, list.size());
+        assertEquals(Double.valueOf(Double.NaN), list.get(0));
+        try {
+            list.getDouble(101);
+            fail("getDouble fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        try {
+            list.addDouble(102, 1.0);
+            fail("addDouble fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertEquals(101, list.size());
+    }
+
+    /**
+     * Test della ricerca primitiva con {@link DoubleList#indexOfDouble(double)},
+     * {@link DoubleList#lastIndexOfDouble(double)} e {@link DoubleList#containsDouble(double)}.
+     *
+     * @summary.test Verifica prima e ultima occorrenza di valori ripetuti, che ogni {@code NaN} corrisponda a
+     * {@code NaN} e che gli zeri con segno diverso non vengano confusi.
+     *
+     * @design.test Lista = [0..9, 0..9, NaN, -0.0, NaN, +Infinity]; cerca gli zeri, {@code NaN} (anche con un'altra
+     * rappresentazione in bit) e gli infiniti.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test {@code lastIndexOfDouble(0.0) == 10}, {@code indexOfDouble(-0.0) == 21},
+     * {@code indexOfDouble(NaN) == 20}, {@code lastIndexOfDouble(NaN) == 22} e {@code -Infinity} non è presente.
+     */
+    @Test
+    public void testPrimitiveSearch() {
+        fill(10);
+        fill(10);
+        list.addDouble(Double.NaN);
+        list.addDouble(-0.0);
+        list.addDouble(Double.NaN);
+        list.addDouble(Double.POSITIVE_INFINITY);
+        assertEquals(3, list.indexOfDouble(3.0));
+        assertEquals(13, list.lastIndexOfDouble(3.0));
+        assertEquals(0, list.indexOfDouble(0.0));
+        assertEquals(10, list.lastIndexOfDouble(0.0));
+        assertEquals(21, list.indexOfDouble(-0.0));
+        assertEquals(21, list.lastIndexOfDouble(-0.0));
+        assertEquals(20, list.indexOfDouble(Double.NaN));
+        assertEquals(22, list.lastIndexOfDouble(Double.NaN));
+        assertEquals(20, list.indexOfDouble(Double.longBitsToDouble(0x7ff8000000000001L)));
+        assertEquals(23, list.indexOfDouble(Double.POSITIVE_INFINITY));
+        assertFalse(list.containsDouble(Double.NEGATIVE_INFINITY));
+        assertTrue(list.containsDouble(9.0));
+        assertFalse(list.containsDouble(9.5));
+        assertEquals(-1, list.lastIndexOfDouble(-5.0));
+        assertEquals(21, list.indexOf(Double.valueOf(-0.0)));
+        assertEquals(22, list.lastIndexOf(Double.valueOf(Double.NaN)));
+        assertEquals(-1, list.indexOf(Float.valueOf(0f)));
+    }
+
+    /**
+     * Test dei metodi di {@link HList} che convertono al confine: {@code add}, {@code get}, {@code set},
+     * {@code remove(Object)}, {@code contains} e {@code indexOf}.
+     *
+     * @summary.test Verifica che gli elementi vengano restituiti come {@link Double}, che {@code remove(Object)}
+     * distingua gli zeri con segno e che elementi non validi vengano rifiutati senza modificare la lista.
+     *
+     * @design.test Usa la lista tramite l'interfaccia {@link HList}; prova a rimuovere {@code 0.0} quando è presente solo
+     * {@code -0.0}, ad aggiungere {@code null}, una stringa e un {@link Float}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [1.0, -0.0].
+     *
+     * @result.test {@code null} lancia {@code NullPointerException}, una stringa e un {@link Float}
+     * {@code ClassCastException}; la ricerca di oggetti non {@link Double} restituisce -1 o {@code false}.
+     */
+    @Test
+    public void testBoxedBoundary() {
+        HList h = list;
+        assertTrue(h.add(Double.valueOf(1.0)));
+        h.add(1, Double.valueOf(2.0));
+        h.add(Double.valueOf(-0.0));
+        assertEquals(Double.valueOf(2.0), h.get(1));
+        assertEquals(Double.valueOf(-0.0), h.set(2, Double.valueOf(4.0)));
+        assertSameValue(4.0, list.getDouble(2));
+        assertEquals(Double.valueOf(4.0), h.remove(2));
+        h.add(Double.valueOf(-0.0));
+        assertFalse(h.remove(Double.valueOf(0.0)));
+        assertFalse(h.remove(Integer.valueOf(2)));
+        assertTrue(h.remove(Double.valueOf(2.0)));
+        assertFalse(h.remove("2"));
+        assertFalse(h.contains(Float.valueOf(1f)));
+        assertFalse(h.contains(Double.valueOf(0.0)));
+        assertEquals(-1, h.indexOf(null));
+        assertEquals(1, h.lastIndexOf(Double.valueOf(-0.0)));
+        try {
+            h.add(null);
+            fail("null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+        try {
+            h.set(0, "x");
+            fail("una stringa deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        try {
+            h.add(0, Float.valueOf(5f));
+            fail("un Float deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(2, h.size());
+        assertSameValue(1.0, list.getDouble(0));
+        assertSameValue(-0.0, list.getDouble(1));
+    }
+
+    /**
+     * Test delle operazioni di massa {@code addAll}, {@code removeAll}, {@code retainAll} e {@code containsAll}.
+     *
+     * @summary.test Verifica inserimenti a blocchi da {@link DoubleList} e da collezioni di oggetti, anche con la lista
+     * stessa, il confronto di {@code NaN} e degli zeri con segno nelle operazioni di massa e l'atomicità di un
+     * {@code addAll} con un elemento non valido.
+     *
+     * @design.test Lista = [0..9]; inserisce sé stessa in posizione 5, rimuove i pari, prova ad aggiungere una
+     * collezione che contiene una stringa; poi inserisce [NaN, -0.0, 0.0], rimuove [NaN, 0.0] e conserva [-0.0, 9.0].
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [-0.0, 9.0, 9.0].
+     *
+     * @result.test Le dimensioni e i valori corrispondono; l'{@code addAll} non valido lascia la lista invariata.
+     */
+    @Test
+    public void testBulkOperations() {
+        fill(10);
+        assertTrue(list.addAll(5, list));
+        assertEquals(20, list.size());
+        assertSameValue(0.0, list.getDouble(5));
+        assertSameValue(9.0, list.getDouble(14));
+        assertSameValue(5.0, list.getDouble(15));
+
+        ListAdapter intEvens = new ListAdapter();
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) {
+            intEvens.add(Integer.valueOf(i));
+            evens.add(Double.valueOf(i));
+        }
+        assertFalse(list.removeAll(intEvens));
+        assertTrue(list.removeAll(evens));
+        assertEquals(10, list.size());
+        assertEquals(new DoubleList(new double[] { 1, 3, 1, 3, 5, 7, 9, 5, 7, 9 }), list);
+        assertFalse(list.removeAll(evens));
+
+        ListAdapter some = new ListAdapter();
+        some.add(Double.valueOf(3));
+        some.add(Double.valueOf(9));
+        assertTrue(list.containsAll(some));
+        some.add("3");
+        assertFalse(list.containsAll(some));
+        try {
+            list.addAll(some);
+            fail("un elemento non Double deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+
+        some.remove("3");
+        assertTrue(list.retainAll(some));
+        assertEquals(new DoubleList(new double[] { 3, 3, 9, 9 }), list);
+        assertFalse(list.addAll(new DoubleList()));
+
+        assertTrue(list.addAll(2, new DoubleList(new double[] { Double.NaN, -0.0, 0.0 })));
+        ListAdapter special = new ListAdapter();
+        special.add(Double.valueOf(Double.NaN));
+        special.add(Double.valueOf(0.0));
+        assertTrue(list.containsAll(special));
+        assertTrue(list.removeAll(special));
+        assertEquals(new DoubleList(new double[] { 3, 3, -0.0, 9, 9 }), list);
+        assertFalse(list.containsAll(special));
+        assertTrue(list.retainAll(new DoubleList(new double[] { -0.0, 9 })));
+        assertEquals(new DoubleList(new double[] { -0.0, 9, 9 }), list);
+        assertFalse(list.equals(new DoubleList(new double[] { 0.0, 9, 9 })));
+    }
+
+    /**
+     * Test di {@link DoubleList#doubleListIterator(int)} e dell'iteratore di {@link HList}.
+     *
+     * @summary.test Verifica scorrimento in avanti e all'indietro, modifica, inserimento e rimozione tramite
+     * l'iteratore primitivo, anche con {@code NaN} e {@code -0.0}.
+     *
+     * @design.test Lista = [0..9]; cambia segno ai pari (lo 0 diventa {@code -0.0}), inserisce {@code NaN} dopo il 5,
+     * poi rimuove all'indietro {@code NaN} e i valori con il segno negativo.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [1, 3, 5, 7, 9].
+     *
+     * @result.test I valori visitati e il contenuto finale sono quelli attesi; {@code setDouble} dopo {@code addDouble}
+     * e {@code remove} senza {@code next} lanciano {@code IllegalStateException}.
+     */
+    @Test
+    public void testPrimitiveIterator() {
+        fill(10);
+        DoubleListIterator it = list.doubleListIterator();
+        try {
+            it.remove();
+            fail("remove prima di next deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        while (it.hasNext()) {
+            double v = it.nextDouble();
+            if (v % 2 == 0) it.setDouble(-v);
+            if (v == 5) {
+                it.addDouble(Double.NaN);
+                try {
+                    it.setDouble(0);
+                    fail("setDouble dopo addDouble deve lanciare IllegalStateException");
+                } catch (IllegalStateException expected) {
+                    // atteso
+                }
+            }
+        }
+        assertEquals(new DoubleList(new double[] { -0.0, 1, -2, 3, -4, 5, Double.NaN, -6, 7, -8, 9 }), list);
+        it = list.doubleListIterator(list.size());
+        while (it.hasPrevious()) {
+            double v = it.previousDouble();
+            if (Double.isNaN(v) || Math.copySign(1.0, v) < 0) it.remove();
+        }
+        assertEquals(new DoubleList(new double[] { 1, 3, 5, 7, 9 }), list);
+        assertEquals(-1, it.previousIndex());
+
+        double sum = 0;
+        HIterator boxed = list.iterator();
+        while (boxed.hasNext()) sum += ((Double) boxed.next()).doubleValue();
+        assertEquals(25.0, sum, 0.0);
+    }
+
+    /**
+     * Test di {@link DoubleList#subList(int, int)} e dei metodi primitivi di {@link DoubleSubList}.
+     *
+     * @summary.test Verifica che la sottolista legga e modifichi la lista padre, che si allarghi e si restringa
+     * con le modifiche e che la ricerca di {@code NaN} e degli zeri resti limitata alla vista.
+     *
+     * @design.test Lista = [0..19]; vista [5, 15); inserisce {@code NaN} e {@code -0.0}, rimuove, cerca e svuota tramite
+     * la vista.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0..4, 15..19].
+     *
+     * @result.test Gli indici della vista sono relativi; {@code 0.0}, presente solo fuori dalla vista, non viene
+     * trovato; le modifiche si riflettono sulla lista padre.
+     */
+    @Test
+    public void testSubList() {
+        fill(20);
+        DoubleSubList sub = list.subList(5, 15);
+        assertEquals(10, sub.size());
+        assertSameValue(5.0, sub.getDouble(0));
+        assertEquals(3, sub.indexOfDouble(8.0));
+        assertEquals(-1, sub.indexOfDouble(15.0));
+        assertFalse(sub.contains(Double.valueOf(4)));
+        sub.addDouble(0, Double.NaN);
+        sub.addDouble(-0.0);
+        assertEquals(12, sub.size());
+        assertEquals(22, list.size());
+        assertTrue(Double.isNaN(list.getDouble(5)));
+        assertSameValue(-0.0, list.getDouble(16));
+        assertEquals(0, sub.indexOfDouble(Double.NaN));
+        assertEquals(11, sub.lastIndexOfDouble(-0.0));
+        assertFalse(sub.containsDouble(0.0));
+        assertEquals(-1, sub.indexOf(Double.valueOf(0.0)));
+        assertTrue(Double.isNaN(sub.removeDoubleAt(0)));
+        assertSameValue(8.0, sub.setDouble(3, 80.5));
+        assertSameValue(80.5, list.getDouble(8));
+        double[] values = sub.toDoubleArray();
+        assertEquals(11, values.length);
+        assertSameValue(-0.0, values[10]);
+        assertEquals(sub.subList(3, 4), new DoubleList(new double[] { 80.5 }));
+        assertFalse(sub.subList(10, 11).equals(new DoubleList(new double[] { 0.0 })));
+
+        DoubleSubList inner = sub.subList(2, 5);
+        assertSameValue(7.0, inner.getDouble(0));
+        assertEquals(3, inner.size());
+        assertEquals(1, inner.indexOfDouble(80.5));
+
+        sub.clear();
+        assertEquals(0, sub.size());
+        assertEquals(10, list.size());
+        assertSameValue(4.0, list.getDouble(4));
+        assertSameValue(15.0, list.getDouble(5));
+        try {
+            list.subList(3, 11);
+            fail("una vista oltre la fine deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test delle operazioni di massa e degli iteratori di {@link DoubleSubList}.
+     *
+     * @summary.test Verifica {@code addAll}, {@code removeAll}, {@code retainAll}, {@code equals}, {@code hashCode}
+     * e l'iteratore primitivo sulla vista, anche con {@code NaN}.
+     *
+     * @design.test Lista = [0..9]; vista [2, 8); opera sulla vista e controlla la lista padre.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 3, 3, 5, 7, 8, 9].
+     *
+     * @result.test La vista si adegua alle modifiche, ha lo stesso codice hash di una {@link ListAdapter} con gli
+     * stessi {@link Double} e la lista padre contiene gli elementi attesi.
+     */
+    @Test
+    public void testSubListBulkAndIterator() {
+        fill(10);
+        DoubleSubList sub = list.subList(2, 8);
+        assertTrue(sub.addAll(1, new DoubleList(new double[] { 3, Double.NaN })));
+        assertEquals(8, sub.size());
+        assertEquals(new DoubleList(new double[] { 2, 3, Double.NaN, 3, 4, 5, 6, 7 }), sub);
+        ListAdapter boxedView = new ListAdapter();
+        double[] expected = { 2, 3, Double.NaN, 3, 4, 5, 6, 7 };
+        for (int i = 0; i < expected.length; i++) boxedView.add(Double.valueOf(expected[i]));
+        assertEquals(boxedView, sub);
+        assertEquals(sub, boxedView);
+        assertEquals(boxedView.hashCode(), sub.hashCode());
+
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) evens.add(Double.valueOf(i));
+        evens.add(Double.valueOf(Double.NaN));
+        assertTrue(sub.removeAll(evens));
+        assertEquals(new DoubleList(new double[] { 3, 3, 5, 7 }), sub);
+        assertTrue(sub.addAll(0, new DoubleList(new double[] { 3 })));
+        assertEquals(new DoubleList(new double[] { 3, 3, 3, 5, 7 }).hashCode(), sub.hashCode());
+
+        ListAdapter keep = new ListAdapter();
+        keep.add(Double.valueOf(5));
+        keep.add(Double.valueOf(7));
+        keep.add(Integer.valueOf(3));
+        assertTrue(sub.retainAll(keep));
+        assertEquals(2, sub.size());
+
+        DoubleListIterator it = sub.doubleListIterator();
+        it.addDouble(3);
+        it.addDouble(3);
+        assertSameValue(5.0, it.nextDouble());
+        assertSameValue(5.0, it.previousDouble());
+        it.remove();
+        assertEquals(3, sub.size());
+        assertEquals(2, it.nextIndex());
+        assertSameValue(7.0, it.nextDouble());
+        assertFalse(it.hasNext());
+
+        HListIterator boxed = sub.listIterator(1);
+        assertEquals(Double.valueOf(3), boxed.next());
+        boxed.add(Double.valueOf(5));
+        assertEquals(new DoubleList(new double[] { 0, 1, 3, 3, 5, 7, 8, 9 }), list);
+        HCollection asCollection = list;
+        assertEquals(8, asCollection.toArray().length);
+    }
+}
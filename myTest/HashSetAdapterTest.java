@@ -0,0 +1,287 @@
+package myTest;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HCollection;
+import myAdapter.HIterator;
+import myAdapter.HSet;
+import myAdapter.HashSetAdapter;
+import myAdapter.ListAdapter;
+
+/**
+ * Classe di test per {@code HashSetAdapter}.
+ * Contiene test unitari per verificarne il comportamento rispetto all'interfaccia {@code HSet}.
+ * <p>
+ * <strong>Summary:</strong> Verifica inserimento senza duplicati, ricerca, rimozione (anche tramite iteratore),
+ * gestione di {@code null}, crescita della tabella e operazioni di massa.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link HashSetAdapter} tramite {@link #setUp()}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link HashSetAdapter}, {@link HSet}, {@link HIterator}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class HashSetAdapterTest {
+
+    /**
+     * Insieme da testare, viene reinizializzato prima di ogni test.
+     */
+    private HSet set;
+
+    /** Costruttore di default */
+    public HashSetAdapterTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza l'insieme come vuoto.
+     */
+    @Before
+    public void setUp() {
+        set = new HashSetAdapter();
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HSet#add(Object)} e {@link myAdapter.HCollection#contains(Object)}.
+     *
+     * @summary.test Verifica che i duplicati non vengano inseriti e che {@code null} sia ammesso.
+     *
+     * @design.test Inserisce "A" due volte e {@code null} due volte.
+     *
+     * @precondition.test Insieme vuoto.
+     *
+     * @postcondition.test Insieme = {"A", null}.
+     *
+     * @result.test Il secondo inserimento restituisce {@code false}; {@code size() == 2}.
+     */
+    @Test
+    public void testAddAndContains() {
+        assertTrue(set.add("A"));
+        assertFalse(set.add("A"));
+        assertFalse(set.contains(null));
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        assertEquals(2, set.size());
+        assertTrue(set.contains("A"));
+        assertTrue(set.contains(null));
+        assertFalse(set.contains("B"));
+    }
+
+    /**
+     * Test della crescita della tabella e di {@link myAdapter.HCollection#remove(Object)}.
+     *
+     * @summary.test Verifica che la tabella cresca e che le rimozioni non interrompano le catene di collisione.
+     *
+     * @design.test Inserisce 1000 interi, rimuove i pari, poi reinserisce alcuni pari.
+     *
+     * @precondition.test Insieme vuoto.
+     *
+     * @postcondition.test Insieme con i 500 dispari più i pari reinseriti.
+     *
+     * @result.test {@code contains} coerente per tutti gli elementi; dimensione corretta.
+     */
+    @Test
+    public void testGrowAndRemove() {
+        for (int i = 0; i < 1000; i++) assertTrue(set.add(Integer.valueOf(i)));
+        assertEquals(1000, set.size());
+        for (int i = 0; i < 1000; i += 2) assertTrue(set.remove(Integer.valueOf(i)));
+        assertFalse(set.remove(Integer.valueOf(0)));
+        assertEquals(500, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, set.contains(Integer.valueOf(i)));
+        }
+        for (int i = 0; i < 100; i += 2) assertTrue(set.add(Integer.valueOf(i)));
+        assertEquals(550, set.size());
+        assertTrue(set.contains(Integer.valueOf(98)));
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HCollection#iterator()} con rimozione.
+     *
+     * @summary.test Verifica che l'iteratore visiti ogni elemento una volta e che {@code remove()} funzioni.
+     *
+     * @design.test Insieme = {0..49, null}; rimuove tramite iteratore gli elementi multipli di 5 e {@code null}.
+     *
+     * @precondition.test Insieme di 51 elementi.
+     *
+     * @postcondition.test Restano 40 elementi.
+     *
+     * @result.test 51 elementi visitati; {@code remove()} ripetuto lancia {@code IllegalStateException}.
+     */
+    @Test
+    public void testIteratorRemove() {
+        for (int i = 0; i < 50; i++) set.add(Integer.valueOf(i));
+        set.add(null);
+        int visited = 0;
+        HIterator it = set.iterator();
+        while (it.hasNext()) {
+            Object o = it.next();
+            visited++;
+            if (o == null || ((Integer) o).intValue() % 5 == 0) it.remove();
+        }
+        assertEquals(51, visited);
+        assertEquals(40, set.size());
+        assertFalse(set.contains(null));
+        assertFalse(set.contains(Integer.valueOf(45)));
+        assertTrue(set.contains(Integer.valueOf(46)));
+        try {
+            HIterator it2 = set.iterator();
+            it2.next();
+            it2.remove();
+            it2.remove();
+            fail("remove() ripetuto deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HIterator#next()} a fine iterazione.
+     *
+     * @summary.test Verifica che {@code next()} su insieme vuoto lanci {@code NoSuchElementException}.
+     *
+     * @design.test Itera su insieme vuoto.
+     *
+     * @precondition.test Insieme vuoto.
+     *
+     * @postcondition.test Insieme invariato.
+     *
+     * @result.test Lancio di {@code NoSuchElementException}.
+     */
+    @Test(expected = java.util.NoSuchElementException.class)
+    public void testIteratorNextOnEmpty() {
+        HIterator it = set.iterator();
+        assertFalse(it.hasNext());
+        it.next();
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HCollection#addAll(HCollection)}, {@link myAdapter.HCollection#containsAll(HCollection)},
+     * {@link myAdapter.HCollection#removeAll(HCollection)} e {@link myAdapter.HCollection#retainAll(HCollection)}.
+     *
+     * @summary.test Verifica le operazioni di massa con una lista contenente duplicati.
+     *
+     * @design.test Lista = ["A", "B", "A", "C"]; insieme costruito dalla lista.
+     *
+     * @precondition.test Insieme vuoto.
+     *
+     * @postcondition.test Insieme = {"C"}.
+     *
+     * @result.test I duplicati vengono scartati e le operazioni restituiscono i valori attesi.
+     */
+    @Test
+    public void testBulkOperations() {
+        HCollection list = new ListAdapter();
+        list.add("A");
+        list.add("B");
+        list.add("A");
+        list.add("C");
+
+        assertTrue(set.addAll(list));
+        assertEquals(3, set.size());
+        assertFalse(set.addAll(list));
+        assertTrue(set.containsAll(list));
+
+        HCollection ab = new ListAdapter();
+        ab.add("A");
+        ab.add("B");
+        HCollection bc = new ListAdapter();
+        bc.add("B");
+        bc.add("C");
+        assertTrue(set.retainAll(bc));
+        assertEquals(2, set.size());
+        assertTrue(set.removeAll(ab));
+        assertEquals(1, set.size());
+        assertTrue(set.contains("C"));
+        assertFalse(set.containsAll(ab));
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HSet#equals(Object)} e {@link myAdapter.HSet#hashCode()}.
+     *
+     * @summary.test Verifica che insiemi con gli stessi elementi siano uguali indipendentemente dall'ordine di inserimento.
+     *
+     * @design.test Crea due insiemi con "A", "B", {@code null} in ordine diverso.
+     *
+     * @precondition.test Insiemi vuoti.
+     *
+     * @postcondition.test Insiemi invariati.
+     *
+     * @result.test {@code equals} simmetrico e hash uguali; un insieme diverso non è uguale.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        HSet other = new HashSetAdapter();
+        set.add("A");
+        set.add("B");
+        set.add(null);
+        other.add(null);
+        other.add("B");
+        other.add("A");
+        assertEquals(set, other);
+        assertEquals(other, set);
+        assertEquals("A".hashCode() + "B".hashCode(), set.hashCode());
+        assertEquals(set.hashCode(), other.hashCode());
+        other.remove("A");
+        assertFalse(set.equals(other));
+        assertFalse(set.equals(new ListAdapter()));
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HCollection#toArray()} e {@link myAdapter.HCollection#toArray(Object[])}.
+     *
+     * @summary.test Verifica che l'array contenga tutti gli elementi e rispetti il tipo dell'array passato.
+     *
+     * @design.test Insieme = {"A", "B", "C"}.
+     *
+     * @precondition.test Insieme con tre stringhe.
+     *
+     * @postcondition.test Insieme invariato.
+     *
+     * @result.test Array di lunghezza 3; {@code toArray(new String[0])} restituisce un {@code String[]};
+     * un array più grande viene terminato da {@code null}.
+     */
+    @Test
+    public void testToArray() {
+        set.add("A");
+        set.add("B");
+        set.add("C");
+        Object[] arr = set.toArray();
+        assertEquals(3, arr.length);
+        HSet copy = new HashSetAdapter();
+        for (int i = 0; i < arr.length; i++) copy.add(arr[i]);
+        assertEquals(set, copy);
+
+        Object[] typed = set.toArray(new String[0]);
+        assertEquals(String[].class, typed.getClass());
+        assertEquals(3, typed.length);
+
+        Object[] big = new Object[] { "x", "x", "x", "x", "x" };
+        assertSame(big, set.toArray(big));
+        assertNull(big[3]);
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HCollection#clear()}.
+     *
+     * @summary.test Verifica che dopo {@code clear()} l'insieme sia vuoto e riutilizzabile.
+     *
+     * @design.test Inserisce 100 elementi, svuota e reinserisce.
+     *
+     * @precondition.test Insieme vuoto.
+     *
+     * @postcondition.test Insieme = {"Z"}.
+     *
+     * @result.test {@code isEmpty()} dopo {@code clear()}; il reinserimento funziona.
+     */
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) set.add(Integer.valueOf(i));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(Integer.valueOf(1)));
+        assertFalse(set.iterator().hasNext());
+        assertTrue(set.add("Z"));
+        assertEquals(1, set.size());
+    }
+}
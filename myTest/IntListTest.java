@@ -0,0 +1,410 @@
+package myTest;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HCollection;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.IntList;
+import myAdapter.IntListIterator;
+import myAdapter.IntSubList;
+import myAdapter.ListAdapter;
+
+/**
+ * Classe di test per {@code IntList} e {@code IntSubList}.
+ * Contiene test unitari per verificarne il comportamento rispetto all'interfaccia {@code HList}
+ * e all'accesso primitivo ai valori {@code int}.
+ * <p>
+ * <strong>Summary:</strong> Verifica accesso e modifica primitivi, conversione al confine con {@code HList},
+ * uguaglianza con le altre liste, operazioni di massa, iteratori primitivi e sottoliste.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link IntList} tramite {@link #setUp()}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link IntList}, {@link IntSubList}, {@link IntListIterator}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class IntListTest {
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private IntList list;
+
+    /** Costruttore di default */
+    public IntListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new IntList();
+    }
+
+    /**
+     * Riempie la lista con i valori {@code 0..n-1}.
+     *
+     * @param n numero di valori
+     */
+    private void fill(int n) {
+        for (int i = 0; i < n; i++) list.addInt(i);
+    }
+
+    /**
+     * Test dei metodi primitivi {@link IntList#addInt(int)}, {@link IntList#addInt(int, int)},
+     * {@link IntList#getInt(int)}, {@link IntList#setInt(int, int)} e {@link IntList#removeIntAt(int)}.
+     *
+     * @summary.test Verifica inserimento, lettura, sostituzione e rimozione senza oggetti wrapper, oltre la capacità iniziale.
+     *
+     * @design.test Aggiunge 0..99, inserisce -1 in testa e in posizione 50, sostituisce e rimuove.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [-1, 0..48, 7, 50..99] con 7 al posto di 49.
+     *
+     * @result.test I valori restituiti sono quelli attesi; gli indici non validi lanciano {@code IndexOutOfBoundsException}.
+     */
+    @Test
+    public void testPrimitiveAccess() {
+        fill(100);
+        list.addInt(0, -1);
+        list.addInt(51, -1);
+        assertEquals(102, list.size());
+        assertEquals(-1, list.getInt(0));
+        assertEquals(49, list.getInt(50));
+        assertEquals(-1, list.getInt(51));
+        assertEquals(-1, list.removeIntAt(51));
+        assertEquals(49, list.setInt(50, 7));
+        assertEquals(7, list.getInt(50));
+        assertEquals(99, list.getInt(100));
+        assertEquals(101, list.size());
+        try {
+            list.getInt(101);
+            fail("getInt fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        try {
+            list.addInt(102, 1);
+            fail("addInt fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test della ricerca primitiva con {@link IntList#indexOfInt(int)}, {@link IntList#lastIndexOfInt(int)}
+     * e {@link IntList#containsInt(int)}.
+     *
+     * @summary.test Verifica prima e ultima occorrenza di valori ripetuti e valori assenti.
+     *
+     * @design.test Lista = [0..9, 0..9].
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test {@code indexOfInt(3) == 3}, {@code lastIndexOfInt(3) == 13}, il valore 10 non è presente.
+     */
+    @Test
+    public void testPrimitiveSearch() {
+        fill(10);
+        fill(10);
+        assertEquals(3, list.indexOfInt(3));
+        assertEquals(13, list.lastIndexOfInt(3));
+        assertTrue(list.containsInt(9));
+        assertFalse(list.containsInt(10));
+        assertEquals(-1, list.indexOfInt(10));
+        assertEquals(-1, list.lastIndexOfInt(-5));
+    }
+
+    /**
+     * Test dei metodi di {@link HList} che convertono al confine: {@code add}, {@code get}, {@code set},
+     * {@code remove(Object)}, {@code contains} e {@code indexOf}.
+     *
+     * @summary.test Verifica che gli elementi vengano restituiti come {@link Integer} e che elementi non validi
+     * vengano rifiutati senza modificare la lista.
+     *
+     * @design.test Usa la lista tramite l'interfaccia {@link HList}; prova ad aggiungere {@code null} e una stringa.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [1, 3].
+     *
+     * @result.test {@code null} lancia {@code NullPointerException}, una stringa {@code ClassCastException};
+     * la ricerca di oggetti non {@link Integer} restituisce -1 o {@code false}.
+     */
+    @Test
+    public void testBoxedBoundary() {
+        HList h = list;
+        assertTrue(h.add(Integer.valueOf(1)));
+        h.add(1, Integer.valueOf(2));
+        h.add(Integer.valueOf(3));
+        assertEquals(Integer.valueOf(2), h.get(1));
+        assertEquals(Integer.valueOf(3), h.set(2, Integer.valueOf(4)));
+        assertEquals(4, list.getInt(2));
+        assertEquals(Integer.valueOf(4), h.remove(2));
+        h.add(Integer.valueOf(3));
+        assertTrue(h.remove(Integer.valueOf(2)));
+        assertFalse(h.remove("2"));
+        assertFalse(h.contains(Long.valueOf(1)));
+        assertEquals(-1, h.indexOf(null));
+        assertEquals(1, h.lastIndexOf(Integer.valueOf(3)));
+        try {
+            h.add(null);
+            fail("null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+        try {
+            h.set(0, "x");
+            fail("una stringa deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(2, h.size());
+        assertEquals(1, list.getInt(0));
+        assertEquals(3, list.getInt(1));
+    }
+
+    /**
+     * Test dei metodi {@link IntList#equals(Object)} e {@link IntList#hashCode()}.
+     *
+     * @summary.test Verifica che una {@link IntList} sia uguale a una {@link ListAdapter} con gli stessi {@link Integer}
+     * e che i codici hash coincidano.
+     *
+     * @design.test Confronta con una {@link IntList} costruita da array, con una {@link ListAdapter} e con una lista diversa.
+     *
+     * @precondition.test Lista = [5, -3, 7].
+     *
+     * @postcondition.test Liste invariate.
+     *
+     * @result.test L'uguaglianza è simmetrica e i codici hash sono uguali.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        list.addInt(5);
+        list.addInt(-3);
+        list.addInt(7);
+        IntList same = new IntList(new int[] { 5, -3, 7 });
+        ListAdapter boxed = new ListAdapter();
+        boxed.add(Integer.valueOf(5));
+        boxed.add(Integer.valueOf(-3));
+        boxed.add(Integer.valueOf(7));
+        assertEquals(same, list);
+        assertEquals(list, boxed);
+        assertEquals(boxed, list);
+        assertEquals(boxed.hashCode(), list.hashCode());
+        assertEquals(same.hashCode(), list.hashCode());
+        boxed.set(2, Long.valueOf(7));
+        assertFalse(list.equals(boxed));
+        same.setInt(1, 3);
+        assertFalse(list.equals(same));
+        assertFalse(list.equals("[5, -3, 7]"));
+    }
+
+    /**
+     * Test delle operazioni di massa {@code addAll}, {@code removeAll}, {@code retainAll} e {@code containsAll}.
+     *
+     * @summary.test Verifica inserimenti a blocchi da {@link IntList} e da collezioni di oggetti, anche con la lista stessa,
+     * e l'atomicità di un {@code addAll} con un elemento non valido.
+     *
+     * @design.test Lista = [0..9]; inserisce sé stessa in posizione 5, rimuove i pari, poi prova ad aggiungere una
+     * collezione che contiene una stringa.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [3, 3, 9, 9].
+     *
+     * @result.test Le dimensioni e i valori corrispondono; l'{@code addAll} non valido lascia la lista invariata.
+     */
+    @Test
+    public void testBulkOperations() {
+        fill(10);
+        assertTrue(list.addAll(5, list));
+        assertEquals(20, list.size());
+        assertEquals(0, list.getInt(5));
+        assertEquals(9, list.getInt(14));
+        assertEquals(5, list.getInt(15));
+
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) evens.add(Integer.valueOf(i));
+        assertTrue(list.removeAll(evens));
+        assertEquals(10, list.size());
+        assertEquals(new IntList(new int[] { 1, 3, 1, 3, 5, 7, 9, 5, 7, 9 }), list);
+        assertFalse(list.removeAll(evens));
+
+        ListAdapter some = new ListAdapter();
+        some.add(Integer.valueOf(3));
+        some.add(Integer.valueOf(9));
+        assertTrue(list.containsAll(some));
+        some.add("3");
+        assertFalse(list.containsAll(some));
+        try {
+            list.addAll(some);
+            fail("un elemento non Integer deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+
+        some.remove("3");
+        assertTrue(list.retainAll(some));
+        assertEquals(new IntList(new int[] { 3, 3, 9, 9 }), list);
+        assertFalse(list.addAll(new IntList()));
+    }
+
+    /**
+     * Test di {@link IntList#intListIterator(int)} e dell'iteratore di {@link HList}.
+     *
+     * @summary.test Verifica scorrimento in avanti e all'indietro, modifica, inserimento e rimozione tramite
+     * l'iteratore primitivo.
+     *
+     * @design.test Lista = [0..9]; raddoppia i pari, inserisce -1 dopo ogni 5, rimuove i multipli di 3 all'indietro.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 4, 5, -1, 7, 16].
+     *
+     * @result.test I valori visitati e il contenuto finale sono quelli attesi; {@code set} dopo {@code add}
+     * lancia {@code IllegalStateException}.
+     */
+    @Test
+    public void testPrimitiveIterator() {
+        fill(10);
+        IntListIterator it = list.intListIterator();
+        while (it.hasNext()) {
+            int v = it.nextInt();
+            if (v % 2 == 0) it.setInt(v * 2);
+            if (v == 5) {
+                it.addInt(-1);
+                try {
+                    it.setInt(0);
+                    fail("setInt dopo addInt deve lanciare IllegalStateException");
+                } catch (IllegalStateException expected) {
+                    // atteso
+                }
+            }
+        }
+        assertEquals(new IntList(new int[] { 0, 1, 4, 3, 8, 5, -1, 12, 7, 16, 9 }), list);
+        it = list.intListIterator(list.size());
+        while (it.hasPrevious()) {
+            int v = it.previousInt();
+            if (v != 0 && v % 3 == 0) it.remove();
+        }
+        assertEquals(new IntList(new int[] { 0, 1, 4, 8, 5, -1, 7, 16 }), list);
+        list.removeIntAt(3);
+        assertEquals(new IntList(new int[] { 0, 1, 4, 5, -1, 7, 16 }), list);
+
+        int sum = 0;
+        HIterator boxed = list.iterator();
+        while (boxed.hasNext()) sum += ((Integer) boxed.next()).intValue();
+        assertEquals(32, sum);
+    }
+
+    /**
+     * Test di {@link IntList#subList(int, int)} e dei metodi primitivi di {@link IntSubList}.
+     *
+     * @summary.test Verifica che la sottolista legga e modifichi la lista padre e che si allarghi e si restringa
+     * con le modifiche.
+     *
+     * @design.test Lista = [0..19]; vista [5, 15); inserisce, rimuove, cerca e svuota tramite la vista.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0..4, 15..19].
+     *
+     * @result.test Gli indici della vista sono relativi; le modifiche si riflettono sulla lista padre.
+     */
+    @Test
+    public void testSubList() {
+        fill(20);
+        IntSubList sub = list.subList(5, 15);
+        assertEquals(10, sub.size());
+        assertEquals(5, sub.getInt(0));
+        assertEquals(3, sub.indexOfInt(8));
+        assertEquals(-1, sub.indexOfInt(15));
+        assertFalse(sub.contains(Integer.valueOf(4)));
+        sub.addInt(0, 100);
+        sub.addInt(200);
+        assertEquals(12, sub.size());
+        assertEquals(22, list.size());
+        assertEquals(100, list.getInt(5));
+        assertEquals(200, list.getInt(16));
+        assertEquals(100, sub.removeIntAt(0));
+        assertEquals(8, sub.setInt(3, 80));
+        assertEquals(80, list.getInt(8));
+        int[] values = sub.toIntArray();
+        assertEquals(11, values.length);
+        assertEquals(200, values[10]);
+        assertEquals(sub.subList(3, 4), new IntList(new int[] { 80 }));
+
+        IntSubList inner = sub.subList(2, 5);
+        assertEquals(7, inner.getInt(0));
+        assertEquals(3, inner.size());
+
+        sub.clear();
+        assertEquals(0, sub.size());
+        assertEquals(10, list.size());
+        assertEquals(4, list.getInt(4));
+        assertEquals(15, list.getInt(5));
+    }
+
+    /**
+     * Test delle operazioni di massa e degli iteratori di {@link IntSubList}.
+     *
+     * @summary.test Verifica {@code addAll}, {@code removeAll}, {@code retainAll}, {@code equals}, {@code hashCode}
+     * e l'iteratore primitivo sulla vista.
+     *
+     * @design.test Lista = [0..9]; vista [2, 8); opera sulla vista e controlla la lista padre.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 3, 3, 5, 7, 8, 9].
+     *
+     * @result.test La vista si adegua alle modifiche e la lista padre contiene gli elementi attesi.
+     */
+    @Test
+    public void testSubListBulkAndIterator() {
+        fill(10);
+        IntSubList sub = list.subList(2, 8);
+        assertTrue(sub.addAll(1, new IntList(new int[] { 3, 3 })));
+        assertEquals(8, sub.size());
+        assertEquals(new IntList(new int[] { 2, 3, 3, 3, 4, 5, 6, 7 }), sub);
+
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) evens.add(Integer.valueOf(i));
+        assertTrue(sub.removeAll(evens));
+        assertEquals(5, sub.size());
+        assertEquals(new IntList(new int[] { 3, 3, 3, 5, 7 }), sub);
+        assertEquals(new IntList(new int[] { 3, 3, 3, 5, 7 }).hashCode(), sub.hashCode());
+
+        ListAdapter keep = new ListAdapter();
+        keep.add(Integer.valueOf(5));
+        keep.add(Integer.valueOf(7));
+        assertTrue(sub.retainAll(keep));
+        assertEquals(2, sub.size());
+
+        IntListIterator it = sub.intListIterator();
+        it.addInt(3);
+        it.addInt(3);
+        assertEquals(5, it.nextInt());
+        assertEquals(5, it.previousInt());
+        it.remove();
+        assertEquals(3, sub.size());
+        assertEquals(2, it.nextIndex());
+        assertEquals(7, it.nextInt());
+        assertFalse(it.hasNext());
+
+        HListIterator boxed = sub.listIterator(1);
+        assertEquals(Integer.valueOf(3), boxed.next());
+        boxed.add(Integer.valueOf(5));
+        assertEquals(new IntList(new int[] { 0, 1, 3, 3, 5, 7, 8, 9 }), list);
+        HCollection asCollection = list;
+        assertEquals(8, asCollection.toArray().length);
+    }
+}
@@ -0,0 +1,425 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.ConcurrentListAdapter;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.HListView;
+import myAdapter.JavaListAdapter;
+import myAdapter.ListAdapter;
+import myAdapter.SubListAdapter;
+
+/**
+ * Classe di test per {@code HListView}, {@code JavaListAdapter} e gli {@code Stream} di {@code ListAdapter} e
+ * {@code SubListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica che le viste nelle due direzioni tra {@code HList} e {@code java.util.List}
+ * non copino gli elementi, cioè che le modifiche da un lato siano visibili dall'altro, e che gli stream
+ * sequenziali e paralleli restituiscano gli elementi nell'ordine della lista; controlla inoltre elementi
+ * {@code null}, liste vuote, sottoliste annidate e iteratori resi non validi da una modifica strutturale.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista con
+ * {@code 0..9999}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link HListView}, {@link JavaListAdapter}, {@link ListAdapter},
+ * {@link SubListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class JavaBridgeTest {
+
+    /**
+     * Numero di elementi della lista di prova.
+     */
+    private static final int SIZE = 10000;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private ListAdapter list;
+
+    /** Costruttore di default */
+    public JavaBridgeTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista con {@code 0..9999}.
+     */
+    @Before
+    public void setUp() {
+        list = new ListAdapter();
+        for (int i = 0; i < SIZE; i++) list.add(Integer.valueOf(i));
+    }
+
+    /**
+     * Test di {@link HListView}.
+     *
+     * @summary.test Verifica che la vista sia {@code RandomAccess}, che le modifiche passino nei due sensi e che
+     * gli algoritmi del JDK lavorino sulla lista di partenza.
+     *
+     * @design.test Modifica la vista e la lista; ordina in senso inverso la vista di una sottolista con
+     * {@code Collections.sort}; conta gli elementi pari con lo stream della vista.
+     *
+     * @precondition.test Lista = [0..9999].
+     *
+     * @postcondition.test Lista = [x, 1..9999] con [10, 20) in ordine inverso e senza l'ultimo elemento.
+     *
+     * @result.test Ogni modifica è visibile da entrambi i lati.
+     */
+    @Test
+    public void testHListView() {
+        HListView view = new HListView(list);
+        assertTrue(view instanceof RandomAccess);
+        assertSame(list, view.list());
+        assertEquals(SIZE, view.size());
+
+        assertEquals(Integer.valueOf(0), view.set(0, "x"));
+        assertEquals("x", list.get(0));
+        list.set(1, "y");
+        assertEquals("y", view.get(1));
+        list.set(1, Integer.valueOf(1));
+        view.remove(SIZE - 1);
+        assertEquals(SIZE - 1, list.size());
+        view.add(5, "z");
+        assertEquals("z", list.get(5));
+        assertEquals(5, view.indexOf("z"));
+        view.remove("z");
+        assertFalse(list.contains("z"));
+
+        Collections.sort(new HListView(list.subList(10, 20)), Collections.reverseOrder());
+        for (int i = 10; i < 20; i++) assertEquals(Integer.valueOf(29 - i), list.get(i));
+        assertEquals(Integer.valueOf(20), list.get(20));
+
+        assertEquals(SIZE / 2 - 1, view.stream().filter(new Predicate() {
+            public boolean test(Object o) {
+                return o instanceof Integer && ((Integer) o).intValue() % 2 == 0;
+            }
+        }).count());
+        assertEquals(new ArrayList(view), view);
+    }
+
+    /**
+     * Test di {@link JavaListAdapter}.
+     *
+     * @summary.test Verifica le operazioni di {@code HList} su una {@code java.util.List} e che lavorino sulla
+     * lista di partenza, anche tramite sottolista e iteratore.
+     *
+     * @design.test Aggiunge, rimuove e confronta su un adapter di {@code ArrayList}; rimuove e mantiene
+     * elementi con {@code removeAll}/{@code retainAll}; modifica una sottolista e usa l'iteratore.
+     *
+     * @precondition.test Adapter di un {@code ArrayList} vuoto.
+     *
+     * @postcondition.test {@code ArrayList} = [0, 4, 6, 8, 12, 14, 16, 18].
+     *
+     * @result.test Ogni operazione è visibile sull'{@code ArrayList}; l'adapter è uguale a un
+     * {@code ListAdapter} con gli stessi elementi.
+     */
+    @Test
+    public void testJavaListAdapter() {
+        List backing = new ArrayList();
+        JavaListAdapter adapter = new JavaListAdapter(backing);
+        assertTrue(adapter.isEmpty());
+        ListAdapter head = new ListAdapter();
+        for (int i = 0; i < 20; i++) head.add(Integer.valueOf(i));
+        adapter.addAll(head);
+        assertEquals(20, backing.size());
+        assertEquals(head, adapter);
+        assertEquals(adapter, list.subList(0, 20));
+        assertEquals(head.hashCode(), adapter.hashCode());
+        assertTrue(adapter.containsAll(head));
+        head.add(Integer.valueOf(20));
+        assertFalse(adapter.containsAll(head));
+
+        assertTrue(adapter.remove(Integer.valueOf(10)));
+        assertFalse(backing.contains(Integer.valueOf(10)));
+        HList sub = adapter.subList(2, 4);
+        sub.set(0, "a");
+        assertEquals("a", backing.get(2));
+
+        HListIterator it = adapter.listIterator(adapter.size());
+        assertTrue(it.hasPrevious());
+        assertEquals(Integer.valueOf(19), it.previous());
+        it.remove();
+        assertEquals(18, backing.size());
+
+        ListAdapter odd = new ListAdapter();
+        for (int i = 1; i < SIZE; i += 2) odd.add(Integer.valueOf(i));
+        assertTrue(adapter.removeAll(odd));
+        assertEquals(Integer.valueOf(0), backing.get(0));
+        assertEquals("a", backing.get(1));
+        assertFalse(backing.contains(Integer.valueOf(3)));
+        assertTrue(adapter.retainAll(list));
+        assertFalse(backing.contains("a"));
+        assertEquals(8, adapter.size());
+        assertEquals(Integer.valueOf(18), adapter.get(7));
+
+        try {
+            new JavaListAdapter(Collections.unmodifiableList(backing)).add("b");
+            fail("una lista non modificabile deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test di {@code stream()} e {@code parallelStream()}.
+     *
+     * @summary.test Verifica che gli stream leggano tutti gli elementi nell'ordine della lista, anche divisi in
+     * parallelo, su liste, sottoliste e liste thread-safe.
+     *
+     * @design.test Somma gli elementi con uno stream sequenziale; raccoglie in ordine gli elementi di uno stream
+     * parallelo della lista, di una sottolista e di una {@code ConcurrentListAdapter}.
+     *
+     * @precondition.test Lista = [0..9999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Somma e contenuti coincidono con quelli di un ciclo sequenziale.
+     */
+    @Test
+    public void testStreams() {
+        ToLongFunction value = new ToLongFunction() {
+            public long applyAsLong(Object o) {
+                return ((Integer) o).longValue();
+            }
+        };
+        long sum = list.stream().mapToLong(value).sum();
+        assertEquals((long) SIZE * (SIZE - 1) / 2, sum);
+
+        List doubled = (List) list.parallelStream().map(new Function() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 2);
+            }
+        }).collect(Collectors.toList());
+        assertEquals(SIZE, doubled.size());
+        for (int i = 0; i < SIZE; i++) assertEquals(Integer.valueOf(2 * i), doubled.get(i));
+
+        SubListAdapter sub = (SubListAdapter) list.subList(100, 300);
+        List collected = (List) sub.parallelStream().collect(Collectors.toList());
+        assertEquals(new JavaListAdapter(collected), sub);
+        assertEquals(200, sub.stream().count());
+
+        ConcurrentListAdapter shared = new ConcurrentListAdapter();
+        shared.addAll(list);
+        assertEquals(sum, shared.parallelStream().mapToLong(value).sum());
+        assertEquals(SIZE, list.size());
+    }
+
+    /**
+     * Test di elementi {@code null} attraverso le due viste.
+     *
+     * @summary.test Verifica che ricerche, rimozioni, sostituzioni, confronti e stream trattino {@code null} come
+     * un elemento qualsiasi in entrambe le direzioni.
+     *
+     * @design.test Rende {@code null} alcuni elementi e li cerca, sostituisce e rimuove dalla {@link HListView};
+     * ripete le operazioni su un {@link JavaListAdapter} di un {@code ArrayList} con {@code null}, anche con
+     * {@code removeAll} di una collezione grande che contiene {@code null}.
+     *
+     * @precondition.test Lista = [0..9999].
+     *
+     * @postcondition.test Lista = [null, 1, 2, null, 4..9998, null].
+     *
+     * @result.test Ogni ricerca trova il {@code null} atteso e le liste con gli stessi elementi sono uguali e hanno
+     * lo stesso hash.
+     */
+    @Test
+    public void testNullElements() {
+        HListView view = new HListView(list);
+        list.set(0, null);
+        assertEquals(Integer.valueOf(3), view.set(3, null));
+        view.set(SIZE - 1, null);
+        assertTrue(view.contains(null));
+        assertEquals(0, view.indexOf(null));
+        assertEquals(SIZE - 1, view.lastIndexOf(null));
+        assertEquals(3, view.stream().filter(new Predicate() {
+            public boolean test(Object o) {
+                return o == null;
+            }
+        }).count());
+        ArrayList copy = new ArrayList(view);
+        assertEquals(copy, view);
+        assertEquals(copy.hashCode(), view.hashCode());
+        assertEquals(list.hashCode(), view.hashCode());
+        view.add(1, null);
+        assertTrue(view.remove(null));
+        assertTrue(view.remove(null));
+        assertEquals(Integer.valueOf(1), list.get(0));
+        assertEquals(2, list.indexOf(null));
+        list.add(0, null);
+        assertEquals(SIZE, list.size());
+
+        List backing = new ArrayList();
+        for (int i = 0; i < 40; i++) backing.add(i % 4 == 0 ? null : Integer.valueOf(i));
+        JavaListAdapter adapter = new JavaListAdapter(backing);
+        assertTrue(adapter.contains(null));
+        assertEquals(0, adapter.indexOf(null));
+        assertEquals(36, adapter.lastIndexOf(null));
+        ListAdapter same = new ListAdapter();
+        for (int i = 0; i < 40; i++) same.add(backing.get(i));
+        assertEquals(same, adapter);
+        assertEquals(adapter, same);
+        assertEquals(same.hashCode(), adapter.hashCode());
+        assertNull(adapter.set(4, "x"));
+        assertTrue(adapter.remove(null));
+        assertEquals(Integer.valueOf(1), backing.get(0));
+        ListAdapter some = new ListAdapter();
+        some.add(null);
+        some.add(Integer.valueOf(1));
+        assertTrue(adapter.containsAll(some));
+
+        ListAdapter probe = new ListAdapter();
+        probe.add(null);
+        for (int i = 100; i < 140; i++) probe.add(Integer.valueOf(i));
+        assertTrue(adapter.removeAll(probe));
+        assertFalse(backing.contains(null));
+        assertEquals(31, backing.size());
+        HIterator it = adapter.iterator();
+        while (it.hasNext()) assertNotNull(it.next());
+        adapter.add(null);
+        assertTrue(adapter.retainAll(probe));
+        assertEquals(1, backing.size());
+        assertNull(backing.get(0));
+    }
+
+    /**
+     * Test di liste vuote attraverso le due viste.
+     *
+     * @summary.test Verifica dimensioni, iteratori, confronti, hash, stream e indici non validi di viste su liste
+     * vuote.
+     *
+     * @design.test Crea una {@link HListView} di un {@code ListAdapter} vuoto e di una sottolista vuota, e un
+     * {@link JavaListAdapter} di un {@code ArrayList} vuoto; ne legge i contenuti e accede all'indice 0.
+     *
+     * @precondition.test Lista = [0..9999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Le viste sono vuote, uguali alle liste vuote dell'altro lato con hash 1, e gli accessi per
+     * indice lanciano {@code IndexOutOfBoundsException}.
+     */
+    @Test
+    public void testEmptyLists() {
+        HListView view = new HListView(new ListAdapter());
+        assertTrue(view.isEmpty());
+        assertFalse(view.iterator().hasNext());
+        assertEquals(Collections.EMPTY_LIST, view);
+        assertEquals(1, view.hashCode());
+        assertEquals(0, view.stream().count());
+        assertTrue(((List) view.parallelStream().collect(Collectors.toList())).isEmpty());
+        try {
+            view.get(0);
+            fail("get su vista vuota deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        HListView emptySub = new HListView(list.subList(SIZE, SIZE));
+        assertEquals(0, emptySub.size());
+        assertEquals(-1, emptySub.indexOf(Integer.valueOf(SIZE - 1)));
+        assertEquals(0, ((SubListAdapter) list.subList(5, 5)).parallelStream().count());
+
+        JavaListAdapter adapter = new JavaListAdapter(new ArrayList());
+        assertTrue(adapter.isEmpty());
+        assertFalse(adapter.iterator().hasNext());
+        assertEquals(new ListAdapter(), adapter);
+        assertEquals(adapter, new ListAdapter());
+        assertEquals(new ListAdapter().hashCode(), adapter.hashCode());
+        assertTrue(adapter.subList(0, 0).isEmpty());
+        assertFalse(adapter.addAll(new ListAdapter()));
+        assertFalse(adapter.removeAll(list));
+        assertFalse(adapter.retainAll(list));
+        assertEquals(0, adapter.toArray().length);
+        try {
+            adapter.remove(0);
+            fail("remove su lista vuota deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        try {
+            adapter.subList(0, 1);
+            fail("una sottolista oltre la fine deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertEquals(SIZE, list.size());
+    }
+
+    /**
+     * Test di sottoliste attraverso le due viste e di modifiche concorrenti.
+     *
+     * @summary.test Verifica che le modifiche fatte tramite sottoliste annidate delle due viste arrivino alla lista
+     * di partenza, e che iteratori e sottoliste {@code java.util} di una {@link HListView} diventino non validi
+     * dopo una modifica strutturale fatta tramite la vista.
+     *
+     * @design.test Inserisce, rimuove e svuota una sottolista {@code java.util} della vista di una
+     * {@code SubListAdapter}; sostituisce e svuota una sottolista di una sottolista di un {@link JavaListAdapter};
+     * poi modifica la vista mentre un suo iteratore e una sua sottolista sono aperti.
+     *
+     * @precondition.test Lista = [0..9999].
+     *
+     * @postcondition.test Lista = [0..9999] senza [14, 18).
+     *
+     * @result.test Ogni modifica è visibile sulla lista di partenza; l'iteratore e la sottolista aperti lanciano
+     * {@code ConcurrentModificationException}.
+     */
+    @Test
+    public void testSubListsAndModification() {
+        HListView view = new HListView(list.subList(10, 30));
+        List inner = view.subList(2, 8);
+        inner.add(0, "a");
+        assertEquals("a", list.get(12));
+        assertEquals(21, view.size());
+        assertEquals("a", inner.remove(0));
+        inner.subList(2, 6).clear();
+        assertEquals(2, inner.size());
+        assertEquals(Integer.valueOf(18), list.get(14));
+        assertEquals(SIZE - 4, list.size());
+
+        List backing = new ArrayList();
+        for (int i = 0; i < 20; i++) backing.add(Integer.valueOf(i));
+        JavaListAdapter adapter = new JavaListAdapter(backing);
+        HList nested = adapter.subList(5, 15).subList(2, 6);
+        assertEquals(Integer.valueOf(7), nested.set(0, null));
+        assertNull(backing.get(7));
+        assertEquals(0, nested.indexOf(null));
+        nested.clear();
+        assertEquals(16, backing.size());
+        assertEquals(Integer.valueOf(11), backing.get(7));
+        assertEquals(new HListView(adapter), backing);
+
+        HListView whole = new HListView(list);
+        Iterator it = whole.iterator();
+        it.next();
+        List open = whole.subList(0, 5);
+        whole.add(0, "b");
+        try {
+            it.next();
+            fail("l'iteratore deve accorgersi della modifica strutturale");
+        } catch (ConcurrentModificationException expected) {
+            // atteso
+        }
+        try {
+            open.size();
+            fail("la sottolista deve accorgersi della modifica strutturale");
+        } catch (ConcurrentModificationException expected) {
+            // atteso
+        }
+        assertEquals("b", whole.remove(0));
+        assertEquals(Integer.valueOf(10), list.get(10));
+        assertEquals(Integer.valueOf(13), list.get(13));
+    }
+}
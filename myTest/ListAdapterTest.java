@@ -3,12 +3,30 @@ package myTest;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
-
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import myAdapter.ArrayStorage;
+import myAdapter.BTreeStorage;
+import myAdapter.ChunkedStorage;
+import myAdapter.CombiningListAdapter;
+import myAdapter.ConcurrentListAdapter;
+import myAdapter.GapBufferStorage;
 import myAdapter.HCollection;
+import myAdapter.HConsumer;
+import myAdapter.HIndexedConsumer;
 import myAdapter.HIterator;
 import myAdapter.HList;
 import myAdapter.HListIterator;
+import myAdapter.HPredicate;
+import myAdapter.HUnaryOperator;
+import myAdapter.IndexedStorage;
 import myAdapter.ListAdapter;
+import myAdapter.RingBufferStorage;
+import myAdapter.StripedListAdapter;
+import myAdapter.VectorStorage;
 
 /**
  * Classe di test per {@code ListAdapter}.
@@ -26,7 +44,8 @@ import myAdapter.ListAdapter;
  * input validi e invalidi, verificando pre-condizioni, post-condizioni e risultati attesi. I metodi {@code subList}, {@code listIterator} e altri comportamenti dinamici sono inclusi per copertura estesa.
  *
  * <p>
- * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link ListAdapter} tramite {@link #setUp()}.
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link ListAdapter} tramite {@link #setUp()},
+ * una volta per ciascun backend restituito da {@link #backends()}.
  *
  * <p>
  * <strong>Expected Results:</strong> Ogni operazione deve comportarsi in accordo con le specifiche di {@code HList} e lanciare eccezioni quando previsto. In caso contrario, il test fallisce.
@@ -40,18 +59,55 @@ import myAdapter.ListAdapter;
  * <p>
  * <strong>Dipendenze:</strong> {@link ListAdapter}, {@link HList}, {@link HIterator}, {@link HListIterator}, {@link HCollection}, {@code junit-4.13.2.jar}
  */
+@RunWith(Parameterized.class)
 public class ListAdapterTest {
     /**
      * Lista da testare, viene reinizializzata prima di ogni test.
      */
     private HList list;
 
+    /**
+     * Nome del backend su cui viene eseguita la suite.
+     */
+    @Parameter
+    public String backend;
+
+    /**
+     * Backend su cui eseguire l'intera suite.
+     *
+     * @return nomi dei backend accettati da {@link #newList(String)}
+     */
+    @Parameters(name = "{0}")
+    public static Object[] backends() {
+        return new Object[] { "vector", "array", "indexed", "gap", "ring", "chunked", "btree", "concurrent", "combining", "striped" };
+    }
+
+    /**
+     * Crea una lista vuota basata sul backend indicato.
+     *
+     * @param backend nome del backend
+     * @return nuova lista vuota
+     */
+    static ListAdapter newList(String backend) {
+        if (backend.equals("vector")) return new ListAdapter(new VectorStorage());
+        if (backend.equals("array")) return new ListAdapter(new ArrayStorage());
+        if (backend.equals("indexed")) return new ListAdapter(new IndexedStorage(new ArrayStorage()));
+        if (backend.equals("gap")) return new ListAdapter(new GapBufferStorage());
+        if (backend.equals("ring")) return new ListAdapter(new RingBufferStorage());
+        if (backend.equals("chunked")) return new ListAdapter(new ChunkedStorage(4)); // blocchi piccoli: più divisioni e fusioni
+        if (backend.equals("btree")) return new ListAdapter(new BTreeStorage(4)); // nodi piccoli: albero su più livelli
+        if (backend.equals("concurrent")) return new ConcurrentListAdapter();
+        if (backend.equals("combining")) return new CombiningListAdapter();
+        if (backend.equals("striped")) return new StripedListAdapter(2, 3); // segmenti piccoli: elementi vicini su lock diversi
+        throw new IllegalArgumentException("Backend sconosciuto: " + backend);
+    }
+
     /**
      * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
      */
     @Before
     public void setUp() {
-        list = new ListAdapter();
+        list = newList(backend);
     }
 
     /**
@@ -932,4 +988,686 @@ public class ListAdapterTest {
         list.addAll(1, c);
     }
 
+    /**
+     * Test del costruttore {@link ListAdapter#ListAdapter(myAdapter.ListStorage)} con backend null.
+     *
+     * @summary.test Verifica che non sia possibile creare una lista senza backend.
+     *
+     * @design.test Passa {@code null} al costruttore.
+     *
+     * @precondition.test Nessuna.
+     *
+     * @postcondition.test Nessuna lista creata.
+     *
+     * @result.test Deve essere lanciata {@code NullPointerException}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testNullStorage() {
+        new ListAdapter(null);
+    }
+
+    /**
+     * Test di inserimenti e rimozioni ripetuti oltre la capacità iniziale del backend.
+     *
+     * @summary.test Verifica che il backend cresca correttamente e mantenga l'ordine degli elementi.
+     *
+     * @design.test Inserisce 100 elementi alternando testa e coda, poi rimuove quelli in posizione pari.
+     *
+     * @description.test
+     * <ul>
+     *   <li>Inserire i valori 0..99: i pari in coda, i dispari in testa</li>
+     *   <li>Rimuovere dalla testa i 50 dispari</li>
+     * </ul>
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 2, ..., 98].
+     *
+     * @result.test Dimensione e contenuto coerenti dopo ogni fase.
+     */
+    @Test
+    public void testGrowAndShrink() {
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0) list.add(Integer.valueOf(i));
+            else list.add(0, Integer.valueOf(i));
+        }
+        assertEquals(100, list.size());
+        assertEquals(Integer.valueOf(99), list.get(0));
+        assertEquals(Integer.valueOf(98), list.get(99));
+        for (int i = 0; i < 50; i++) {
+            list.remove(0);
+        }
+        assertEquals(50, list.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(2 * i), list.get(i));
+        }
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HCollection#removeAll(HCollection)} e {@link myAdapter.HCollection#retainAll(HCollection)}
+     * con duplicati, {@code null} e una collezione abbastanza grande da usare la ricerca tramite hash.
+     *
+     * @summary.test Verifica che la compattazione in un'unica passata preservi ordine e duplicati.
+     *
+     * @design.test Lista = [0, null, 1, 2, ..., 99, 0, null]; la collezione contiene i pari tra 0 e 98 e {@code null}.
+     *
+     * @description.test
+     * <ul>
+     *   <li>{@code removeAll} sulla copia: restano i dispari in ordine</li>
+     *   <li>{@code retainAll} sulla lista: restano 0, null, i pari e di nuovo 0, null</li>
+     * </ul>
+     *
+     * @precondition.test Lista e collezione create come descritto.
+     *
+     * @postcondition.test Le liste contengono solo gli elementi attesi.
+     *
+     * @result.test Dimensioni e contenuto corretti; entrambe le operazioni restituiscono {@code true}.
+     */
+    @Test
+    public void testBatchRemoveLargeCollection() {
+        list.add(Integer.valueOf(0));
+        list.add(null);
+        for (int i = 1; i < 100; i++) list.add(Integer.valueOf(i));
+        list.add(Integer.valueOf(0));
+        list.add(null);
+
+        HCollection evens = new ListAdapter();
+        for (int i = 0; i < 100; i += 2) evens.add(Integer.valueOf(i));
+        evens.add(null);
+
+        HList copy = newList(backend);
+        copy.addAll((HCollection) list);
+        assertTrue(copy.removeAll(evens));
+        assertEquals(50, copy.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(2 * i + 1), copy.get(i));
+        }
+
+        assertTrue(list.retainAll(evens));
+        assertEquals(53, list.size());
+        assertEquals(Integer.valueOf(0), list.get(0));
+        assertNull(list.get(1));
+        assertEquals(Integer.valueOf(98), list.get(50));
+        assertEquals(Integer.valueOf(0), list.get(51));
+        assertNull(list.get(52));
+        assertFalse(list.retainAll(evens));
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HCollection#removeAll(HCollection)} e {@link myAdapter.HCollection#retainAll(HCollection)}
+     * passando la lista stessa come argomento.
+     *
+     * @summary.test Verifica che la lista non venga letta mentre è in corso la compattazione su se stessa.
+     *
+     * @design.test Lista = ["A", "B", "A"].
+     *
+     * @precondition.test Lista non vuota.
+     *
+     * @postcondition.test Dopo {@code retainAll(list)} la lista è invariata; dopo {@code removeAll(list)} è vuota.
+     *
+     * @result.test {@code retainAll} restituisce {@code false}, {@code removeAll} restituisce {@code true}.
+     */
+    @Test
+    public void testBatchRemoveSelf() {
+        list.add("A");
+        list.add("B");
+        list.add("A");
+        HCollection self = (HCollection) list;
+        assertFalse(list.retainAll(self));
+        assertEquals(3, list.size());
+        assertTrue(list.removeAll(self));
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HList#addAll(int, HCollection)} con molti elementi e con la lista stessa come argomento.
+     *
+     * @summary.test Verifica che l'inserimento a blocchi mantenga l'ordine e non legga la lista mentre viene modificata.
+     *
+     * @design.test Lista = [0..9]; inserisce 50 elementi in posizione 5, poi inserisce la lista in se stessa in posizione 1.
+     *
+     * @description.test
+     * <ul>
+     *   <li>{@code addAll(5, [100..149])} → [0..4, 100..149, 5..9]</li>
+     *   <li>{@code addAll(1, list)} → la dimensione raddoppia</li>
+     *   <li>{@code addAll(list)} → la dimensione raddoppia di nuovo</li>
+     * </ul>
+     *
+     * @precondition.test Lista contenente gli interi da 0 a 9.
+     *
+     * @postcondition.test Lista di 240 elementi.
+     *
+     * @result.test Posizioni degli elementi coerenti con gli inserimenti.
+     */
+    @Test
+    public void testAddAllBulkAndSelf() {
+        for (int i = 0; i < 10; i++) list.add(Integer.valueOf(i));
+        HCollection block = new ListAdapter();
+        for (int i = 100; i < 150; i++) block.add(Integer.valueOf(i));
+
+        assertTrue(list.addAll(5, block));
+        assertEquals(60, list.size());
+        assertEquals(Integer.valueOf(4), list.get(4));
+        assertEquals(Integer.valueOf(100), list.get(5));
+        assertEquals(Integer.valueOf(149), list.get(54));
+        assertEquals(Integer.valueOf(5), list.get(55));
+
+        assertTrue(list.addAll(1, (HCollection) list));
+        assertEquals(120, list.size());
+        assertEquals(Integer.valueOf(0), list.get(0));
+        assertEquals(Integer.valueOf(0), list.get(1));
+        assertEquals(Integer.valueOf(9), list.get(60));
+        assertEquals(Integer.valueOf(1), list.get(61));
+
+        assertTrue(list.addAll((HCollection) list));
+        assertEquals(240, list.size());
+        assertEquals(Integer.valueOf(9), list.get(239));
+        assertFalse(list.addAll(0, new ListAdapter()));
+    }
+
+    /**
+     * Test dei metodi {@link myAdapter.HList#indexOf(Object)}, {@link myAdapter.HList#lastIndexOf(Object)} e
+     * {@link myAdapter.HList#contains(Object)} dopo modifiche che spostano gli elementi.
+     *
+     * @summary.test Verifica che le ricerche restino corrette con duplicati e {@code null} dopo inserimenti, rimozioni,
+     * sostituzioni e modifiche tramite iteratore.
+     *
+     * @design.test Lista = ["A", null, "B", "A", null]; alterna mutazioni e ricerche.
+     *
+     * @description.test
+     * <ul>
+     *   <li>{@code add(0, "B")}, {@code remove(2)}, {@code set(3, "C")}</li>
+     *   <li>rimozione del primo "A" tramite {@code listIterator}</li>
+     *   <li>ricerche su lista e sottolista</li>
+     * </ul>
+     *
+     * @precondition.test Lista = ["A", null, "B", "A", null].
+     *
+     * @postcondition.test Lista = ["B", "B", "C", null].
+     *
+     * @result.test Gli indici restituiti corrispondono alle posizioni effettive.
+     */
+    @Test
+    public void testSearchAfterShifts() {
+        list.add("A");
+        list.add(null);
+        list.add("B");
+        list.add("A");
+        list.add(null);
+        assertEquals(0, list.indexOf("A"));
+        assertEquals(3, list.lastIndexOf("A"));
+        assertEquals(4, list.lastIndexOf(null));
+
+        list.add(0, "B");              // ["B", "A", null, "B", "A", null]
+        assertEquals(1, list.indexOf("A"));
+        assertEquals(3, list.lastIndexOf("B"));
+        list.remove(2);                // ["B", "A", "B", "A", null]
+        assertEquals(4, list.indexOf(null));
+        list.set(3, "C");              // ["B", "A", "B", "C", null]
+        assertEquals(1, list.lastIndexOf("A"));
+        assertEquals(3, list.indexOf("C"));
+
+        HListIterator it = list.listIterator();
+        it.next();
+        it.next();
+        it.remove();                   // ["B", "B", "C", null]
+        assertFalse(list.contains("A"));
+        assertEquals(-1, list.indexOf("A"));
+        assertEquals(1, list.lastIndexOf("B"));
+        assertEquals(3, list.indexOf(null));
+
+        HList sub = list.subList(1, 3); // ["B", "C"]
+        assertEquals(0, sub.indexOf("B"));
+        assertEquals(0, sub.lastIndexOf("B"));
+        assertEquals(-1, sub.indexOf(null));
+        assertTrue(sub.contains("C"));
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HCollection#containsAll(HCollection)} con una collezione grande, su lista e sottolista.
+     *
+     * @summary.test Verifica che il confronto tramite insieme hash dia gli stessi risultati della ricerca lineare.
+     *
+     * @design.test Lista = [0..99, null]; collezioni di 40 elementi dentro e fuori dalla finestra [10, 60).
+     *
+     * @precondition.test Lista di 101 elementi.
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test {@code containsAll} vero solo quando tutti gli elementi cadono nell'intervallo considerato.
+     */
+    @Test
+    public void testContainsAllLargeCollection() {
+        for (int i = 0; i < 100; i++) list.add(Integer.valueOf(i));
+        list.add(null);
+        HCollection inside = new ListAdapter();
+        for (int i = 10; i < 50; i++) inside.add(Integer.valueOf(i));
+        inside.add(null);
+        assertTrue(list.containsAll(inside));
+        assertFalse(list.subList(10, 60).containsAll(inside));
+        inside.remove(null);
+        assertTrue(list.subList(10, 60).containsAll(inside));
+        inside.add(Integer.valueOf(60));
+        assertFalse(list.subList(10, 60).containsAll(inside));
+        inside.add(Integer.valueOf(1000));
+        assertFalse(list.containsAll(inside));
+    }
+
+    /**
+     * Test di modifiche ripetute tramite {@link myAdapter.HListIterator} intorno allo stesso cursore.
+     *
+     * @summary.test Verifica che inserimenti e rimozioni al cursore, alternati a spostamenti avanti e indietro,
+     * producano lo stesso risultato su ogni backend.
+     *
+     * @design.test Lista = [0..19]; dal centro inserisce, arretra, rimuove e sostituisce elementi.
+     *
+     * @description.test
+     * <ul>
+     *   <li>cursore in posizione 10: {@code add("x")} per 5 volte</li>
+     *   <li>{@code previous()} + {@code remove()} due volte</li>
+     *   <li>{@code next()} + {@code set("y")}, poi {@code toArray()}</li>
+     * </ul>
+     *
+     * @precondition.test Lista contenente gli interi da 0 a 19.
+     *
+     * @postcondition.test Lista di 23 elementi.
+     *
+     * @result.test Contenuto e {@code toArray()} coerenti con le operazioni eseguite.
+     */
+    @Test
+    public void testCursorLocalEdits() {
+        for (int i = 0; i < 20; i++) list.add(Integer.valueOf(i));
+        HListIterator it = list.listIterator(10);
+        for (int i = 0; i < 5; i++) it.add("x");
+        it.previous();
+        it.remove();
+        it.previous();
+        it.remove();
+        assertEquals(13, it.nextIndex());
+        it.next();
+        it.set("y");
+        assertEquals(23, list.size());
+        assertEquals(Integer.valueOf(9), list.get(9));
+        assertEquals("x", list.get(12));
+        assertEquals("y", list.get(13));
+        assertEquals(Integer.valueOf(11), list.get(14));
+        Object[] arr = list.toArray();
+        assertEquals(23, arr.length);
+        assertEquals("y", arr[13]);
+        assertEquals(Integer.valueOf(19), arr[22]);
+        list.add(0, "z");
+        assertEquals("z", list.toArray()[0]);
+        assertEquals(Integer.valueOf(19), list.get(23));
+    }
+
+    /**
+     * Test dell'uso della lista come coda: inserimenti in coda e rimozioni in testa oltre la capacità iniziale.
+     *
+     * @summary.test Verifica che produttori in coda e consumatori in testa mantengano l'ordine FIFO,
+     * anche quando gli elementi attraversano il bordo dell'array circolare.
+     *
+     * @design.test Per 200 volte aggiunge due elementi in coda e ne rimuove uno dalla testa; inserisce anche in testa.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = ["h", 200..399].
+     *
+     * @result.test Gli elementi rimossi escono in ordine; {@code get}, {@code listIterator} e {@code subList} usano indici logici.
+     */
+    @Test
+    public void testQueueUsage() {
+        int next = 0;
+        for (int i = 0; i < 200; i++) {
+            list.add(Integer.valueOf(next++));
+            list.add(Integer.valueOf(next++));
+            assertEquals(Integer.valueOf(i), list.remove(0));
+        }
+        assertEquals(200, list.size());
+        list.add(0, "h");
+        assertEquals("h", list.get(0));
+        assertEquals(Integer.valueOf(200), list.get(1));
+        assertEquals(Integer.valueOf(399), list.get(200));
+
+        HListIterator it = list.listIterator(1);
+        assertEquals(Integer.valueOf(200), it.next());
+        HList sub = list.subList(100, 110);
+        assertEquals(Integer.valueOf(299), sub.get(0));
+        sub.clear();
+        assertEquals(191, list.size());
+        assertEquals(Integer.valueOf(309), list.get(100));
+        assertEquals(Integer.valueOf(399), list.remove(190));
+    }
+
+    /**
+     * Test di inserimenti e rimozioni in posizioni sparse e della costruzione di un {@link BTreeStorage} dalla lista.
+     *
+     * @summary.test Verifica che modifiche in testa, in mezzo e in coda mantengano l'ordine e che una copia
+     * costruita in blocco dalla lista ne conservi contenuto e ordine.
+     *
+     * @design.test Riempie la lista con 0..299, inserisce un marcatore ogni 10 posizioni, rimuove i multipli di 3
+     * e poi ricostruisce una lista con {@link BTreeStorage#BTreeStorage(HCollection)}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test La copia è uguale alla lista e resta modificabile in modo indipendente.
+     *
+     * @result.test Gli indici logici restano coerenti dopo le modifiche e la copia costruita in blocco è uguale alla lista.
+     */
+    @Test
+    public void testScatteredEditsAndBulkLoad() {
+        for (int i = 0; i < 300; i++) list.add(Integer.valueOf(i));
+        for (int i = 300; i >= 0; i -= 10) list.add(i, "m");
+        assertEquals(331, list.size());
+        assertEquals("m", list.get(0));
+        assertEquals(Integer.valueOf(0), list.get(1));
+        assertEquals("m", list.get(11));
+        assertEquals(Integer.valueOf(10), list.get(12));
+        assertEquals("m", list.get(330));
+        for (int i = 0; i < 300; i += 3) assertTrue(list.remove(Integer.valueOf(i)));
+        assertEquals(231, list.size());
+        assertEquals(Integer.valueOf(1), list.get(1));
+        assertEquals(Integer.valueOf(299), list.get(229));
+        assertEquals(-1, list.indexOf(Integer.valueOf(150)));
+        assertEquals(6, list.subList(1, list.size()).indexOf("m"));
+        HList sub = list.subList(100, 150);
+        Object[] arr = sub.toArray();
+        assertEquals(50, arr.length);
+        assertEquals(list.get(100), arr[0]);
+        assertEquals(list.get(149), arr[49]);
+
+        ListAdapter copy = new ListAdapter(new BTreeStorage((HCollection) list));
+        assertEquals(list, copy);
+        assertEquals(list.hashCode(), copy.hashCode());
+        copy.add(115, "c");
+        copy.remove(0);
+        assertEquals(231, copy.size());
+        assertEquals("c", copy.get(114));
+        assertEquals(231, list.size());
+        assertEquals(new ListAdapter(new BTreeStorage(new ListAdapter())), new ListAdapter());
+    }
+
+    /**
+     * Test del metodo {@link ListAdapter#snapshotIterator()}.
+     *
+     * @summary.test Verifica che l'iteratore a fotografia restituisca gli elementi presenti alla sua creazione
+     * mentre la lista viene modificata, e che le modifiche alla lista restino corrette.
+     *
+     * @design.test Crea tre fotografie in momenti diversi alternandole ad aggiunte in coda, sostituzioni,
+     * inserimenti, rimozioni e {@code clear}, poi le scorre in avanti e all'indietro.
+     *
+     * @precondition.test Lista = [0..19].
+     *
+     * @postcondition.test Lista = [z].
+     *
+     * @result.test Ogni fotografia contiene gli elementi del proprio momento; {@code remove}, {@code set} e
+     * {@code add} dell'iteratore lanciano {@code UnsupportedOperationException}.
+     */
+    @Test
+    public void testSnapshotIterator() {
+        ListAdapter l = (ListAdapter) list;
+        for (int i = 0; i < 20; i++) l.add(Integer.valueOf(i));
+        HListIterator first = l.snapshotIterator();
+        l.add("tail");
+        HListIterator second = l.snapshotIterator();
+        l.set(0, "x");
+        l.remove(5);
+        l.add(3, "y");
+        HListIterator third = l.snapshotIterator();
+        l.clear();
+        l.add("z");
+
+        for (int i = 0; i < 20; i++) assertEquals(Integer.valueOf(i), first.next());
+        assertFalse(first.hasNext());
+        assertEquals(Integer.valueOf(19), first.previous());
+        int n = 0;
+        while (second.hasNext()) {
+            Object o = second.next();
+            assertEquals(n < 20 ? (Object) Integer.valueOf(n) : "tail", o);
+            n++;
+        }
+        assertEquals(21, n);
+        assertEquals("x", third.next());
+        third.next();
+        third.next();
+        assertEquals("y", third.next());
+        assertEquals(4, third.nextIndex());
+        try {
+            third.remove();
+            fail("remove deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            third.set("w");
+            fail("set deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        assertEquals(1, l.size());
+        assertEquals("z", l.get(0));
+        assertFalse(new ListAdapter().snapshotIterator().hasNext());
+    }
+
+    /**
+     * Test del metodo {@link ListAdapter#snapshotIterator()} con modifiche in blocco.
+     *
+     * @summary.test Verifica che le modifiche in blocco e le rimozioni dalla coda, che sul backend spostano o
+     * cancellano più posizioni insieme, non alterino una fotografia presa prima.
+     *
+     * @design.test Prende una fotografia, poi svuota una vista, inserisce una collezione in mezzo, rimuove con
+     * {@code removeIf} e dalla coda; ne prende un'altra e svuota la lista.
+     *
+     * @precondition.test Lista = [0..9].
+     *
+     * @postcondition.test Lista vuota.
+     *
+     * @result.test La prima fotografia resta [0..9] e la seconda contiene gli elementi dopo le modifiche.
+     */
+    @Test
+    public void testSnapshotIteratorBulkWrites() {
+        ListAdapter l = (ListAdapter) list;
+        for (int i = 0; i < 10; i++) l.add(Integer.valueOf(i));
+        HListIterator first = l.snapshotIterator();
+        l.subList(2, 5).clear();
+        ListAdapter inserted = new ListAdapter();
+        inserted.add("a");
+        inserted.add("b");
+        l.addAll(1, inserted);
+        l.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return Integer.valueOf(6).equals(o);
+            }
+        });
+        l.remove(l.size() - 1);
+        HListIterator second = l.snapshotIterator();
+        l.clear();
+        for (int i = 0; i < 10; i++) assertEquals(Integer.valueOf(i), first.next());
+        assertFalse(first.hasNext());
+        Object[] expected = { Integer.valueOf(0), "a", "b", Integer.valueOf(1), Integer.valueOf(5),
+            Integer.valueOf(7), Integer.valueOf(8) };
+        for (int i = 0; i < expected.length; i++) assertEquals(expected[i], second.next());
+        assertFalse(second.hasNext());
+        assertTrue(l.isEmpty());
+    }
+
+    /**
+     * Test dei metodi {@link ListAdapter#forEach(HConsumer)} e {@link ListAdapter#forEachIndexed(HIndexedConsumer)}.
+     *
+     * @summary.test Verifica che la visita interna passi ogni elemento una volta e in ordine, con la posizione
+     * corretta, su tutta la lista e su un intervallo che attraversa più blocchi, e che l'azione possa sostituire
+     * gli elementi.
+     *
+     * @design.test Somma gli elementi di una lista di 3000 elementi con {@code forEach}; con {@code forEachIndexed}
+     * sull'intervallo [1000, 2500) controlla le posizioni e sostituisce ogni elemento con il suo doppio; visita
+     * un intervallo vuoto; prova un intervallo non valido e un'azione null.
+     *
+     * @precondition.test Lista = [0..2999].
+     *
+     * @postcondition.test Lista = [0..999, 2000, 2002..4998, 2500..2999].
+     *
+     * @result.test Somma, posizioni e sostituzioni corrispondono; gli errori lanciano
+     * {@code IndexOutOfBoundsException} e {@code NullPointerException}.
+     */
+    @Test
+    public void testForEach() {
+        final ListAdapter l = (ListAdapter) list;
+        for (int i = 0; i < 3000; i++) l.add(Integer.valueOf(i));
+        final long[] sum = { 0 };
+        l.forEach(new HConsumer() {
+            public void accept(Object o) {
+                sum[0] += ((Integer) o).intValue();
+            }
+        });
+        assertEquals(3000L * 2999 / 2, sum[0]);
+
+        final int[] next = { 1000 };
+        l.forEachIndexed(1000, 2500, new HIndexedConsumer() {
+            public void accept(int index, Object o) {
+                assertEquals(next[0]++, index);
+                assertEquals(Integer.valueOf(index), o);
+                l.set(index, Integer.valueOf(2 * index));
+            }
+        });
+        assertEquals(2500, next[0]);
+        assertEquals(Integer.valueOf(999), l.get(999));
+        assertEquals(Integer.valueOf(2000), l.get(1000));
+        assertEquals(Integer.valueOf(4998), l.get(2499));
+        assertEquals(Integer.valueOf(2500), l.get(2500));
+
+        l.forEach(7, 7, new HConsumer() {
+            public void accept(Object o) {
+                fail("un intervallo vuoto non deve visitare elementi");
+            }
+        });
+        try {
+            l.forEach(10, 3001, new HConsumer() {
+                public void accept(Object o) {
+                }
+            });
+            fail("un intervallo oltre la fine deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        try {
+            l.forEachIndexed(null);
+            fail("un'azione null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test dei metodi {@link ListAdapter#removeIf(HPredicate)} e {@link ListAdapter#replaceAll(HUnaryOperator)}.
+     *
+     * @summary.test Verifica che {@code removeIf} tolga solo gli elementi che soddisfano la condizione,
+     * mantenendo l'ordine degli altri, che lasci la lista invariata se la condizione lancia un'eccezione, e che
+     * {@code replaceAll} sostituisca ogni elemento.
+     *
+     * @design.test Su una lista di 3000 elementi con alcuni null: rimuove i multipli di 3 e i null; prova una
+     * condizione che non rimuove niente e una che lancia un'eccezione a metà; raddoppia gli elementi rimasti;
+     * infine rimuove tutto.
+     *
+     * @precondition.test Lista = [0..2999] con null al posto dei multipli di 100.
+     *
+     * @postcondition.test Lista vuota.
+     *
+     * @result.test Restano 1980 elementi, doppi di quelli non multipli di 3 né di 100, nell'ordine originale.
+     */
+    @Test
+    public void testRemoveIfAndReplaceAll() {
+        ListAdapter l = (ListAdapter) list;
+        for (int i = 0; i < 3000; i++) l.add(i % 100 == 0 ? null : Integer.valueOf(i));
+        assertTrue(l.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return o == null || ((Integer) o).intValue() % 3 == 0;
+            }
+        }));
+        assertEquals(1980, l.size());
+        assertFalse(l.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return o == null;
+            }
+        }));
+        try {
+            l.removeIf(new HPredicate() {
+                public boolean test(Object o) {
+                    if (((Integer) o).intValue() > 2000) throw new IllegalStateException("stop");
+                    return true;
+                }
+            });
+            fail("l'eccezione della condizione deve arrivare al chiamante");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        assertEquals(1980, l.size());
+
+        l.replaceAll(new HUnaryOperator() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 2);
+            }
+        });
+        int k = 0;
+        for (int i = 0; i < 3000; i++) {
+            if (i % 3 != 0 && i % 100 != 0) assertEquals(Integer.valueOf(2 * i), l.get(k++));
+        }
+        assertEquals(1980, k);
+
+        assertTrue(l.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return true;
+            }
+        }));
+        assertTrue(l.isEmpty());
+        try {
+            l.replaceAll(null);
+            fail("un'operazione null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test di {@code indexOf} e {@code lastIndexOf} alternati a modifiche in mezzo alla lista.
+     *
+     * @summary.test Verifica che le ricerche restino esatte quando ogni modifica sposta gli elementi
+     * successivi, anche per elementi duplicati di cui viene rimossa la prima o l'ultima occorrenza.
+     *
+     * @design.test Su una lista di 300 elementi con valori ripetuti ogni 50 posizioni, esegue 400 giri che
+     * alternano inserimenti e rimozioni in mezzo, rimozioni di intervalli e ricerche, confrontando ogni
+     * ricerca con una scansione della lista.
+     *
+     * @precondition.test Lista = [0..49] ripetuta 6 volte.
+     *
+     * @postcondition.test Lista modificata dai giri.
+     *
+     * @result.test Ogni {@code indexOf} e {@code lastIndexOf} coincide con la scansione.
+     */
+    @Test
+    public void testLookupsBetweenMiddleEdits() {
+        ListAdapter l = (ListAdapter) list;
+        for (int i = 0; i < 300; i++) l.add(Integer.valueOf(i % 50));
+        java.util.Random random = new java.util.Random(6);
+        for (int round = 0; round < 400; round++) {
+            int size = l.size();
+            switch (round % 4) {
+                case 0: l.add(random.nextInt(size + 1), Integer.valueOf(random.nextInt(60))); break;
+                case 1: l.remove(random.nextInt(size)); break;
+                case 2: l.subList(size / 3, size / 3 + random.nextInt(3)).clear(); break;
+                default: l.add(Integer.valueOf(random.nextInt(60)));
+            }
+            for (int k = 0; k < 3; k++) {
+                Integer v = Integer.valueOf(random.nextInt(60));
+                int first = -1;
+                int last = -1;
+                for (int i = 0; i < l.size(); i++) {
+                    if (v.equals(l.get(i))) {
+                        if (first < 0) first = i;
+                        last = i;
+                    }
+                }
+                assertEquals("indexOf " + v + " al giro " + round, first, l.indexOf(v));
+                assertEquals("lastIndexOf " + v + " al giro " + round, last, l.lastIndexOf(v));
+            }
+        }
+    }
 }
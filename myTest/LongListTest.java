@@ -0,0 +1,525 @@
+package myTest;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HCollection;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+import myAdapter.LongList;
+import myAdapter.LongListIterator;
+import myAdapter.LongSubList;
+
+/**
+ * Classe di test per {@code LongList} e {@code LongSubList}.
+ * Contiene test unitari per verificarne il comportamento rispetto all'interfaccia {@code HList}
+ * e all'accesso primitivo ai valori {@code long}.
+ * <p>
+ * <strong>Summary:</strong> Verifica accesso, ricerca e modifica primitivi con valori oltre il range di {@code int}
+ * e valori estremi, conversione in {@link Long} al confine con {@code HList}, uguaglianza e codice hash, operazioni
+ * di massa, iteratori primitivi e sottoliste.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata una nuova istanza vuota di {@link LongList} tramite {@link #setUp()}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link LongList}, {@link LongSubList}, {@link LongListIterator}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class LongListTest {
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private LongList list;
+
+    /** Costruttore di default */
+    public LongListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new LongList();
+    }
+
+    /**
+     * Riempie la lista con i valori {@code 0..n-1}.
+     *
+     * @param n numero di valori
+     */
+    private void fill(int n) {
+        for (int i = 0; i < n; i++) list.addLong(i);
+    }
+
+    /**
+     * Test dell'accesso primitivo e della conversione al confine con {@link HList}.
+     *
+     * @summary.test Verifica che valori oltre il range di {@code int} vengano conservati e restituiti come {@link Long},
+     * e che un {@link Integer} venga rifiutato.
+     *
+     * @design.test Aggiunge {@code Long.MAX_VALUE}, {@code -1} e {@code 1L << 40}; li cerca e li sostituisce.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [Long.MAX_VALUE, 7, 1L << 40].
+     *
+     * @result.test I valori letti coincidono; {@code add(Integer)} lancia {@code ClassCastException}.
+     */
+    @Test
+    public void testPrimitiveAccessAndBoxing() {
+        list.addLong(Long.MAX_VALUE);
+        list.addLong(-1L);
+        list.addLong(1L << 40);
+        assertEquals(Long.MAX_VALUE, list.getLong(0));
+        assertEquals(2, list.indexOfLong(1L << 40));
+        assertEquals(-1, list.indexOfLong(0L));
+        assertEquals(Long.valueOf(-1L), list.set(1, Long.valueOf(7L)));
+        assertEquals(Long.valueOf(7L), list.get(1));
+        assertFalse(list.contains(Integer.valueOf(7)));
+        try {
+            list.add(Integer.valueOf(7));
+            fail("un Integer deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(3, list.size());
+    }
+
+    /**
+     * Test dei metodi {@link LongList#equals(Object)} e {@link LongList#hashCode()}.
+     *
+     * @summary.test Verifica che il codice hash coincida con quello di una {@link ListAdapter} degli stessi {@link Long},
+     * anche per valori con i 32 bit alti non nulli.
+     *
+     * @design.test Confronta la lista [1L << 33, -5, 0] con una {@link ListAdapter} equivalente.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Liste invariate.
+     *
+     * @result.test Le liste sono uguali in entrambe le direzioni e hanno lo stesso codice hash.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        long[] values = { 1L << 33, -5L, 0L };
+        ListAdapter boxed = new ListAdapter();
+        for (int i = 0; i < values.length; i++) {
+            list.addLong(values[i]);
+            boxed.add(Long.valueOf(values[i]));
+        }
+        assertEquals(boxed, list);
+        assertEquals(list, boxed);
+        assertEquals(boxed.hashCode(), list.hashCode());
+        assertEquals(new LongList(values), list);
+    }
+
+    /**
+     * Test di {@link LongList#subList(int, int)} con l'iteratore primitivo della sottolista.
+     *
+     * @summary.test Verifica che l'iteratore primitivo della vista modifichi la lista padre.
+     *
+     * @design.test Lista = [0..9]; vista [3, 7); moltiplica per 10 i valori della vista e ne inserisce uno in fondo.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 2, 30, 40, 50, 60, -1, 7, 8, 9].
+     *
+     * @result.test La vista ha 5 elementi e la lista padre contiene i valori attesi.
+     */
+    @Test
+    public void testSubListIterator() {
+        for (long i = 0; i < 10; i++) list.addLong(i);
+        LongSubList sub = list.subList(3, 7);
+        LongListIterator it = sub.longListIterator();
+        while (it.hasNext()) it.setLong(it.nextLong() * 10);
+        it.addLong(-1L);
+        assertEquals(5, sub.size());
+        assertEquals(-1L, sub.getLong(4));
+        assertEquals(new LongList(new long[] { 0, 1, 2, 30, 40, 50, 60, -1, 7, 8, 9 }), list);
+        assertEquals(3, sub.lastIndexOfLong(60L));
+    }
+
+    /**
+     * Test dei metodi primitivi {@link LongList#addLong(long)}, {@link LongList#addLong(int, long)},
+     * {@link LongList#getLong(int)}, {@link LongList#setLong(int, long)} e {@link LongList#removeLongAt(int)}.
+     *
+     * @summary.test Verifica inserimento, lettura, sostituzione e rimozione dei valori estremi di {@code long},
+     * oltre la capacità iniziale.
+     *
+     * @design.test Aggiunge 0..99, inserisce {@code Long.MIN_VALUE} in testa e {@code Long.MAX_VALUE} in posizione 51,
+     * sostituisce il valore 49 con {@code 1L << 32} e rimuove.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [Long.MIN_VALUE, 0..48, 1L << 32, 50..99].
+     *
+     * @result.test I valori restituiti sono quelli attesi; gli indici non validi lanciano {@code IndexOutOfBoundsException}.
+     */
+    @Test
+    public void testPrimitiveAccess() {
+        fill(100);
+        list.addLong(0, Long.MIN_VALUE);
+        list.addLong(51, Long.MAX_VALUE);
+        assertEquals(102, list.size());
+        assertEquals(Long.MIN_VALUE, list.getLong(0));
+        assertEquals(49, list.getLong(50));
+        assertEquals(Long.MAX_VALUE, list.getLong(51));
+        assertEquals(Long.MAX_VALUE, list.removeLongAt(51));
+        assertEquals(49, list.setLong(50, 1L << 32));
+        assertEquals(1L << 32, list.getLong(50));
+        assertEquals(99, list.getLong(100));
+        assertEquals(101, list.size());
+        assertEquals(Long.valueOf(Long.MIN_VALUE), list.get(0));
+        try {
+            list.getLong(101);
+            fail("getLong fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        try {
+            list.addLong(102, 1L);
+            fail("addLong fuori dai limiti deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertEquals(101, list.size());
+    }
+
+    /**
+     * Test della ricerca primitiva con {@link LongList#indexOfLong(long)}, {@link LongList#lastIndexOfLong(long)}
+     * e {@link LongList#containsLong(long)}.
+     *
+     * @summary.test Verifica prima e ultima occorrenza di valori ripetuti e che valori con gli stessi 32 bit bassi
+     * (o lo stesso codice hash) non vengano confusi.
+     *
+     * @design.test Lista = [0..9, 0..9, Long.MIN_VALUE, 1L << 32, -1]; cerca 0, 1L << 32, -1 e
+     * {@code Long.MAX_VALUE}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test {@code indexOfLong(3) == 3}, {@code lastIndexOfLong(0) == 10}, {@code 1L << 32} viene trovato solo
+     * in posizione 21 e {@code Long.MAX_VALUE} non è presente.
+     */
+    @Test
+    public void testPrimitiveSearch() {
+        fill(10);
+        fill(10);
+        list.addLong(Long.MIN_VALUE);
+        list.addLong(1L << 32);
+        list.addLong(-1L);
+        assertEquals(3, list.indexOfLong(3));
+        assertEquals(13, list.lastIndexOfLong(3));
+        assertEquals(10, list.lastIndexOfLong(0));
+        assertEquals(20, list.indexOfLong(Long.MIN_VALUE));
+        assertEquals(21, list.indexOfLong(1L << 32));
+        assertEquals(21, list.lastIndexOfLong(1L << 32));
+        assertEquals(22, list.indexOfLong(-1L));
+        assertEquals(-1, list.indexOfLong(0xFFFFFFFFL)); // stessi 32 bit bassi di -1
+        assertEquals(-1, list.indexOfLong(Long.MAX_VALUE)); // stesso codice hash di Long.MIN_VALUE
+        assertTrue(list.containsLong(9));
+        assertFalse(list.containsLong(10));
+        assertEquals(-1, list.indexOfLong(10));
+        assertEquals(-1, list.lastIndexOfLong(-5));
+        assertEquals(21, list.indexOf(Long.valueOf(1L << 32)));
+        assertEquals(-1, list.indexOf(Integer.valueOf(3)));
+    }
+
+    /**
+     * Test dei metodi di {@link HList} che convertono al confine: {@code add}, {@code get}, {@code set},
+     * {@code remove(Object)}, {@code contains} e {@code indexOf}.
+     *
+     * @summary.test Verifica che gli elementi vengano restituiti come {@link Long} e che elementi non validi,
+     * compresi gli {@link Integer} con lo stesso valore, vengano rifiutati senza modificare la lista.
+     *
+     * @design.test Usa la lista tramite l'interfaccia {@link HList}; prova ad aggiungere {@code null} e una stringa
+     * e a rimuovere un {@link Integer}.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [1, Long.MIN_VALUE].
+     *
+     * @result.test {@code null} lancia {@code NullPointerException}, una stringa {@code ClassCastException};
+     * la ricerca di oggetti non {@link Long} restituisce -1 o {@code false}.
+     */
+    @Test
+    public void testBoxedBoundary() {
+        HList h = list;
+        assertTrue(h.add(Long.valueOf(1)));
+        h.add(1, Long.valueOf(2));
+        h.add(Long.valueOf(Long.MIN_VALUE));
+        assertEquals(Long.valueOf(2), h.get(1));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), h.set(2, Long.valueOf(4)));
+        assertEquals(4, list.getLong(2));
+        assertEquals(Long.valueOf(4), h.remove(2));
+        h.add(Long.valueOf(Long.MIN_VALUE));
+        assertFalse(h.remove(Integer.valueOf(2)));
+        assertTrue(h.remove(Long.valueOf(2)));
+        assertFalse(h.remove("2"));
+        assertFalse(h.contains(Integer.valueOf(1)));
+        assertEquals(-1, h.indexOf(null));
+        assertEquals(1, h.lastIndexOf(Long.valueOf(Long.MIN_VALUE)));
+        try {
+            h.add(null);
+            fail("null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+        try {
+            h.set(0, "x");
+            fail("una stringa deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        try {
+            h.add(0, Integer.valueOf(5));
+            fail("un Integer deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(2, h.size());
+        assertEquals(1, list.getLong(0));
+        assertEquals(Long.MIN_VALUE, list.getLong(1));
+    }
+
+    /**
+     * Test delle operazioni di massa {@code addAll}, {@code removeAll}, {@code retainAll} e {@code containsAll}.
+     *
+     * @summary.test Verifica inserimenti a blocchi da {@link LongList} e da collezioni di oggetti, anche con la lista stessa,
+     * che gli {@link Integer} non corrispondano ai {@link Long} e l'atomicità di un {@code addAll} con un elemento
+     * non valido.
+     *
+     * @design.test Lista = [0..9]; inserisce sé stessa in posizione 5, rimuove i pari passati come {@link Integer} e poi
+     * come {@link Long}, poi prova ad aggiungere una collezione che contiene una stringa.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [3, 3, 9, 9].
+     *
+     * @result.test Le dimensioni e i valori corrispondono; l'{@code addAll} non valido lascia la lista invariata.
+     */
+    @Test
+    public void testBulkOperations() {
+        fill(10);
+        assertTrue(list.addAll(5, list));
+        assertEquals(20, list.size());
+        assertEquals(0, list.getLong(5));
+        assertEquals(9, list.getLong(14));
+        assertEquals(5, list.getLong(15));
+
+        ListAdapter intEvens = new ListAdapter();
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) {
+            intEvens.add(Integer.valueOf(i));
+            evens.add(Long.valueOf(i));
+        }
+        assertFalse(list.removeAll(intEvens));
+        assertTrue(list.removeAll(evens));
+        assertEquals(10, list.size());
+        assertEquals(new LongList(new long[] { 1, 3, 1, 3, 5, 7, 9, 5, 7, 9 }), list);
+        assertFalse(list.removeAll(evens));
+
+        ListAdapter some = new ListAdapter();
+        some.add(Long.valueOf(3));
+        some.add(Long.valueOf(9));
+        assertTrue(list.containsAll(some));
+        some.add("3");
+        assertFalse(list.containsAll(some));
+        try {
+            list.addAll(some);
+            fail("un elemento non Long deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+
+        some.remove("3");
+        assertTrue(list.retainAll(some));
+        assertEquals(new LongList(new long[] { 3, 3, 9, 9 }), list);
+        assertFalse(list.addAll(new LongList()));
+        assertTrue(list.addAll(2, new LongList(new long[] { Long.MIN_VALUE, Long.MAX_VALUE })));
+        assertEquals(new LongList(new long[] { 3, 3, Long.MIN_VALUE, Long.MAX_VALUE, 9, 9 }), list);
+        assertTrue(list.removeAll(new LongList(new long[] { Long.MIN_VALUE, Long.MAX_VALUE })));
+        assertEquals(new LongList(new long[] { 3, 3, 9, 9 }), list);
+    }
+
+    /**
+     * Test di {@link LongList#longListIterator(int)} e dell'iteratore di {@link HList}.
+     *
+     * @summary.test Verifica scorrimento in avanti e all'indietro, modifica, inserimento e rimozione tramite
+     * l'iteratore primitivo, con valori oltre il range di {@code int}.
+     *
+     * @design.test Lista = [0..9]; sposta i pari oltre i 32 bit, inserisce {@code Long.MIN_VALUE} dopo il 5, poi
+     * rimuove all'indietro i valori oltre i 32 bit.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [1, 3, 5, Long.MIN_VALUE, 7, 9].
+     *
+     * @result.test I valori visitati e il contenuto finale sono quelli attesi; {@code setLong} dopo {@code addLong}
+     * e {@code remove} senza {@code next} lanciano {@code IllegalStateException}.
+     */
+    @Test
+    public void testPrimitiveIterator() {
+        fill(10);
+        LongListIterator it = list.longListIterator();
+        try {
+            it.remove();
+            fail("remove prima di next deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        while (it.hasNext()) {
+            long v = it.nextLong();
+            if (v % 2 == 0) it.setLong(v + (1L << 40));
+            if (v == 5) {
+                it.addLong(Long.MIN_VALUE);
+                try {
+                    it.setLong(0);
+                    fail("setLong dopo addLong deve lanciare IllegalStateException");
+                } catch (IllegalStateException expected) {
+                    // atteso
+                }
+            }
+        }
+        assertEquals(11, list.size());
+        assertEquals((1L << 40) + 8, list.getLong(9));
+        assertEquals(Long.MIN_VALUE, list.getLong(6));
+        it = list.longListIterator(list.size());
+        while (it.hasPrevious()) {
+            long v = it.previousLong();
+            if (v >= 1L << 32) it.remove();
+        }
+        assertEquals(new LongList(new long[] { 1, 3, 5, Long.MIN_VALUE, 7, 9 }), list);
+        assertEquals(-1, it.previousIndex());
+
+        long sum = 0;
+        HIterator boxed = list.iterator();
+        while (boxed.hasNext()) sum += ((Long) boxed.next()).longValue();
+        assertEquals(Long.MIN_VALUE + 25, sum);
+    }
+
+    /**
+     * Test di {@link LongList#subList(int, int)} e dei metodi primitivi di {@link LongSubList}.
+     *
+     * @summary.test Verifica che la sottolista legga e modifichi la lista padre, che si allarghi e si restringa
+     * con le modifiche e che la ricerca resti limitata alla vista.
+     *
+     * @design.test Lista = [0..19]; vista [5, 15); inserisce i valori estremi, rimuove, cerca e svuota tramite la vista.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0..4, 15..19].
+     *
+     * @result.test Gli indici della vista sono relativi; le modifiche si riflettono sulla lista padre.
+     */
+    @Test
+    public void testSubList() {
+        fill(20);
+        LongSubList sub = list.subList(5, 15);
+        assertEquals(10, sub.size());
+        assertEquals(5, sub.getLong(0));
+        assertEquals(3, sub.indexOfLong(8));
+        assertEquals(-1, sub.indexOfLong(15));
+        assertFalse(sub.contains(Long.valueOf(4)));
+        assertFalse(sub.contains(Integer.valueOf(8)));
+        sub.addLong(0, Long.MAX_VALUE);
+        sub.addLong(Long.MIN_VALUE);
+        assertEquals(12, sub.size());
+        assertEquals(22, list.size());
+        assertEquals(Long.MAX_VALUE, list.getLong(5));
+        assertEquals(Long.MIN_VALUE, list.getLong(16));
+        assertEquals(11, sub.lastIndexOfLong(Long.MIN_VALUE));
+        assertTrue(sub.containsLong(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, sub.removeLongAt(0));
+        assertEquals(8, sub.setLong(3, 1L << 33));
+        assertEquals(1L << 33, list.getLong(8));
+        long[] values = sub.toLongArray();
+        assertEquals(11, values.length);
+        assertEquals(Long.MIN_VALUE, values[10]);
+        assertEquals(sub.subList(3, 4), new LongList(new long[] { 1L << 33 }));
+
+        LongSubList inner = sub.subList(2, 5);
+        assertEquals(7, inner.getLong(0));
+        assertEquals(3, inner.size());
+        assertEquals(1, inner.indexOfLong(1L << 33));
+        assertEquals(-1, inner.indexOfLong(5));
+
+        sub.clear();
+        assertEquals(0, sub.size());
+        assertEquals(10, list.size());
+        assertEquals(4, list.getLong(4));
+        assertEquals(15, list.getLong(5));
+        try {
+            list.subList(3, 11);
+            fail("una vista oltre la fine deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test delle operazioni di massa e degli iteratori di {@link LongSubList}.
+     *
+     * @summary.test Verifica {@code addAll}, {@code removeAll}, {@code retainAll}, {@code equals}, {@code hashCode}
+     * e l'iteratore primitivo sulla vista.
+     *
+     * @design.test Lista = [0..9]; vista [2, 8); opera sulla vista e controlla la lista padre.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 3, 3, 5, 7, 8, 9].
+     *
+     * @result.test La vista si adegua alle modifiche, ha lo stesso codice hash di una {@link ListAdapter} con gli
+     * stessi {@link Long} e la lista padre contiene gli elementi attesi.
+     */
+    @Test
+    public void testSubListBulkAndIterator() {
+        fill(10);
+        LongSubList sub = list.subList(2, 8);
+        assertTrue(sub.addAll(1, new LongList(new long[] { 3, 3 })));
+        assertEquals(8, sub.size());
+        assertEquals(new LongList(new long[] { 2, 3, 3, 3, 4, 5, 6, 7 }), sub);
+
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 10; i += 2) evens.add(Long.valueOf(i));
+        assertTrue(sub.removeAll(evens));
+        assertEquals(5, sub.size());
+        ListAdapter boxedView = new ListAdapter();
+        long[] expected = { 3, 3, 3, 5, 7 };
+        for (int i = 0; i < expected.length; i++) boxedView.add(Long.valueOf(expected[i]));
+        assertEquals(boxedView, sub);
+        assertEquals(sub, boxedView);
+        assertEquals(boxedView.hashCode(), sub.hashCode());
+
+        ListAdapter keep = new ListAdapter();
+        keep.add(Long.valueOf(5));
+        keep.add(Long.valueOf(7));
+        keep.add(Integer.valueOf(3));
+        assertTrue(sub.retainAll(keep));
+        assertEquals(2, sub.size());
+
+        LongListIterator it = sub.longListIterator();
+        it.addLong(3);
+        it.addLong(3);
+        assertEquals(5, it.nextLong());
+        assertEquals(5, it.previousLong());
+        it.remove();
+        assertEquals(3, sub.size());
+        assertEquals(2, it.nextIndex());
+        assertEquals(7, it.nextLong());
+        assertFalse(it.hasNext());
+
+        HListIterator boxed = sub.listIterator(1);
+        assertEquals(Long.valueOf(3), boxed.next());
+        boxed.add(Long.valueOf(5));
+        assertEquals(new LongList(new long[] { 0, 1, 3, 3, 5, 7, 8, 9 }), list);
+        HCollection asCollection = list;
+        assertEquals(8, asCollection.toArray().length);
+    }
+}
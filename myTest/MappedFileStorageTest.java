@@ -0,0 +1,353 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.ByteCodec;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.MappedFileStorage;
+
+/**
+ * Classe di test per {@code MappedFileStorage} usato come backend di {@code ListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica lettura e scrittura degli elementi su file mappati, anche a cavallo di più
+ * blocchi, persistenza dopo chiusura e riapertura o dopo un'interruzione tra due flush, rifiuto dei file non
+ * validi e uso dopo la chiusura.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista vuota su un
+ * {@link MappedFileStorage} in una cartella temporanea, con blocchi da 64 byte (4 voci della tabella per blocco),
+ * così che quasi ogni operazione attraversi più blocchi.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link MappedFileStorage}, {@link ByteCodec}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class MappedFileStorageTest {
+
+    /**
+     * Codec di prova: una {@link String} nei suoi byte UTF-8.
+     */
+    static class StringCodec implements ByteCodec {
+
+        /** Costruttore di default */
+        StringCodec(){}
+
+        public byte[] encode(Object element) {
+            return ((String) element).getBytes(StandardCharsets.UTF_8); // ClassCastException prima di scrivere
+        }
+
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Dimensione dei blocchi mappati usata nei test.
+     */
+    private static final int CHUNK = 64;
+
+    /**
+     * Cartella temporanea che contiene i file, cancellata dopo ogni test.
+     */
+    private File dir;
+
+    /**
+     * Percorso comune dei file della lista.
+     */
+    private File base;
+
+    /**
+     * Backend della lista, chiuso dopo ogni test.
+     */
+    private MappedFileStorage storage;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private HList list;
+
+    /** Costruttore di default */
+    public MappedFileStorageTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Crea la cartella temporanea e una lista vuota.
+     *
+     * @throws IOException se i file non possono essere creati
+     */
+    @Before
+    public void setUp() throws IOException {
+        dir = File.createTempFile("hlist", "");
+        dir.delete();
+        dir.mkdir();
+        base = new File(dir, "list");
+        storage = new MappedFileStorage(base, new StringCodec(), CHUNK);
+        list = new ListAdapter(storage);
+    }
+
+    /**
+     * Chiude il backend e cancella i file dopo ogni test.
+     *
+     * @throws IOException se la chiusura non riesce
+     */
+    @After
+    public void tearDown() throws IOException {
+        storage.close();
+        File[] files = dir.listFiles();
+        for (int i = 0; i < files.length; i++) files[i].delete();
+        dir.delete();
+    }
+
+    /**
+     * Chiude il backend corrente e riapre gli stessi file.
+     *
+     * @throws IOException se la riapertura non riesce
+     */
+    private void reopen() throws IOException {
+        storage.close();
+        storage = new MappedFileStorage(base, new StringCodec(), CHUNK);
+        list = new ListAdapter(storage);
+    }
+
+    /**
+     * Apre gli stessi file con un secondo backend, senza chiudere né forzare quello corrente, come farebbe
+     * un nuovo processo dopo un'interruzione, e ne restituisce il contenuto.
+     *
+     * @return elementi visti dal secondo backend
+     * @throws IOException se i file non possono essere aperti o chiusi
+     */
+    private Object[] contentAfterCrash() throws IOException {
+        MappedFileStorage other = new MappedFileStorage(base, new StringCodec(), CHUNK);
+        try {
+            return new ListAdapter(other).toArray();
+        } finally {
+            other.close();
+        }
+    }
+
+    /**
+     * Riempie la lista con le stringhe {@code "e0".."e<n-1>"}.
+     *
+     * @param n numero di elementi
+     */
+    private void fill(int n) {
+        for (int i = 0; i < n; i++) list.add("e" + i);
+    }
+
+    /**
+     * Test di {@code add}, {@code get}, {@code set} e {@code remove} su più blocchi.
+     *
+     * @summary.test Verifica che gli elementi, anche {@code null} e più lunghi di un blocco, vengano riletti uguali
+     * e che inserimenti e rimozioni spostino correttamente le voci della tabella.
+     *
+     * @design.test Lista = [e0..e29]; inserisce in testa e in mezzo, sostituisce con {@code null} e con una stringa
+     * di 200 caratteri, rimuove, poi svuota una vista.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [first, e0..e4, e15, null, e17..e29], con la stringa lunga al posto di e20.
+     *
+     * @result.test Gli elementi letti corrispondono; {@code indexOf(null)} trova l'elemento nullo.
+     */
+    @Test
+    public void testEntriesAcrossChunks() {
+        fill(30);
+        list.add(0, "first");
+        list.add(10, "middle");
+        assertEquals(32, list.size());
+        assertEquals("e8", list.get(9));
+        assertEquals("middle", list.remove(10));
+        assertEquals("e16", list.set(17, null));
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 200; i++) longText.append((char) ('a' + i % 26));
+        list.set(21, longText.toString());
+        assertNull(list.get(17));
+        assertEquals(17, list.indexOf(null));
+        assertEquals(longText.toString(), list.get(21));
+        list.subList(6, 16).clear();
+        assertEquals(21, list.size());
+        assertEquals("e4", list.get(5));
+        assertEquals("e15", list.get(6));
+        assertEquals(7, list.indexOf(null));
+        assertEquals(longText.toString(), list.get(11));
+        assertEquals("e29", list.get(20));
+    }
+
+    /**
+     * Test della persistenza dopo chiusura e riapertura.
+     *
+     * @summary.test Verifica che una lista riaperta contenga esattamente gli elementi presenti alla chiusura e che
+     * sia possibile continuare a modificarla.
+     *
+     * @design.test Riempie, modifica in mezzo, chiude e riapre; aggiunge altri elementi, esegue {@code flush},
+     * chiude e riapre di nuovo.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [e0..e9, null, e10..e19, x, y], riaperta due volte.
+     *
+     * @result.test Dopo ogni riapertura dimensione ed elementi coincidono con quelli scritti.
+     *
+     * @throws IOException se i file non possono essere aperti o chiusi
+     */
+    @Test
+    public void testReopen() throws IOException {
+        fill(20);
+        list.add(10, null);
+        reopen();
+        assertEquals(21, list.size());
+        assertEquals("e0", list.get(0));
+        assertNull(list.get(10));
+        assertEquals("e19", list.get(20));
+        list.add("x");
+        list.add("y");
+        storage.flush();
+        reopen();
+        assertEquals(23, list.size());
+        assertEquals("e10", list.get(11));
+        assertEquals("x", list.get(21));
+        assertEquals("y", list.get(22));
+    }
+
+    /**
+     * Test di elementi rifiutati dal codec e di file non validi.
+     *
+     * @summary.test Verifica che un elemento che il codec non sa scrivere lasci la lista invariata e che un file
+     * che non contiene una lista venga rifiutato senza modificarlo.
+     *
+     * @design.test Lista = [e0..e9]; prova {@code add(5, Integer)}, poi apre un file {@code .idx} con contenuto
+     * arbitrario.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [e0..e9]; il file non valido resta lungo 10 byte.
+     *
+     * @result.test Viene lanciata {@code ClassCastException} per l'elemento e {@code IOException} per il file.
+     *
+     * @throws IOException se i file non possono essere aperti o chiusi
+     */
+    @Test
+    public void testRejectedElementAndBadFile() throws IOException {
+        fill(10);
+        try {
+            list.add(5, Integer.valueOf(1));
+            fail("un intero deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+        assertEquals("e5", list.get(5));
+        File other = new File(dir, "other");
+        FileOutputStream out = new FileOutputStream(other.getPath() + ".idx");
+        out.write("not a list".getBytes(StandardCharsets.UTF_8));
+        out.close();
+        try {
+            new MappedFileStorage(other, new StringCodec(), CHUNK);
+            fail("un file non valido deve lanciare IOException");
+        } catch (IOException expected) {
+            // atteso
+        }
+        assertEquals(10, new File(other.getPath() + ".idx").length());
+    }
+
+    /**
+     * Test di {@link MappedFileStorage#close()}.
+     *
+     * @summary.test Verifica che dopo {@code close} ogni accesso venga rifiutato e che una seconda chiamata
+     * non abbia effetto.
+     *
+     * @design.test Riempie, svuota, riempie di nuovo e chiude; prova a leggere e scrivere.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Backend chiuso.
+     *
+     * @result.test Dopo {@code close} {@code size} e {@code add} lanciano {@code IllegalStateException}.
+     *
+     * @throws IOException se i file non possono essere aperti o chiusi
+     */
+    @Test
+    public void testClearAndClose() throws IOException {
+        fill(50);
+        list.clear();
+        assertTrue(list.isEmpty());
+        fill(3);
+        assertEquals("e2", list.get(2));
+        assertFalse(storage.isClosed());
+        storage.close();
+        assertTrue(storage.isClosed());
+        try {
+            list.size();
+            fail("size dopo close deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        try {
+            list.add("z");
+            fail("add dopo close deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        storage.close();
+        assertTrue(storage.isClosed());
+    }
+
+    /**
+     * Test della riapertura dopo un'interruzione tra due {@link MappedFileStorage#flush()}.
+     *
+     * @summary.test Verifica che {@code clear}, le aggiunte successive e le modifiche in mezzo non ancora
+     * forzate non alterino lo stato registrato dall'ultimo {@code flush}, né nei dati né nella tabella.
+     *
+     * @design.test Lista = [alpha, beta, gamma] e flush; {@code clear} e aggiunta di una stringa lunga, poi
+     * riapertura simulata; flush, quindi inserimento in testa, {@code set}, aggiunta e rimozione in mezzo, poi
+     * di nuovo riapertura simulata; infine flush e riapertura.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [head, ZZZZZZZZZZZZ, tail].
+     *
+     * @result.test Ogni riapertura simulata vede esattamente il contenuto dell'ultimo {@code flush}.
+     *
+     * @throws IOException se i file non possono essere aperti o chiusi
+     */
+    @Test
+    public void testReopenAfterClear() throws IOException {
+        list.add("alpha");
+        list.add("beta");
+        list.add("gamma");
+        storage.flush();
+        list.clear();
+        list.add("ZZZZZZZZZZZZ");
+        assertArrayEquals(new Object[] { "alpha", "beta", "gamma" }, contentAfterCrash());
+        storage.flush();
+        assertArrayEquals(new Object[] { "ZZZZZZZZZZZZ" }, contentAfterCrash());
+        for (int i = 0; i < 10; i++) list.add("n" + i);
+        storage.flush();
+        list.add(0, "head");
+        list.set(1, "first");
+        list.add("tail");
+        list.remove(2);
+        list.set(1, "ZZZZZZZZZZZZ");
+        list.subList(2, 11).clear();
+        Object[] flushed = new Object[11];
+        flushed[0] = "ZZZZZZZZZZZZ";
+        for (int i = 0; i < 10; i++) flushed[i + 1] = "n" + i;
+        assertArrayEquals(flushed, contentAfterCrash());
+        storage.flush();
+        assertArrayEquals(new Object[] { "head", "ZZZZZZZZZZZZ", "tail" }, contentAfterCrash());
+        list.clear();
+        storage.flush();
+        list.add("x");
+        assertArrayEquals(new Object[0], contentAfterCrash());
+        reopen();
+        assertArrayEquals(new Object[] { "x" }, list.toArray());
+    }
+}
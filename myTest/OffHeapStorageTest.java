@@ -0,0 +1,246 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+import myAdapter.OffHeapStorage;
+import myAdapter.RecordCodec;
+
+/**
+ * Classe di test per {@code OffHeapStorage} usato come backend di {@code ListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica lettura e scrittura dei record attraverso il codec, spostamenti tra segmenti,
+ * viste {@code SubListAdapter}, rifiuto degli elementi non codificabili e rilascio della memoria nativa.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista vuota su un
+ * {@link OffHeapStorage} con segmenti da 4 record, così che quasi ogni spostamento attraversi più segmenti.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link OffHeapStorage}, {@link RecordCodec}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class OffHeapStorageTest {
+
+    /**
+     * Codec di prova: un {@link Integer} oppure {@code null}, in 5 byte (un byte di presenza e il valore).
+     */
+    static class NullableIntCodec implements RecordCodec {
+
+        /** Costruttore di default */
+        NullableIntCodec(){}
+
+        public int recordSize() {
+            return 5;
+        }
+
+        public void encode(Object element, ByteBuffer buffer, int offset) {
+            if (element == null) {
+                buffer.put(offset, (byte) 0);
+                return;
+            }
+            int value = ((Integer) element).intValue(); // ClassCastException prima di scrivere
+            buffer.put(offset, (byte) 1);
+            buffer.putInt(offset + 1, value);
+        }
+
+        public Object decode(ByteBuffer buffer, int offset) {
+            return buffer.get(offset) == 0 ? null : Integer.valueOf(buffer.getInt(offset + 1));
+        }
+    }
+
+    /**
+     * Backend della lista, liberato dopo ogni test.
+     */
+    private OffHeapStorage storage;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private HList list;
+
+    /** Costruttore di default */
+    public OffHeapStorageTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        storage = new OffHeapStorage(new NullableIntCodec(), 4);
+        list = new ListAdapter(storage);
+    }
+
+    /**
+     * Libera la memoria nativa dopo ogni test.
+     */
+    @After
+    public void tearDown() {
+        storage.release();
+    }
+
+    /**
+     * Riempie la lista con {@code 0..n-1}.
+     *
+     * @param n numero di elementi
+     */
+    private void fill(int n) {
+        for (int i = 0; i < n; i++) list.add(Integer.valueOf(i));
+    }
+
+    /**
+     * Test di {@code add}, {@code get}, {@code set} e {@code remove} su più segmenti.
+     *
+     * @summary.test Verifica che gli elementi scritti dal codec vengano riletti uguali, anche {@code null},
+     * e che inserimenti e rimozioni spostino correttamente i record tra segmenti.
+     *
+     * @design.test Lista = [0..29]; inserisce in testa e in mezzo, sostituisce con {@code null}, rimuove.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [-1, 0..14, null, 16..29].
+     *
+     * @result.test Gli elementi letti corrispondono; {@code indexOf(null)} trova il record nullo.
+     */
+    @Test
+    public void testRecordsAcrossSegments() {
+        fill(30);
+        list.add(0, Integer.valueOf(-1));
+        list.add(10, Integer.valueOf(-2));
+        assertEquals(32, list.size());
+        assertEquals(Integer.valueOf(-1), list.get(0));
+        assertEquals(Integer.valueOf(8), list.get(9));
+        assertEquals(Integer.valueOf(-2), list.get(10));
+        assertEquals(Integer.valueOf(29), list.get(31));
+        assertEquals(Integer.valueOf(-2), list.remove(10));
+        assertEquals(Integer.valueOf(15), list.set(16, null));
+        assertNull(list.get(16));
+        assertEquals(16, list.indexOf(null));
+        assertEquals(Integer.valueOf(29), list.get(30));
+        assertEquals(31, list.size());
+    }
+
+    /**
+     * Test di una vista {@code SubListAdapter} su una lista fuori dallo heap.
+     *
+     * @summary.test Verifica {@code toArray}, {@code indexOf}, {@code addAll} e {@code clear} sulla vista.
+     *
+     * @design.test Lista = [0..19]; vista [3, 13); inserisce 3 elementi in testa alla vista e la svuota.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, 1, 2, 14..19].
+     *
+     * @result.test La vista legge e modifica i record della lista padre.
+     */
+    @Test
+    public void testSubListView() {
+        fill(20);
+        HList sub = list.subList(3, 13);
+        Object[] arr = sub.toArray();
+        assertEquals(10, arr.length);
+        assertEquals(Integer.valueOf(3), arr[0]);
+        assertEquals(Integer.valueOf(12), arr[9]);
+        assertEquals(5, sub.indexOf(Integer.valueOf(8)));
+        ListAdapter extra = new ListAdapter();
+        extra.add(Integer.valueOf(100));
+        extra.add(null);
+        extra.add(Integer.valueOf(101));
+        assertTrue(sub.addAll(0, extra));
+        assertEquals(13, sub.size());
+        assertEquals(Integer.valueOf(100), list.get(3));
+        assertNull(list.get(4));
+        assertEquals(Integer.valueOf(3), list.get(6));
+        sub.clear();
+        assertEquals(10, list.size());
+        assertEquals(Integer.valueOf(2), list.get(2));
+        assertEquals(Integer.valueOf(13), list.get(3));
+        HListIterator it = list.listIterator(3);
+        it.next();
+        it.remove();
+        assertEquals(Integer.valueOf(14), list.get(3));
+    }
+
+    /**
+     * Test di elementi che il codec non sa scrivere.
+     *
+     * @summary.test Verifica che un elemento rifiutato dal codec non lasci record spostati o parziali.
+     *
+     * @design.test Lista = [0..9]; prova {@code add(5, "x")} e un {@code addAll} con una stringa in mezzo.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0..9].
+     *
+     * @result.test Viene lanciata {@code ClassCastException} e la lista resta invariata.
+     */
+    @Test
+    public void testRejectedElement() {
+        fill(10);
+        try {
+            list.add(5, "x");
+            fail("una stringa deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        ListAdapter bad = new ListAdapter();
+        bad.add(Integer.valueOf(50));
+        bad.add("y");
+        try {
+            list.addAll(2, bad);
+            fail("una stringa deve lanciare ClassCastException");
+        } catch (ClassCastException expected) {
+            // atteso
+        }
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) assertEquals(Integer.valueOf(i), list.get(i));
+    }
+
+    /**
+     * Test di {@link OffHeapStorage#release()} e del riuso dopo {@code clear}.
+     *
+     * @summary.test Verifica che dopo {@code clear} la lista sia riutilizzabile e che dopo {@code release}
+     * ogni accesso venga rifiutato.
+     *
+     * @design.test Riempie, svuota, riempie di nuovo, poi libera la memoria e prova a leggere e scrivere.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Backend liberato.
+     *
+     * @result.test Dopo {@code release} {@code size}, {@code get} e {@code add} lanciano {@code IllegalStateException};
+     * una seconda {@code release} non ha effetto.
+     */
+    @Test
+    public void testClearAndRelease() {
+        fill(50);
+        list.clear();
+        assertTrue(list.isEmpty());
+        fill(5);
+        assertEquals(Integer.valueOf(4), list.get(4));
+        assertFalse(storage.isReleased());
+        storage.release();
+        assertTrue(storage.isReleased());
+        try {
+            list.size();
+            fail("size dopo release deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        try {
+            list.add(Integer.valueOf(1));
+            fail("add dopo release deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        storage.release();
+        assertTrue(storage.isReleased());
+    }
+}
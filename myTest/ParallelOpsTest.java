@@ -0,0 +1,421 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.ConcurrentListAdapter;
+import myAdapter.HBinaryOperator;
+import myAdapter.HConsumer;
+import myAdapter.HFunction;
+import myAdapter.HList;
+import myAdapter.HPredicate;
+import myAdapter.HSpliterator;
+import myAdapter.IntList;
+import myAdapter.ListAdapter;
+import myAdapter.ParallelOps;
+import myAdapter.SubListAdapter;
+
+/**
+ * Classe di test per {@code HSpliterator} e {@code ParallelOps}.
+ * <p>
+ * <strong>Summary:</strong> Verifica la divisione e la visita degli {@code HSpliterator} di {@code ListAdapter}
+ * e {@code SubListAdapter}, e i risultati di {@code forEach}, {@code map}, {@code filter} e {@code reduce}
+ * eseguiti in parallelo, compreso l'ordine degli elementi e la propagazione delle eccezioni, anche su liste vuote,
+ * di un solo elemento o vicine alla soglia di divisione, con elementi {@code null} e su sottoliste annidate o
+ * copiate.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista con
+ * {@code 0..99999}.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link ParallelOps}, {@link HSpliterator}, {@link ListAdapter},
+ * {@link SubListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class ParallelOpsTest {
+
+    /**
+     * Numero di elementi della lista di prova.
+     */
+    private static final int SIZE = 100000;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private ListAdapter list;
+
+    /** Costruttore di default */
+    public ParallelOpsTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista con {@code 0..99999}.
+     */
+    @Before
+    public void setUp() {
+        list = new ListAdapter();
+        for (int i = 0; i < SIZE; i++) list.add(Integer.valueOf(i));
+    }
+
+    /**
+     * Test della visita di una sottolista con {@link HSpliterator}.
+     *
+     * @summary.test Verifica caratteristiche, dimensioni delle parti, {@code tryAdvance} e
+     * {@code forEachRemaining} su più blocchi.
+     *
+     * @design.test Visita la sottolista [10, 5010): la divide una volta, avanza di un elemento sulla prima metà e
+     * visita il resto di entrambe.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Le metà hanno 2500 elementi ciascuna e insieme restituiscono [10..5009] in ordine.
+     */
+    @Test
+    public void testSpliterator() {
+        HSpliterator s = ((SubListAdapter) list.subList(10, 5010)).spliterator();
+        int c = s.characteristics();
+        assertTrue((c & HSpliterator.SIZED) != 0);
+        assertTrue((c & HSpliterator.SUBSIZED) != 0);
+        assertTrue((c & HSpliterator.ORDERED) != 0);
+        assertEquals(5000, s.estimateSize());
+        HSpliterator prefix = s.trySplit();
+        assertEquals(2500, prefix.estimateSize());
+        assertEquals(2500, s.estimateSize());
+        final int[] next = { 10 };
+        HConsumer check = new HConsumer() {
+            public void accept(Object o) {
+                assertEquals(Integer.valueOf(next[0]++), o);
+            }
+        };
+        assertTrue(prefix.tryAdvance(check));
+        assertEquals(2499, prefix.estimateSize());
+        prefix.forEachRemaining(check);
+        assertFalse(prefix.tryAdvance(check));
+        s.forEachRemaining(check);
+        assertEquals(5010, next[0]);
+        assertEquals(0, s.estimateSize());
+        assertNull(s.trySplit());
+    }
+
+    /**
+     * Test di {@link ParallelOps#map(HList, HFunction)} e {@link ParallelOps#filter(HList, HPredicate)}.
+     *
+     * @summary.test Verifica che i risultati calcolati in parallelo siano nell'ordine della lista, anche su una
+     * sottolista e su una lista che non è un {@code ListAdapter}.
+     *
+     * @design.test Raddoppia gli elementi della lista; tiene i multipli di 7 della lista, di una sottolista e di
+     * una {@code IntList}.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Ogni risultato coincide con quello di un ciclo sequenziale.
+     */
+    @Test
+    public void testMapAndFilter() {
+        ListAdapter doubled = ParallelOps.map(list, new HFunction() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 2);
+            }
+        });
+        assertEquals(SIZE, doubled.size());
+        for (int i = 0; i < SIZE; i++) assertEquals(Integer.valueOf(2 * i), doubled.get(i));
+
+        HPredicate multipleOf7 = new HPredicate() {
+            public boolean test(Object o) {
+                return ((Integer) o).intValue() % 7 == 0;
+            }
+        };
+        ListAdapter kept = ParallelOps.filter(list, multipleOf7);
+        assertEquals((SIZE + 6) / 7, kept.size());
+        for (int i = 0; i < kept.size(); i++) assertEquals(Integer.valueOf(7 * i), kept.get(i));
+
+        ListAdapter keptSub = ParallelOps.filter(list.subList(700, 1400), multipleOf7);
+        assertEquals(100, keptSub.size());
+        assertEquals(Integer.valueOf(700), keptSub.get(0));
+        assertEquals(Integer.valueOf(1393), keptSub.get(99));
+
+        IntList ints = new IntList();
+        for (int i = 0; i < 1000; i++) ints.addInt(i);
+        ListAdapter keptInts = ParallelOps.filter(ints, multipleOf7);
+        assertEquals(143, keptInts.size());
+        assertEquals(Integer.valueOf(994), keptInts.get(142));
+
+        assertEquals(0, ParallelOps.map(new ListAdapter(), new HFunction() {
+            public Object apply(Object o) {
+                return o;
+            }
+        }).size());
+        assertEquals(SIZE, list.size());
+    }
+
+    /**
+     * Test di {@link ParallelOps#reduce(HList, Object, HBinaryOperator)} e
+     * {@link ParallelOps#forEach(HList, HConsumer)}.
+     *
+     * @summary.test Verifica somma e concatenazione in parallelo, che {@code forEach} visiti ogni elemento una
+     * sola volta e che l'eccezione di un'azione arrivi al chiamante.
+     *
+     * @design.test Somma gli elementi con {@code reduce}; concatena in ordine gli elementi di una sottolista;
+     * somma con {@code forEach} su una {@code ConcurrentListAdapter}; lancia un'eccezione su un elemento.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test I risultati coincidono con quelli sequenziali; l'eccezione viene rilanciata.
+     */
+    @Test
+    public void testReduceAndForEach() {
+        HBinaryOperator sum = new HBinaryOperator() {
+            public Object apply(Object a, Object b) {
+                return Long.valueOf(((Number) a).longValue() + ((Number) b).longValue());
+            }
+        };
+        assertEquals(Long.valueOf((long) SIZE * (SIZE - 1) / 2), ParallelOps.reduce(list, Long.valueOf(0), sum));
+        assertEquals("id", ParallelOps.reduce(new ListAdapter(), "id", sum));
+
+        ListAdapter words = new ListAdapter();
+        for (int i = 0; i < 3000; i++) words.add(String.valueOf(i % 10));
+        Object joined = ParallelOps.reduce(words.subList(5, 2005), "", new HBinaryOperator() {
+            public Object apply(Object a, Object b) {
+                return (String) a + b;
+            }
+        });
+        StringBuffer expected = new StringBuffer();
+        for (int i = 5; i < 2005; i++) expected.append(i % 10);
+        assertEquals(expected.toString(), joined);
+
+        ConcurrentListAdapter shared = new ConcurrentListAdapter();
+        shared.addAll(list);
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong visits = new AtomicLong();
+        ParallelOps.forEach(shared, new HConsumer() {
+            public void accept(Object o) {
+                total.addAndGet(((Integer) o).intValue());
+                visits.incrementAndGet();
+            }
+        });
+        assertEquals((long) SIZE * (SIZE - 1) / 2, total.get());
+        assertEquals(SIZE, visits.get());
+
+        try {
+            ParallelOps.forEach(list, new HConsumer() {
+                public void accept(Object o) {
+                    if (((Integer) o).intValue() == 77777) throw new IllegalStateException("stop");
+                }
+            });
+            fail("l'eccezione dell'azione deve arrivare al chiamante");
+        } catch (IllegalStateException expected2) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test di liste vuote, di un solo elemento e di dimensioni vicine alla soglia di divisione.
+     *
+     * @summary.test Verifica che la visita di liste piccole non si divida oltre il possibile e che le operazioni
+     * parallele diano lo stesso risultato di un ciclo sequenziale a ogni dimensione.
+     *
+     * @design.test Visita una lista vuota e una di un elemento con {@link HSpliterator}; poi per liste di
+     * 0, 1, 511, 512, 513, 1024, 1025 e 4099 elementi calcola {@code map}, {@code filter}, {@code reduce} e
+     * {@code forEach}, anche su una sottolista vuota.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista invariata.
+     *
+     * @result.test Le visite vuote non si dividono e non avanzano; ogni risultato coincide con quello atteso.
+     */
+    @Test
+    public void testSmallSizes() {
+        HConsumer none = new HConsumer() {
+            public void accept(Object o) {
+                fail("nessun elemento atteso");
+            }
+        };
+        HSpliterator empty = new ListAdapter().spliterator();
+        assertEquals(0, empty.estimateSize());
+        assertNull(empty.trySplit());
+        assertFalse(empty.tryAdvance(none));
+        empty.forEachRemaining(none);
+
+        ListAdapter one = new ListAdapter();
+        one.add("x");
+        HSpliterator single = one.spliterator();
+        assertNull(single.trySplit());
+        final int[] seen = { 0 };
+        assertTrue(single.tryAdvance(new HConsumer() {
+            public void accept(Object o) {
+                assertEquals("x", o);
+                seen[0]++;
+            }
+        }));
+        assertFalse(single.tryAdvance(none));
+        assertEquals(1, seen[0]);
+
+        HFunction twice = new HFunction() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 2);
+            }
+        };
+        HPredicate odd = new HPredicate() {
+            public boolean test(Object o) {
+                return ((Integer) o).intValue() % 2 == 1;
+            }
+        };
+        HBinaryOperator sum = new HBinaryOperator() {
+            public Object apply(Object a, Object b) {
+                return Long.valueOf(((Number) a).longValue() + ((Number) b).longValue());
+            }
+        };
+        int[] sizes = { 0, 1, 511, 512, 513, 1024, 1025, 4099 };
+        for (int k = 0; k < sizes.length; k++) {
+            int n = sizes[k];
+            HList part = list.subList(0, n);
+            ListAdapter doubled = ParallelOps.map(part, twice);
+            assertEquals(n, doubled.size());
+            for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(2 * i), doubled.get(i));
+            ListAdapter odds = ParallelOps.filter(part, odd);
+            assertEquals(n / 2, odds.size());
+            for (int i = 0; i < odds.size(); i++) assertEquals(Integer.valueOf(2 * i + 1), odds.get(i));
+            assertEquals(Long.valueOf((long) n * (n - 1) / 2), ParallelOps.reduce(part, Long.valueOf(0), sum));
+            final AtomicLong visits = new AtomicLong();
+            ParallelOps.forEach(part, new HConsumer() {
+                public void accept(Object o) {
+                    visits.incrementAndGet();
+                }
+            });
+            assertEquals(n, visits.get());
+        }
+        ParallelOps.forEach(list.subList(SIZE, SIZE), none);
+        assertEquals(0, ParallelOps.filter(list.subList(7, 7), odd).size());
+        assertEquals(SIZE, list.size());
+    }
+
+    /**
+     * Test di liste con elementi {@code null}.
+     *
+     * @summary.test Verifica che gli elementi {@code null} vengano passati alle operazioni e conservati nei
+     * risultati nella loro posizione, e che una lista o un'operazione null vengano rifiutate.
+     *
+     * @design.test Rende {@code null} un elemento ogni tre; applica la funzione identità, tiene i {@code null},
+     * li conta con {@code reduce} e {@code forEach}; poi passa una lista e un'operazione null.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista con {@code null} nelle posizioni multiple di 3.
+     *
+     * @result.test I risultati contengono i {@code null} attesi; gli argomenti null lanciano
+     * {@code NullPointerException}.
+     */
+    @Test
+    public void testNullElements() {
+        for (int i = 0; i < SIZE; i += 3) list.set(i, null);
+        int nulls = (SIZE + 2) / 3;
+        ListAdapter same = ParallelOps.map(list, new HFunction() {
+            public Object apply(Object o) {
+                return o;
+            }
+        });
+        assertEquals(list, same);
+        assertNull(same.get(SIZE - 1 - (SIZE - 1) % 3));
+        ListAdapter onlyNulls = ParallelOps.filter(list, new HPredicate() {
+            public boolean test(Object o) {
+                return o == null;
+            }
+        });
+        assertEquals(nulls, onlyNulls.size());
+        assertEquals(-1, onlyNulls.lastIndexOf(Integer.valueOf(1)));
+        Object counted = ParallelOps.reduce(ParallelOps.map(list, new HFunction() {
+            public Object apply(Object o) {
+                return Integer.valueOf(o == null ? 1 : 0);
+            }
+        }), Integer.valueOf(0), new HBinaryOperator() {
+            public Object apply(Object a, Object b) {
+                return Integer.valueOf(((Integer) a).intValue() + ((Integer) b).intValue());
+            }
+        });
+        assertEquals(Integer.valueOf(nulls), counted);
+        final AtomicLong visited = new AtomicLong();
+        ParallelOps.forEach(list.subList(1, 31), new HConsumer() {
+            public void accept(Object o) {
+                if (o == null) visited.incrementAndGet();
+            }
+        });
+        assertEquals(10, visited.get());
+
+        try {
+            ParallelOps.filter(null, new HPredicate() {
+                public boolean test(Object o) {
+                    return true;
+                }
+            });
+            fail("una lista null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+        try {
+            ParallelOps.map(list, null);
+            fail("una funzione null deve lanciare NullPointerException");
+        } catch (NullPointerException expected) {
+            // atteso
+        }
+    }
+
+    /**
+     * Test di sottoliste annidate e di liste copiate.
+     *
+     * @summary.test Verifica che le operazioni su una sottolista di una sottolista leggano solo il suo intervallo
+     * e che una sottolista che non è un {@code SubListAdapter} venga copiata senza modificare l'originale.
+     *
+     * @design.test Raddoppia gli elementi di una sottolista della sottolista [100, 2100); somma una sottolista di
+     * una {@code IntList} e la filtra.
+     *
+     * @precondition.test Lista = [0..99999].
+     *
+     * @postcondition.test Lista e {@code IntList} invariate.
+     *
+     * @result.test I risultati coprono esattamente gli intervalli richiesti, nell'ordine della lista.
+     */
+    @Test
+    public void testNestedAndCopiedSubLists() {
+        HList nested = list.subList(100, 2100).subList(500, 1500);
+        ListAdapter doubled = ParallelOps.map(nested, new HFunction() {
+            public Object apply(Object o) {
+                return Integer.valueOf(((Integer) o).intValue() * 2);
+            }
+        });
+        assertEquals(1000, doubled.size());
+        assertEquals(Integer.valueOf(1200), doubled.get(0));
+        assertEquals(Integer.valueOf(3198), doubled.get(999));
+
+        IntList ints = new IntList();
+        for (int i = 0; i < 2000; i++) ints.addInt(i);
+        HList window = ints.subList(1000, 1600);
+        Object total = ParallelOps.reduce(window, Long.valueOf(0), new HBinaryOperator() {
+            public Object apply(Object a, Object b) {
+                return Long.valueOf(((Number) a).longValue() + ((Number) b).longValue());
+            }
+        });
+        assertEquals(Long.valueOf(600L * 1000 + 600L * 599 / 2), total);
+        ListAdapter tens = ParallelOps.filter(window, new HPredicate() {
+            public boolean test(Object o) {
+                return ((Integer) o).intValue() % 10 == 0;
+            }
+        });
+        assertEquals(60, tens.size());
+        assertEquals(Integer.valueOf(1000), tens.get(0));
+        assertEquals(Integer.valueOf(1590), tens.get(59));
+        tens.set(0, "changed");
+        assertEquals(1000, ints.getInt(1000));
+        assertEquals(2000, ints.size());
+        assertEquals(SIZE, list.size());
+    }
+}
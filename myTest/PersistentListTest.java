@@ -0,0 +1,233 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HIterator;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+import myAdapter.PersistentList;
+import myAdapter.PersistentListBuilder;
+
+/**
+ * Classe di test per {@code PersistentList} e {@code PersistentListBuilder}.
+ * <p>
+ * <strong>Summary:</strong> Verifica che ogni modifica restituisca una nuova versione lasciando invariate le
+ * precedenti, il caricamento con il builder, le sottoliste e il rifiuto delle modifiche sul posto.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista di 1100
+ * elementi, abbastanza da avere un trie di tre livelli più la coda.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link PersistentList}, {@link PersistentListBuilder}, {@link ListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class PersistentListTest {
+
+    /**
+     * Numero di elementi della lista di partenza.
+     */
+    private static final int N = 1100;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private PersistentList list;
+
+    /** Costruttore di default */
+    public PersistentListTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista con {@code 0..N-1}.
+     */
+    @Before
+    public void setUp() {
+        PersistentListBuilder builder = new PersistentListBuilder();
+        for (int i = 0; i < N; i++) builder.add(Integer.valueOf(i));
+        list = builder.build();
+    }
+
+    /**
+     * Verifica che {@code l} contenga {@code 0..n-1}.
+     *
+     * @param l lista da controllare
+     * @param n numero di elementi atteso
+     */
+    private static void assertRange(PersistentList l, int n) {
+        assertEquals(n, l.size());
+        HIterator it = l.iterator();
+        for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(i), it.next());
+        assertFalse(it.hasNext());
+    }
+
+    /**
+     * Test delle versioni prodotte da {@code withSet}, {@code withAdded} e {@code withRemoved}.
+     *
+     * @summary.test Verifica che ogni modifica produca una lista nuova con il contenuto atteso e che la lista
+     * di partenza, e ogni versione intermedia, restino invariate.
+     *
+     * @design.test Lista = [0..1099]; sostituisce in testa, in mezzo e in coda, aggiunge in coda e in mezzo,
+     * rimuove l'ultimo elemento e uno in mezzo.
+     *
+     * @precondition.test Lista = [0..1099].
+     *
+     * @postcondition.test Lista = [0..1099], invariata.
+     *
+     * @result.test Ogni versione ha il contenuto atteso; le precedenti non cambiano.
+     */
+    @Test
+    public void testVersions() {
+        PersistentList set = list.withSet(0, "a").withSet(500, "b").withSet(N - 1, "c");
+        assertEquals("a", set.get(0));
+        assertEquals("b", set.get(500));
+        assertEquals("c", set.get(N - 1));
+        assertEquals(Integer.valueOf(501), set.get(501));
+        PersistentList added = list.withAdded("end");
+        assertEquals(N + 1, added.size());
+        assertEquals("end", added.get(N));
+        PersistentList inserted = added.withAdded(40, null);
+        assertEquals(N + 2, inserted.size());
+        assertNull(inserted.get(40));
+        assertEquals(Integer.valueOf(40), inserted.get(41));
+        assertEquals(40, inserted.indexOf(null));
+        assertEquals(N + 1, inserted.lastIndexOf("end"));
+        PersistentList removed = inserted.withRemoved(N + 1).withRemoved(40);
+        assertEquals(list, removed);
+        assertEquals(list.hashCode(), removed.hashCode());
+        assertRange(list, N);
+        assertEquals(N + 1, added.size());
+        assertEquals(Integer.valueOf(0), added.get(0));
+        PersistentList shrunk = list;
+        for (int i = N; i > 0; i--) shrunk = shrunk.withRemoved(i - 1);
+        assertTrue(shrunk.isEmpty());
+        assertRange(list, N);
+    }
+
+    /**
+     * Test di {@link PersistentListBuilder} a partire da una lista esistente.
+     *
+     * @summary.test Verifica che il builder non modifichi la lista di partenza e che dopo {@code build} non sia
+     * più utilizzabile.
+     *
+     * @design.test Crea un builder dalla lista, sostituisce e aggiunge elementi, costruisce la nuova lista e
+     * prova a riusare il builder.
+     *
+     * @precondition.test Lista = [0..1099].
+     *
+     * @postcondition.test Lista = [0..1099], invariata.
+     *
+     * @result.test La nuova lista contiene le modifiche; la {@code add} dopo {@code build} lancia
+     * {@code IllegalStateException}.
+     */
+    @Test
+    public void testBuilderFromList() {
+        PersistentListBuilder builder = list.toBuilder();
+        builder.set(3, "x").set(1050, "y");
+        for (int i = 0; i < 100; i++) builder.add("z" + i);
+        assertEquals(N + 100, builder.size());
+        assertEquals("y", builder.get(1050));
+        PersistentList built = builder.build();
+        assertEquals("x", built.get(3));
+        assertEquals("y", built.get(1050));
+        assertEquals("z99", built.get(N + 99));
+        assertRange(list, N);
+        try {
+            builder.add("w");
+            fail("add dopo build deve lanciare IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // atteso
+        }
+        ListAdapter source = new ListAdapter();
+        source.add("p");
+        source.add(null);
+        PersistentList copy = new PersistentList(source);
+        assertEquals(source, copy);
+        assertEquals(copy, source);
+        assertEquals(N + 2, list.withAddedAll(source).size());
+    }
+
+    /**
+     * Test di {@code subList}, {@code toArray} e degli iteratori.
+     *
+     * @summary.test Verifica che una sottolista sia a sua volta una lista persistente con gli elementi attesi e
+     * che gli iteratori scorrano in entrambe le direzioni.
+     *
+     * @design.test Prende un prefisso e un intervallo interno; scorre la lista all'indietro da metà.
+     *
+     * @precondition.test Lista = [0..1099].
+     *
+     * @postcondition.test Lista = [0..1099], invariata.
+     *
+     * @result.test Sottoliste, array e iteratori contengono gli elementi attesi.
+     */
+    @Test
+    public void testSubListAndIterators() {
+        PersistentList prefix = (PersistentList) list.subList(0, 1030);
+        assertRange(prefix, 1030);
+        assertEquals(Integer.valueOf(1030), prefix.withAdded(Integer.valueOf(1030)).get(1030));
+        PersistentList middle = (PersistentList) list.subList(30, 70);
+        assertEquals(40, middle.size());
+        assertEquals(Integer.valueOf(30), middle.get(0));
+        assertEquals(Integer.valueOf(69), middle.get(39));
+        Object[] arr = list.toArray(new Integer[0]);
+        assertEquals(N, arr.length);
+        assertEquals(Integer.valueOf(N - 1), arr[N - 1]);
+        HListIterator it = list.listIterator(550);
+        for (int i = 549; i >= 0; i--) assertEquals(Integer.valueOf(i), it.previous());
+        assertFalse(it.hasPrevious());
+        assertTrue(list.containsAll(middle));
+        assertFalse(middle.contains(Integer.valueOf(70)));
+    }
+
+    /**
+     * Test dei metodi che modificherebbero la lista sul posto.
+     *
+     * @summary.test Verifica che i metodi mutatori di {@code HList} e degli iteratori vengano rifiutati.
+     *
+     * @design.test Prova {@code add}, {@code set}, {@code remove}, {@code clear} e {@code remove} dell'iteratore.
+     *
+     * @precondition.test Lista = [0..1099].
+     *
+     * @postcondition.test Lista = [0..1099], invariata.
+     *
+     * @result.test Ogni chiamata lancia {@code UnsupportedOperationException}.
+     */
+    @Test
+    public void testMutatorsUnsupported() {
+        try {
+            list.add("x");
+            fail("add deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.set(0, "x");
+            fail("set deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.remove(0);
+            fail("remove deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        try {
+            list.clear();
+            fail("clear deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        HIterator it = list.iterator();
+        it.next();
+        try {
+            it.remove();
+            fail("remove dell'iteratore deve lanciare UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // atteso
+        }
+        assertRange(list, N);
+    }
+}
@@ -0,0 +1,146 @@
+package myTest;
+
+import myAdapter.ArrayStorage;
+import myAdapter.BTreeStorage;
+import myAdapter.ChunkedStorage;
+import myAdapter.GapBufferStorage;
+import myAdapter.HListIterator;
+import myAdapter.ListAdapter;
+import myAdapter.ListStorage;
+import myAdapter.RingBufferStorage;
+import myAdapter.VectorStorage;
+
+/**
+ * Micro-benchmark dei backend di {@link ListAdapter}.
+ * <p>
+ * Non fa parte della suite JUnit: si esegue a mano per confrontare i backend sugli scenari misurati.
+ */
+public class StorageBenchmark {
+
+    /** Costrutore di default */
+    public StorageBenchmark(){}
+
+    /** Numero di ripetizioni di riscaldamento prima della misura. */
+    private static final int WARMUP = 3;
+
+    /**
+     * Crea un backend vuoto a partire dal nome.
+     *
+     * @param name nome del backend
+     * @return nuovo backend
+     */
+    private static ListStorage storage(String name) {
+        if (name.equals("vector")) return new VectorStorage();
+        if (name.equals("array")) return new ArrayStorage();
+        if (name.equals("gap")) return new GapBufferStorage();
+        if (name.equals("ring")) return new RingBufferStorage();
+        if (name.equals("chunked")) return new ChunkedStorage();
+        if (name.equals("btree")) return new BTreeStorage();
+        throw new IllegalArgumentException("Backend sconosciuto: " + name);
+    }
+
+    /**
+     * Scenario "editor": a partire da una lista di {@code size} elementi, inserisce {@code edits} elementi
+     * tramite {@link HListIterator#add(Object)} a metà lista, rimuovendone uno ogni quattro.
+     *
+     * @param backend nome del backend
+     * @param size dimensione iniziale della lista
+     * @param edits numero di inserimenti
+     * @return tempo impiegato in millisecondi
+     */
+    private static long cursorEdits(String backend, int size, int edits) {
+        ListAdapter list = new ListAdapter(storage(backend));
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        long start = System.currentTimeMillis();
+        HListIterator it = list.listIterator(size / 2);
+        for (int i = 0; i < edits; i++) {
+            it.add(Integer.valueOf(i));
+            if (i % 4 == 3) {
+                it.previous();
+                it.remove();
+            }
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Scenario "coda di lavoro": mantiene {@code size} elementi in lista, aggiungendo in coda e rimuovendo
+     * dalla testa per {@code operations} volte.
+     *
+     * @param backend nome del backend
+     * @param size numero di elementi in coda
+     * @param operations numero di coppie inserimento/rimozione
+     * @return tempo impiegato in millisecondi
+     */
+    private static long queue(String backend, int size, int operations) {
+        ListAdapter list = new ListAdapter(storage(backend));
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < operations; i++) {
+            list.add(Integer.valueOf(i));
+            list.remove(0);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Scenario "posizioni casuali": su una lista di {@code size} elementi esegue {@code operations} coppie
+     * di inserimento e rimozione in posizioni pseudo-casuali (generatore lineare congruenziale, sempre uguale).
+     *
+     * @param backend nome del backend
+     * @param size dimensione della lista
+     * @param operations numero di coppie inserimento/rimozione
+     * @return tempo impiegato in millisecondi
+     */
+    private static long randomEdits(String backend, int size, int operations) {
+        ListAdapter list = new ListAdapter(storage(backend));
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        int seed = 12345;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < operations; i++) {
+            seed = seed * 1103515245 + 12345;
+            list.add((seed >>> 1) % (size + 1), Integer.valueOf(i));
+            seed = seed * 1103515245 + 12345;
+            list.remove((seed >>> 1) % size);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Esegue gli scenari su ogni backend e stampa i tempi misurati.
+     *
+     * @summary.test Confronta i backend sugli inserimenti sequenziali al cursore, sull'uso come coda
+     * e sulle modifiche in posizioni casuali.
+     *
+     * @design.test Ogni scenario viene ripetuto {@link #WARMUP} volte prima della misura per stabilizzare il JIT.
+     *
+     * @result.test Tabella dei tempi in millisecondi su standard output.
+     *
+     * @param args argomenti da linea di comando (non utilizzati)
+     */
+    public static void main(String[] args) {
+        String[] backends = { "vector", "array", "gap", "ring", "chunked", "btree" };
+        int size = 200000;
+        int edits = 100000;
+
+        System.out.println("=== Inserimenti al cursore (" + size + " elementi, " + edits + " inserimenti) ===");
+        for (int b = 0; b < backends.length; b++) {
+            for (int w = 0; w < WARMUP; w++) cursorEdits(backends[b], size, edits / 10);
+            System.out.println(backends[b] + " : " + cursorEdits(backends[b], size, edits) + " ms");
+        }
+
+        System.out.println("=== Coda (" + size + " elementi, " + edits + " add/remove(0)) ===");
+        for (int b = 0; b < backends.length; b++) {
+            for (int w = 0; w < WARMUP; w++) queue(backends[b], size, edits / 10);
+            System.out.println(backends[b] + " : " + queue(backends[b], size, edits) + " ms");
+        }
+
+        int bigSize = 1000000;
+        int randomOps = 20000;
+        System.out.println("=== Posizioni casuali (" + bigSize + " elementi, " + randomOps + " add/remove) ===");
+        for (int b = 0; b < backends.length; b++) {
+            for (int w = 0; w < WARMUP; w++) randomEdits(backends[b], bigSize / 10, randomOps / 10);
+            System.out.println(backends[b] + " : " + randomEdits(backends[b], bigSize, randomOps) + " ms");
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package myTest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.StripedListAdapter;
+
+/**
+ * Classe di test per {@code StripedListAdapter}.
+ * <p>
+ * <strong>Summary:</strong> Verifica i parametri del costruttore, il blocco {@code locked} e la coerenza di
+ * {@code get}/{@code set} per zona eseguiti da più thread, anche insieme a modifiche strutturali, su sottoliste
+ * e con elementi {@code null}; controlla inoltre la lista vuota e la configurazione con un solo lock. Il
+ * comportamento da lista è coperto da {@link ListAdapterTest} e {@link SubListAdapterTest} con il backend
+ * {@code "striped"}.
+ *
+ * <p>
+ * <strong>Pre-Condition:</strong> Prima di ogni test, viene creata tramite {@link #setUp()} una lista con
+ * segmenti di 16 posizioni e 4 lock.
+ *
+ * <p>
+ * <strong>Dipendenze:</strong> {@link StripedListAdapter}, {@code junit-4.13.2.jar}
+ */
+public class StripedListAdapterTest {
+
+    /**
+     * Numero di thread nei test concorrenti.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Numero di posizioni della zona di ogni thread.
+     */
+    private static final int REGION = 100;
+
+    /**
+     * Lista da testare, viene reinizializzata prima di ogni test.
+     */
+    private StripedListAdapter list;
+
+    /**
+     * Segnala un'incoerenza osservata da un thread.
+     */
+    private volatile String failure;
+
+    /** Costruttore di default */
+    public StripedListAdapterTest(){}
+
+    /**
+     * Setup eseguito prima di ogni test. Inizializza la lista come vuota.
+     */
+    @Before
+    public void setUp() {
+        list = new StripedListAdapter(16, 4);
+        failure = null;
+    }
+
+    /**
+     * Test del costruttore e di {@code locked}.
+     *
+     * @summary.test Verifica il rifiuto di parametri non validi e che dentro {@code locked} la lista si possa
+     * leggere, modificare e iterare con chiamate annidate.
+     *
+     * @design.test Costruisce liste con segmenti non potenza di 2 e senza lock; poi aggiunge, sostituisce e itera
+     * in un {@code locked} con un {@code locked} annidato.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [0, x, 2..39].
+     *
+     * @result.test I costruttori lanciano {@code IllegalArgumentException}; le chiamate annidate non si bloccano.
+     */
+    @Test
+    public void testConstructorAndLocked() {
+        try {
+            new StripedListAdapter(12, 4);
+            fail("segmenti non potenza di 2 devono lanciare IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // atteso
+        }
+        try {
+            new StripedListAdapter(16, 0);
+            fail("zero lock devono lanciare IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // atteso
+        }
+        list.locked(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 40; i++) list.add(Integer.valueOf(i));
+                list.locked(new Runnable() {
+                    public void run() {
+                        assertEquals(Integer.valueOf(1), list.set(1, "x"));
+                    }
+                });
+                HIterator it = list.iterator();
+                int n = 0;
+                while (it.hasNext()) {
+                    it.next();
+                    n++;
+                }
+                assertEquals(40, n);
+            }
+        });
+        assertEquals("x", list.get(1));
+        assertEquals(39, list.lastIndexOf(Integer.valueOf(39)));
+    }
+
+    /**
+     * Test di thread che lavorano su zone separate.
+     *
+     * @summary.test Verifica che gli aggiornamenti con {@code get}/{@code set} di thread diversi, ognuno sulla
+     * propria zona, non si perdano.
+     *
+     * @design.test Otto thread incrementano 200 volte ogni elemento della propria zona di 100 posizioni, che
+     * attraversa più segmenti e lock.
+     *
+     * @precondition.test Lista di 800 zeri.
+     *
+     * @postcondition.test Lista di 800 elementi uguali a 200.
+     *
+     * @result.test Ogni elemento vale 200.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testRegionWorkers() throws InterruptedException {
+        for (int i = 0; i < THREADS * REGION; i++) list.add(Integer.valueOf(0));
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * REGION;
+            workers[t] = new Thread() {
+                public void run() {
+                    for (int round = 0; round < 200; round++) {
+                        for (int i = base; i < base + REGION; i++) {
+                            list.set(i, Integer.valueOf(((Integer) list.get(i)).intValue() + 1));
+                        }
+                    }
+                }
+            };
+            workers[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) workers[t].join();
+        for (int i = 0; i < THREADS * REGION; i++) assertEquals(Integer.valueOf(200), list.get(i));
+    }
+
+    /**
+     * Test di aggiornamenti per zona insieme a modifiche strutturali.
+     *
+     * @summary.test Verifica che un {@code set} concorrente non vada perso quando un altro thread aggiunge e
+     * rimuove elementi in coda, facendo crescere l'array.
+     *
+     * @design.test Quattro thread scrivono nella propria zona in testa alla lista il proprio numero di giro; un
+     * thread aggiunge 5000 elementi in coda e ne rimuove uno ogni due.
+     *
+     * @precondition.test Lista di 400 elementi.
+     *
+     * @postcondition.test Lista di 2900 elementi, con le zone in testa uguali all'ultimo giro.
+     *
+     * @result.test Nessun lettore vede un valore minore di quello che ha scritto; le zone contengono l'ultimo
+     * giro e la coda ha la dimensione attesa.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testSetsDuringStructuralChanges() throws InterruptedException {
+        final int workers = 4;
+        for (int i = 0; i < workers * REGION; i++) list.add(Integer.valueOf(-1));
+        Thread[] threads = new Thread[workers + 1];
+        for (int t = 0; t < workers; t++) {
+            final int base = t * REGION;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int round = 0; round < 300; round++) {
+                        for (int i = base; i < base + REGION; i++) {
+                            list.set(i, Integer.valueOf(round));
+                            if (((Integer) list.get(i)).intValue() != round) failure = "set perso in " + i;
+                        }
+                    }
+                }
+            };
+        }
+        threads[workers] = new Thread() {
+            public void run() {
+                for (int i = 0; i < 5000; i++) {
+                    list.add("tail");
+                    if (i % 2 == 1) list.remove(list.size() - 1);
+                }
+            }
+        };
+        for (int t = 0; t <= workers; t++) threads[t].start();
+        for (int t = 0; t <= workers; t++) threads[t].join();
+        assertNull(failure, failure);
+        assertEquals(workers * REGION + 2500, list.size());
+        for (int i = 0; i < workers * REGION; i++) assertEquals(Integer.valueOf(299), list.get(i));
+    }
+
+    /**
+     * Test della lista vuota e degli indici non validi.
+     *
+     * @summary.test Verifica che {@code get}, {@code set} e {@code remove} su una lista vuota, anche con indice
+     * negativo, lancino {@code IndexOutOfBoundsException} e rilascino il lock preso.
+     *
+     * @design.test Chiama le operazioni per indice sulla lista vuota, poi aggiunge un elemento da un altro thread:
+     * se un lock fosse rimasto preso il thread non terminerebbe.
+     *
+     * @precondition.test Lista vuota.
+     *
+     * @postcondition.test Lista = [a].
+     *
+     * @result.test Ogni operazione lancia {@code IndexOutOfBoundsException}; il thread termina e la lista contiene
+     * l'elemento aggiunto.
+     *
+     * @throws InterruptedException se l'attesa del thread viene interrotta
+     */
+    @Test
+    public void testEmptyList() throws InterruptedException {
+        assertTrue(list.isEmpty());
+        assertEquals(-1, list.indexOf(null));
+        assertFalse(list.iterator().hasNext());
+        assertTrue(list.subList(0, 0).isEmpty());
+        assertEquals(0, list.toArray().length);
+        int[] indexes = {0, -1, 16, Integer.MIN_VALUE};
+        for (int k = 0; k < indexes.length; k++) {
+            try {
+                list.get(indexes[k]);
+                fail("get su lista vuota deve lanciare IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException expected) {
+                // atteso
+            }
+            try {
+                list.set(indexes[k], "x");
+                fail("set su lista vuota deve lanciare IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException expected) {
+                // atteso
+            }
+            try {
+                list.remove(indexes[k]);
+                fail("remove su lista vuota deve lanciare IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException expected) {
+                // atteso
+            }
+        }
+        Thread writer = new Thread() {
+            public void run() {
+                list.add("a");
+            }
+        };
+        writer.start();
+        writer.join(10000);
+        assertFalse("un lock non è stato rilasciato", writer.isAlive());
+        assertEquals(1, list.size());
+        assertEquals("a", list.get(0));
+    }
+
+    /**
+     * Test di sottoliste con elementi {@code null} modificate da più thread.
+     *
+     * @summary.test Verifica che gli accessi da una sottolista passino dai lock della lista e che gli elementi
+     * {@code null} si leggano e si cerchino correttamente mentre un altro thread cambia la coda.
+     *
+     * @design.test Otto thread lavorano ognuno su una sottolista della propria zona: a ogni giro mettono a
+     * {@code null} ogni posizione, la rileggono e la sostituiscono con il proprio numero; infine lasciano
+     * {@code null} le posizioni pari. Un thread aggiunge e rimuove {@code null} in coda.
+     *
+     * @precondition.test Lista di 800 {@code null}.
+     *
+     * @postcondition.test Lista di 800 elementi, {@code null} nelle posizioni pari.
+     *
+     * @result.test Nessun thread legge un valore scritto da un altro; {@code indexOf(null)} della sottolista è -1
+     * dopo ogni giro completo; la lista finale ha 400 {@code null} e le zone contengono i numeri dei thread.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testSubListsWithNulls() throws InterruptedException {
+        for (int i = 0; i < THREADS * REGION; i++) list.add(null);
+        Thread[] threads = new Thread[THREADS + 1];
+        for (int t = 0; t < THREADS; t++) {
+            final HList region = list.subList(t * REGION, (t + 1) * REGION);
+            final Integer id = Integer.valueOf(t);
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int round = 0; round < 100; round++) {
+                        for (int i = 0; i < REGION; i++) {
+                            region.set(i, null);
+                            if (region.get(i) != null) failure = "null perso in " + i;
+                            region.set(i, id);
+                        }
+                        if (region.indexOf(null) != -1) failure = "null rimasto nella zona " + id;
+                        if (region.lastIndexOf(id) != REGION - 1) failure = "zona " + id + " incompleta";
+                    }
+                    for (int i = 0; i < REGION; i += 2) region.set(i, null);
+                }
+            };
+        }
+        threads[THREADS] = new Thread() {
+            public void run() {
+                for (int i = 0; i < 2000; i++) {
+                    list.add(null);
+                    list.remove(list.size() - 1);
+                }
+            }
+        };
+        for (int t = 0; t <= THREADS; t++) threads[t].start();
+        for (int t = 0; t <= THREADS; t++) threads[t].join();
+        assertNull(failure, failure);
+        assertEquals(THREADS * REGION, list.size());
+        assertEquals(0, list.indexOf(null));
+        assertEquals(THREADS * REGION - 2, list.lastIndexOf(null));
+        for (int i = 0; i < THREADS * REGION; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i / REGION), list.get(i));
+        }
+    }
+
+    /**
+     * Test della configurazione con segmenti di una posizione e un solo lock.
+     *
+     * @summary.test Verifica che con un solo lock tutte le operazioni restino corrette sotto contesa e che
+     * {@code locked} renda atomica una lettura seguita da una scrittura.
+     *
+     * @design.test Otto thread incrementano 500 volte il primo elemento dentro {@code locked} e aggiungono un
+     * elemento ogni 10 incrementi.
+     *
+     * @precondition.test Lista = [0], un solo lock.
+     *
+     * @postcondition.test Lista di 401 elementi, il primo uguale a 4000.
+     *
+     * @result.test Nessun incremento va perso e tutte le aggiunte sono presenti.
+     *
+     * @throws InterruptedException se l'attesa dei thread viene interrotta
+     */
+    @Test
+    public void testSingleStripe() throws InterruptedException {
+        final StripedListAdapter single = new StripedListAdapter(1, 1);
+        single.add(Integer.valueOf(0));
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        single.locked(new Runnable() {
+                            public void run() {
+                                single.set(0, Integer.valueOf(((Integer) single.get(0)).intValue() + 1));
+                            }
+                        });
+                        if (i % 10 == 0) single.add("x");
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) threads[t].join();
+        assertEquals(Integer.valueOf(THREADS * 500), single.get(0));
+        assertEquals(1 + THREADS * 50, single.size());
+        assertEquals(1, single.indexOf("x"));
+    }
+}
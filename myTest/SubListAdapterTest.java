@@ -4,19 +4,45 @@ import myAdapter.HList;
 import myAdapter.ListAdapter;
 import myAdapter.SubListAdapter;
 
+import myAdapter.HConsumer;
+import myAdapter.HIndexedConsumer;
 import myAdapter.HIterator;
 import myAdapter.HListIterator;
+import myAdapter.HPredicate;
+import myAdapter.HUnaryOperator;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 import static org.junit.Assert.*;
 
 /**
  * Classe di test per {@code SubListAdapter}.
  * Contiene casi di test per ciascun metodo pubblico della classe.
+ * La suite viene ripetuta per ciascun backend della lista padre.
  */
+@RunWith(Parameterized.class)
 public class SubListAdapterTest {
 
+    /**
+     * Nome del backend della lista padre.
+     */
+    @Parameter
+    public String backend;
+
+    /**
+     * Backend su cui eseguire l'intera suite.
+     *
+     * @return nomi dei backend, gli stessi di {@link ListAdapterTest#backends()}
+     */
+    @Parameters(name = "{0}")
+    public static Object[] backends() {
+        return ListAdapterTest.backends();
+    }
+
     /**
      * Lista principale da cui viene derivata la sublist.
      */
@@ -35,7 +61,7 @@ public class SubListAdapterTest {
      */
     @Before
     public void setUp() {
-        parent = new ListAdapter();
+        parent = ListAdapterTest.newList(backend);
         parent.add("A");
         parent.add("B");
         parent.add("C");
@@ -623,7 +649,231 @@ public class SubListAdapterTest {
         assertArrayEquals(full, parent.toArray());
     }
 
+    /**
+     * Test dei metodi {@link myAdapter.HList#removeAll(HCollection)}, {@link myAdapter.HList#retainAll(HCollection)}
+     * e {@link myAdapter.HList#clear()} su una finestra interna di una lista grande.
+     *
+     * @summary.test Verifica che le operazioni di massa della sublist tocchino solo la finestra e aggiornino i limiti della vista.
+     *
+     * @design.test Parent = [0..199]; sub = [50, 150). Usa una collezione di 60 pari (oltre la soglia della ricerca hash).
+     *
+     * @description.test
+     * <ul>
+     *   <li>{@code sub.removeAll(pari)} → sub contiene i dispari tra 51 e 149</li>
+     *   <li>{@code sub.retainAll([51..89])} → sub contiene i dispari tra 51 e 89</li>
+     *   <li>{@code sub.clear()} → sub vuota</li>
+     * </ul>
+     *
+     * @precondition.test Parent contiene gli interi da 0 a 199.
+     *
+     * @postcondition.test Gli elementi fuori dalla finestra non sono modificati.
+     *
+     * @result.test Dimensioni di sub e parent coerenti dopo ogni operazione.
+     */
+    @Test
+    public void testBulkOperationsOnLargeWindow() {
+        parent.clear();
+        for (int i = 0; i < 200; i++) parent.add(Integer.valueOf(i));
+        sub = new SubListAdapter(parent, 50, 150);
+
+        ListAdapter evens = new ListAdapter();
+        for (int i = 0; i < 120; i += 2) evens.add(Integer.valueOf(i + 40));
+        assertTrue(sub.removeAll(evens));
+        assertEquals(50, sub.size());
+        assertEquals(Integer.valueOf(51), sub.get(0));
+        assertEquals(Integer.valueOf(149), sub.get(49));
+        assertEquals(Integer.valueOf(150), parent.get(100));
+
+        ListAdapter keep = new ListAdapter();
+        for (int i = 51; i < 90; i++) keep.add(Integer.valueOf(i));
+        assertTrue(sub.retainAll(keep));
+        assertEquals(20, sub.size());
+        assertEquals(Integer.valueOf(89), sub.get(19));
+        assertEquals(120, parent.size());
+
+        sub.clear();
+        assertTrue(sub.isEmpty());
+        assertEquals(100, parent.size());
+        assertEquals(Integer.valueOf(49), parent.get(49));
+        assertEquals(Integer.valueOf(150), parent.get(50));
+    }
+
+    /**
+     * Test del metodo {@link myAdapter.HList#addAll(int, HCollection)} su una sottolista con molti elementi.
+     *
+     * @summary.test Verifica che l'inserimento a blocchi nella lista padre allarghi la vista del numero corretto di elementi.
+     *
+     * @design.test sub = ["B", "C", "D"]; inserisce 30 elementi in posizione 1 della sub.
+     *
+     * @description.test {@code sub.addAll(1, [0..29])} → ["B", 0..29, "C", "D"]
+     *
+     * @precondition.test Lista padre = ["A","B","C","D","E"]
+     *
+     * @postcondition.test sub.size() == 33, parent.size() == 35
+     *
+     * @result.test Gli elementi sono inseriti in ordine e "E" resta fuori dalla vista.
+     */
+    @Test
+    public void testAddAllBulkAtIndex() {
+        sub = new SubListAdapter(parent, 1, 4); // ["B", "C", "D"]
+        ListAdapter toAdd = new ListAdapter();
+        for (int i = 0; i < 30; i++) toAdd.add(Integer.valueOf(i));
 
+        assertTrue(sub.addAll(1, toAdd));
+        assertEquals(33, sub.size());
+        assertEquals(35, parent.size());
+        assertEquals("B", sub.get(0));
+        assertEquals(Integer.valueOf(0), sub.get(1));
+        assertEquals(Integer.valueOf(29), sub.get(30));
+        assertEquals("D", sub.get(32));
+        assertEquals("E", parent.get(34));
+        assertFalse(sub.addAll(0, new ListAdapter()));
+    }
 
+    /**
+     * Test del metodo {@link myAdapter.HList#toArray(Object[])} con un array tipizzato troppo piccolo.
+     *
+     * @summary.test Verifica che l'array restituito abbia lo stesso tipo di quello passato.
+     *
+     * @design.test sub = ["B", "C", "D"]; passa un {@code String[0]}.
+     *
+     * @description.test {@code sub.toArray(new String[0])} → {@code String[]} = ["B", "C", "D"]
+     *
+     * @precondition.test Lista padre = ["A","B","C","D","E"]
+     *
+     * @postcondition.test Nessuna modifica a parent o sublist.
+     *
+     * @result.test L'array restituito è un {@code String[]} di lunghezza 3.
+     */
+    @Test
+    public void testToArrayTyped() {
+        sub = new SubListAdapter(parent, 1, 4); // ["B", "C", "D"]
+        Object[] result = sub.toArray(new String[0]);
+        assertEquals(String[].class, result.getClass());
+        assertArrayEquals(new String[] { "B", "C", "D" }, result);
+    }
+
+    /**
+     * Test del metodo {@link SubListAdapter#snapshotIterator()}.
+     *
+     * @summary.test Verifica che l'iteratore a fotografia di una sottolista restituisca gli elementi della vista al
+     * momento della creazione, anche dopo modifiche fatte dalla vista e dalla lista padre.
+     *
+     * @design.test sub = ["B", "C", "D"]; crea la fotografia, rimuove "C" dalla vista e sostituisce "B" nel padre.
+     *
+     * @description.test La fotografia scorre ["B", "C", "D"] mentre sub = ["b", "D"].
+     *
+     * @precondition.test Lista padre = ["A","B","C","D","E"]
+     *
+     * @postcondition.test Lista padre = ["A","b","D","E"]
+     *
+     * @result.test La fotografia contiene ["B", "C", "D"].
+     */
+    @Test
+    public void testSnapshotIterator() {
+        sub = new SubListAdapter(parent, 1, 4); // ["B", "C", "D"]
+        HListIterator it = sub.snapshotIterator();
+        assertEquals("C", sub.remove(1));
+        parent.set(1, "b");
+        assertEquals("B", it.next());
+        assertEquals("C", it.next());
+        assertEquals("D", it.next());
+        assertFalse(it.hasNext());
+        assertEquals(2, it.previousIndex());
+        assertEquals(2, sub.size());
+        assertEquals("b", sub.get(0));
+        assertEquals(4, parent.size());
+    }
+
+    /**
+     * Test dei metodi {@link SubListAdapter#forEach(HConsumer)} e
+     * {@link SubListAdapter#forEachIndexed(int, int, HIndexedConsumer)}.
+     *
+     * @summary.test Verifica che la visita interna di una sottolista passi solo i suoi elementi, in ordine, con
+     * le posizioni relative alla sottolista.
+     *
+     * @design.test sub = ["B", "C", "D"]; concatena gli elementi con {@code forEach}, poi visita [1, 3) con
+     * {@code forEachIndexed} e prova un intervallo non valido.
+     *
+     * @precondition.test Lista padre = ["A","B","C","D","E"]
+     *
+     * @postcondition.test Lista padre invariata.
+     *
+     * @result.test La concatenazione è "BCD"; le posizioni sono 1 e 2; l'intervallo non valido lancia
+     * {@code IndexOutOfBoundsException}.
+     */
+    @Test
+    public void testForEach() {
+        sub = new SubListAdapter(parent, 1, 4); // ["B", "C", "D"]
+        final StringBuffer seen = new StringBuffer();
+        sub.forEach(new HConsumer() {
+            public void accept(Object o) {
+                seen.append(o);
+            }
+        });
+        assertEquals("BCD", seen.toString());
+        seen.setLength(0);
+        sub.forEachIndexed(1, 3, new HIndexedConsumer() {
+            public void accept(int index, Object o) {
+                seen.append(index).append(o);
+            }
+        });
+        assertEquals("1C2D", seen.toString());
+        try {
+            sub.forEachIndexed(0, 4, new HIndexedConsumer() {
+                public void accept(int index, Object o) {
+                }
+            });
+            fail("un intervallo oltre la sottolista deve lanciare IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // atteso
+        }
+        assertEquals(5, parent.size());
+    }
+
+    /**
+     * Test dei metodi {@link SubListAdapter#removeIf(HPredicate)} e
+     * {@link SubListAdapter#replaceAll(HUnaryOperator)}.
+     *
+     * @summary.test Verifica che le operazioni di una sottolista tocchino solo i suoi elementi e che la vista si
+     * restringa del numero di elementi rimossi.
+     *
+     * @design.test sub = ["B", "C", "D"]; rimuove gli elementi diversi da "C", poi rende minuscoli gli elementi
+     * rimasti e aggiunge un elemento in coda alla vista.
+     *
+     * @precondition.test Lista padre = ["A","B","C","D","E"]
+     *
+     * @postcondition.test Lista padre = ["A","c","x","E"]
+     *
+     * @result.test sub = ["c", "x"]; gli elementi fuori dalla vista non cambiano.
+     */
+    @Test
+    public void testRemoveIfAndReplaceAll() {
+        sub = new SubListAdapter(parent, 1, 4); // ["B", "C", "D"]
+        assertTrue(sub.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return !"C".equals(o) && !"A".equals(o) && !"E".equals(o);
+            }
+        }));
+        assertEquals(1, sub.size());
+        assertEquals(3, parent.size());
+        sub.replaceAll(new HUnaryOperator() {
+            public Object apply(Object o) {
+                return ((String) o).toLowerCase();
+            }
+        });
+        sub.add("x");
+        assertEquals(2, sub.size());
+        assertEquals("c", sub.get(0));
+        assertEquals("x", sub.get(1));
+        assertEquals("A", parent.get(0));
+        assertEquals("x", parent.get(2));
+        assertEquals("E", parent.get(3));
+        assertFalse(sub.removeIf(new HPredicate() {
+            public boolean test(Object o) {
+                return "E".equals(o);
+            }
+        }));
+    }
 
 }
@@ -17,7 +17,8 @@ public class TestRunner {
      *
      * @summary.test Avvia l'esecuzione delle classi di test specificate e stampa i risultati in output standard.
      *
-     * @design.test Utilizza {@link JUnitCore#runClasses(Class...)} per eseguire {@code ListAdapterTest} e {@code SubListAdapterTest}.
+     * @design.test Utilizza {@link JUnitCore#runClasses(Class...)} per eseguire {@code ListAdapterTest}, {@code SubListAdapterTest}, {@code HashSetAdapterTest},
+     *          {@code IntListTest}, {@code LongListTest}, {@code DoubleListTest}, {@code OffHeapStorageTest}, {@code MappedFileStorageTest}, {@code PersistentListTest}, {@code CopyOnWriteListTest}, {@code ConcurrentListAdapterTest}, {@code AppendOnlyListTest}, {@code CombiningListAdapterTest}, {@code StripedListAdapterTest}, {@code ParallelOpsTest} e {@code JavaBridgeTest}.
      *          Verifica la presenza di errori e, in caso di fallimenti, stampa dettagli ed eccezioni.
      *
      * @description.test
@@ -38,7 +39,21 @@ public class TestRunner {
     public static void main(String[] args) {
         Result result = JUnitCore.runClasses(
             ListAdapterTest.class,
-            SubListAdapterTest.class
+            SubListAdapterTest.class,
+            HashSetAdapterTest.class,
+            IntListTest.class,
+            LongListTest.class,
+            DoubleListTest.class,
+            OffHeapStorageTest.class,
+            MappedFileStorageTest.class,
+            PersistentListTest.class,
+            CopyOnWriteListTest.class,
+            ConcurrentListAdapterTest.class,
+            AppendOnlyListTest.class,
+            CombiningListAdapterTest.class,
+            StripedListAdapterTest.class,
+            ParallelOpsTest.class,
+            JavaBridgeTest.class
         );
 
         System.out.println("=== Risultati Test ===");